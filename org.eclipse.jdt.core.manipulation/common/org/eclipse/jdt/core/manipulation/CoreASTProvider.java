@@ -23,7 +23,9 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 
+import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTParser;
@@ -31,12 +33,18 @@ import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
 import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.core.manipulation.dom.SharedASTCache;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 
 /**
  * The {@link CoreASTProvider} provides access to the {@link CompilationUnit AST root} used by
  * the current active Java editor.
+ * <p>
+ * In addition to the AST of the active editor, a bounded number of recently used ASTs of other
+ * Java elements is kept, so that switching between editors or computing quick fixes and hovers
+ * for inactive elements does not always require a new parse.
+ * </p>
  *
  * The {@link CoreASTProvider} contains all methods/functionality that are
  * not dependent on the UI, from org.eclipse.jdt.internal.ui.javaeditor.ASTProvider
@@ -62,6 +70,9 @@ public final class CoreASTProvider {
 	private Object fReconcileLock= new Object();
 	private Object fWaitLock= new Object();
 	private volatile boolean fIsReconciling;
+	/** The stamp of the element being reconciled when reconciling started */
+	private Object fReconcilingStamp;
+	private final SharedASTCache fASTCache= new SharedASTCache();
 
 	/**
 	 * Wait flag class.
@@ -143,9 +154,9 @@ public final class CoreASTProvider {
 				}
 				if (waitFlag == CoreASTProvider.WAIT_NO) {
 					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
-						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning null (WAIT_NO) for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$
+						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning AST from cache or null (WAIT_NO) for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$
 
-					return null;
+					return fASTCache.get(input, fASTCache.computeStamp(input));
 
 				}
 			}
@@ -188,17 +199,29 @@ public final class CoreASTProvider {
 			} catch (InterruptedException e) {
 				return null; // thread has been interrupted don't compute AST
 			}
-		} else if (canReturnNull)
-			return null;
+		} else if (canReturnNull) {
+			// an AST of the unchanged input is already available
+			return fASTCache.get(input, fASTCache.computeStamp(input));
+		}
 
 
 		CompilationUnit ast= null;
+		// computed before the AST is created, so that the AST is never newer than its stamp
+		Object stamp= fASTCache.computeStamp(input);
 		try {
-			ast= createAST(input, progressMonitor);
-			if (progressMonitor != null && progressMonitor.isCanceled()) {
-				ast= null;
+			ast= fASTCache.get(input, stamp);
+			if (ast != null) {
 				if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
-					System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "Ignore created AST for: " + input.getElementName() + " - operation has been cancelled"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning AST from cache: " + toString(ast) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			} else {
+				ast= createAST(input, progressMonitor);
+				if (progressMonitor != null && progressMonitor.isCanceled()) {
+					ast= null;
+					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "Ignore created AST for: " + input.getElementName() + " - operation has been cancelled"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				} else {
+					fASTCache.put(input, ast, stamp);
+				}
 			}
 		} finally {
 			if (isActiveElement) {
@@ -206,10 +229,10 @@ public final class CoreASTProvider {
 					// in the meantime, reconcile created a new AST. Return that one
 					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
 						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "Ignore created AST for " + input.getElementName() + " - AST from reconciler is newer"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-					reconciled(fAST, input, null);
+					astChanged(fAST, input, null);
 					return fAST;
 				} else
-					reconciled(ast, input, null);
+					astChanged(ast, input, stamp);
 			}
 		}
 		return ast;
@@ -229,8 +252,10 @@ public final class CoreASTProvider {
 		if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
 			System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "about to reconcile: " + toString(javaElement)); //$NON-NLS-1$ //$NON-NLS-2$
 
+		Object stamp= fASTCache.computeStamp(javaElement);
 		synchronized (fReconcileLock) {
 			fReconcilingJavaElement= javaElement;
+			fReconcilingStamp= stamp;
 			fIsReconciling= true;
 		}
 		cache(null, javaElement);
@@ -300,6 +325,20 @@ public final class CoreASTProvider {
 		if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
 			System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "reconciled: " + toString(javaElement) + ", AST: " + toString(ast)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
+		synchronized (fReconcileLock) {
+			astChanged(ast, javaElement, fReconcilingStamp);
+		}
+	}
+
+	/**
+	 * Update internal structures after an AST has been reconciled or created.
+	 *
+	 * @param ast the compilation unit AST or <code>null</code>
+	 * @param javaElement the Java element for which the AST was built
+	 * @param stamp the stamp of the Java element before the AST was created, or <code>null</code>
+	 *            to not keep the AST once it is no longer the active one
+	 */
+	private void astChanged(CompilationUnit ast, ITypeRoot javaElement, Object stamp) {
 		synchronized (fReconcileLock) {
 			fIsReconciling= false;
 			if (javaElement == null || !javaElement.equals(fReconcilingJavaElement)) {
@@ -314,7 +353,7 @@ public final class CoreASTProvider {
 
 				return;
 			}
-			cache(ast, javaElement);
+			cache(ast, javaElement, stamp);
 		}
 	}
 
@@ -334,7 +373,19 @@ public final class CoreASTProvider {
 	 * @param ast the ast
 	 * @param javaElement the java element
 	 */
-	public synchronized void cache(CompilationUnit ast, ITypeRoot javaElement) {
+	public void cache(CompilationUnit ast, ITypeRoot javaElement) {
+		cache(ast, javaElement, null);
+	}
+
+	/**
+	 * Caches the given compilation unit AST for the given Java element.
+	 *
+	 * @param ast the ast
+	 * @param javaElement the java element
+	 * @param stamp the stamp of the java element when the AST creation started, or
+	 *            <code>null</code> to not keep the AST once it is no longer the active one
+	 */
+	private synchronized void cache(CompilationUnit ast, ITypeRoot javaElement, Object stamp) {
 
 		if (fActiveJavaElement != null && !fActiveJavaElement.equals(javaElement)) {
 			if (JavaManipulationPlugin.DEBUG_AST_PROVIDER && javaElement != null) // don't report call from disposeAST()
@@ -349,6 +400,7 @@ public final class CoreASTProvider {
 			disposeAST();
 
 		fAST= ast;
+		fASTCache.put(javaElement, ast, stamp);
 
 		// Signal AST change
 		synchronized (fWaitLock) {
@@ -443,7 +495,7 @@ public final class CoreASTProvider {
 	}
 
 	private CoreASTProvider() {
-		// Prevent instantiation.
+		JavaCore.addElementChangedListener(fASTCache, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
 	}
 
 	/**
@@ -482,6 +534,49 @@ public final class CoreASTProvider {
 		return fAST;
 	}
 
+	/**
+	 * Tells whether the given AST is held by the cache of recently used ASTs.
+	 *
+	 * @param ast the compilation unit AST
+	 * @return <code>true</code> if the given AST is cached
+	 * @since 1.15
+	 */
+	public boolean isInASTCache(CompilationUnit ast) {
+		return fASTCache.contains(ast);
+	}
+
+	/**
+	 * Removes all ASTs from the cache of recently used ASTs. The AST of the active
+	 * Java element is not affected.
+	 *
+	 * @since 1.15
+	 */
+	public void clearASTCache() {
+		fASTCache.clear();
+	}
+
+	/**
+	 * Returns the number of times an AST could be taken from the cache of recently used ASTs
+	 * instead of being created.
+	 *
+	 * @return the number of cache hits
+	 * @since 1.15
+	 */
+	public int getASTCacheHits() {
+		return fASTCache.getCacheHits();
+	}
+
+	/**
+	 * Returns the number of times an AST had to be created because there was no valid AST in the
+	 * cache of recently used ASTs.
+	 *
+	 * @return the number of cache misses
+	 * @since 1.15
+	 */
+	public int getASTCacheMisses() {
+		return fASTCache.getCacheMisses();
+	}
+
 	/**
 	 * Notify all waiting threads that the AST has changed.
 	 */
@@ -25,6 +25,8 @@ import org.eclipse.core.runtime.Status;
 
 import org.eclipse.jdt.core.manipulation.JavaManipulation;
 
+import org.eclipse.jdt.internal.corext.callhierarchy.CallGraphIndex;
+
 /**
  * The main plug-in class to be used in the workbench.
  */
@@ -62,6 +64,7 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		CallGraphIndex.shutdown();
 		super.stop(context);
 		fgDefault= null;
 	}
@@ -21,6 +21,21 @@ package org.eclipse.jdt.internal.ui.javaeditor;
  */
 public abstract class SemanticHighlightingCore {
 
+	/**
+	 * Bit of {@link #getConsumedBindingKinds()} for semantic tokens without a binding.
+	 *
+	 * @since 1.15
+	 */
+	public static final int NO_BINDING= 1;
+
+	/**
+	 * Value of {@link #getConsumedBindingKinds()} for semantic highlightings that may consume
+	 * tokens with any binding or without a binding.
+	 *
+	 * @since 1.15
+	 */
+	public static final int ALL_BINDING_KINDS= -1;
+
 	/**
 	 * @return the display name
 	 */
@@ -56,4 +71,22 @@ public abstract class SemanticHighlightingCore {
 		return false;
 	}
 
+	/**
+	 * Returns the kinds of bindings of the semantic tokens this semantic highlighting can
+	 * consume. The semantic highlighting reconciler does not ask it to {@link #consumes(SemanticToken)}
+	 * tokens of other kinds.
+	 * <p>
+	 * Subclasses whose {@link #consumes(SemanticToken)} only matches some kinds of bindings should
+	 * override this method, the default is {@link #ALL_BINDING_KINDS}.
+	 * </p>
+	 *
+	 * @return a mask with the bit <code>1 &lt;&lt; kind</code> set for each
+	 *         {@link org.eclipse.jdt.core.dom.IBinding#getKind() binding kind} that is consumed,
+	 *         and {@link #NO_BINDING} set if tokens without a binding are consumed
+	 * @since 1.15
+	 */
+	public int getConsumedBindingKinds() {
+		return ALL_BINDING_KINDS;
+	}
+
 }
@@ -11,32 +11,131 @@
  */
 package org.eclipse.jdt.internal.ui.text;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IType;
 
 import org.eclipse.jdt.internal.ui.text.ChainElement.ElementType;
 
+/**
+ * Breadth-first search for chains of fields and method calls that end in an expected type.
+ * <p>
+ * The chains of a depth are expanded in parallel on a work-stealing pool. Chains share their
+ * prefixes, and the members and assignability of types are taken from a {@link ChainSearchCache}
+ * that is kept across searches as long as the Java model does not change structurally. The order
+ * of the found chains does not depend on the parallelism.
+ * </p>
+ */
 public class ChainFinder {
 
+	/** The maximal number of incomplete chains of a depth */
+	private static final int MAX_INCOMPLETE_CHAINS= 50000;
+
+	/** The number of chains below which a task is not split */
+	private static final int SPLIT_THRESHOLD= 16;
+
+	private static final ForkJoinPool fgPool= new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+		ForkJoinWorkerThread thread= ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+		thread.setName("Chain Completion " + thread.getPoolIndex()); //$NON-NLS-1$
+		return thread;
+	}, null, false);
+
+	/**
+	 * A chain that shares all but its last element with its parent.
+	 */
+	private static final class ChainNode {
+		private final ChainNode fParent;
+		private final ChainElement fEdge;
+		private final int fLength;
+
+		ChainNode(ChainNode parent, ChainElement edge) {
+			fParent= parent;
+			fEdge= edge;
+			fLength= parent == null ? 1 : parent.fLength + 1;
+		}
+
+		boolean contains(ChainElement edge) {
+			for (ChainNode node= this; node != null; node= node.fParent) {
+				if (node.fEdge.equals(edge))
+					return true;
+			}
+			return false;
+		}
+
+		List<ChainElement> toList() {
+			ChainElement[] elements= new ChainElement[fLength];
+			for (ChainNode node= this; node != null; node= node.fParent)
+				elements[node.fLength - 1]= node.fEdge;
+			return Arrays.asList(elements);
+		}
+	}
+
+	/**
+	 * Classifies and expands the chains of a range of the current depth.
+	 */
+	private final class ExpandTask extends RecursiveAction {
+		private static final long serialVersionUID= 1L;
+
+		private final ChainNode[] fChains;
+		private final boolean[] fComplete;
+		private final ChainNode[][] fChildren;
+		private final int fFrom;
+		private final int fTo;
+		private final ChainType fExpectedType;
+		private final int fExpectedDimension;
+		private final int fMaxDepth;
+
+		ExpandTask(ChainNode[] chains, boolean[] complete, ChainNode[][] children, int from, int to, ChainType expectedType, int expectedDimension, int maxDepth) {
+			fChains= chains;
+			fComplete= complete;
+			fChildren= children;
+			fFrom= from;
+			fTo= to;
+			fExpectedType= expectedType;
+			fExpectedDimension= expectedDimension;
+			fMaxDepth= maxDepth;
+		}
+
+		@Override
+		protected void compute() {
+			if (fTo - fFrom > SPLIT_THRESHOLD) {
+				int middle= (fFrom + fTo) >>> 1;
+				invokeAll(new ExpandTask(fChains, fComplete, fChildren, fFrom, middle, fExpectedType, fExpectedDimension, fMaxDepth),
+						new ExpandTask(fChains, fComplete, fChildren, middle, fTo, fExpectedType, fExpectedDimension, fMaxDepth));
+				return;
+			}
+			for (int i= fFrom; i < fTo && !isCanceled; i++) {
+				ChainNode chain= fChains[i];
+				if (isValidEndOfChain(chain.fEdge, fExpectedType, fExpectedDimension)) {
+					fComplete[i]= true;
+				} else if (chain.fLength < fMaxDepth) {
+					fChildren[i]= searchDeeper(chain);
+				}
+			}
+		}
+	}
+
 	private final List<ChainType> expectedTypes;
 
 	private final List<String> excludedTypes;
 
 	private final IType receiverType;
 
-	private final List<Chain> chains= new LinkedList<>();
-
-	private final Map<IJavaElement, ChainElement> edgeCache= new HashMap<>();
+	private final List<Chain> chains= new CopyOnWriteArrayList<>();
 
-	private final Map<String, List<IJavaElement>> fieldsAndMethodsCache= new HashMap<>();
+	private final ChainSearchCache cache= ChainSearchCache.getDefault();
 
-	private final Map<String, Boolean> assignableCache= new HashMap<>();
+	private final Map<List<IJavaElement>, List<IJavaElement>> includedMembersCache= Collections.synchronizedMap(new IdentityHashMap<>());
 
 	private volatile boolean isCanceled;
 
@@ -68,23 +167,35 @@ public class ChainFinder {
 
 	private void searchChainsForExpectedType(final ChainType expectedType, final int expectedDimensions,
 			final List<ChainElement> entrypoints, final int maxChains, final int minDepth, final int maxDepth) {
-		final LinkedList<LinkedList<ChainElement>> incompleteChains= prepareQueue(entrypoints);
-
-		while (!incompleteChains.isEmpty() && !isCanceled) {
-			final LinkedList<ChainElement> chain= incompleteChains.poll();
-			final ChainElement edge= chain.getLast();
-			if (isValidEndOfChain(edge, expectedType, expectedDimensions)) {
-				if (chain.size() >= minDepth) {
-					chains.add(new Chain(chain, expectedDimensions));
-					if (chains.size() == maxChains) {
-						break;
+		ChainNode[] incompleteChains= new ChainNode[entrypoints.size()];
+		for (int i= 0; i < incompleteChains.length; i++) {
+			incompleteChains[i]= new ChainNode(null, entrypoints.get(i));
+		}
+
+		while (incompleteChains.length > 0 && !isCanceled) {
+			boolean[] complete= new boolean[incompleteChains.length];
+			ChainNode[][] children= new ChainNode[incompleteChains.length][];
+			fgPool.invoke(new ExpandTask(incompleteChains, complete, children, 0, incompleteChains.length, expectedType, expectedDimensions, maxDepth));
+
+			// collect in the order of the chains, so that the result does not depend on the scheduling
+			List<ChainNode> next= new ArrayList<>();
+			for (int i= 0; i < incompleteChains.length; i++) {
+				if (complete[i]) {
+					if (incompleteChains[i].fLength >= minDepth) {
+						chains.add(new Chain(incompleteChains[i].toList(), expectedDimensions));
+						if (chains.size() >= maxChains) {
+							return;
+						}
+					}
+				} else if (children[i] != null) {
+					for (ChainNode child : children[i]) {
+						if (next.size() == MAX_INCOMPLETE_CHAINS)
+							break;
+						next.add(child);
 					}
 				}
-				continue;
-			}
-			if (chain.size() < maxDepth && incompleteChains.size() <= 50000) {
-				searchDeeper(chain, incompleteChains, edge.getReturnType());
 			}
+			incompleteChains= next.toArray(new ChainNode[next.size()]);
 		}
 	}
 
@@ -98,16 +209,6 @@ public class ChainFinder {
 		return chains;
 	}
 
-	private static LinkedList<LinkedList<ChainElement>> prepareQueue(final List<ChainElement> entrypoints) {
-		final LinkedList<LinkedList<ChainElement>> incompleteChains= new LinkedList<>();
-		for (final ChainElement entrypoint : entrypoints) {
-			final LinkedList<ChainElement> chain= new LinkedList<>();
-			chain.add(entrypoint);
-			incompleteChains.add(chain);
-		}
-		return incompleteChains;
-	}
-
 	public static boolean isFromExcludedType(final List<String> excluded, final IJavaElement element) {
 		if (element instanceof IType) {
 			return excluded.contains(((IType) element).getFullyQualifiedName());
@@ -134,60 +235,38 @@ public class ChainFinder {
 		if (expectedType.getPrimitiveType() != null) {
 			return expectedType.getPrimitiveType().equals(edge.getReturnType().getPrimitiveType());
 		}
-		Boolean isAssignable= assignableCache.get(edge.toString() + expectedType.toString());
-		if (isAssignable == null) {
-			isAssignable= ChainElementAnalyzer.isAssignable(edge, expectedType.getType(), expectedDimension);
-			assignableCache.put(edge.toString() + expectedType.toString(), isAssignable);
-		}
-		return isAssignable;
+		return cache.isAssignable(edge, expectedType.getType(), expectedDimension);
 	}
 
-	private void searchDeeper(final LinkedList<ChainElement> chain,
-			final List<LinkedList<ChainElement>> incompleteChains, final ChainType currentlyVisitedType) {
+	private ChainNode[] searchDeeper(final ChainNode chain) {
 		boolean staticOnly= false;
-		if (chain.getLast().getElementType() == ElementType.TYPE) {
+		if (chain.fEdge.getElementType() == ElementType.TYPE) {
 			staticOnly= true;
 		}
 
-		for (final IJavaElement element : findAllFieldsAndMethods(currentlyVisitedType, staticOnly)) {
-			final ChainElement newEdge= createEdge(element);
+		List<ChainNode> children= new ArrayList<>();
+		for (final IJavaElement element : findAllFieldsAndMethods(chain.fEdge.getReturnType(), staticOnly)) {
+			final ChainElement newEdge= cache.getEdge(element);
 			if (newEdge.getElementType() != null && !chain.contains(newEdge)) {
-				incompleteChains.add(cloneChainAndAppendEdge(chain, newEdge));
+				children.add(new ChainNode(chain, newEdge));
 			}
 		}
+		return children.toArray(new ChainNode[children.size()]);
 	}
 
 	private List<IJavaElement> findAllFieldsAndMethods(final ChainType chainElementType, boolean staticOnly) {
-		List<IJavaElement> cached= fieldsAndMethodsCache.get(chainElementType.toString() + Boolean.toString(staticOnly));
-		if (cached == null) {
-			cached= new LinkedList<>();
-			Collection<IJavaElement> candidates= staticOnly
-					? ChainElementAnalyzer.findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(chainElementType, new ChainType(receiverType))
-					: ChainElementAnalyzer.findVisibleInstanceFieldsAndRelevantInstanceMethods(chainElementType, new ChainType(receiverType));
+		List<IJavaElement> candidates= cache.getFieldsAndMethods(chainElementType, staticOnly, receiverType);
+		// the excluded types are a preference of the project, filter the shared lists once per search
+		List<IJavaElement> included= includedMembersCache.get(candidates);
+		if (included == null) {
+			included= new ArrayList<>(candidates.size());
 			for (final IJavaElement e : candidates) {
 				if (!ChainFinder.isFromExcludedType(excludedTypes, e)) {
-					cached.add(e);
+					included.add(e);
 				}
 			}
-			fieldsAndMethodsCache.put(chainElementType.toString() + Boolean.toString(staticOnly), cached);
+			includedMembersCache.put(candidates, included);
 		}
-		return cached;
-	}
-
-	private ChainElement createEdge(final IJavaElement member) {
-		ChainElement cached= edgeCache.get(member);
-		if (cached == null) {
-			cached= new ChainElement(member, false);
-			edgeCache.put(member, cached);
-		}
-		return cached;
-	}
-
-	private static LinkedList<ChainElement> cloneChainAndAppendEdge(final LinkedList<ChainElement> chain,
-			final ChainElement newEdge) {
-		@SuppressWarnings("unchecked")
-		final LinkedList<ChainElement> chainCopy= (LinkedList<ChainElement>) chain.clone();
-		chainCopy.add(newEdge);
-		return chainCopy;
+		return included;
 	}
 }
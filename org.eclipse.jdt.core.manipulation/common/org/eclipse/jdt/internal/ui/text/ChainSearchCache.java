@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Thread-safe caches of the chain search that are shared by all searches. The caches are cleared
+ * whenever the members or the type hierarchy of any Java element may have changed; changes
+ * inside of method bodies keep them.
+ *
+ * @see ChainFinder
+ */
+final class ChainSearchCache {
+
+	/** The size of a cache at which it is cleared */
+	private static final int MAX_SIZE= 100000;
+
+	private static ChainSearchCache fgInstance;
+
+	private final Map<IJavaElement, ChainElement> fEdges= new ConcurrentHashMap<>();
+
+	private final Map<MembersKey, List<IJavaElement>> fMembers= new ConcurrentHashMap<>();
+
+	private final Map<AssignableKey, Boolean> fAssignable= new ConcurrentHashMap<>();
+
+	private ChainSearchCache() {
+		IElementChangedListener listener= event -> {
+			if (affectsMembers(event.getDelta()))
+				clear();
+		};
+		JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	static synchronized ChainSearchCache getDefault() {
+		if (fgInstance == null)
+			fgInstance= new ChainSearchCache();
+		return fgInstance;
+	}
+
+	/**
+	 * Returns the shared chain element of a member.
+	 *
+	 * @param member the field or method
+	 * @return the chain element
+	 */
+	ChainElement getEdge(IJavaElement member) {
+		ChainElement edge= fEdges.get(member);
+		if (edge == null) {
+			edge= new ChainElement(member, false);
+			ChainElement existing= put(fEdges, member, edge);
+			if (existing != null)
+				edge= existing;
+		}
+		return edge;
+	}
+
+	/**
+	 * Returns the fields and methods that can be accessed on a type.
+	 *
+	 * @param type the type
+	 * @param staticOnly whether to return the static members or the instance members
+	 * @param receiverType the type from which the members are accessed, may be <code>null</code>
+	 * @return the unmodifiable list of fields and methods
+	 */
+	List<IJavaElement> getFieldsAndMethods(ChainType type, boolean staticOnly, IType receiverType) {
+		MembersKey key= new MembersKey(type, staticOnly, receiverType);
+		List<IJavaElement> members= fMembers.get(key);
+		if (members == null) {
+			Collection<IJavaElement> candidates= staticOnly
+					? ChainElementAnalyzer.findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(type, new ChainType(receiverType))
+					: ChainElementAnalyzer.findVisibleInstanceFieldsAndRelevantInstanceMethods(type, new ChainType(receiverType));
+			members= Collections.unmodifiableList(new ArrayList<>(candidates));
+			put(fMembers, key, members);
+		}
+		return members;
+	}
+
+	/**
+	 * Tells whether the return type of a chain element is assignable to the expected type.
+	 *
+	 * @param edge the chain element with a resolved return type
+	 * @param expectedType the expected type
+	 * @param expectedDimension the array dimension of the expected type
+	 * @return <code>true</code> iff the element's return type is assignable
+	 */
+	boolean isAssignable(ChainElement edge, IType expectedType, int expectedDimension) {
+		AssignableKey key= new AssignableKey(edge.getReturnType().getType(), edge.getReturnTypeDimension(), expectedType, expectedDimension);
+		Boolean assignable= fAssignable.get(key);
+		if (assignable == null) {
+			assignable= Boolean.valueOf(ChainElementAnalyzer.isAssignable(edge, expectedType, expectedDimension));
+			put(fAssignable, key, assignable);
+		}
+		return assignable.booleanValue();
+	}
+
+	void clear() {
+		fEdges.clear();
+		fMembers.clear();
+		fAssignable.clear();
+		ChainElementAnalyzer.clearTypeCache();
+	}
+
+	private static <K, V> V put(Map<K, V> cache, K key, V value) {
+		if (cache.size() >= MAX_SIZE)
+			cache.clear();
+		return cache.putIfAbsent(key, value);
+	}
+
+	/*
+	 * Tells whether a delta may change the members or supertypes of a type. Fine grained deltas
+	 * of typing in a method body do not. The content of a method or field delta is its signature,
+	 * like the return type of a method or the type of a field, which chain elements depend on.
+	 */
+	private static boolean affectsMembers(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED)
+			return true;
+		int flags= delta.getFlags();
+		int harmless= IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_FINE_GRAINED
+				| IJavaElementDelta.F_AST_AFFECTED | IJavaElementDelta.F_PRIMARY_RESOURCE | IJavaElementDelta.F_PRIMARY_WORKING_COPY;
+		if ((flags & ~harmless) != 0)
+			return true;
+		if ((flags & IJavaElementDelta.F_CONTENT) != 0) {
+			int type= delta.getElement().getElementType();
+			if (type == IJavaElement.METHOD || type == IJavaElement.FIELD)
+				return true;
+			if ((flags & IJavaElementDelta.F_FINE_GRAINED) == 0 && type <= IJavaElement.CLASS_FILE)
+				return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsMembers(child))
+				return true;
+		}
+		return false;
+	}
+
+	private static final class MembersKey {
+		private final IType fType;
+		private final String fPrimitiveType;
+		private final boolean fStaticOnly;
+		private final IType fReceiverType;
+
+		MembersKey(ChainType type, boolean staticOnly, IType receiverType) {
+			fType= type.getType();
+			fPrimitiveType= type.getPrimitiveType();
+			fStaticOnly= staticOnly;
+			fReceiverType= receiverType;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fType, fPrimitiveType, Boolean.valueOf(fStaticOnly), fReceiverType);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof MembersKey))
+				return false;
+			MembersKey other= (MembersKey) obj;
+			return fStaticOnly == other.fStaticOnly && Objects.equals(fType, other.fType) && Objects.equals(fPrimitiveType, other.fPrimitiveType)
+					&& Objects.equals(fReceiverType, other.fReceiverType);
+		}
+	}
+
+	private static final class AssignableKey {
+		private final IType fType;
+		private final int fDimension;
+		private final IType fExpectedType;
+		private final int fExpectedDimension;
+
+		AssignableKey(IType type, int dimension, IType expectedType, int expectedDimension) {
+			fType= type;
+			fDimension= dimension;
+			fExpectedType= expectedType;
+			fExpectedDimension= expectedDimension;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fType, Integer.valueOf(fDimension), fExpectedType, Integer.valueOf(fExpectedDimension));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof AssignableKey))
+				return false;
+			AssignableKey other= (AssignableKey) obj;
+			return fDimension == other.fDimension && fExpectedDimension == other.fExpectedDimension && Objects.equals(fType, other.fType)
+					&& Objects.equals(fExpectedType, other.fExpectedType);
+		}
+	}
+}
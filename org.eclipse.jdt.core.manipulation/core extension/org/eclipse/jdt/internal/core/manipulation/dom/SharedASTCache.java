@@ -0,0 +1,328 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation.dom;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.BufferChangedEvent;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IBufferChangedListener;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.corext.util.LRUMap;
+
+/**
+ * A bounded cache of resolved, unmodifiable compilation unit ASTs, keyed by {@link ITypeRoot}.
+ * <p>
+ * Each entry remembers a stamp of its input at the time the AST was created. For inputs without
+ * unsaved changes this is the modification stamp of the underlying resource, for dirty working
+ * copies it is the number of changes of the buffer. An entry is only returned if the stamp still
+ * matches.
+ * </p>
+ * <p>
+ * On a Java element change or reconcile, only the ASTs of the changed compilation units are
+ * removed, unless the change can also affect the bindings of other compilation units, e.g. because
+ * a type or a member has been added, removed or changed, or the class path has changed.
+ * </p>
+ * <p>
+ * The ASTs are held by soft references, so the garbage collector can reclaim them under memory
+ * pressure. The maximum number of entries can be configured with the system property
+ * <code>org.eclipse.jdt.core.manipulation.astCacheSize</code>; a value of <code>0</code> disables
+ * the cache.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public final class SharedASTCache implements IElementChangedListener {
+
+	private static final int DEFAULT_CACHE_SIZE= 5;
+
+	private static class CacheEntry {
+
+		private final SoftReference<CompilationUnit> fAST;
+		private final Object fStamp;
+
+		public CacheEntry(CompilationUnit ast, Object stamp) {
+			fAST= new SoftReference<>(ast);
+			fStamp= stamp;
+		}
+	}
+
+	/**
+	 * Counts the changes of a buffer.
+	 */
+	private static final class BufferChangeCounter implements IBufferChangedListener {
+
+		private final AtomicInteger fChanges= new AtomicInteger();
+
+		@Override
+		public void bufferChanged(BufferChangedEvent event) {
+			fChanges.incrementAndGet();
+		}
+	}
+
+	/**
+	 * The stamp of a working copy with unsaved changes.
+	 */
+	private static final class BufferStamp {
+
+		private final BufferChangeCounter fCounter;
+		private final int fChanges;
+
+		public BufferStamp(BufferChangeCounter counter) {
+			fCounter= counter;
+			fChanges= counter.fChanges.get();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof BufferStamp))
+				return false;
+			BufferStamp other= (BufferStamp) obj;
+			return fCounter == other.fCounter && fChanges == other.fChanges;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(fCounter) * 31 + fChanges;
+		}
+	}
+
+	private final int fMaxSize;
+	private final Map<ITypeRoot, CacheEntry> fEntries;
+
+	/** The change counters of the buffers of dirty working copies, guarded by itself */
+	private final Map<IBuffer, BufferChangeCounter> fBufferCounters= new WeakHashMap<>();
+
+	private int fCacheHits= 0;
+	private int fCacheMisses= 0;
+
+	/**
+	 * Creates a cache whose size is read from the
+	 * <code>org.eclipse.jdt.core.manipulation.astCacheSize</code> system property.
+	 */
+	public SharedASTCache() {
+		this(Math.max(0, Integer.getInteger("org.eclipse.jdt.core.manipulation.astCacheSize", DEFAULT_CACHE_SIZE).intValue())); //$NON-NLS-1$
+	}
+
+	/**
+	 * Creates a cache with the given maximum number of entries.
+	 *
+	 * @param maxSize the maximum number of ASTs to keep, <code>0</code> to disable caching
+	 */
+	public SharedASTCache(int maxSize) {
+		fMaxSize= maxSize;
+		fEntries= new LRUMap<>(Math.max(1, maxSize));
+	}
+
+	/**
+	 * Returns the cached AST for the given input if it is still up to date.
+	 *
+	 * @param input the Java element
+	 * @param stamp the current stamp of the input, see {@link #computeStamp(ITypeRoot)}
+	 * @return the cached AST or <code>null</code> if there is no valid AST for the input
+	 */
+	public CompilationUnit get(ITypeRoot input, Object stamp) {
+		if (fMaxSize == 0 || input == null)
+			return null;
+
+		synchronized (this) {
+			CacheEntry entry= fEntries.get(input);
+			if (entry != null) {
+				CompilationUnit ast= entry.fAST.get();
+				if (ast != null && stamp != null && stamp.equals(entry.fStamp)) {
+					fCacheHits++;
+					return ast;
+				}
+				fEntries.remove(input);
+			}
+			fCacheMisses++;
+		}
+		return null;
+	}
+
+	/**
+	 * Adds the given AST to the cache. The stamp must have been computed with
+	 * {@link #computeStamp(ITypeRoot)} before the AST was created, so that an AST of older
+	 * contents is never stored under the stamp of newer contents.
+	 *
+	 * @param input the Java element
+	 * @param ast the AST created for <code>input</code>, can be <code>null</code>
+	 * @param stamp the stamp of the input at the time the AST was created, can be <code>null</code>
+	 */
+	public void put(ITypeRoot input, CompilationUnit ast, Object stamp) {
+		if (fMaxSize == 0 || input == null || ast == null || stamp == null)
+			return;
+
+		synchronized (this) {
+			fEntries.put(input, new CacheEntry(ast, stamp));
+		}
+	}
+
+	/**
+	 * Removes the cached AST for the given input.
+	 *
+	 * @param input the Java element
+	 */
+	public synchronized void remove(ITypeRoot input) {
+		fEntries.remove(input);
+	}
+
+	/**
+	 * Removes all cached ASTs.
+	 */
+	public synchronized void clear() {
+		fEntries.clear();
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		List<ITypeRoot> changed= new ArrayList<>();
+		if (!collectChangedTypeRoots(event.getDelta(), changed)) {
+			clear();
+			return;
+		}
+		synchronized (this) {
+			for (ITypeRoot typeRoot : changed) {
+				fEntries.remove(typeRoot);
+			}
+		}
+	}
+
+	/**
+	 * Collects the compilation units and class files changed by the given delta.
+	 *
+	 * @param delta the Java element delta
+	 * @param result the list to add the changed type roots to
+	 * @return <code>false</code> if the change can affect the bindings of other compilation units
+	 */
+	private static boolean collectChangedTypeRoots(IJavaElementDelta delta, List<ITypeRoot> result) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				// changes of non-Java resources are reported as content changes
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT)) != 0)
+					return false;
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					if (!collectChangedTypeRoots(child, result))
+						return false;
+				}
+				return true;
+			case IJavaElement.COMPILATION_UNIT:
+				result.add((ITypeRoot) element);
+				// the ASTs are created with the primary working copies of other units
+				if (((ICompilationUnit) element).getOwner() != null)
+					return true;
+				if (delta.getKind() != IJavaElementDelta.CHANGED)
+					return false;
+				// without a fine-grained delta, the types of the unit may have changed
+				int flags= delta.getFlags();
+				if ((flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & IJavaElementDelta.F_FINE_GRAINED) == 0)
+					return false;
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					int type= child.getElement().getElementType();
+					if (type != IJavaElement.IMPORT_CONTAINER && type != IJavaElement.IMPORT_DECLARATION && type != IJavaElement.PACKAGE_DECLARATION)
+						return false;
+				}
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Tells whether the given AST is held by this cache.
+	 *
+	 * @param ast the AST
+	 * @return <code>true</code> if the AST is cached
+	 */
+	public synchronized boolean contains(CompilationUnit ast) {
+		if (ast == null)
+			return false;
+		for (CacheEntry entry : fEntries.values()) {
+			if (entry.fAST.get() == ast)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Computes the stamp of the given input.
+	 *
+	 * @param input the Java element
+	 * @return the stamp or <code>null</code> if no stamp can be computed
+	 */
+	public Object computeStamp(ITypeRoot input) {
+		if (fMaxSize == 0)
+			return null;
+		try {
+			if (input instanceof ICompilationUnit && ((ICompilationUnit) input).hasUnsavedChanges()) {
+				IBuffer buffer= input.getBuffer();
+				if (buffer == null || buffer.isClosed())
+					return null;
+				synchronized (fBufferCounters) {
+					BufferChangeCounter counter= fBufferCounters.get(buffer);
+					if (counter == null) {
+						counter= new BufferChangeCounter();
+						buffer.addBufferChangedListener(counter);
+						fBufferCounters.put(buffer, counter);
+					}
+					return new BufferStamp(counter);
+				}
+			}
+			// class files in external archives have no resource and are not cached
+			IResource resource= input.getResource();
+			long stamp= resource != null ? resource.getModificationStamp() : IResource.NULL_STAMP;
+			return stamp != IResource.NULL_STAMP ? Long.valueOf(stamp) : null;
+		} catch (JavaModelException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the number of times an AST could be taken from the cache.
+	 *
+	 * @return the number of cache hits
+	 */
+	public synchronized int getCacheHits() {
+		return fCacheHits;
+	}
+
+	/**
+	 * Returns the number of times no valid AST was found in the cache.
+	 *
+	 * @return the number of cache misses
+	 */
+	public synchronized int getCacheMisses() {
+		return fCacheMisses;
+	}
+}
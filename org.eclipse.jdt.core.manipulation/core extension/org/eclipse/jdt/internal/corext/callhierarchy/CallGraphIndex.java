@@ -0,0 +1,1107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IInitializer;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AnnotationTypeDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.EnumConstantDeclaration;
+import org.eclipse.jdt.core.dom.EnumDeclaration;
+import org.eclipse.jdt.core.dom.ExpressionMethodReference;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.LambdaExpression;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.RecordDeclaration;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.SuperMethodInvocation;
+import org.eclipse.jdt.core.dom.SuperMethodReference;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.dom.TypeMethodReference;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.corext.dom.Bindings;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+
+/**
+ * An index of the calls in the source code of the workspace that is kept between sessions and
+ * updated incrementally from Java element deltas.
+ * <p>
+ * For every compilation unit the index keeps the calls of its members as found by
+ * {@link CalleeAnalyzerVisitor}; the callers of a method are found by reversing them. A compilation
+ * unit is indexed again when it changes. When the types, methods or fields it declares change, the
+ * compilation units that mention their names are indexed again too, since the bindings of their
+ * calls may have changed. Changes of build paths or of the supertypes of a type make the whole
+ * index stale.
+ * </p>
+ * <p>
+ * Queries return <code>null</code> whenever the index cannot answer like a search would, and the
+ * call hierarchy falls back to searching: while the index is stale, for members that are not
+ * declared in indexed source, for constructors, fields, types and initializers, for methods that
+ * override other methods, and for methods whose names are used in method references or lambda
+ * bodies, since the search engine reports such calls differently.
+ * </p>
+ */
+public final class CallGraphIndex {
+
+	/** The magic number of index files */
+	private static final int MAGIC= 0x4A434749; // JCGI
+
+	/** The version of the file format */
+	private static final int VERSION= 1;
+
+	private static final String FILE_NAME= "callGraph.index"; //$NON-NLS-1$
+
+	/** The number of compilation units that are parsed together */
+	private static final int BATCH_SIZE= 50;
+
+	/** The delay of updates after changes, in milliseconds */
+	private static final long UPDATE_DELAY= 500;
+
+	/** The minimal time between saves of the index, in milliseconds */
+	private static final long SAVE_INTERVAL= 5 * 60 * 1000;
+
+	/** The call is made on an interface */
+	private static final int INTERFACE_CALL= 1;
+
+	/** The call is the declaration of a constructor of a local type, which is a callee but not a caller */
+	private static final int DECLARATION= 2;
+
+	private static CallGraphIndex fgInstance;
+
+	/** The indexed compilation units by handle identifier */
+	private final Map<String, Unit> fUnits= new HashMap<>();
+
+	/** The handle identifiers of the compilation units that must be indexed again */
+	private final Set<String> fStale= new LinkedHashSet<>();
+
+	/** The handle identifiers of the compilation units that are being indexed */
+	private final Set<String> fIndexing= new HashSet<>();
+
+	/** The handle identifiers of the compilation units that could not be indexed */
+	private final Set<String> fFailed= new HashSet<>();
+
+	/** The handle identifiers of new compilation units, which may change the calls of others */
+	private final Set<String> fAdded= new HashSet<>();
+
+	/** The calls by handle identifier of the called member */
+	private final Map<String, List<Call>> fCallers= new HashMap<>();
+
+	/** The number of compilation units using a method name in a method reference or lambda body */
+	private final Map<String, Integer> fUncertainNames= new HashMap<>();
+
+	/** The build path stamps of the indexed projects by name */
+	private final Map<String, Long> fProjectStamps= new HashMap<>();
+
+	private final Object fUpdateLock= new Object();
+
+	private final Job fJob;
+
+	/** Whether all compilation units of the workspace are known */
+	private boolean fScanned;
+
+	private boolean fLoaded;
+
+	/** Whether the index has changed since it was saved */
+	private boolean fDirty;
+
+	private long fLastSave;
+
+	private CallGraphIndex() {
+		fJob= new Job(CallHierarchyMessages.CallGraphIndex_taskname) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					update(monitor);
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		fJob.setSystem(true);
+		fJob.setPriority(Job.DECORATE);
+		JavaCore.addElementChangedListener(event -> elementChanged(event.getDelta()), ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	public static synchronized CallGraphIndex getDefault() {
+		if (fgInstance == null) {
+			fgInstance= new CallGraphIndex();
+			fgInstance.fJob.schedule();
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Stops updating the index and saves it, if it has been used.
+	 */
+	public static void shutdown() {
+		CallGraphIndex index;
+		synchronized (CallGraphIndex.class) {
+			index= fgInstance;
+		}
+		if (index != null) {
+			index.fJob.cancel();
+			try {
+				index.fJob.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			synchronized (index.fUpdateLock) {
+				index.save();
+			}
+		}
+	}
+
+	/**
+	 * Brings the index up to date with the workspace, like the background job does.
+	 *
+	 * @param progressMonitor the progress monitor, may be <code>null</code>
+	 * @throws OperationCanceledException if the progress monitor has been canceled
+	 */
+	public void update(IProgressMonitor progressMonitor) {
+		synchronized (fUpdateLock) {
+			SubMonitor monitor= SubMonitor.convert(progressMonitor, CallHierarchyMessages.CallGraphIndex_taskname, 100);
+			if (!fLoaded) {
+				load();
+				fLoaded= true;
+			}
+			if (!isScanned()) {
+				scan(monitor.split(10));
+			}
+			List<ICompilationUnit> batch;
+			while (!(batch= nextBatch()).isEmpty()) {
+				monitor.setWorkRemaining(getStaleCount() + batch.size());
+				try {
+					indexBatch(batch, monitor.split(batch.size()));
+				} finally {
+					synchronized (this) {
+						for (ICompilationUnit cu : batch) {
+							fIndexing.remove(cu.getHandleIdentifier());
+						}
+					}
+				}
+			}
+			if (System.currentTimeMillis() - fLastSave >= SAVE_INTERVAL)
+				save();
+		}
+	}
+
+	/**
+	 * Returns the callers of a method, like {@link CallerMethodWrapper} finds them.
+	 *
+	 * @param method the method
+	 * @param scope the scope of the callers
+	 * @return a map from handle identifier to method call, or <code>null</code> if the index
+	 *         cannot answer
+	 */
+	public Map<String, MethodCall> getCallers(IMethod method, IJavaSearchScope scope) {
+		ICompilationUnit cu= method.getCompilationUnit();
+		if (cu == null)
+			return null;
+		try {
+			if (method.isConstructor() || method.isLambdaMethod())
+				return null;
+		} catch (JavaModelException e) {
+			return null;
+		}
+		String handle= method.getHandleIdentifier();
+		List<Call> calls;
+		synchronized (this) {
+			if (!isUpToDate()) {
+				fJob.schedule();
+				return null;
+			}
+			Unit unit= fUnits.get(cu.getPrimary().getHandleIdentifier());
+			if (unit == null || !unit.fCalls.containsKey(handle) || unit.fOverriding.contains(handle) || fUncertainNames.containsKey(method.getElementName()))
+				return null;
+			List<Call> list= fCallers.get(handle);
+			calls= list == null ? Collections.emptyList() : new ArrayList<>(list);
+		}
+		CallSearchResultCollector collector= new CallSearchResultCollector();
+		for (Call call : calls) {
+			IJavaElement caller= JavaCore.create(call.fCaller);
+			if (caller instanceof IMember && scope.encloses(caller)) {
+				int start= call.fNameStart >= 0 ? call.fNameStart : call.fStart;
+				collector.addMember((IMember) caller, (IMember) caller, start, call.fEnd);
+			}
+		}
+		return collector.getCallers();
+	}
+
+	/**
+	 * Returns the callees of a member, like {@link CalleeMethodWrapper} finds them.
+	 *
+	 * @param member the member
+	 * @return a map from handle identifier to method call, or <code>null</code> if the index
+	 *         cannot answer
+	 */
+	public Map<String, MethodCall> getCallees(IMember member) {
+		ICompilationUnit cu= member.getCompilationUnit();
+		if (cu == null)
+			return null;
+		String cuHandle= cu.getPrimary().getHandleIdentifier();
+		Call[] calls;
+		synchronized (this) {
+			Unit unit= fUnits.get(cuHandle);
+			if (unit == null || fStale.contains(cuHandle) || fIndexing.contains(cuHandle)) {
+				fJob.schedule(UPDATE_DELAY);
+				return null;
+			}
+			calls= unit.fCalls.get(member.getHandleIdentifier());
+			if (calls == null)
+				return null;
+		}
+		CallSearchResultCollector collector= new CallSearchResultCollector();
+		for (Call call : calls) {
+			IJavaElement callee= JavaCore.create(call.fCallee);
+			if (callee instanceof IMember) {
+				IMember referenced= CalleeAnalyzerVisitor.getReferencedMember((IMember) callee, (call.fFlags & INTERFACE_CALL) != 0);
+				collector.addMember(member, referenced, call.fStart, call.fEnd, call.fLine);
+			}
+		}
+		return collector.getCallers();
+	}
+
+	private synchronized boolean isUpToDate() {
+		return fScanned && fStale.isEmpty() && fIndexing.isEmpty() && fFailed.isEmpty();
+	}
+
+	private synchronized boolean isScanned() {
+		return fScanned;
+	}
+
+	private synchronized int getStaleCount() {
+		return fStale.size();
+	}
+
+	private void elementChanged(IJavaElementDelta delta) {
+		synchronized (this) {
+			if (processDelta(delta))
+				invalidateAll();
+		}
+		if (CallHierarchyCore.getDefault().isCallGraphIndexEnabled())
+			fJob.schedule(UPDATE_DELAY);
+	}
+
+	/*
+	 * Returns whether the delta makes the whole index stale.
+	 */
+	private boolean processDelta(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		int flags= delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0)
+					return true;
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0)
+					return true;
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED)
+					fScanned= false;
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				ICompilationUnit cu= (ICompilationUnit) element;
+				if (!cu.getPrimary().equals(cu))
+					return false;
+				String handle= cu.getHandleIdentifier();
+				fFailed.remove(handle);
+				if (delta.getKind() == IJavaElementDelta.REMOVED) {
+					removeUnit(handle);
+				} else if (delta.getKind() == IJavaElementDelta.ADDED) {
+					fAdded.add(handle);
+					fStale.add(handle);
+				} else if ((flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_PRIMARY_WORKING_COPY | IJavaElementDelta.F_PRIMARY_RESOURCE)) != 0) {
+					fStale.add(handle);
+				}
+				return false;
+			default:
+				return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (processDelta(child))
+				return true;
+		}
+		return false;
+	}
+
+	private synchronized void invalidateAll() {
+		fStale.addAll(fUnits.keySet());
+		fStale.addAll(fFailed);
+		fFailed.clear();
+		fScanned= false;
+	}
+
+	/*
+	 * Finds the compilation units of the workspace that are new or have changed since they were
+	 * indexed, and forgets the ones that do not exist any longer.
+	 */
+	private void scan(IProgressMonitor progressMonitor) {
+		IJavaProject[] projects;
+		try {
+			projects= JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects();
+		} catch (JavaModelException e) {
+			JavaManipulationPlugin.log(e);
+			return;
+		}
+		SubMonitor monitor= SubMonitor.convert(progressMonitor, projects.length);
+		Map<String, Long> projectStamps= new HashMap<>();
+		Map<String, Long> stamps= new HashMap<>();
+		for (IJavaProject project : projects) {
+			SubMonitor projectMonitor= monitor.split(1);
+			if (!project.getProject().isOpen())
+				continue;
+			try {
+				projectStamps.put(project.getElementName(), Long.valueOf(getBuildPathStamp(project)));
+				for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+					if (root.getKind() != IPackageFragmentRoot.K_SOURCE)
+						continue;
+					for (IJavaElement child : root.getChildren()) {
+						if (projectMonitor.isCanceled())
+							throw new OperationCanceledException();
+						for (ICompilationUnit cu : ((IPackageFragment) child).getCompilationUnits()) {
+							stamps.put(cu.getHandleIdentifier(), Long.valueOf(getStamp(cu)));
+						}
+					}
+				}
+			} catch (JavaModelException e) {
+				JavaManipulationPlugin.log(e);
+			}
+		}
+		synchronized (this) {
+			boolean fresh= fUnits.isEmpty();
+			if (!fProjectStamps.isEmpty() && !fProjectStamps.equals(projectStamps))
+				fStale.addAll(fUnits.keySet());
+			for (Iterator<String> iterator= fUnits.keySet().iterator(); iterator.hasNext();) {
+				String handle= iterator.next();
+				if (!stamps.containsKey(handle)) {
+					Unit unit= fUnits.get(handle);
+					iterator.remove();
+					removeCalls(unit);
+					fStale.remove(handle);
+					markDependents(unit.fStructure, Collections.emptySet());
+				}
+			}
+			for (Map.Entry<String, Long> entry : stamps.entrySet()) {
+				String handle= entry.getKey();
+				Unit unit= fUnits.get(handle);
+				if (unit == null && !fresh)
+					fAdded.add(handle);
+				if (unit == null || unit.fStamp == IResource.NULL_STAMP || unit.fStamp != entry.getValue().longValue())
+					fStale.add(handle);
+			}
+			fProjectStamps.clear();
+			fProjectStamps.putAll(projectStamps);
+			fScanned= true;
+			fDirty= true;
+		}
+	}
+
+	/*
+	 * Takes the next compilation units to index, all from the same project.
+	 */
+	private synchronized List<ICompilationUnit> nextBatch() {
+		List<ICompilationUnit> batch= new ArrayList<>();
+		IJavaProject project= null;
+		for (Iterator<String> iterator= fStale.iterator(); iterator.hasNext() && batch.size() < BATCH_SIZE;) {
+			String handle= iterator.next();
+			IJavaElement element= JavaCore.create(handle);
+			if (!(element instanceof ICompilationUnit) || !element.exists()) {
+				iterator.remove();
+				removeUnit(handle);
+				continue;
+			}
+			if (project == null)
+				project= element.getJavaProject();
+			if (project.equals(element.getJavaProject())) {
+				iterator.remove();
+				fIndexing.add(handle);
+				batch.add((ICompilationUnit) element);
+			}
+		}
+		return batch;
+	}
+
+	private void indexBatch(List<ICompilationUnit> batch, IProgressMonitor progressMonitor) {
+		SubMonitor monitor= SubMonitor.convert(progressMonitor, batch.size());
+		Map<String, Unit> units= new HashMap<>();
+		// the handles of called members are shared by the calls of the batch
+		Map<String, String> strings= new HashMap<>();
+		try {
+			ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+			parser.setProject(batch.get(0).getJavaProject());
+			parser.setResolveBindings(true);
+			parser.createASTs(batch.toArray(new ICompilationUnit[batch.size()]), new String[0], new ASTRequestor() {
+				@Override
+				public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+					monitor.split(1);
+					try {
+						Unit unit= index(source, ast, strings);
+						units.put(unit.fHandle, unit);
+					} catch (JavaModelException e) {
+						JavaManipulationPlugin.log(e);
+					}
+				}
+			}, null);
+		} finally {
+			synchronized (this) {
+				boolean canceled= monitor.isCanceled();
+				for (ICompilationUnit cu : batch) {
+					String handle= cu.getHandleIdentifier();
+					Unit unit= units.get(handle);
+					if (unit != null) {
+						install(unit);
+					} else if (canceled) {
+						fStale.add(handle);
+					} else {
+						// answering without the calls of the compilation unit would be wrong
+						removeUnit(handle);
+						fFailed.add(handle);
+					}
+				}
+			}
+		}
+	}
+
+	private Unit index(ICompilationUnit cu, CompilationUnit ast, Map<String, String> strings) throws JavaModelException {
+		long stamp= getStamp(cu);
+		UnitScanner scanner= new UnitScanner();
+		ast.accept(scanner);
+		int[] names= new int[scanner.fNames.size()];
+		int i= 0;
+		for (Integer name : scanner.fNames) {
+			names[i++]= name.intValue();
+		}
+		Arrays.sort(names);
+		Unit unit= new Unit(cu.getHandleIdentifier(), stamp, names, intern(scanner.fUncertainNames, strings), intern(scanner.fOverriding, strings), intern(scanner.fStructure, strings));
+
+		List<IMember> members= new ArrayList<>();
+		collectMembers(cu, members);
+		for (IMember member : members) {
+			CallRecorder recorder= new CallRecorder(member, ast, unit, strings);
+			ast.accept(recorder);
+			unit.fCalls.put(recorder.fCaller, recorder.fCalls.toArray(new Call[recorder.fCalls.size()]));
+		}
+		return unit;
+	}
+
+	private static void collectMembers(IParent parent, List<IMember> members) throws JavaModelException {
+		for (IJavaElement child : parent.getChildren()) {
+			if (child instanceof IMethod || child instanceof IField || child instanceof IInitializer)
+				members.add((IMember) child);
+			if (child instanceof IMember)
+				collectMembers((IParent) child, members);
+		}
+	}
+
+	/*
+	 * Replaces the old entry of a compilation unit and marks the compilation units stale whose
+	 * calls may have been changed by the new one.
+	 */
+	private void install(Unit unit) {
+		Unit old= fUnits.put(unit.fHandle, unit);
+		if (old != null)
+			removeCalls(old);
+		addCalls(unit);
+		if (fAdded.remove(unit.fHandle) || old != null)
+			markDependents(old != null ? old.fStructure : Collections.emptySet(), unit.fStructure);
+		fDirty= true;
+	}
+
+	private void removeUnit(String handle) {
+		Unit unit= fUnits.remove(handle);
+		fAdded.remove(handle);
+		fFailed.remove(handle);
+		if (unit != null) {
+			removeCalls(unit);
+			markDependents(unit.fStructure, Collections.emptySet());
+			fDirty= true;
+		}
+	}
+
+	private void addCalls(Unit unit) {
+		for (Call[] calls : unit.fCalls.values()) {
+			for (Call call : calls) {
+				if ((call.fFlags & DECLARATION) == 0)
+					fCallers.computeIfAbsent(call.fCallee, key -> new ArrayList<>()).add(call);
+			}
+		}
+		for (String name : unit.fUncertainNames) {
+			fUncertainNames.merge(name, Integer.valueOf(1), (count, one) -> Integer.valueOf(count.intValue() + 1));
+		}
+	}
+
+	private void removeCalls(Unit unit) {
+		Set<String> callees= new HashSet<>();
+		for (Call[] calls : unit.fCalls.values()) {
+			for (Call call : calls) {
+				callees.add(call.fCallee);
+			}
+		}
+		for (String callee : callees) {
+			List<Call> calls= fCallers.get(callee);
+			if (calls != null) {
+				calls.removeIf(call -> call.fUnit == unit);
+				if (calls.isEmpty())
+					fCallers.remove(callee);
+			}
+		}
+		for (String name : unit.fUncertainNames) {
+			fUncertainNames.computeIfPresent(name, (key, count) -> count.intValue() == 1 ? null : Integer.valueOf(count.intValue() - 1));
+		}
+	}
+
+	/*
+	 * The structure of a compilation unit are entries "<kind> <name> <key> ..." of the types,
+	 * methods and fields it declares. The calls in other compilation units can only change
+	 * if they mention the name of a changed entry, or if the supertypes of a type change.
+	 */
+	private void markDependents(Set<String> oldStructure, Set<String> newStructure) {
+		Set<String> removed= new HashSet<>(oldStructure);
+		removed.removeAll(newStructure);
+		Set<String> added= new HashSet<>(newStructure);
+		added.removeAll(oldStructure);
+		if (removed.isEmpty() && added.isEmpty())
+			return;
+
+		Set<String> changedTypes= new HashSet<>();
+		for (String entry : removed) {
+			if (entry.charAt(0) == 'T')
+				changedTypes.add(getKey(entry));
+		}
+		for (String entry : added) {
+			if (entry.charAt(0) == 'T' && changedTypes.contains(getKey(entry))) {
+				invalidateAll();
+				return;
+			}
+		}
+
+		Set<Integer> names= new HashSet<>();
+		for (String entry : removed) {
+			names.add(Integer.valueOf(getName(entry).hashCode()));
+		}
+		for (String entry : added) {
+			names.add(Integer.valueOf(getName(entry).hashCode()));
+		}
+		for (Unit unit : fUnits.values()) {
+			if (!fStale.contains(unit.fHandle)) {
+				for (Integer name : names) {
+					if (Arrays.binarySearch(unit.fNames, name.intValue()) >= 0) {
+						fStale.add(unit.fHandle);
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	private static String getName(String entry) {
+		return entry.substring(2, entry.indexOf(' ', 2));
+	}
+
+	private static String getKey(String entry) {
+		int start= entry.indexOf(' ', 2) + 1;
+		return entry.substring(start, entry.indexOf(' ', start));
+	}
+
+	private static long getStamp(ICompilationUnit cu) throws JavaModelException {
+		IResource resource= cu.getResource();
+		if (resource == null || cu.hasUnsavedChanges())
+			return IResource.NULL_STAMP;
+		return resource.getLocalTimeStamp();
+	}
+
+	/*
+	 * The stamp of the resolved build path, which changes with the build path entries and the
+	 * libraries on it.
+	 */
+	private static long getBuildPathStamp(IJavaProject project) throws JavaModelException {
+		long stamp= 17;
+		for (IClasspathEntry entry : project.getResolvedClasspath(true)) {
+			stamp= 31 * stamp + entry.getPath().toString().hashCode();
+			if (entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY) {
+				IResource resource= ResourcesPlugin.getWorkspace().getRoot().findMember(entry.getPath());
+				stamp= 31 * stamp + (resource != null ? resource.getLocalTimeStamp() : entry.getPath().toFile().lastModified());
+			}
+		}
+		return stamp;
+	}
+
+	private static String intern(String string, Map<String, String> strings) {
+		String existing= strings.putIfAbsent(string, string);
+		return existing != null ? existing : string;
+	}
+
+	private static Set<String> intern(Set<String> set, Map<String, String> strings) {
+		Set<String> result= new HashSet<>(set.size());
+		for (String string : set) {
+			result.add(intern(string, strings));
+		}
+		return result;
+	}
+
+	private static File getFile() {
+		JavaManipulationPlugin plugin= JavaManipulationPlugin.getDefault();
+		return plugin != null ? plugin.getStateLocation().append(FILE_NAME).toFile() : null;
+	}
+
+	private void load() {
+		File file= getFile();
+		if (file == null || !file.isFile())
+			return;
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+				return;
+			Map<String, Long> projectStamps= new HashMap<>();
+			for (int i= in.readInt(); i > 0; i--) {
+				String name= in.readUTF();
+				projectStamps.put(name, Long.valueOf(in.readLong()));
+			}
+			// every string is stored once and shared by its uses
+			String[] strings= new String[in.readInt()];
+			for (int i= 0; i < strings.length; i++) {
+				strings[i]= in.readUTF();
+			}
+			List<Unit> units= new ArrayList<>();
+			for (int i= in.readInt(); i > 0; i--) {
+				String handle= strings[in.readInt()];
+				long stamp= in.readLong();
+				int[] names= new int[in.readInt()];
+				for (int j= 0; j < names.length; j++) {
+					names[j]= in.readInt();
+				}
+				Unit unit= new Unit(handle, stamp, names, readStrings(in, strings), readStrings(in, strings), readStrings(in, strings));
+				for (int j= in.readInt(); j > 0; j--) {
+					String caller= strings[in.readInt()];
+					Call[] calls= new Call[in.readInt()];
+					for (int k= 0; k < calls.length; k++) {
+						calls[k]= new Call(unit, caller, strings[in.readInt()], in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readByte());
+					}
+					unit.fCalls.put(caller, calls);
+				}
+				units.add(unit);
+			}
+			synchronized (this) {
+				fProjectStamps.putAll(projectStamps);
+				for (Unit unit : units) {
+					fUnits.put(unit.fHandle, unit);
+					addCalls(unit);
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			JavaManipulationPlugin.log(e);
+			synchronized (this) {
+				fProjectStamps.clear();
+				fUnits.clear();
+				fCallers.clear();
+				fUncertainNames.clear();
+			}
+		}
+	}
+
+	private static Set<String> readStrings(DataInputStream in, String[] strings) throws IOException {
+		int size= in.readInt();
+		Set<String> result= new HashSet<>(size);
+		for (int i= 0; i < size; i++) {
+			result.add(strings[in.readInt()]);
+		}
+		return result;
+	}
+
+	private void save() {
+		File file= getFile();
+		if (file == null)
+			return;
+		fLastSave= System.currentTimeMillis();
+		List<Unit> units;
+		Map<String, Long> projectStamps;
+		Set<String> stale;
+		synchronized (this) {
+			if (!fDirty)
+				return;
+			units= new ArrayList<>(fUnits.values());
+			projectStamps= new HashMap<>(fProjectStamps);
+			stale= new HashSet<>(fStale);
+			stale.addAll(fIndexing);
+			fDirty= false;
+		}
+		Map<String, Integer> indexes= new HashMap<>();
+		List<String> strings= new ArrayList<>();
+		for (Unit unit : units) {
+			addString(unit.fHandle, indexes, strings);
+			addStrings(unit.fUncertainNames, indexes, strings);
+			addStrings(unit.fOverriding, indexes, strings);
+			addStrings(unit.fStructure, indexes, strings);
+			for (Map.Entry<String, Call[]> entry : unit.fCalls.entrySet()) {
+				addString(entry.getKey(), indexes, strings);
+				for (Call call : entry.getValue()) {
+					addString(call.fCallee, indexes, strings);
+				}
+			}
+		}
+		File temp= new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(temp))))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(projectStamps.size());
+				for (Map.Entry<String, Long> entry : projectStamps.entrySet()) {
+					out.writeUTF(entry.getKey());
+					out.writeLong(entry.getValue().longValue());
+				}
+				out.writeInt(strings.size());
+				for (String string : strings) {
+					out.writeUTF(string);
+				}
+				out.writeInt(units.size());
+				for (Unit unit : units) {
+					out.writeInt(indexes.get(unit.fHandle).intValue());
+					// stale compilation units keep their structure to find their dependents after a restart
+					out.writeLong(stale.contains(unit.fHandle) ? IResource.NULL_STAMP : unit.fStamp);
+					out.writeInt(unit.fNames.length);
+					for (int name : unit.fNames) {
+						out.writeInt(name);
+					}
+					writeStrings(out, unit.fUncertainNames, indexes);
+					writeStrings(out, unit.fOverriding, indexes);
+					writeStrings(out, unit.fStructure, indexes);
+					out.writeInt(unit.fCalls.size());
+					for (Map.Entry<String, Call[]> entry : unit.fCalls.entrySet()) {
+						out.writeInt(indexes.get(entry.getKey()).intValue());
+						out.writeInt(entry.getValue().length);
+						for (Call call : entry.getValue()) {
+							out.writeInt(indexes.get(call.fCallee).intValue());
+							out.writeInt(call.fStart);
+							out.writeInt(call.fEnd);
+							out.writeInt(call.fNameStart);
+							out.writeInt(call.fLine);
+							out.writeByte(call.fFlags);
+						}
+					}
+				}
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+			temp.delete();
+		}
+	}
+
+	private static void addString(String string, Map<String, Integer> indexes, List<String> strings) {
+		if (!indexes.containsKey(string)) {
+			indexes.put(string, Integer.valueOf(strings.size()));
+			strings.add(string);
+		}
+	}
+
+	private static void addStrings(Set<String> set, Map<String, Integer> indexes, List<String> strings) {
+		for (String string : set) {
+			addString(string, indexes, strings);
+		}
+	}
+
+	private static void writeStrings(DataOutputStream out, Set<String> set, Map<String, Integer> indexes) throws IOException {
+		out.writeInt(set.size());
+		for (String string : set) {
+			out.writeInt(indexes.get(string).intValue());
+		}
+	}
+
+	private static final class Unit {
+		final String fHandle;
+		final long fStamp;
+
+		/** The sorted hash codes of all identifiers in the compilation unit */
+		final int[] fNames;
+
+		/** The method names used in method references or lambda bodies */
+		final Set<String> fUncertainNames;
+
+		/** The handle identifiers of the methods that override other methods */
+		final Set<String> fOverriding;
+
+		/** The types, methods and fields that are visible to other compilation units */
+		final Set<String> fStructure;
+
+		/** The calls by handle identifier of the calling member */
+		final Map<String, Call[]> fCalls= new HashMap<>();
+
+		Unit(String handle, long stamp, int[] names, Set<String> uncertainNames, Set<String> overriding, Set<String> structure) {
+			fHandle= handle;
+			fStamp= stamp;
+			fNames= names;
+			fUncertainNames= uncertainNames;
+			fOverriding= overriding;
+			fStructure= structure;
+		}
+	}
+
+	private static final class Call {
+		final Unit fUnit;
+		final String fCaller;
+		final String fCallee;
+		final int fStart;
+		final int fEnd;
+
+		/** The start of the method name, where a search match starts, or <code>-1</code> */
+		final int fNameStart;
+		final int fLine;
+		final int fFlags;
+
+		Call(Unit unit, String caller, String callee, int start, int end, int nameStart, int line, int flags) {
+			fUnit= unit;
+			fCaller= caller;
+			fCallee= callee;
+			fStart= start;
+			fEnd= end;
+			fNameStart= nameStart;
+			fLine= line;
+			fFlags= flags;
+		}
+	}
+
+	/**
+	 * Records the calls of a member without applying the implementors setting and the search
+	 * scope, which are applied when the index is queried.
+	 */
+	private static final class CallRecorder extends CalleeAnalyzerVisitor {
+		final String fCaller;
+		private final Unit fUnit;
+		private final Map<String, String> fStrings;
+		final List<Call> fCalls= new ArrayList<>();
+
+		CallRecorder(IMember member, CompilationUnit ast, Unit unit, Map<String, String> strings) {
+			super(member, ast, new NullProgressMonitor());
+			fCaller= intern(member.getHandleIdentifier(), strings);
+			fUnit= unit;
+			fStrings= strings;
+		}
+
+		@Override
+		protected void addCall(IMember calledMember, boolean interfaceCall, ASTNode node, int lineNumber) {
+			if (calledMember == null)
+				return;
+			int flags= interfaceCall ? INTERFACE_CALL : 0;
+			if (node.getLocationInParent() == MethodDeclaration.NAME_PROPERTY)
+				flags|= DECLARATION;
+			int nameStart= -1;
+			if (node instanceof MethodInvocation)
+				nameStart= ((MethodInvocation) node).getName().getStartPosition();
+			else if (node instanceof SuperMethodInvocation)
+				nameStart= ((SuperMethodInvocation) node).getName().getStartPosition();
+			int start= node.getStartPosition();
+			fCalls.add(new Call(fUnit, fCaller, intern(calledMember.getHandleIdentifier(), fStrings), start, start + node.getLength(), nameStart, lineNumber, flags));
+		}
+	}
+
+	/**
+	 * Collects the names, the structure and the methods of a compilation unit that decide whether
+	 * the index can answer for it.
+	 */
+	private static final class UnitScanner extends ASTVisitor {
+		final Set<Integer> fNames= new HashSet<>();
+		final Set<String> fUncertainNames= new HashSet<>();
+		final Set<String> fOverriding= new HashSet<>();
+		final Set<String> fStructure= new HashSet<>();
+		private int fLambdaDepth;
+
+		@Override
+		public boolean visit(SimpleName node) {
+			fNames.add(Integer.valueOf(node.getIdentifier().hashCode()));
+			return false;
+		}
+
+		@Override
+		public boolean visit(LambdaExpression node) {
+			fLambdaDepth++;
+			return true;
+		}
+
+		@Override
+		public void endVisit(LambdaExpression node) {
+			fLambdaDepth--;
+		}
+
+		@Override
+		public boolean visit(MethodInvocation node) {
+			if (fLambdaDepth > 0)
+				fUncertainNames.add(node.getName().getIdentifier());
+			return true;
+		}
+
+		@Override
+		public boolean visit(SuperMethodInvocation node) {
+			if (fLambdaDepth > 0)
+				fUncertainNames.add(node.getName().getIdentifier());
+			return true;
+		}
+
+		@Override
+		public boolean visit(ExpressionMethodReference node) {
+			fUncertainNames.add(node.getName().getIdentifier());
+			return true;
+		}
+
+		@Override
+		public boolean visit(SuperMethodReference node) {
+			fUncertainNames.add(node.getName().getIdentifier());
+			return true;
+		}
+
+		@Override
+		public boolean visit(TypeMethodReference node) {
+			fUncertainNames.add(node.getName().getIdentifier());
+			return true;
+		}
+
+		@Override
+		public boolean visit(TypeDeclaration node) {
+			addType(node.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(EnumDeclaration node) {
+			addType(node.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(RecordDeclaration node) {
+			addType(node.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(AnnotationTypeDeclaration node) {
+			addType(node.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(MethodDeclaration node) {
+			IMethodBinding binding= node.resolveBinding();
+			if (binding != null) {
+				if (Bindings.findOverriddenMethod(binding, false) != null) {
+					IJavaElement method= binding.getJavaElement();
+					if (method != null)
+						fOverriding.add(method.getHandleIdentifier());
+				}
+				if (isVisible(binding.getDeclaringClass()))
+					fStructure.add("M " + binding.getName() + ' ' + binding.getKey() + ' ' + binding.getModifiers()); //$NON-NLS-1$
+			}
+			return true;
+		}
+
+		@Override
+		public boolean visit(FieldDeclaration node) {
+			for (Object fragment : node.fragments()) {
+				addField(((VariableDeclarationFragment) fragment).resolveBinding());
+			}
+			return true;
+		}
+
+		@Override
+		public boolean visit(EnumConstantDeclaration node) {
+			addField(node.resolveVariable());
+			return true;
+		}
+
+		private void addType(ITypeBinding binding) {
+			if (binding == null || !isVisible(binding))
+				return;
+			StringBuilder entry= new StringBuilder("T "); //$NON-NLS-1$
+			entry.append(binding.getName()).append(' ').append(binding.getKey()).append(' ').append(binding.getModifiers());
+			if (binding.getSuperclass() != null)
+				entry.append(' ').append(binding.getSuperclass().getKey());
+			for (ITypeBinding superInterface : binding.getInterfaces()) {
+				entry.append(' ').append(superInterface.getKey());
+			}
+			fStructure.add(entry.toString());
+		}
+
+		private void addField(IVariableBinding binding) {
+			if (binding != null && isVisible(binding.getDeclaringClass()))
+				fStructure.add("F " + binding.getName() + ' ' + binding.getType().getKey() + ' ' + binding.getModifiers()); //$NON-NLS-1$
+		}
+
+		private static boolean isVisible(ITypeBinding type) {
+			return type != null && !type.isLocal() && !type.isAnonymous();
+		}
+	}
+}
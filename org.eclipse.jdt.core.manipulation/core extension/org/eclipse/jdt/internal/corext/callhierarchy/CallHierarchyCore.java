@@ -20,10 +20,21 @@ package org.eclipse.jdt.internal.corext.callhierarchy;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
@@ -50,10 +61,14 @@ public class CallHierarchyCore {
     private static final String PREF_USE_FILTERS= "PREF_USE_FILTERS"; //$NON-NLS-1$
     private static final String PREF_FILTERS_LIST= "PREF_FILTERS_LIST"; //$NON-NLS-1$
     private static final String PREF_FILTER_TESTCODE= "PREF_FILTER_TESTCODE"; //$NON-NLS-1$
+    private static final String PREF_USE_CALL_GRAPH_INDEX= "PREF_USE_CALL_GRAPH_INDEX"; //$NON-NLS-1$
 
     private String defaultIgnoreFilters= "java.*,javax.*"; //$NON-NLS-1$
 
     private static CallHierarchyCore fgInstance;
+
+    /** The executor of the searches of {@link #prefetchCalls(MethodWrapper[], int, IProgressMonitor)} */
+    private static ThreadPoolExecutor fgSearchExecutor;
     private IJavaSearchScope fSearchScope;
     private StringMatcher[] fFilters;
 
@@ -73,6 +88,15 @@ public class CallHierarchyCore {
         return Boolean.parseBoolean(JavaManipulation.getPreference(PREF_FILTER_TESTCODE, null));
     }
 
+    /**
+     * Tells whether calls are looked up in the {@link CallGraphIndex} before they are searched.
+     *
+     * @return <code>true</code> if the call graph index is used
+     */
+    public boolean isCallGraphIndexEnabled() {
+        return Boolean.parseBoolean(JavaManipulation.getPreference(PREF_USE_CALL_GRAPH_INDEX, null));
+    }
+
     public Collection<IJavaElement> getImplementingMethods(IMethod method) {
         if (isSearchUsingImplementorsEnabled()) {
             IJavaElement[] result= Implementors.getInstance().searchForImplementors(new IJavaElement[] {
@@ -106,6 +130,8 @@ public class CallHierarchyCore {
     }
 
     public MethodWrapper[] getCalleeRoots(IMember[] members) {
+        // a new session, analyze the callees again
+        CalleeAnalysisCache.getDefault().clear();
         return getRoots(members, false);
     }
 
@@ -137,6 +163,97 @@ public class CallHierarchyCore {
         return roots.toArray(new MethodWrapper[roots.size()]);
 	}
 
+	/**
+	 * Finds the calls of the given wrappers and of their calls down to the given depth, like
+	 * expanding their trees to that depth. The searches of a level run in parallel, and every
+	 * method is searched only once per level. The results are added to the caches of the trees,
+	 * so that later calls to {@link MethodWrapper#getCalls(IProgressMonitor)} do not search again.
+	 *
+	 * @param wrappers the wrappers to expand
+	 * @param depth the number of levels to find, <code>1</code> finds the calls of the wrappers
+	 * @param progressMonitor the progress monitor, may be <code>null</code>
+	 * @throws OperationCanceledException if the progress monitor has been canceled
+	 */
+	public void prefetchCalls(MethodWrapper[] wrappers, int depth, IProgressMonitor progressMonitor) {
+		SubMonitor monitor= SubMonitor.convert(progressMonitor, depth);
+		List<MethodWrapper> level= new ArrayList<>(Arrays.asList(wrappers));
+		for (int i= 0; i < depth && !level.isEmpty(); i++) {
+			searchCalls(level, monitor);
+
+			List<MethodWrapper> next= new ArrayList<>();
+			for (MethodWrapper wrapper : level) {
+				if (wrapper.isRecursive())
+					continue;
+				for (MethodWrapper child : wrapper.getCalls(monitor)) {
+					if (child.canHaveChildren())
+						next.add(child);
+				}
+			}
+			level= next;
+			monitor.worked(1);
+		}
+	}
+
+	private void searchCalls(List<MethodWrapper> wrappers, SubMonitor monitor) {
+		// wrappers of the same method share the cache of their tree, search it once
+		Map<String, List<MethodWrapper>> pending= new LinkedHashMap<>();
+		for (MethodWrapper wrapper : wrappers) {
+			if (wrapper.canHaveChildren() && !wrapper.useCachedCalls())
+				pending.computeIfAbsent(wrapper.getMethodCall().getKey(), key -> new ArrayList<>()).add(wrapper);
+		}
+		if (pending.isEmpty())
+			return;
+
+		// progress monitors are not thread-safe, the searches only check for cancellation
+		IProgressMonitor searchMonitor= new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return super.isCanceled() || monitor.isCanceled();
+			}
+		};
+		List<Future<Map<String, MethodCall>>> futures= new ArrayList<>(pending.size());
+		for (List<MethodWrapper> group : pending.values()) {
+			MethodWrapper wrapper= group.get(0);
+			futures.add(getSearchExecutor().submit(() -> wrapper.findChildren(searchMonitor)));
+		}
+		try {
+			int index= 0;
+			for (List<MethodWrapper> group : pending.values()) {
+				Map<String, MethodCall> calls= futures.get(index++).get();
+				if (calls == MethodWrapper.FAILED_SEARCH)
+					continue; // searched again when the wrappers are expanded
+				for (MethodWrapper wrapper : group) {
+					wrapper.setCalls(new HashMap<>(calls), monitor);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			searchMonitor.setCanceled(true);
+			for (Future<Map<String, MethodCall>> future : futures) {
+				future.cancel(false);
+			}
+		}
+	}
+
+	private static synchronized ThreadPoolExecutor getSearchExecutor() {
+		if (fgSearchExecutor == null) {
+			int threads= Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+			fgSearchExecutor= new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread= new Thread(runnable, "Call Hierarchy Search"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			fgSearchExecutor.allowCoreThreadTimeOut(true);
+		}
+		return fgSearchExecutor;
+	}
+
 	private void addRoot(IMember member, ArrayList<MethodWrapper> roots, boolean callers) {
 		MethodCall methodCall= new MethodCall(member);
 		MethodWrapper root;
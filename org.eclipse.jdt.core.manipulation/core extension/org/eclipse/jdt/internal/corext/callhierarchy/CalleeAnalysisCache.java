@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+
+/**
+ * Caches the callees of methods and the resolved ASTs they have been found in, so that expanding
+ * the callees of several methods of a compilation unit parses it only once.
+ * <p>
+ * The cache lives for a call hierarchy session, it is cleared when new callee roots are created,
+ * when the search scope or the implementors setting change, and on every Java element change.
+ * Shared ASTs must only be visited while holding their lock, since resolving bindings is not
+ * thread-safe.
+ * </p>
+ */
+final class CalleeAnalysisCache {
+
+	/** The number of resolved ASTs that are kept */
+	private static final int MAX_ASTS= 8;
+
+	private static CalleeAnalysisCache fgInstance;
+
+	private final Map<IMember, Map<String, MethodCall>> fCallees= new HashMap<>();
+
+	private final Map<ITypeRoot, SoftReference<CompilationUnit>> fASTs= new LinkedHashMap<ITypeRoot, SoftReference<CompilationUnit>>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ITypeRoot, SoftReference<CompilationUnit>> eldest) {
+			return size() > MAX_ASTS;
+		}
+	};
+
+	private IJavaSearchScope fSearchScope;
+
+	private boolean fUseImplementors;
+
+	/** Incremented whenever the cache is cleared, to drop results computed before */
+	private int fGeneration;
+
+	private CalleeAnalysisCache() {
+		JavaCore.addElementChangedListener(event -> clear(), ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	static synchronized CalleeAnalysisCache getDefault() {
+		if (fgInstance == null)
+			fgInstance= new CalleeAnalysisCache();
+		return fgInstance;
+	}
+
+	/**
+	 * Returns the cached callees of a member.
+	 *
+	 * @param member the member
+	 * @return a map from handle identifier to method call that may be modified, or
+	 *         <code>null</code> if the callees of the member are not known
+	 */
+	synchronized Map<String, MethodCall> getCallees(IMember member) {
+		validate();
+		Map<String, MethodCall> callees= fCallees.get(member);
+		return callees == null ? null : new HashMap<>(callees);
+	}
+
+	/**
+	 * Caches the callees of a member.
+	 *
+	 * @param member the member
+	 * @param callees a map from handle identifier to method call
+	 * @param generation the generation of the cache when the search for the callees started
+	 */
+	synchronized void putCallees(IMember member, Map<String, MethodCall> callees, int generation) {
+		validate();
+		if (generation == fGeneration)
+			fCallees.put(member, new HashMap<>(callees));
+	}
+
+	/**
+	 * Returns the generation of the cache, which changes whenever it is cleared.
+	 *
+	 * @return the generation
+	 */
+	synchronized int getGeneration() {
+		validate();
+		return fGeneration;
+	}
+
+	/**
+	 * Returns the AST of the compilation unit or class file of a member, with bindings.
+	 *
+	 * @param member the member
+	 * @return the shared AST, or <code>null</code> if the member has no source
+	 */
+	CompilationUnit getCompilationUnitNode(IMember member) {
+		ITypeRoot typeRoot= member.getTypeRoot();
+		int generation;
+		synchronized (this) {
+			SoftReference<CompilationUnit> reference= fASTs.get(typeRoot);
+			CompilationUnit cu= reference == null ? null : reference.get();
+			if (cu != null)
+				return cu;
+			generation= fGeneration;
+		}
+		CompilationUnit cu= CallHierarchyCore.getCompilationUnitNode(member, true);
+		if (cu != null) {
+			synchronized (this) {
+				if (generation == fGeneration)
+					fASTs.put(typeRoot, new SoftReference<>(cu));
+			}
+		}
+		return cu;
+	}
+
+	synchronized void clear() {
+		fCallees.clear();
+		fASTs.clear();
+		fGeneration++;
+	}
+
+	/*
+	 * The callees depend on the search scope and on whether implementors are searched.
+	 */
+	private void validate() {
+		CallHierarchyCore core= CallHierarchyCore.getDefault();
+		IJavaSearchScope scope= core.getSearchScope();
+		boolean useImplementors= core.isSearchUsingImplementorsEnabled();
+		if (scope != fSearchScope || useImplementors != fUseImplementors) {
+			fCallees.clear();
+			fGeneration++;
+			fSearchScope= scope;
+			fUseImplementors= useImplementors;
+		}
+	}
+}
@@ -253,29 +253,54 @@ class CalleeAnalyzerVisitor extends HierarchicalASTVisitor {
                 IMethod calledMethod = findIncludingSupertypes(calledMethodBinding,
                         calledType, fProgressMonitor);
 
-                IMember referencedMember= null;
-                if (calledMethod == null) {
-                    if (calledMethodBinding.isConstructor() && calledMethodBinding.getParameterTypes().length == 0) {
-                        referencedMember= calledType;
-                    }
-                } else {
-                    if (calledType.isInterface()) {
-                        calledMethod = findImplementingMethods(calledMethod);
-                    }
-
-                    if (!isIgnoredBySearchScope(calledMethod)) {
-                        referencedMember= calledMethod;
-                    }
+                IMember calledMember= calledMethod;
+                if (calledMethod == null && calledMethodBinding.isConstructor() && calledMethodBinding.getParameterTypes().length == 0) {
+                    calledMember= calledType;
                 }
                 final int position= node.getStartPosition();
 				final int number= fCompilationUnit.getLineNumber(position);
-				fSearchResults.addMember(fMember, referencedMember, position, position + node.getLength(), number < 1 ? 1 : number);
+				addCall(calledMember, calledMethod != null && calledType.isInterface(), node, number < 1 ? 1 : number);
             }
         } catch (JavaModelException jme) {
             JavaManipulationPlugin.log(jme);
         }
     }
 
+    /**
+	 * Adds a call of the analyzed member to the search results.
+	 *
+	 * @param calledMember the called method, or the type of a called default constructor, or
+	 *            <code>null</code> if the called method has not been found
+	 * @param interfaceCall whether the method is called on an interface
+	 * @param node the AST node of the call
+	 * @param lineNumber the line number of the call
+	 * @throws JavaModelException if the implementing methods could not be found
+	 */
+    protected void addCall(IMember calledMember, boolean interfaceCall, ASTNode node, int lineNumber) throws JavaModelException {
+        int position= node.getStartPosition();
+        fSearchResults.addMember(fMember, getReferencedMember(calledMember, interfaceCall), position, position + node.getLength(), lineNumber);
+    }
+
+    /**
+	 * Returns the member that is shown for a call, depending on the implementors setting and on
+	 * the search scope.
+	 *
+	 * @param calledMember the called method or the type of a called default constructor, may be
+	 *            <code>null</code>
+	 * @param interfaceCall whether the method is called on an interface
+	 * @return the member, or <code>null</code> if the call is not shown
+	 */
+    static IMember getReferencedMember(IMember calledMember, boolean interfaceCall) {
+        if (!(calledMember instanceof IMethod)) {
+            return calledMember;
+        }
+        IMethod calledMethod= (IMethod) calledMember;
+        if (interfaceCall) {
+            calledMethod = findImplementingMethods(calledMethod);
+        }
+        return isIgnoredBySearchScope(calledMethod) ? null : calledMethod;
+    }
+
     private static IMethod findIncludingSupertypes(IMethodBinding method, IType type, IProgressMonitor pm) throws JavaModelException {
 		IMethod inThisType= Bindings.findMethod(method, type);
 		if (inThisType != null)
@@ -288,7 +313,7 @@ class CalleeAnalyzerVisitor extends HierarchicalASTVisitor {
 		return null;
 	}
 
-    private boolean isIgnoredBySearchScope(IMethod enclosingElement) {
+    private static boolean isIgnoredBySearchScope(IMethod enclosingElement) {
         if (enclosingElement != null) {
             return !getSearchScope().encloses(enclosingElement);
         } else {
@@ -296,7 +321,7 @@ class CalleeAnalyzerVisitor extends HierarchicalASTVisitor {
         }
     }
 
-    private IJavaSearchScope getSearchScope() {
+    private static IJavaSearchScope getSearchScope() {
         return CallHierarchyCore.getDefault().getSearchScope();
     }
 
@@ -330,7 +355,7 @@ class CalleeAnalyzerVisitor extends HierarchicalASTVisitor {
         return isNodeWithinMethod(node) || isNodeEnclosingMethod(node);
     }
 
-    private IMethod findImplementingMethods(IMethod calledMethod) {
+    private static IMethod findImplementingMethods(IMethod calledMethod) {
         Collection<IJavaElement> implementingMethods = CallHierarchyCore.getDefault()
                                                         .getImplementingMethods(calledMethod);
 
@@ -90,7 +90,22 @@ class CalleeMethodWrapper extends MethodWrapper {
 	protected Map<String, MethodCall> findChildren(IProgressMonitor progressMonitor) {
     	IMember member= getMember();
 		if (member.exists()) {
-			CompilationUnit cu= CallHierarchyCore.getCompilationUnitNode(member, true);
+			CalleeAnalysisCache cache= CalleeAnalysisCache.getDefault();
+			Map<String, MethodCall> callees= cache.getCallees(member);
+			if (callees != null) {
+				return callees;
+			}
+
+			int generation= cache.getGeneration();
+			if (CallHierarchyCore.getDefault().isCallGraphIndexEnabled()) {
+				callees= CallGraphIndex.getDefault().getCallees(member);
+				if (callees != null) {
+					cache.putCallees(member, callees, generation);
+					return callees;
+				}
+			}
+
+			CompilationUnit cu= cache.getCompilationUnitNode(member);
 		    if (progressMonitor != null) {
 		        progressMonitor.worked(5);
 		    }
@@ -98,8 +113,13 @@ class CalleeMethodWrapper extends MethodWrapper {
 			if (cu != null) {
 				CalleeAnalyzerVisitor visitor = new CalleeAnalyzerVisitor(member, cu, progressMonitor);
 
-				cu.accept(visitor);
-				return visitor.getCallees();
+				// the AST is shared with the expansions of other members of the compilation unit
+				synchronized (cu) {
+					cu.accept(visitor);
+				}
+				callees= visitor.getCallees();
+				cache.putCallees(member, callees, generation);
+				return callees;
 			}
 		}
         return new HashMap<>(0);
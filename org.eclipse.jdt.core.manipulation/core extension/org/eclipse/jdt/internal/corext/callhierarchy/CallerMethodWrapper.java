@@ -105,6 +105,13 @@ public class CallerMethodWrapper extends MethodWrapper {
 			checkCanceled(progressMonitor);
 
 			IMember member= getMember();
+			if (member instanceof IMethod && CallHierarchyCore.getDefault().isCallGraphIndexEnabled()) {
+				Map<String, MethodCall> callers= CallGraphIndex.getDefault().getCallers((IMethod) member, getSearchScope());
+				if (callers != null) {
+					return callers;
+				}
+			}
+
 			SearchPattern pattern= null;
 			IType type= null;
 			if (member instanceof IType) {
@@ -158,7 +165,7 @@ public class CallerMethodWrapper extends MethodWrapper {
 
 		} catch (CoreException e) {
 			JavaManipulationPlugin.log(e);
-			return new HashMap<>(0);
+			return FAILED_SEARCH;
 		}
 	}
 
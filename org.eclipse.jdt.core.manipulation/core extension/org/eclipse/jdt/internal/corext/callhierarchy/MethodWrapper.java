@@ -17,8 +17,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.callhierarchy;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -46,12 +48,19 @@ public abstract class MethodWrapper extends PlatformObject {
 		fMethodWrapperCore= core;
 	}
 
+    /**
+     * The result of {@link #findChildren(IProgressMonitor)} if the search failed. It is not added to
+     * the cache of the tree, so that the calls are searched again when they are requested again.
+     */
+    protected static final Map<String, MethodCall> FAILED_SEARCH= Collections.unmodifiableMap(new HashMap<String, MethodCall>(0));
+
     private Map<String, MethodCall> fElements = null;
 
     /*
      * A cache of previously found methods. This cache should be searched
      * before adding a "new" method object reference to the list of elements.
-     * This way previously found methods won't be searched again.
+     * This way previously found methods won't be searched again. It is shared
+     * by all wrappers of a tree, which may be expanded by several threads.
      */
     private Map<String, Map<String, MethodCall>> fMethodCache;
     private final MethodCall fMethodCall;
@@ -67,7 +76,7 @@ public abstract class MethodWrapper extends PlatformObject {
         Assert.isNotNull(methodCall);
 
         if (parent == null) {
-            setMethodCache(new HashMap<String, Map<String, MethodCall>>());
+            setMethodCache(new ConcurrentHashMap<String, Map<String, MethodCall>>());
             fLevel = 1;
         } else {
             setMethodCache(parent.getMethodCache());
@@ -167,11 +176,6 @@ public abstract class MethodWrapper extends PlatformObject {
 
     protected abstract String getTaskName();
 
-    private void addCallToCache(MethodCall methodCall) {
-        Map<String, MethodCall> cachedCalls = lookupMethod(this.getMethodCall());
-        cachedCalls.put(methodCall.getKey(), methodCall);
-    }
-
 	/**
 	 * Creates a method wrapper for the child of the receiver.
 	 *
@@ -181,20 +185,13 @@ public abstract class MethodWrapper extends PlatformObject {
     protected abstract MethodWrapper createMethodWrapper(MethodCall methodCall);
 
     private void doFindChildren(IProgressMonitor progressMonitor) {
-        Map<String, MethodCall> existingResults = lookupMethod(getMethodCall());
-
-        if (existingResults != null && !existingResults.isEmpty()) {
-            fElements = new HashMap<>();
-            fElements.putAll(existingResults);
-        } else {
-            initCalls();
-
+        if (!useCachedCalls()) {
             if (progressMonitor != null) {
                 progressMonitor.beginTask(getTaskName(), 100);
             }
 
             try {
-                performSearch(progressMonitor);
+                setCalls(findChildren(progressMonitor), progressMonitor);
             } catch (OperationCanceledException e){
             	fElements= null;
             	throw e;
@@ -206,6 +203,45 @@ public abstract class MethodWrapper extends PlatformObject {
         }
     }
 
+    /**
+     * Takes the calls of this wrapper from the cache of the tree, if they have been found before.
+     *
+     * @return <code>true</code> if the calls have been found before
+     */
+    boolean useCachedCalls() {
+        if (fElements != null) {
+            return true;
+        }
+        Map<String, MethodCall> existingResults = lookupMethod(getMethodCall());
+        if (existingResults == null) {
+            return false;
+        }
+        fElements = new HashMap<>(existingResults);
+        return true;
+    }
+
+    /**
+     * Sets the calls of this wrapper and adds them to the cache of the tree.
+     *
+     * @param calls the result of {@link #findChildren(IProgressMonitor)}, the calls of a
+     *            {@link #FAILED_SEARCH} are not cached
+     * @param progressMonitor a progress monitor, may be <code>null</code>
+     */
+    void setCalls(Map<String, MethodCall> calls, IProgressMonitor progressMonitor) {
+        if (calls == FAILED_SEARCH) {
+            fElements = new HashMap<>(0);
+            return;
+        }
+        Map<String, MethodCall> cachedCalls = new HashMap<>();
+        for (MethodCall methodCall : calls.values()) {
+            checkCanceled(progressMonitor);
+            cachedCalls.put(methodCall.getKey(), methodCall);
+        }
+        // only complete results are cached
+        getMethodCache().put(getMethodCall().getKey(), cachedCalls);
+        fElements = calls;
+    }
+
     /**
      * Determines if the method represents a recursion call (i.e. whether the
      * method call is already in the cache.)
@@ -247,12 +283,6 @@ public abstract class MethodWrapper extends PlatformObject {
         return fMethodCache;
     }
 
-    private void initCalls() {
-        this.fElements = new HashMap<>();
-
-        initCacheForMethod();
-    }
-
     /**
      * Looks up a previously created search result in the "global" cache.
      * @param methodCall the method call
@@ -262,26 +292,10 @@ public abstract class MethodWrapper extends PlatformObject {
         return getMethodCache().get(methodCall.getKey());
     }
 
-    private void performSearch(IProgressMonitor progressMonitor) {
-        fElements = findChildren(progressMonitor);
-
-        for (String string : fElements.keySet()) {
-            checkCanceled(progressMonitor);
-
-            MethodCall methodCall = getMethodCallFromMap(fElements, string);
-            addCallToCache(methodCall);
-        }
-    }
-
     private MethodCall getMethodCallFromMap(Map<String, MethodCall> elements, String key) {
         return elements.get(key);
     }
 
-    private void initCacheForMethod() {
-        Map<String, MethodCall> cachedCalls = new HashMap<>();
-        getMethodCache().put(this.getMethodCall().getKey(), cachedCalls);
-    }
-
     /**
      * Checks with the progress monitor to see whether the creation of the type hierarchy
      * should be canceled. Should be regularly called
@@ -75,6 +75,13 @@ public abstract class TType {
 	private int fModifiers;
 	private int fFlags;
 
+	/**
+	 * The id of this type in its environment, or <code>-1</code> if it has none yet.
+	 *
+	 * @see TypeEnvironment#getTypeId(TType)
+	 */
+	int fTypeId= -1;
+
 	/**
 	 * Creates a new type with the given environment as an owner.
 	 * The type environment <em>must</em> call {@link #initialize(ITypeBinding)} after using this constructor.
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types;
 
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -23,11 +24,14 @@ import java.util.Map;
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jdt.core.BindingKey;
+import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeParameter;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTRequestor;
@@ -40,6 +44,11 @@ import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
  * A type environment comprises a set of {@link TType}s that stand for Java {@link ITypeBinding}s.
  * In contrast to type bindings, TTypes of the same type environment also work across project boundaries and
  * across compiler environments, i.e. a type environment can handle bindings from multiple {@link ASTParser} sessions.
+ * <p>
+ * The methods that create types are thread-safe. A type environment that remembers subtypes is
+ * meant to be used by a single client, see {@link #getSharedEnvironment()} for an environment that
+ * is shared between refactorings.
+ * </p>
  *
  * @see TType
  */
@@ -104,7 +113,7 @@ public class TypeEnvironment {
 		"java.lang.Double",  //$NON-NLS-1$
 		"java.lang.Byte"};  //$NON-NLS-1$
 
-	private TType OBJECT_TYPE= null;
+	private volatile TType OBJECT_TYPE= null;
 
 	private List<Map<TType, ArrayType>>      fArrayTypes= new ArrayList<>();
 	private Map<IJavaElement, StandardType>  fStandardTypes= new HashMap<>();
@@ -117,14 +126,19 @@ public class TypeEnvironment {
 	private Map<TType, SuperWildcardType>    fSuperWildcardTypes= new HashMap<>();
 	private UnboundWildcardType fUnboundWildcardType= null;
 
+	private Map<TType, Integer> fTypeIds= new HashMap<>();
+	private List<TType> fTypesById= new ArrayList<>();
+
 	private static final int MAX_ENTRIES= 1024;
-	private Map<TypeTuple, Boolean> fSubTypeCache= new LinkedHashMap<TypeTuple, Boolean>(50, 0.75f, true) {
-		private static final long serialVersionUID= 1L;
-		@Override
-		protected boolean removeEldestEntry(Map.Entry<TypeTuple, Boolean> eldest) {
-			return size() > MAX_ENTRIES;
-		}
-	};
+	private final Map<TypeTuple, Boolean> fSubTypeCache;
+
+	/** The number of subtype relations kept by the shared environment */
+	private static final int MAX_SHARED_ENTRIES= 1 << 16;
+	/** The number of types after which the shared environment is discarded */
+	private static final int MAX_SHARED_TYPES= 1 << 16;
+
+	private static SoftReference<TypeEnvironment> fgSharedEnvironment;
+	private static boolean fgListening;
 
 	/**
 	 * Map from TType to its known subtypes, or <code>null</code> iff subtype
@@ -176,17 +190,117 @@ public class TypeEnvironment {
 	}
 
 	public TypeEnvironment(boolean rememberSubtypes, boolean removeCapures) {
+		this(rememberSubtypes, removeCapures, MAX_ENTRIES);
+	}
+
+	private TypeEnvironment(boolean rememberSubtypes, boolean removeCapures, final int maxSubTypeCacheEntries) {
 		if (rememberSubtypes) {
 			fSubTypes= new HashMap<>();
 		}
 		fRemoveCapures= removeCapures;
+		fSubTypeCache= Collections.synchronizedMap(new LinkedHashMap<TypeTuple, Boolean>(50, 0.75f, true) {
+			private static final long serialVersionUID= 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<TypeTuple, Boolean> eldest) {
+				return size() > maxSubTypeCacheEntries;
+			}
+		});
+	}
+
+	/**
+	 * Returns the type environment that is shared between refactorings. Its types and subtype
+	 * relations survive a refactoring, so that repeated refactorings on the same hierarchy don't
+	 * have to recreate them. The environment is discarded when a Java element change affects
+	 * the type hierarchy, and it is held by a soft reference.
+	 * <p>
+	 * The shared environment does not remember subtypes and does not remove capture types. It
+	 * must only be used with bindings of primary compilation units and class files, i.e. not
+	 * with bindings that are resolved against the working copies of a refactoring.
+	 * </p>
+	 *
+	 * @return the shared type environment
+	 * @since 1.15
+	 */
+	public static synchronized TypeEnvironment getSharedEnvironment() {
+		if (!fgListening) {
+			JavaCore.addElementChangedListener(event -> {
+				if (affectsTypes(event.getDelta()))
+					discardSharedEnvironment();
+			}, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+			fgListening= true;
+		}
+		TypeEnvironment environment= fgSharedEnvironment != null ? fgSharedEnvironment.get() : null;
+		if (environment == null || environment.getTypeCount() > MAX_SHARED_TYPES) {
+			environment= new TypeEnvironment(false, false, MAX_SHARED_ENTRIES);
+			fgSharedEnvironment= new SoftReference<>(environment);
+		}
+		return environment;
+	}
+
+	private static synchronized void discardSharedEnvironment() {
+		fgSharedEnvironment= null;
+	}
+
+	/*
+	 * Returns whether the delta may change types that have been created. Changes inside of
+	 * members don't. A type is not replaced on its own, since a change of its supertypes also
+	 * changes the subtype relations of its subtypes.
+	 */
+	private static boolean affectsTypes(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		int kind= delta.getKind();
+		int flags= delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (kind != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0)
+					return true;
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (kind != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0)
+					return true;
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (kind != IJavaElementDelta.CHANGED)
+					return true;
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				ICompilationUnit cu= (ICompilationUnit) element;
+				if (!cu.getPrimary().equals(cu))
+					return false;
+				if (kind != IJavaElementDelta.CHANGED || (flags & IJavaElementDelta.F_PRIMARY_WORKING_COPY) != 0)
+					return true;
+				// without a fine-grained delta, any type of the unit may have changed
+				if ((flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED)) == IJavaElementDelta.F_CONTENT)
+					return true;
+				break;
+			case IJavaElement.CLASS_FILE:
+				if (kind != IJavaElementDelta.CHANGED || (flags & IJavaElementDelta.F_CONTENT) != 0)
+					return true;
+				break;
+			case IJavaElement.TYPE:
+				if (kind != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MODIFIERS | IJavaElementDelta.F_CONTENT)) != 0)
+					return true;
+				break;
+			default:
+				return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsTypes(child))
+				return true;
+		}
+		return false;
 	}
 
 	Map<TypeTuple, Boolean> getSubTypeCache() {
 		return fSubTypeCache;
 	}
 
-	public TType create(ITypeBinding binding) {
+	public synchronized TType create(ITypeBinding binding) {
 		if (binding.isPrimitive()) {
 			return createPrimitiveType(binding);
 		} else if (binding.isArray()) {
@@ -219,7 +333,7 @@ public class TypeEnvironment {
 		return createStandardType(binding);
 	}
 
-	public TType[] create(ITypeBinding[] bindings) {
+	public synchronized TType[] create(ITypeBinding[] bindings) {
 		TType[] result= new TType[bindings.length];
 		for (int i= 0; i < bindings.length; i++) {
 			result[i]= create(bindings[i]);
@@ -227,6 +341,56 @@ public class TypeEnvironment {
 		return result;
 	}
 
+	/**
+	 * Returns a dense id for the given type. Ids are assigned in the order in which they
+	 * are requested, starting at 0, so that sets of types can be represented as bit sets.
+	 * Equal types have the same id.
+	 *
+	 * @param type the type
+	 * @return the id of the type
+	 * @see #getTypeForId(int)
+	 * @since 1.15
+	 */
+	public synchronized int getTypeId(TType type) {
+		boolean owned= type.getEnvironment() == this;
+		if (owned && type.fTypeId >= 0)
+			return type.fTypeId;
+		Integer id= fTypeIds.get(type);
+		if (id == null) {
+			id= Integer.valueOf(fTypesById.size());
+			fTypeIds.put(type, id);
+			fTypesById.add(type);
+		}
+		if (owned)
+			type.fTypeId= id.intValue();
+		return id.intValue();
+	}
+
+	/**
+	 * Returns the type with the given id.
+	 *
+	 * @param id an id returned by {@link #getTypeId(TType)}
+	 * @return the type
+	 * @since 1.15
+	 */
+	public synchronized TType getTypeForId(int id) {
+		return fTypesById.get(id);
+	}
+
+	/*
+	 * Returns the number of types that have been created, except for the primitive types.
+	 */
+	private synchronized int getTypeCount() {
+		int count= fStandardTypes.size() + fGenericTypes.size() + fParameterizedTypes.size() + fRawTypes.size()
+				+ fTypeVariables.size() + fCaptureTypes.size() + fExtendsWildcardTypes.size() + fSuperWildcardTypes.size()
+				+ (fUnboundWildcardType != null ? 1 : 0);
+		for (Map<TType, ArrayType> arrayTypes : fArrayTypes) {
+			if (arrayTypes != null)
+				count+= arrayTypes.size();
+		}
+		return count;
+	}
+
 	/**
 	 * Returns the TType for java.lang.Object.
 	 * <p>
@@ -249,7 +413,7 @@ public class TypeEnvironment {
 		Assert.isTrue(objectType.isJavaLangObject());
 	}
 
-	void initializeJavaLangObject(ITypeBinding object) {
+	synchronized void initializeJavaLangObject(ITypeBinding object) {
 		if (OBJECT_TYPE != null)
 			return;
 
@@ -271,16 +435,24 @@ public class TypeEnvironment {
 		return createStandardType(fullyQualifiedName, focus);
 	}
 
+	/*
+	 * The binding is resolved without holding the lock, so that other threads can create types
+	 * meanwhile. Another thread may create the same type, the first one is kept.
+	 */
 	private StandardType createStandardType(String fullyQualifiedName, IJavaProject focus) {
 		try {
 			IType javaElementType= focus.findType(fullyQualifiedName);
-			StandardType result= fStandardTypes.get(javaElementType);
-			if (result != null)
-				return result;
+			synchronized (this) {
+				StandardType result= fStandardTypes.get(javaElementType);
+				if (result != null)
+					return result;
+			}
 			ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
 			parser.setProject(focus);
 			IBinding[] bindings= parser.createBindings(new IJavaElement[] {javaElementType} , null);
-			return createStandardType((ITypeBinding)bindings[0]);
+			synchronized (this) {
+				return createStandardType((ITypeBinding)bindings[0]);
+			}
 		} catch (JavaModelException e) {
 			// fall through
 		}
@@ -338,7 +510,7 @@ public class TypeEnvironment {
 		return result;
 	}
 
-	public ArrayType createArrayType(TType elementType, int dimensions) {
+	public synchronized ArrayType createArrayType(TType elementType, int dimensions) {
 		Assert.isTrue(! elementType.isArrayType());
 		Assert.isTrue(! elementType.isAnonymous());
 		Assert.isTrue(dimensions > 0);
@@ -16,31 +16,60 @@ package org.eclipse.jdt.internal.corext.util;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
+import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * A thread-safe cache for super type hierarchies.
+ * <p>
+ * Lookups do not lock, only adding and removing hierarchies is synchronized. The cache is bounded
+ * by the number of hierarchies and by the total number of types in all cached hierarchies. The
+ * bounds can be configured with the system properties
+ * <code>org.eclipse.jdt.ui.typeHierarchyCacheSize</code> and
+ * <code>org.eclipse.jdt.ui.typeHierarchyCacheWeight</code>.
+ * </p>
+ * <p>
+ * A hierarchy is removed as soon as it reports a change, other hierarchies and their method
+ * override testers stay in the cache. Hierarchies only report the Java element deltas that affect
+ * them, and a hierarchy cannot be updated in place, so this is the finest invalidation available.
+ * A hierarchy that is heavier than the whole cache is not cached.
+ * </p>
  */
 // @see JDTUIHelperClasses
 public class SuperTypeHierarchyCache {
 
 	private static class HierarchyCacheEntry implements ITypeHierarchyChangedListener {
 
-		private ITypeHierarchy fTypeHierarchy;
-		private long fLastAccess;
+		private volatile ITypeHierarchy fTypeHierarchy;
+		private final int fWeight;
+		private volatile long fLastAccess;
 
 		public HierarchyCacheEntry(ITypeHierarchy hierarchy) {
 			fTypeHierarchy= hierarchy;
-			fTypeHierarchy.addTypeHierarchyChangedListener(this);
+			fWeight= Math.max(1, hierarchy.getAllTypes().length);
 			markAsAccessed();
 		}
 
+		/**
+		 * Starts listening to changes of the hierarchy. Must be called after the entry has been
+		 * added to the cache, so that a change is never reported before the entry can be removed.
+		 */
+		public synchronized void addListener() {
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			if (hierarchy != null) {
+				hierarchy.addTypeHierarchyChangedListener(this);
+			}
+		}
+
 		@Override
 		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
 			removeHierarchyEntryFromCache(this);
@@ -50,36 +79,58 @@ public class SuperTypeHierarchyCache {
 			return fTypeHierarchy;
 		}
 
+		public int getWeight() {
+			return fWeight;
+		}
+
 		public void markAsAccessed() {
-			fLastAccess= System.currentTimeMillis();
+			fLastAccess= System.nanoTime();
 		}
 
 		public long getLastAccess() {
 			return fLastAccess;
 		}
 
-		public void dispose() {
-			if (fTypeHierarchy != null) {
-				fTypeHierarchy.removeTypeHierarchyChangedListener(this);
+		public synchronized void dispose() {
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			if (hierarchy != null) {
+				hierarchy.removeTypeHierarchyChangedListener(this);
 				fTypeHierarchy= null;
 			}
 		}
 
 		@Override
 		public String toString() {
-			return "Super hierarchy of: " + fTypeHierarchy.getType().getElementName(); //$NON-NLS-1$
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			return "Super hierarchy of: " + (hierarchy != null ? hierarchy.getType().getElementName() : "<disposed>"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 
 	}
 
 
-	private static final int CACHE_SIZE= 8;
+	private static final int CACHE_SIZE= Math.max(1, Integer.getInteger("org.eclipse.jdt.ui.typeHierarchyCacheSize", 32).intValue()); //$NON-NLS-1$
+
+	private static final int CACHE_WEIGHT= Math.max(1, Integer.getInteger("org.eclipse.jdt.ui.typeHierarchyCacheWeight", 20000).intValue()); //$NON-NLS-1$
+
+	private static final CopyOnWriteArrayList<HierarchyCacheEntry> fgHierarchyCache= new CopyOnWriteArrayList<>();
+	private static final Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(CACHE_SIZE);
+
+	private static final Object fgHierarchyCacheLock= new Object();
+	private static int fgHierarchyCacheWeight= 0;
 
-	private static ArrayList<HierarchyCacheEntry> fgHierarchyCache= new ArrayList<>(CACHE_SIZE);
-	private static Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(CACHE_SIZE);
+	private static final AtomicInteger fgCacheHits= new AtomicInteger();
+	private static final AtomicInteger fgCacheMisses= new AtomicInteger();
+	private static final AtomicInteger fgCacheEvictions= new AtomicInteger();
 
-	private static int fgCacheHits= 0;
-	private static int fgCacheMisses= 0;
+	/**
+	 * Incremented on every Java element change, to detect the changes that happened while a
+	 * hierarchy was created and before its entry listens to changes.
+	 */
+	private static final AtomicInteger fgGeneration= new AtomicInteger();
+
+	static {
+		JavaCore.addElementChangedListener(event -> fgGeneration.incrementAndGet(), ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
 
 	/**
 	 * Returns a super type hierarchy that contains the given type.
@@ -140,42 +191,53 @@ public class SuperTypeHierarchyCache {
 	public static ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
 		ITypeHierarchy hierarchy= findTypeHierarchyInCache(type);
 		if (hierarchy == null) {
-			fgCacheMisses++;
+			fgCacheMisses.incrementAndGet();
+			int generation= fgGeneration.get();
 			hierarchy= type.newSupertypeHierarchy(progressMonitor);
-			addTypeHierarchyToCache(hierarchy);
+			addTypeHierarchyToCache(hierarchy, generation);
 		} else {
-			fgCacheHits++;
+			fgCacheHits.incrementAndGet();
 		}
 		return hierarchy;
 	}
 
-	private static void addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
-		synchronized (fgHierarchyCache) {
-			int nEntries= fgHierarchyCache.size();
-			if (nEntries >= CACHE_SIZE) {
-				// find obsolete entries or remove entry that was least recently accessed
+	private static void addTypeHierarchyToCache(ITypeHierarchy hierarchy, int generation) {
+		HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
+		if (newEntry.getWeight() > CACHE_WEIGHT) {
+			return; // would evict all other hierarchies
+		}
+		synchronized (fgHierarchyCacheLock) {
+			// hierarchies of the same or a super type are obsolete
+			ArrayList<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>();
+			for (HierarchyCacheEntry entry : fgHierarchyCache) {
+				ITypeHierarchy curr= entry.getTypeHierarchy();
+				if (curr == null || !curr.exists() || hierarchy.contains(curr.getType())) {
+					obsoleteHierarchies.add(entry);
+				}
+			}
+			for (HierarchyCacheEntry obsoleteHierarchy : obsoleteHierarchies) {
+				removeHierarchyEntryFromCache(obsoleteHierarchy);
+			}
+
+			// evict least recently accessed entries until the new entry fits
+			while (!fgHierarchyCache.isEmpty()
+					&& (fgHierarchyCache.size() >= CACHE_SIZE || fgHierarchyCacheWeight + newEntry.getWeight() > CACHE_WEIGHT)) {
 				HierarchyCacheEntry oldest= null;
-				ArrayList<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>(CACHE_SIZE);
 				for (HierarchyCacheEntry entry : fgHierarchyCache) {
-					ITypeHierarchy curr= entry.getTypeHierarchy();
-					if (!curr.exists() || hierarchy.contains(curr.getType())) {
-						obsoleteHierarchies.add(entry);
-					} else {
-						if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
-							oldest= entry;
-						}
-					}
-				}
-				if (!obsoleteHierarchies.isEmpty()) {
-					for (HierarchyCacheEntry obsoleteHierarchie : obsoleteHierarchies) {
-						removeHierarchyEntryFromCache(obsoleteHierarchie);
+					if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
+						oldest= entry;
 					}
-				} else if (oldest != null) {
-					removeHierarchyEntryFromCache(oldest);
 				}
+				removeHierarchyEntryFromCache(oldest);
+				fgCacheEvictions.incrementAndGet();
 			}
-			HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
 			fgHierarchyCache.add(newEntry);
+			fgHierarchyCacheWeight+= newEntry.getWeight();
+		}
+		newEntry.addListener();
+		// the hierarchy doesn't report changes that happened before the listener was added
+		if (fgGeneration.get() != generation) {
+			removeHierarchyEntryFromCache(newEntry);
 		}
 	}
 
@@ -191,28 +253,31 @@ public class SuperTypeHierarchyCache {
 
 
 	private static ITypeHierarchy findTypeHierarchyInCache(IType type) {
-		synchronized (fgHierarchyCache) {
-			for (int i= fgHierarchyCache.size() - 1; i>= 0; i--) {
-				HierarchyCacheEntry curr= fgHierarchyCache.get(i);
-				ITypeHierarchy hierarchy= curr.getTypeHierarchy();
-				if (!hierarchy.exists()) {
-					removeHierarchyEntryFromCache(curr);
-				} else {
-					if (hierarchy.contains(type)) {
-						curr.markAsAccessed();
-						return hierarchy;
-					}
-				}
+		// iterates over a snapshot, so no lock is required
+		for (HierarchyCacheEntry curr : fgHierarchyCache) {
+			ITypeHierarchy hierarchy= curr.getTypeHierarchy();
+			if (hierarchy == null) {
+				continue; // removed concurrently
+			}
+			if (!hierarchy.exists()) {
+				removeHierarchyEntryFromCache(curr);
+			} else if (hierarchy.contains(type)) {
+				curr.markAsAccessed();
+				return hierarchy;
 			}
 		}
 		return null;
 	}
 
 	private static void removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
-		synchronized (fgHierarchyCache) {
-			removeMethodOverrideTester(entry.getTypeHierarchy());
+		synchronized (fgHierarchyCacheLock) {
+			if (!fgHierarchyCache.remove(entry))
+				return;
+			fgHierarchyCacheWeight-= entry.getWeight();
+			ITypeHierarchy hierarchy= entry.getTypeHierarchy();
+			if (hierarchy != null)
+				removeMethodOverrideTester(hierarchy);
 			entry.dispose();
-			fgHierarchyCache.remove(entry);
 		}
 	}
 
@@ -222,7 +287,7 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheHits() {
-		return fgCacheHits;
+		return fgCacheHits.get();
 	}
 
 	/**
@@ -230,7 +295,24 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheMisses() {
-		return fgCacheMisses;
+		return fgCacheMisses.get();
+	}
+
+	/**
+	 * Gets the number of hierarchies that have been removed from the cache to make room for
+	 * other hierarchies.
+	 * @return the number of evictions
+	 */
+	public static int getCacheEvictions() {
+		return fgCacheEvictions.get();
+	}
+
+	/**
+	 * Gets the number of hierarchies that are currently cached.
+	 * @return the number of cached hierarchies
+	 */
+	public static int getCacheSize() {
+		return fgHierarchyCache.size();
 	}
 
 	private SuperTypeHierarchyCache() {
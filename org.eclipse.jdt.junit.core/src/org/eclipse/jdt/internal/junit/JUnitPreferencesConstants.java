@@ -63,6 +63,12 @@ public class JUnitPreferencesConstants {
 	 */
 	public static final String MAX_TEST_RUNS= JUnitCorePlugin.PLUGIN_ID + ".max_test_runs"; //$NON-NLS-1$
 
+	/**
+	 * Boolean preference controlling whether the results of a running test run are written to
+	 * the history directory while the tests run, so that they survive a crash of the IDE.
+	 */
+	public static final String RECORD_TEST_RUNS= JUnitCorePlugin.PLUGIN_ID + ".record_test_runs"; //$NON-NLS-1$
+
 	/**
 	 * Javadoc location for JUnit 3
 	 */
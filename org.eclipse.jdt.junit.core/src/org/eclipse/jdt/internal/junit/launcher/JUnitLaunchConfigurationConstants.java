@@ -62,6 +62,15 @@ public class JUnitLaunchConfigurationConstants {
 	public static final String ATTR_TEST_METHOD_NAME= ATTR_TEST_NAME;
 
 	public static final String ATTR_KEEPRUNNING = JUnitCorePlugin.PLUGIN_ID+ ".KEEPRUNNING_ATTR"; //$NON-NLS-1$
+
+	/**
+	 * If <code>true</code>, the test runner sends its messages as length-prefixed binary frames
+	 * instead of text lines. Runtimes that do not support the binary protocol ignore the
+	 * corresponding argument and keep using the text protocol, which the client detects
+	 * automatically.
+	 */
+	public static final String ATTR_BINARY_PROTOCOL= JUnitCorePlugin.PLUGIN_ID + ".BINARY_PROTOCOL"; //$NON-NLS-1$
+
 	/**
 	 * The launch container, or "" iff running a single test type.
 	 */
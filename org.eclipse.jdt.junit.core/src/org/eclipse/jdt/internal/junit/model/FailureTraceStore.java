@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+
+/**
+ * Holds the failure traces and the expected and actual values of the failed tests of a
+ * {@link TestRunSession}.
+ * <p>
+ * Short texts are kept in memory. Longer texts are appended to a temporary file in the history
+ * directory and read back on demand, so that runs with many failures don't keep all stack traces
+ * on the heap. If the file cannot be written, further texts are kept in memory.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+final class FailureTraceStore {
+
+	/**
+	 * The failure information of a single test element.
+	 */
+	static final class Failure {
+
+		private final FailureTraceStore fStore;
+		private final Object fTrace;
+		private final Object fExpected;
+		private final Object fActual;
+
+		private Failure(FailureTraceStore store, Object trace, Object expected, Object actual) {
+			fStore= store;
+			fTrace= trace;
+			fExpected= expected;
+			fActual= actual;
+		}
+
+		String getTrace() {
+			return fStore.read(fTrace);
+		}
+
+		String getExpected() {
+			return fStore.read(fExpected);
+		}
+
+		String getActual() {
+			return fStore.read(fActual);
+		}
+
+		boolean hasTrace() {
+			return fTrace != null;
+		}
+
+		boolean isComparisonFailure() {
+			return fExpected != null && fActual != null;
+		}
+	}
+
+	/**
+	 * A text that has been written to the file.
+	 */
+	private static final class StoredText {
+
+		private final int fGeneration;
+		private final long fOffset;
+		private final int fLength;
+
+		private StoredText(int generation, long offset, int length) {
+			fGeneration= generation;
+			fOffset= offset;
+			fLength= length;
+		}
+	}
+
+	/**
+	 * Texts with at most this many characters are kept in memory.
+	 */
+	private static final int IN_MEMORY_LIMIT= 512;
+
+	/**
+	 * A store that keeps all texts in memory.
+	 */
+	static final FailureTraceStore IN_MEMORY= new FailureTraceStore(false);
+
+	private File fFile;
+	private RandomAccessFile fAccess;
+	private boolean fKeepInMemory;
+	/** Incremented when the file is cleared, texts of older generations can't be read anymore */
+	private int fGeneration;
+
+	/**
+	 * @param useFile <code>true</code> to write long texts to a file
+	 */
+	FailureTraceStore(boolean useFile) {
+		fKeepInMemory= !useFile;
+	}
+
+	/**
+	 * Stores the given failure information.
+	 *
+	 * @param trace the trace, can be <code>null</code>
+	 * @param expected the expected value, can be <code>null</code>
+	 * @param actual the actual value, can be <code>null</code>
+	 * @return the failure information, or <code>null</code> if all arguments are <code>null</code>
+	 */
+	Failure store(String trace, String expected, String actual) {
+		if (trace == null && expected == null && actual == null)
+			return null;
+		return new Failure(this, write(trace), write(expected), write(actual));
+	}
+
+	private synchronized Object write(String text) {
+		if (text == null || text.length() <= IN_MEMORY_LIMIT || fKeepInMemory)
+			return text;
+		try {
+			if (fAccess == null) {
+				fFile= File.createTempFile("traces", ".tmp", JUnitCorePlugin.getHistoryDirectory()); //$NON-NLS-1$ //$NON-NLS-2$
+				fFile.deleteOnExit();
+				fAccess= new RandomAccessFile(fFile, "rw"); //$NON-NLS-1$
+			}
+			byte[] bytes= text.getBytes(StandardCharsets.UTF_8);
+			long offset= fAccess.length();
+			fAccess.seek(offset);
+			fAccess.write(bytes);
+			return new StoredText(fGeneration, offset, bytes.length);
+		} catch (IOException | IllegalStateException e) {
+			JUnitCorePlugin.log(e);
+			fKeepInMemory= true; // keep further texts in memory
+			return text;
+		}
+	}
+
+	private synchronized String read(Object text) {
+		if (!(text instanceof StoredText))
+			return (String) text;
+		StoredText stored= (StoredText) text;
+		if (fAccess == null || stored.fGeneration != fGeneration)
+			return null; // disposed or cleared
+		try {
+			byte[] bytes= new byte[stored.fLength];
+			fAccess.seek(stored.fOffset);
+			fAccess.readFully(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Empties the file. Texts that have been written to the file are lost, this is used when the
+	 * test elements have been swapped out and their failures are stored again on swap in.
+	 */
+	synchronized void clear() {
+		fGeneration++;
+		if (fAccess != null) {
+			try {
+				fAccess.setLength(0);
+			} catch (IOException e) {
+				JUnitCorePlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * Deletes the file. Texts that have been written to the file are lost, further texts are kept
+	 * in memory.
+	 */
+	synchronized void dispose() {
+		fKeepInMemory= true;
+		if (fAccess != null) {
+			try {
+				fAccess.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			fAccess= null;
+		}
+		if (fFile != null) {
+			fFile.delete();
+			fFile= null;
+		}
+	}
+}
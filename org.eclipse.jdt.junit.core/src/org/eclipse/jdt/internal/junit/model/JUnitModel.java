@@ -384,16 +384,24 @@ public final class JUnitModel {
 	 * @throws CoreException if the import failed
 	 */
 	public static TestRunSession importTestRunSession(File file) throws CoreException {
+		TestRunHandler handler= new TestRunHandler();
 		try {
 			SAXParserFactory parserFactory= SAXParserFactory.newInstance();
 //			parserFactory.setValidating(true); // TODO: add DTD and debug flag
 			SAXParser parser= parserFactory.newSAXParser();
-			TestRunHandler handler= new TestRunHandler();
 			parser.parse(file, handler);
 			TestRunSession session= handler.getTestRunSession();
 			JUnitCorePlugin.getModel().addTestRunSession(session);
 			return session;
-		} catch (ParserConfigurationException | SAXException e) {
+		} catch (SAXException e) {
+			if (handler.recover(e)) {
+				logPartialImport(file, e);
+				TestRunSession session= handler.getTestRunSession();
+				JUnitCorePlugin.getModel().addTestRunSession(session);
+				return session;
+			}
+			throwImportError(file, e);
+		} catch (ParserConfigurationException e) {
 			throwImportError(file, e);
 		} catch (IOException e) {
 			throwImportError(file, e);
@@ -404,6 +412,52 @@ public final class JUnitModel {
 		return null; // does not happen
 	}
 
+	/**
+	 * Imports a test run session from the given file. The session is added to the model as soon as
+	 * the test run starts in the file, and the tests are reported to the session's listeners while
+	 * they are read, so that the JUnit view shows large reports progressively.
+	 * <p>
+	 * If the file is truncated or the session is stopped, the tests read so far are kept and the
+	 * session is marked as stopped. If the monitor is cancelled, the session is removed from the
+	 * model.
+	 * </p>
+	 *
+	 * @param file a file containing a test run session transcript
+	 * @param monitor a progress monitor for cancellation
+	 * @return the imported test run session
+	 * @throws CoreException if the import failed
+	 * @throws OperationCanceledException if the monitor was cancelled
+	 */
+	public static TestRunSession importTestRunSession(File file, IProgressMonitor monitor) throws CoreException {
+		TestRunHandler handler= new TestRunHandler(monitor, true);
+		try {
+			SAXParserFactory parserFactory= SAXParserFactory.newInstance();
+			SAXParser parser= parserFactory.newSAXParser();
+			parser.parse(file, handler);
+		} catch (OperationCanceledException e) {
+			handler.endPartialImport();
+			if (monitor != null && monitor.isCanceled()) {
+				removeImportedSession(handler);
+				throw e;
+			}
+		} catch (SAXException e) {
+			if (! handler.recover(e)) {
+				removeImportedSession(handler);
+				throwImportError(file, e);
+			}
+			logPartialImport(file, e);
+		} catch (ParserConfigurationException e) {
+			throwImportError(file, e);
+		} catch (IOException e) {
+			removeImportedSession(handler);
+			throwImportError(file, e);
+		} catch (IllegalArgumentException e) {
+			// Bug in parser: can throw IAE even if file is not null
+			throwImportError(file, e);
+		}
+		return handler.getTestRunSession();
+	}
+
 	/**
 	 * Imports a test run session from the given URL.
 	 *
@@ -417,10 +471,11 @@ public final class JUnitModel {
 	public static TestRunSession importTestRunSession(String url, IProgressMonitor monitor) throws InvocationTargetException, InterruptedException {
 		monitor.beginTask(ModelMessages.JUnitModel_importing_from_url, IProgressMonitor.UNKNOWN);
 		final String trimmedUrl= url.trim().replaceAll("\r\n?|\n", ""); //$NON-NLS-1$ //$NON-NLS-2$
-		final TestRunHandler handler= new TestRunHandler(monitor);
+		final TestRunHandler handler= new TestRunHandler(monitor, true);
 
 		final CoreException[] exception= { null };
 		final TestRunSession[] session= { null };
+		final boolean[] canceled= { false };
 
 		Thread importThread= new Thread("JUnit URL importer") { //$NON-NLS-1$
 			@Override
@@ -430,21 +485,45 @@ public final class JUnitModel {
 //					parserFactory.setValidating(true); // TODO: add DTD and debug flag
 					SAXParser parser= parserFactory.newSAXParser();
 					parser.parse(trimmedUrl, handler);
-					session[0]= handler.getTestRunSession();
+					storeSession();
 				} catch (OperationCanceledException e) {
-					// canceled
-				} catch (ParserConfigurationException | SAXException e) {
+					handler.endPartialImport();
+					// keep what has been read if the session has been stopped
+					if (! monitor.isCanceled())
+						storeSession();
+				} catch (SAXException e) {
+					if (handler.recover(e)) {
+						JUnitCorePlugin.log(new org.eclipse.core.runtime.Status(IStatus.WARNING, JUnitCorePlugin.getPluginId(),
+								ModelMessages.JUnitModel_could_not_import, e));
+						storeSession();
+					} else {
+						storeImportError(e);
+					}
+				} catch (ParserConfigurationException e) {
 					storeImportError(e);
 				} catch (IOException e) {
 					storeImportError(e);
 				} catch (IllegalArgumentException e) {
 					// Bug in parser: can throw IAE even if URL is not null
 					storeImportError(e);
+				} finally {
+					synchronized (session) {
+						// the session may have been added after the caller gave up
+						if (canceled[0])
+							removeImportedSession(handler);
+					}
+				}
+			}
+			private void storeSession() {
+				synchronized (session) {
+					if (! canceled[0])
+						session[0]= handler.getTestRunSession();
 				}
 			}
 			private void storeImportError(Exception e) {
 				exception[0]= new CoreException(new org.eclipse.core.runtime.Status(IStatus.ERROR,
 						JUnitCorePlugin.getPluginId(), ModelMessages.JUnitModel_could_not_import, e));
+				removeImportedSession(handler);
 			}
 		};
 		importThread.start();
@@ -456,16 +535,20 @@ public final class JUnitModel {
 				// that's OK
 			}
 		}
-		if (session[0] == null) {
-			if (exception[0] != null) {
-				throw new InvocationTargetException(exception[0]);
-			} else {
-				importThread.interrupt(); // have to kill the thread since we don't control URLConnection and XML parsing
-				throw new InterruptedException();
+		synchronized (session) {
+			if (session[0] == null) {
+				if (exception[0] != null) {
+					throw new InvocationTargetException(exception[0]);
+				} else {
+					canceled[0]= true;
+					importThread.interrupt(); // have to kill the thread since we don't control URLConnection and XML parsing
+					removeImportedSession(handler);
+					throw new InterruptedException();
+				}
 			}
 		}
 
-		JUnitCorePlugin.getModel().addTestRunSession(session[0]);
+		// the handler has added the session to the model
 		monitor.done();
 		return session[0];
 	}
@@ -476,7 +559,13 @@ public final class JUnitModel {
 //			parserFactory.setValidating(true); // TODO: add DTD and debug flag
 			SAXParser parser= parserFactory.newSAXParser();
 			TestRunHandler handler= new TestRunHandler(testRunSession);
-			parser.parse(swapFile, handler);
+			try {
+				parser.parse(swapFile, handler);
+			} catch (SAXException e) {
+				if (! handler.recover(e))
+					throw e;
+				logPartialImport(swapFile, e);
+			}
 		} catch (ParserConfigurationException | SAXException e) {
 			throwImportError(swapFile, e);
 		} catch (IOException e) {
@@ -546,6 +635,24 @@ public final class JUnitModel {
 				e));
 	}
 
+	/**
+	 * Removes the session that an incremental {@link TestRunHandler} has added to the model.
+	 *
+	 * @param handler the handler of the import
+	 */
+	private static void removeImportedSession(TestRunHandler handler) {
+		TestRunSession session= handler.getTestRunSession();
+		if (session != null)
+			JUnitCorePlugin.getModel().removeTestRunSession(session);
+	}
+
+	private static void logPartialImport(File file, Exception e) {
+		JUnitCorePlugin.log(new org.eclipse.core.runtime.Status(IStatus.WARNING,
+				JUnitCorePlugin.getPluginId(),
+				Messages.format(ModelMessages.JUnitModel_could_not_read, BasicElementLabels.getPathLabel(file)),
+				e));
+	}
+
 	private static void throwImportError(File file, Exception e) throws CoreException {
 		throw new CoreException(new org.eclipse.core.runtime.Status(IStatus.ERROR,
 				JUnitCorePlugin.getPluginId(),
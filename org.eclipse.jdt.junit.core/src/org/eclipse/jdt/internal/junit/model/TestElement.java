@@ -190,9 +190,11 @@ public abstract class TestElement implements ITestElement {
 	private String fUniqueId;
 
 	private Status fStatus;
-	private String fTrace;
-	private String fExpected;
-	private String fActual;
+
+	/**
+	 * The trace, expected and actual value, or <code>null</code> if there are none.
+	 */
+	private FailureTraceStore.Failure fFailure;
 
 	private boolean fAssumptionFailed;
 
@@ -262,8 +264,8 @@ public abstract class TestElement implements ITestElement {
 	public FailureTrace getFailureTrace() {
 		Result testResult= getTestResult(false);
 		if (testResult == Result.ERROR || testResult == Result.FAILURE
-				|| (testResult == Result.IGNORED && fTrace != null)) {
-			return new FailureTrace(fTrace, fExpected, fActual);
+				|| (testResult == Result.IGNORED && fFailure != null && fFailure.hasTrace())) {
+			return new FailureTrace(getTrace(), getExpected(), getActual());
 		}
 		return null;
 	}
@@ -304,35 +306,41 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public void setStatus(Status status, String trace, String expected, String actual) {
-		if (trace != null && fTrace != null) {
+		String oldTrace= getTrace();
+		if (trace != null && oldTrace != null) {
 			//don't overwrite first trace if same test run logs multiple errors
-			fTrace= fTrace + trace;
+			fFailure= getFailureTraceStore().store(oldTrace + trace, getExpected(), getActual());
 		} else {
-			fTrace= trace;
-			fExpected= expected;
-			fActual= actual;
+			fFailure= getFailureTraceStore().store(trace, expected, actual);
 		}
 		setStatus(status);
 	}
 
+	private FailureTraceStore getFailureTraceStore() {
+		ITestRunSession session= getTestRunSession();
+		if (session instanceof TestRunSession)
+			return ((TestRunSession) session).getFailureTraceStore();
+		return FailureTraceStore.IN_MEMORY;
+	}
+
 	public Status getStatus() {
 		return fStatus;
 	}
 
 	public String getTrace() {
-		return fTrace;
+		return fFailure != null ? fFailure.getTrace() : null;
 	}
 
 	public String getExpected() {
-		return fExpected;
+		return fFailure != null ? fFailure.getExpected() : null;
 	}
 
 	public String getActual() {
-		return fActual;
+		return fFailure != null ? fFailure.getActual() : null;
 	}
 
 	public boolean isComparisonFailure() {
-		return fExpected != null && fActual != null;
+		return fFailure != null && fFailure.isComparisonFailure();
 	}
 
 	/**
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Maps test ids to test elements.
+ * <p>
+ * The RemoteTestRunner numbers the tests consecutively, so ids that are non-negative integers are
+ * used as indices into an array that grows with the ids. This needs one array slot per test
+ * instead of a hash map entry. Other ids and ids far beyond the end of the array are kept in a
+ * hash map.
+ * </p>
+ * <p>
+ * Like a {@link HashMap}, this class is not thread-safe.
+ * </p>
+ */
+final class TestIdTable {
+
+	private TestElement[] fIndexed= new TestElement[64];
+	private HashMap<String, TestElement> fOthers;
+
+	TestElement get(String id) {
+		int index= toIndex(id);
+		if (index >= 0 && index < fIndexed.length) {
+			TestElement element= fIndexed[index];
+			if (element != null)
+				return element;
+		}
+		return fOthers != null ? fOthers.get(id) : null;
+	}
+
+	void put(String id, TestElement element) {
+		int index= toIndex(id);
+		if (index >= 0 && index < fIndexed.length * 2) {
+			if (index >= fIndexed.length)
+				fIndexed= Arrays.copyOf(fIndexed, fIndexed.length * 2);
+			fIndexed[index]= element;
+			if (fOthers != null)
+				fOthers.remove(id);
+		} else {
+			// a sparse id would waste array slots
+			if (fOthers == null)
+				fOthers= new HashMap<>();
+			fOthers.put(id, element);
+		}
+	}
+
+	/**
+	 * @param id the test id
+	 * @return the index for the id, or <code>-1</code> if the id is not the decimal representation
+	 *         of a small non-negative integer
+	 */
+	private static int toIndex(String id) {
+		int length= id.length();
+		if (length == 0 || length > 9 || (length > 1 && id.charAt(0) == '0'))
+			return -1;
+		int result= 0;
+		for (int i= 0; i < length; i++) {
+			char c= id.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			result= result * 10 + (c - '0');
+		}
+		return result;
+	}
+}
@@ -37,6 +37,7 @@ import org.eclipse.jdt.core.IJavaModel;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
 import org.eclipse.jdt.internal.junit.model.TestElement.Status;
 
 public class TestRunHandler extends DefaultHandler {
@@ -65,6 +66,10 @@ public class TestRunHandler extends DefaultHandler {
 	private IProgressMonitor fMonitor;
 	private int fLastReportedLine;
 
+	private boolean fIncremental;
+	private boolean fSessionCreated;
+	private SAXParseException fFatalError;
+
 	public TestRunHandler() {
 
 	}
@@ -73,6 +78,24 @@ public class TestRunHandler extends DefaultHandler {
 		fMonitor= monitor;
 	}
 
+	/**
+	 * Creates a handler that reads a new test run session.
+	 * <p>
+	 * If <code>incremental</code> is <code>true</code>, the session is added to the
+	 * {@link JUnitModel} as soon as the document starts, and the tests are reported to the
+	 * session's {@link ITestSessionListener}s while they are read, like the tests of a running
+	 * session. This lets the JUnit view show large reports before they are read completely. The
+	 * import is cancelled if the session is stopped.
+	 * </p>
+	 *
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @param incremental <code>true</code> to add the session to the model while reading
+	 */
+	public TestRunHandler(IProgressMonitor monitor, boolean incremental) {
+		fMonitor= monitor;
+		fIncremental= incremental;
+	}
+
 	public TestRunHandler(TestRunSession testRunSession) {
 		fTestRunSession= testRunSession;
 	}
@@ -96,7 +119,8 @@ public class TestRunHandler extends DefaultHandler {
 				fMonitor.subTask(NLS.bind(ModelMessages.TestRunHandler_lines_read, Integer.valueOf(line)));
 			}
 		}
-		if (Thread.interrupted())
+		if (Thread.interrupted() || (fMonitor != null && fMonitor.isCanceled())
+				|| (fIncremental && fTestRunSession != null && fTestRunSession.isStopped()))
 			throw new OperationCanceledException();
 
 		switch (qName) {
@@ -121,6 +145,7 @@ public class TestRunHandler extends DefaultHandler {
 					fTestRunSession.setExcludeTags(excludeTags);
 				}
 				//TODO: read counts?
+				sessionCreated();
 
 			} else {
 				fTestRunSession.reset();
@@ -137,6 +162,7 @@ public class TestRunHandler extends DefaultHandler {
 					// support standalone suites and Ant's 'junitreport' task:
 					fTestRunSession= new TestRunSession(name, null);
 					fTestSuite= fTestRunSession.getTestRoot();
+					sessionCreated();
 				}	String pack= attributes.getValue(IXMLTags.ATTR_PACKAGE);
 				String suiteName= pack == null ? name : pack + "." + name; //$NON-NLS-1$
 				String displayName= attributes.getValue(IXMLTags.ATTR_DISPLAY_NAME);
@@ -153,6 +179,8 @@ public class TestRunHandler extends DefaultHandler {
 				}	fTestSuite= (TestSuiteElement) fTestRunSession.createTestElement(fTestSuite, getNextId(), suiteName, true, 0, false, displayName, paramTypes, uniqueId);
 				readTime(fTestSuite, attributes);
 				fNotRun.push(Boolean.valueOf(attributes.getValue(IXMLTags.ATTR_INCOMPLETE)));
+				if (fIncremental)
+					fTestRunSession.importTestAdded(fTestSuite);
 				break;
 			}
 		// not interested
@@ -180,6 +208,8 @@ public class TestRunHandler extends DefaultHandler {
 				fNotRun.push(Boolean.parseBoolean(attributes.getValue(IXMLTags.ATTR_INCOMPLETE)));
 				fTestCase.setIgnored(Boolean.parseBoolean(attributes.getValue(IXMLTags.ATTR_IGNORED)));
 				readTime(fTestCase, attributes);
+				if (fIncremental)
+					fTestRunSession.importTestAdded(fTestCase);
 				break;
 			}
 		case IXMLTags.NODE_ERROR:
@@ -219,6 +249,14 @@ public class TestRunHandler extends DefaultHandler {
 		}
 	}
 
+	private void sessionCreated() {
+		fSessionCreated= true;
+		if (fIncremental) {
+			fTestRunSession.importStarted();
+			JUnitCorePlugin.getModel().addTestRunSession(fTestRunSession);
+		}
+	}
+
 	private void readTime(TestElement testElement, Attributes attributes) {
 		String timeString= attributes.getValue(IXMLTags.ATTR_TIME);
 		if (timeString != null) {
@@ -311,14 +349,31 @@ public class TestRunHandler extends DefaultHandler {
 		}
 	}
 
+	@Override
+	public void endDocument() throws SAXException {
+		if (fIncremental && fTestRunSession != null)
+			fTestRunSession.importEnded(false);
+	}
+
 	private void handleTestElementEnd(TestElement testElement) {
 		boolean completed= fNotRun.pop() != Boolean.TRUE;
+		endTestElement(testElement, completed);
+	}
+
+	private void endTestElement(TestElement testElement, boolean completed) {
 		fTestRunSession.registerTestEnded(testElement, completed);
+		if (fIncremental && testElement instanceof TestCaseElement)
+			fTestRunSession.importTestEnded((TestCaseElement) testElement);
 	}
 
 	private void handleFailure(TestElement testElement) {
 		if (fFailureBuffer != null) {
-			fTestRunSession.registerTestFailureStatus(testElement, fStatus, fFailureBuffer.toString(), toString(fExpectedBuffer), toString(fActualBuffer));
+			String trace= fFailureBuffer.toString();
+			String expected= toString(fExpectedBuffer);
+			String actual= toString(fActualBuffer);
+			fTestRunSession.registerTestFailureStatus(testElement, fStatus, trace, expected, actual);
+			if (fIncremental)
+				fTestRunSession.importTestFailed(testElement, fStatus, trace, expected, actual);
 			fFailureBuffer= null;
 			fExpectedBuffer= null;
 			fActualBuffer= null;
@@ -349,6 +404,54 @@ public class TestRunHandler extends DefaultHandler {
 		throw e;
 	}
 
+	@Override
+	public void fatalError(SAXParseException e) throws SAXException {
+		fFatalError= e;
+		throw e;
+	}
+
+	/**
+	 * Keeps the tests that have been read before the parser failed on a malformed document, e.g.
+	 * on a report that was truncated because the process that wrote it crashed. Tests that have
+	 * not been read completely are marked as not run and the session is marked as stopped.
+	 *
+	 * @param e the exception thrown by the parser
+	 * @return <code>true</code> if the partial session can be used, <code>false</code> if
+	 *         <code>e</code> is not a well-formedness error or no test run has been read
+	 */
+	public boolean recover(SAXException e) {
+		if (e != fFatalError || fTestRunSession == null)
+			return false;
+		endPartialImport();
+		return true;
+	}
+
+	/**
+	 * Ends the import after it has been cancelled or the document turned out to be malformed. The
+	 * elements that are still open are marked as not run and the session is marked as stopped.
+	 */
+	public void endPartialImport() {
+		if (fTestRunSession == null)
+			return;
+		fFailureBuffer= null;
+		fExpectedBuffer= null;
+		fActualBuffer= null;
+		fInExpected= false;
+		fInActual= false;
+		while (! fNotRun.isEmpty()) {
+			fNotRun.pop();
+			if (fTestCase != null) {
+				endTestElement(fTestCase, false);
+				fTestCase= null;
+			} else {
+				endTestElement(fTestSuite, false);
+				fTestSuite= fTestSuite.getParent();
+			}
+		}
+		if (fSessionCreated)
+			fTestRunSession.importEnded(true);
+	}
+
 	private String getNextId() {
 		return Integer.toString(fId++);
 	}
@@ -31,6 +31,7 @@ import org.eclipse.jdt.junit.model.ITestRunSession;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.core.runtime.Platform;
 
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.ILaunch;
@@ -42,6 +43,7 @@ import org.eclipse.jdt.core.IJavaProject;
 
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
 import org.eclipse.jdt.internal.junit.JUnitMessages;
+import org.eclipse.jdt.internal.junit.JUnitPreferencesConstants;
 import org.eclipse.jdt.internal.junit.launcher.ITestKind;
 import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
 import org.eclipse.jdt.internal.junit.model.TestElement.Status;
@@ -86,7 +88,18 @@ public class TestRunSession implements ITestRunSession {
 	/**
 	 * Map from testId to testElement.
 	 */
-	private HashMap<String, TestElement> fIdToTest;
+	private TestIdTable fIdToTest;
+
+	/**
+	 * Canonical parameter type arrays, keyed by the joined parameter types. Parameterized and
+	 * dynamic tests of the same method share one array.
+	 */
+	private HashMap<String, String[]> fParameterTypesPool;
+
+	/**
+	 * Holds the failure traces of the test elements.
+	 */
+	private final FailureTraceStore fFailureTraceStore= new FailureTraceStore(true);
 
 	/**
 	 * The TestSuites for which additional children are expected.
@@ -167,7 +180,8 @@ public class TestRunSession implements ITestRunSession {
 		fTestRunnerKind= ITestKind.NULL; //TODO
 
 		fTestRoot= new TestRoot(this);
-		fIdToTest= new HashMap<>();
+		fIdToTest= new TestIdTable();
+		fParameterTypesPool= new HashMap<>();
 
 		fTestRunnerClient= null;
 
@@ -191,7 +205,8 @@ public class TestRunSession implements ITestRunSession {
 		}
 
 		fTestRoot= new TestRoot(this);
-		fIdToTest= new HashMap<>();
+		fIdToTest= new TestIdTable();
+		fParameterTypesPool= new HashMap<>();
 
 		fTestRunnerClient= new RemoteTestRunnerClient();
 		fTestRunnerClient.startListening(new ITestRunListener2[] { new TestSessionNotifier() }, port);
@@ -225,6 +240,10 @@ public class TestRunSession implements ITestRunSession {
 		});
 
 		fSessionListeners= new ListenerList<>();
+		if (Platform.getPreferencesService().getBoolean(JUnitCorePlugin.CORE_PLUGIN_ID, JUnitPreferencesConstants.RECORD_TEST_RUNS, true, null)) {
+			// must be closed before the TestRunListenerAdapter swaps the session out
+			addTestSessionListener(new TestRunSessionRecorder(this));
+		}
 		addTestSessionListener(new TestRunListenerAdapter(this));
 	}
 
@@ -238,7 +257,8 @@ public class TestRunSession implements ITestRunSession {
 
 		fTestRoot= new TestRoot(this);
 		fTestResult= null;
-		fIdToTest= new HashMap<>();
+		fIdToTest= new TestIdTable();
+		fParameterTypesPool= new HashMap<>();
 	}
 
 	@Override
@@ -373,8 +393,11 @@ public class TestRunSession implements ITestRunSession {
 			JUnitModel.exportTestRunSession(this, swapFile);
 			fTestResult= fTestRoot.getTestResult(true);
 			fTestRoot= null;
+			// the failures are stored again when the test elements are swapped in
+			fFailureTraceStore.clear();
 			fTestRunnerClient= null;
-			fIdToTest= new HashMap<>();
+			fIdToTest= new TestIdTable();
+			fParameterTypesPool= new HashMap<>();
 			fIncompleteTestSuites= null;
 			fFactoryTestSuites= null;
 			fUnrootedSuite= null;
@@ -393,9 +416,14 @@ public class TestRunSession implements ITestRunSession {
 		File swapFile= getSwapFile();
 		if (swapFile.exists())
 			swapFile.delete();
+		fFailureTraceStore.dispose();
+	}
+
+	FailureTraceStore getFailureTraceStore() {
+		return fFailureTraceStore;
 	}
 
-	private File getSwapFile() throws IllegalStateException {
+	File getSwapFile() throws IllegalStateException {
 		File historyDir= JUnitCorePlugin.getHistoryDirectory();
 		String isoTime= new SimpleDateFormat("yyyyMMdd-HHmmss.SSS").format(new Date(getStartTime())); //$NON-NLS-1$
 		String swapFileName= isoTime + ".xml"; //$NON-NLS-1$
@@ -568,6 +596,11 @@ public class TestRunSession implements ITestRunSession {
 		if (parameterTypes != null && parameterTypes.length > 1) {
 			parameterTypes= Arrays.stream(parameterTypes).map(String::trim).toArray(String[]::new);
 		}
+		if (parameterTypes != null) {
+			String[] pooled= fParameterTypesPool.putIfAbsent(String.join(",", parameterTypes), parameterTypes); //$NON-NLS-1$
+			if (pooled != null)
+				parameterTypes= pooled;
+		}
 		if (isSuite) {
 			TestSuiteElement testSuiteElement= new TestSuiteElement(parent, id, testName, testCount, displayName, parameterTypes, uniqueId);
 			testElement= testSuiteElement;
@@ -842,6 +875,57 @@ public class TestRunSession implements ITestRunSession {
 		}
 	}
 
+	/**
+	 * Marks this session as running while it is imported by a {@link TestRunHandler}.
+	 */
+	void importStarted() {
+		fIsRunning= true;
+		for (ITestSessionListener listener : fSessionListeners) {
+			listener.sessionStarted();
+		}
+	}
+
+	void importTestAdded(TestElement testElement) {
+		for (ITestSessionListener listener : fSessionListeners) {
+			listener.testAdded(testElement);
+		}
+	}
+
+	void importTestFailed(TestElement testElement, Status status, String trace, String expected, String actual) {
+		for (ITestSessionListener listener : fSessionListeners) {
+			listener.testFailed(testElement, status, trace, expected, actual);
+		}
+	}
+
+	void importTestEnded(TestCaseElement testCaseElement) {
+		for (ITestSessionListener listener : fSessionListeners) {
+			listener.testEnded(testCaseElement);
+		}
+	}
+
+	/**
+	 * Ends the import of this session.
+	 *
+	 * @param stopped <code>true</code> if the import has been cancelled or only part of the test
+	 *            run could be read
+	 */
+	void importEnded(boolean stopped) {
+		if (stopped)
+			fIsStopped= true;
+		if (! fIsRunning)
+			return;
+		fIsRunning= false;
+
+		double elapsedTime= fTestRoot.getElapsedTimeInSeconds();
+		long elapsedMillis= Double.isNaN(elapsedTime) ? 0 : Math.round(elapsedTime * 1000);
+		for (ITestSessionListener listener : fSessionListeners) {
+			if (stopped)
+				listener.sessionStopped(elapsedMillis);
+			else
+				listener.sessionEnded(elapsedMillis);
+		}
+	}
+
 	private void setStatus(TestElement testElement, Status status) {
 		testElement.setStatus(status);
 	}
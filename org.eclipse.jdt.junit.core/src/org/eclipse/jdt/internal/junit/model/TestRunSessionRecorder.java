@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+
+/**
+ * Writes the results of a running {@link TestRunSession} to its swap file while the tests run.
+ * <p>
+ * The file contains a <code>testrun</code> element with one <code>testcase</code> element per
+ * ended test, nested in the <code>testsuite</code> elements of its suites. Suites are closed when
+ * a test of another suite ends, so tests of suites that run in parallel may be written to several
+ * elements for the same suite. Failures of suites are written into their element. The file is
+ * flushed after every failure and otherwise at most every {@link #FLUSH_INTERVAL} milliseconds.
+ * After the run, the file is replaced by the complete export when the session is swapped out.
+ * </p>
+ * <p>
+ * The file is only useful if the IDE crashes or is killed while the tests run: it then stays in
+ * the history directory and can be imported as a partial report, see
+ * {@link TestRunHandler#recover(SAXException)}. On a normal shutdown, {@link JUnitModel#stop()}
+ * deletes the history directory, including the files of sessions that are still running.
+ * </p>
+ */
+final class TestRunSessionRecorder implements ITestSessionListener {
+
+	/**
+	 * Content handler that writes the events of a {@link TestRunSessionSerializer} without
+	 * buffering the document.
+	 */
+	private static final class StreamHandler extends DefaultHandler {
+
+		private final XMLStreamWriter fWriter;
+
+		StreamHandler(XMLStreamWriter writer) {
+			fWriter= writer;
+		}
+
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+			try {
+				fWriter.writeStartElement(qName);
+				for (int i= 0; i < attributes.getLength(); i++) {
+					fWriter.writeAttribute(attributes.getQName(i), attributes.getValue(i));
+				}
+			} catch (XMLStreamException e) {
+				throw new SAXException(e);
+			}
+		}
+
+		@Override
+		public void endElement(String uri, String localName, String qName) throws SAXException {
+			try {
+				fWriter.writeEndElement();
+			} catch (XMLStreamException e) {
+				throw new SAXException(e);
+			}
+		}
+
+		@Override
+		public void characters(char[] ch, int start, int length) throws SAXException {
+			try {
+				fWriter.writeCharacters(ch, start, length);
+			} catch (XMLStreamException e) {
+				throw new SAXException(e);
+			}
+		}
+	}
+
+	/**
+	 * Maximal delay in milliseconds before the result of a passed test is written to disk.
+	 */
+	private static final long FLUSH_INTERVAL= 500;
+
+	private final TestRunSession fTestRunSession;
+
+	private OutputStream fOutput;
+	private XMLStreamWriter fWriter;
+	private TestRunSessionSerializer fSerializer;
+	/** The suites whose elements are open, outermost first */
+	private final List<TestSuiteElement> fOpenSuites= new ArrayList<>();
+	private boolean fPending;
+	private long fLastFlush;
+
+	TestRunSessionRecorder(TestRunSession testRunSession) {
+		fTestRunSession= testRunSession;
+	}
+
+	@Override
+	public synchronized void sessionStarted() {
+		if (fOutput != null)
+			return;
+		try {
+			fOutput= new BufferedOutputStream(new FileOutputStream(fTestRunSession.getSwapFile()));
+			fWriter= XMLOutputFactory.newInstance().createXMLStreamWriter(fOutput, "UTF-8"); //$NON-NLS-1$
+			fWriter.writeStartDocument("UTF-8", "1.0"); //$NON-NLS-1$ //$NON-NLS-2$
+			fWriter.writeCharacters("\n"); //$NON-NLS-1$
+			fSerializer= new TestRunSessionSerializer(fTestRunSession);
+			fSerializer.setContentHandler(new StreamHandler(fWriter));
+			fSerializer.startTestRun(false);
+			fWriter.writeCharacters("\n"); //$NON-NLS-1$
+			flush();
+		} catch (IOException | XMLStreamException | SAXException | IllegalStateException e) {
+			abort(e);
+		}
+	}
+
+	@Override
+	public synchronized void testStarted(TestCaseElement testCaseElement) {
+		// write the results of the previous tests before a long running test
+		if (fWriter != null && fPending && System.currentTimeMillis() - fLastFlush >= FLUSH_INTERVAL) {
+			try {
+				flush();
+			} catch (IOException | XMLStreamException e) {
+				abort(e);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void testEnded(TestCaseElement testCaseElement) {
+		if (fWriter == null)
+			return;
+		try {
+			openSuites(testCaseElement.getParent());
+			fSerializer.handleTestElement(testCaseElement, false);
+			fWriter.writeCharacters("\n"); //$NON-NLS-1$
+			recorded(testCaseElement.getStatus().isErrorOrFailure());
+		} catch (IOException | XMLStreamException | SAXException e) {
+			abort(e);
+		}
+	}
+
+	@Override
+	public synchronized void testFailed(TestElement testElement, Status status, String trace, String expected, String actual) {
+		// test cases are recorded when they end
+		if (fWriter == null || ! (testElement instanceof TestSuiteElement))
+			return;
+		try {
+			openSuites((TestSuiteElement) testElement);
+			fSerializer.addFailure(testElement);
+			fWriter.writeCharacters("\n"); //$NON-NLS-1$
+			recorded(true);
+		} catch (IOException | XMLStreamException | SAXException e) {
+			abort(e);
+		}
+	}
+
+	/**
+	 * Makes the given suite and its parents the open suites, closing the suites that are not among
+	 * them.
+	 *
+	 * @param testSuiteElement the innermost suite
+	 * @throws SAXException if the serializer fails
+	 * @throws XMLStreamException if writing fails
+	 */
+	private void openSuites(TestSuiteElement testSuiteElement) throws SAXException, XMLStreamException {
+		List<TestSuiteElement> suites= new ArrayList<>();
+		for (TestSuiteElement suite= testSuiteElement; suite != null && ! (suite instanceof TestRoot); suite= suite.getParent()) {
+			suites.add(0, suite);
+		}
+		int common= 0;
+		while (common < fOpenSuites.size() && common < suites.size() && fOpenSuites.get(common) == suites.get(common)) {
+			common++;
+		}
+		closeSuites(common);
+		for (int i= common; i < suites.size(); i++) {
+			fSerializer.startTestSuite(suites.get(i), false);
+			fWriter.writeCharacters("\n"); //$NON-NLS-1$
+			fOpenSuites.add(suites.get(i));
+		}
+	}
+
+	private void closeSuites(int remaining) throws SAXException, XMLStreamException {
+		while (fOpenSuites.size() > remaining) {
+			fSerializer.endTestSuite();
+			fWriter.writeCharacters("\n"); //$NON-NLS-1$
+			fOpenSuites.remove(fOpenSuites.size() - 1);
+		}
+	}
+
+	private void recorded(boolean flush) throws IOException, XMLStreamException {
+		fPending= true;
+		if (flush || System.currentTimeMillis() - fLastFlush >= FLUSH_INTERVAL)
+			flush();
+	}
+
+	private void flush() throws IOException, XMLStreamException {
+		fWriter.flush();
+		fOutput.flush();
+		fPending= false;
+		fLastFlush= System.currentTimeMillis();
+	}
+
+	@Override
+	public void sessionEnded(long elapsedTime) {
+		close();
+	}
+
+	@Override
+	public void sessionStopped(long elapsedTime) {
+		close();
+	}
+
+	@Override
+	public void sessionTerminated() {
+		close();
+	}
+
+	private synchronized void close() {
+		if (fWriter == null)
+			return;
+		try {
+			closeSuites(0);
+			fSerializer.endTestRun();
+			fWriter.writeEndDocument();
+			fWriter.close();
+			fOutput.close();
+		} catch (IOException | XMLStreamException | SAXException e) {
+			JUnitCorePlugin.log(e);
+		} finally {
+			fWriter= null;
+			fSerializer= null;
+			fOpenSuites.clear();
+		}
+	}
+
+	private void abort(Exception e) {
+		JUnitCorePlugin.log(e);
+		if (fOutput != null) {
+			try {
+				fOutput.close();
+			} catch (IOException e2) {
+				// ignore
+			}
+		}
+		fWriter= null;
+		fSerializer= null;
+		fOpenSuites.clear();
+	}
+
+	@Override
+	public void testAdded(TestElement testElement) {
+	}
+
+	@Override
+	public void runningBegins() {
+	}
+
+	@Override
+	public void testReran(TestCaseElement testCaseElement, Status status, String trace, String expectedResult, String actualResult) {
+		// the file is complete when tests are rerun
+	}
+
+	@Override
+	public boolean acceptsSwapToDisk() {
+		return true;
+	}
+}
@@ -75,16 +75,37 @@ public class TestRunSessionSerializer implements XMLReader {
 	}
 
 	private void handleTestRun() throws SAXException {
+		startTestRun(true);
+
+		TestRoot testRoot= fTestRunSession.getTestRoot();
+		ITestElement[] topSuites= testRoot.getChildren();
+		for (ITestElement topSuite : topSuites) {
+			handleTestElement(topSuite, true);
+		}
+
+		endTestRun();
+	}
+
+	/**
+	 * Starts the <code>testrun</code> element.
+	 *
+	 * @param withCounts <code>true</code> to add the test counts, which are only known after the
+	 *            test run has ended
+	 * @throws SAXException if the content handler fails
+	 */
+	void startTestRun(boolean withCounts) throws SAXException {
 		AttributesImpl atts= new AttributesImpl();
 		addCDATA(atts, IXMLTags.ATTR_NAME, fTestRunSession.getTestRunName());
 		IJavaProject project= fTestRunSession.getLaunchedProject();
 		if (project != null)
 			addCDATA(atts, IXMLTags.ATTR_PROJECT, project.getElementName());
-		addCDATA(atts, IXMLTags.ATTR_TESTS, fTestRunSession.getTotalCount());
-		addCDATA(atts, IXMLTags.ATTR_STARTED, fTestRunSession.getStartedCount());
-		addCDATA(atts, IXMLTags.ATTR_FAILURES, fTestRunSession.getFailureCount());
-		addCDATA(atts, IXMLTags.ATTR_ERRORS, fTestRunSession.getErrorCount());
-		addCDATA(atts, IXMLTags.ATTR_IGNORED, fTestRunSession.getIgnoredCount());
+		if (withCounts) {
+			addCDATA(atts, IXMLTags.ATTR_TESTS, fTestRunSession.getTotalCount());
+			addCDATA(atts, IXMLTags.ATTR_STARTED, fTestRunSession.getStartedCount());
+			addCDATA(atts, IXMLTags.ATTR_FAILURES, fTestRunSession.getFailureCount());
+			addCDATA(atts, IXMLTags.ATTR_ERRORS, fTestRunSession.getErrorCount());
+			addCDATA(atts, IXMLTags.ATTR_IGNORED, fTestRunSession.getIgnoredCount());
+		}
 		String includeTags= fTestRunSession.getIncludeTags();
 		if (includeTags != null && !includeTags.trim().isEmpty()) {
 			addCDATA(atts, IXMLTags.ATTR_INCLUDE_TAGS, includeTags);
@@ -94,46 +115,38 @@ public class TestRunSessionSerializer implements XMLReader {
 			addCDATA(atts, IXMLTags.ATTR_EXCLUDE_TAGS, excludeTags);
 		}
 		startElement(IXMLTags.NODE_TESTRUN, atts);
+	}
 
-		TestRoot testRoot= fTestRunSession.getTestRoot();
-		ITestElement[] topSuites= testRoot.getChildren();
-		for (ITestElement topSuite : topSuites) {
-			handleTestElement(topSuite);
-		}
-
+	/**
+	 * Ends the <code>testrun</code> element.
+	 *
+	 * @throws SAXException if the content handler fails
+	 */
+	void endTestRun() throws SAXException {
 		endElement(IXMLTags.NODE_TESTRUN);
 	}
 
-	private void handleTestElement(ITestElement testElement) throws SAXException {
+	/**
+	 * Writes the element for the given test.
+	 *
+	 * @param testElement a test suite or test case
+	 * @param withChildren <code>false</code> to only write the suite itself and its failure
+	 * @throws SAXException if the content handler fails
+	 */
+	void handleTestElement(ITestElement testElement, boolean withChildren) throws SAXException {
 		if (testElement instanceof TestSuiteElement) {
 			TestSuiteElement testSuiteElement= (TestSuiteElement) testElement;
 
-			AttributesImpl atts= new AttributesImpl();
-			// Need to store the full #getTestName instead of only the #getSuiteTypeName for test factory methods
-			addCDATA(atts, IXMLTags.ATTR_NAME, testSuiteElement.getTestName());
-			if (! Double.isNaN(testSuiteElement.getElapsedTimeInSeconds()))
-				addCDATA(atts, IXMLTags.ATTR_TIME, timeFormat.format(testSuiteElement.getElapsedTimeInSeconds()));
-			if (testElement.getProgressState() != ProgressState.COMPLETED || testElement.getTestResult(false) != Result.UNDEFINED)
-				addCDATA(atts, IXMLTags.ATTR_INCOMPLETE, Boolean.TRUE.toString());
-			if (testSuiteElement.getDisplayName() != null) {
-				addCDATA(atts, IXMLTags.ATTR_DISPLAY_NAME, testSuiteElement.getDisplayName());
-			}
-			String[] paramTypes= testSuiteElement.getParameterTypes();
-			if (paramTypes != null) {
-				String paramTypesStr= Arrays.stream(paramTypes).collect(Collectors.joining(",")); //$NON-NLS-1$
-				addCDATA(atts, IXMLTags.ATTR_PARAMETER_TYPES, paramTypesStr);
-			}
-			if (testSuiteElement.getUniqueId() != null) {
-				addCDATA(atts, IXMLTags.ATTR_UNIQUE_ID, testSuiteElement.getUniqueId());
-			}
-			startElement(IXMLTags.NODE_TESTSUITE, atts);
+			startTestSuite(testSuiteElement, true);
 			addFailure(testSuiteElement);
 
-			ITestElement[] children= testSuiteElement.getChildren();
-			for (ITestElement child : children) {
-				handleTestElement(child);
+			if (withChildren) {
+				ITestElement[] children= testSuiteElement.getChildren();
+				for (ITestElement child : children) {
+					handleTestElement(child, true);
+				}
 			}
-			endElement(IXMLTags.NODE_TESTSUITE);
+			endTestSuite();
 
 		} else if (testElement instanceof TestCaseElement) {
 			TestCaseElement testCaseElement= (TestCaseElement) testElement;
@@ -172,7 +185,54 @@ public class TestRunSessionSerializer implements XMLReader {
 
 	}
 
-	private void addFailure(TestElement testElement) throws SAXException {
+	/**
+	 * Starts the <code>testsuite</code> element for the given suite.
+	 *
+	 * @param testSuiteElement the test suite
+	 * @param withResult <code>false</code> to leave out the time and the incomplete state, which
+	 *            are only known after the suite has ended
+	 * @throws SAXException if the content handler fails
+	 */
+	void startTestSuite(TestSuiteElement testSuiteElement, boolean withResult) throws SAXException {
+		AttributesImpl atts= new AttributesImpl();
+		// Need to store the full #getTestName instead of only the #getSuiteTypeName for test factory methods
+		addCDATA(atts, IXMLTags.ATTR_NAME, testSuiteElement.getTestName());
+		if (withResult) {
+			if (! Double.isNaN(testSuiteElement.getElapsedTimeInSeconds()))
+				addCDATA(atts, IXMLTags.ATTR_TIME, timeFormat.format(testSuiteElement.getElapsedTimeInSeconds()));
+			if (testSuiteElement.getProgressState() != ProgressState.COMPLETED || testSuiteElement.getTestResult(false) != Result.UNDEFINED)
+				addCDATA(atts, IXMLTags.ATTR_INCOMPLETE, Boolean.TRUE.toString());
+		}
+		if (testSuiteElement.getDisplayName() != null) {
+			addCDATA(atts, IXMLTags.ATTR_DISPLAY_NAME, testSuiteElement.getDisplayName());
+		}
+		String[] paramTypes= testSuiteElement.getParameterTypes();
+		if (paramTypes != null) {
+			String paramTypesStr= Arrays.stream(paramTypes).collect(Collectors.joining(",")); //$NON-NLS-1$
+			addCDATA(atts, IXMLTags.ATTR_PARAMETER_TYPES, paramTypesStr);
+		}
+		if (testSuiteElement.getUniqueId() != null) {
+			addCDATA(atts, IXMLTags.ATTR_UNIQUE_ID, testSuiteElement.getUniqueId());
+		}
+		startElement(IXMLTags.NODE_TESTSUITE, atts);
+	}
+
+	/**
+	 * Ends the current <code>testsuite</code> element.
+	 *
+	 * @throws SAXException if the content handler fails
+	 */
+	void endTestSuite() throws SAXException {
+		endElement(IXMLTags.NODE_TESTSUITE);
+	}
+
+	/**
+	 * Writes the failure or assumption failure of the given test, if any.
+	 *
+	 * @param testElement a test suite or test case
+	 * @throws SAXException if the content handler fails
+	 */
+	void addFailure(TestElement testElement) throws SAXException {
 		FailureTrace failureTrace= testElement.getFailureTrace();
 
 		if (testElement.isAssumptionFailure()) {
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads messages written by a {@link BinaryMessageWriter}.
+ */
+public class BinaryMessageReader {
+
+	private final InputStream fInput;
+	private byte[] fBuffer= new byte[1024];
+
+	/**
+	 * Creates a reader. The preamble must already have been consumed, see
+	 * {@link #readPreamble(InputStream)}.
+	 *
+	 * @param input the stream to read from, should be buffered
+	 */
+	public BinaryMessageReader(InputStream input) {
+		fInput= input;
+	}
+
+	/**
+	 * Tells whether the given stream uses the binary protocol. If so, the preamble is consumed,
+	 * otherwise the stream is reset to its start.
+	 *
+	 * @param input a stream that supports {@link InputStream#mark(int)}
+	 * @return <code>true</code> if the stream starts with
+	 *         {@link MessageIds#BINARY_PROTOCOL_PREAMBLE}
+	 * @throws IOException if reading from the stream fails
+	 */
+	public static boolean readPreamble(InputStream input) throws IOException {
+		byte[] preamble= MessageIds.BINARY_PROTOCOL_PREAMBLE.getBytes("US-ASCII"); //$NON-NLS-1$
+		input.mark(preamble.length);
+		for (byte expected : preamble) {
+			if (input.read() != expected) {
+				input.reset();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the next message.
+	 *
+	 * @return the message or <code>null</code> if the end of the stream has been reached
+	 * @throws IOException if reading from the stream fails or the stream ends within a frame
+	 */
+	public String readMessage() throws IOException {
+		int length= 0;
+		int shift= 0;
+		int b;
+		do {
+			b= fInput.read();
+			if (b == -1) {
+				if (shift == 0)
+					return null;
+				throw new EOFException();
+			}
+			if (shift > 28)
+				throw new IOException("Invalid frame length"); //$NON-NLS-1$
+			length|= (b & 0x7F) << shift;
+			shift+= 7;
+		} while ((b & 0x80) != 0);
+
+		if (length < 0)
+			throw new IOException("Invalid frame length"); //$NON-NLS-1$
+		if (length > fBuffer.length)
+			fBuffer= new byte[Math.max(length, fBuffer.length * 2)];
+		int offset= 0;
+		while (offset < length) {
+			int read= fInput.read(fBuffer, offset, length - offset);
+			if (read == -1)
+				throw new EOFException();
+			offset+= read;
+		}
+		return new String(fBuffer, 0, length, "UTF-8"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Closes the underlying stream.
+	 *
+	 * @throws IOException if closing fails
+	 */
+	public void close() throws IOException {
+		fInput.close();
+	}
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * Writes messages of the binary protocol.
+ * <p>
+ * The stream starts with {@link MessageIds#BINARY_PROTOCOL_PREAMBLE}. Every message is sent as
+ * one frame: the length of the UTF-8 encoded message as an unsigned variable-length integer
+ * (7 bits per byte, least significant group first, the high bit is set if more bytes follow),
+ * followed by the encoded message. Unlike in the text protocol, a message that spans multiple
+ * lines (like a stack trace) is sent as a single frame.
+ * </p>
+ * <p>
+ * Frames are buffered. {@link #flush()} only writes the buffer if the last write is at least
+ * {@link #FLUSH_INTERVAL} milliseconds ago, so consecutive tree, start and end events are sent
+ * in batches. A background timer writes pending frames after at most {@link #FLUSH_INTERVAL}
+ * milliseconds, so the client never lags behind a long-running test.
+ * </p>
+ * <p>
+ * Like a {@link java.io.PrintWriter}, this writer never throws I/O exceptions. After an error,
+ * all further messages are dropped and {@link #checkError()} returns <code>true</code>.
+ * </p>
+ */
+public class BinaryMessageWriter {
+
+	/**
+	 * Maximal delay in milliseconds before a buffered frame is sent.
+	 */
+	public static final int FLUSH_INTERVAL= 50;
+
+	private static final int BUFFER_SIZE= 64 * 1024;
+
+	private final OutputStream fOutput;
+	private final Timer fFlushTimer;
+
+	private boolean fPending= false;
+	private boolean fError= false;
+	private long fLastFlush;
+
+	/**
+	 * Creates a writer and sends the preamble.
+	 *
+	 * @param output the stream to write to
+	 */
+	public BinaryMessageWriter(OutputStream output) {
+		fOutput= new BufferedOutputStream(output, BUFFER_SIZE);
+		try {
+			fOutput.write(MessageIds.BINARY_PROTOCOL_PREAMBLE.getBytes("US-ASCII")); //$NON-NLS-1$
+			fOutput.flush();
+		} catch (IOException e) {
+			fError= true;
+		}
+		fLastFlush= System.currentTimeMillis();
+		fFlushTimer= new Timer("BinaryMessageWriter", true); //$NON-NLS-1$
+		fFlushTimer.schedule(new TimerTask() {
+			@Override
+			public void run() {
+				flushPending();
+			}
+		}, FLUSH_INTERVAL, FLUSH_INTERVAL);
+	}
+
+	/**
+	 * Buffers a message.
+	 *
+	 * @param message the message, including the message id
+	 */
+	public synchronized void writeMessage(String message) {
+		if (fError)
+			return;
+		try {
+			byte[] bytes= message.getBytes("UTF-8"); //$NON-NLS-1$
+			int length= bytes.length;
+			while (length >= 0x80) {
+				fOutput.write((length & 0x7F) | 0x80);
+				length>>>= 7;
+			}
+			fOutput.write(length);
+			fOutput.write(bytes);
+			fPending= true;
+		} catch (IOException e) {
+			fError= true;
+		}
+	}
+
+	/**
+	 * Sends the buffered messages unless messages have been sent very recently. In that case,
+	 * the buffered messages are sent by the background timer.
+	 */
+	public synchronized void flush() {
+		if (System.currentTimeMillis() - fLastFlush >= FLUSH_INTERVAL)
+			flushPending();
+	}
+
+	synchronized void flushPending() {
+		if (!fPending || fError)
+			return;
+		try {
+			fOutput.flush();
+		} catch (IOException e) {
+			fError= true;
+		}
+		fPending= false;
+		fLastFlush= System.currentTimeMillis();
+	}
+
+	/**
+	 * Sends all buffered messages and closes the underlying stream.
+	 */
+	public synchronized void close() {
+		fFlushTimer.cancel();
+		flushPending();
+		try {
+			fOutput.close();
+		} catch (IOException e) {
+			fError= true;
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if writing to the underlying stream has failed
+	 */
+	public synchronized boolean checkError() {
+		return fError;
+	}
+}
@@ -134,6 +134,14 @@ public class MessageIds {
 	 */
 	public static final String TEST_RERUN=	">RERUN  "; //$NON-NLS-1$
 
+	/**
+	 * First bytes sent by a RemoteTestRunner that was started with <code>-binaryprotocol</code>.
+	 * Text messages never start with a NUL character, so clients can tell the two protocols apart.
+	 * The preamble is followed by length-prefixed frames, see {@link BinaryMessageWriter}.
+	 * Requests from the client are always sent as text.
+	 */
+	public static final String BINARY_PROTOCOL_PREAMBLE= "\u0000%BIN1\r\n"; //$NON-NLS-1$
+
 	/**
 	 * MessageFormat to encode test method identifiers:
 	 * testMethod(testClass)
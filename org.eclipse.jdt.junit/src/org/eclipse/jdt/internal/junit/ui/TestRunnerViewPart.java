@@ -78,6 +78,7 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ILock;
@@ -520,12 +521,22 @@ public class TestRunnerViewPart extends ViewPart {
 			//TODO: MULTI: getFileNames()
 			File file= new File(path);
 
-			try {
-				JUnitModel.importTestRunSession(file);
-			} catch (CoreException e) {
-				JUnitPlugin.log(e);
-				ErrorDialog.openError(fShell, JUnitMessages.TestRunnerViewPart_ImportTestRunSessionAction_error_title, e.getStatus().getMessage(), e.getStatus());
-			}
+			// import in the background, the view shows the tests while they are read
+			Job job= new Job(JUnitMessages.TestRunnerViewPart_ImportTestRunSessionAction_title) {
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					try {
+						JUnitModel.importTestRunSession(file, monitor);
+					} catch (CoreException e) {
+						StatusManager.getManager().handle(e.getStatus(), StatusManager.SHOW | StatusManager.LOG);
+					} catch (OperationCanceledException e) {
+						return Status.CANCEL_STATUS;
+					}
+					return Status.OK_STATUS;
+				}
+			};
+			job.setUser(true);
+			job.schedule();
 		}
 	}
 
@@ -665,6 +665,84 @@ public class ChainCompletionTest {
 		assertEquals(expectedContent,doc.get());
 	}
 
+	@Test
+	public void testMemberChangeAfterCompletion() throws Exception {
+		StringBuffer buf= new StringBuffer();
+		buf.append("package test;\n" +
+				"public class Bar {\n" +
+				"  public Baz getBaz() {\n" +
+				"    return new Baz();\n" +
+				"  }\n" +
+				"}\n" +
+				"class Baz {\n" +
+				"}");
+		ICompilationUnit bar= getCompilationUnit(pkg, buf, "Bar.java");
+
+		buf= new StringBuffer();
+		buf.append("package test;\n" +
+				"public class Foo {\n" +
+				"  public void foo(Bar b) {\n" +
+				"    Baz z = $\n" +
+				"  }\n" +
+				"}");
+		int completionIndex= getCompletionIndex(buf);
+		ICompilationUnit cu= getCompilationUnit(pkg, buf, "Foo.java");
+
+		List<ICompletionProposal> proposals= computeCompletionProposals(cu, completionIndex);
+		assertProposalsExist(Arrays.asList("b.getBaz() - 2 elements"), proposals);
+
+		// the members cached by the first search must not survive the change
+		String source= bar.getSource().replace("getBaz()", "createBaz()");
+		bar.getBuffer().setContents(source);
+		bar.save(null, true);
+
+		proposals= computeCompletionProposals(cu, completionIndex);
+		assertProposalsExist(Arrays.asList("b.createBaz() - 2 elements"), proposals);
+		assertFalse(proposals.stream().anyMatch(p -> p.getDisplayString().startsWith("b.getBaz()")));
+	}
+
+	@Test
+	public void testReturnTypeChangeAfterCompletion() throws Exception {
+		StringBuffer buf= new StringBuffer();
+		buf.append("package test;\n" +
+				"public class Bar {\n" +
+				"  public Baz getBaz() {\n" +
+				"    return new Baz();\n" +
+				"  }\n" +
+				"}\n" +
+				"class Baz {\n" +
+				"}\n" +
+				"class Qux {\n" +
+				"}");
+		ICompilationUnit bar= getCompilationUnit(pkg, buf, "Bar.java");
+
+		buf= new StringBuffer();
+		buf.append("package test;\n" +
+				"public class Foo {\n" +
+				"  public void foo(Bar b) {\n" +
+				"    Baz z = $\n" +
+				"  }\n" +
+				"}");
+		int completionIndex= getCompletionIndex(buf);
+		ICompilationUnit cu= getCompilationUnit(pkg, buf, "Foo.java");
+
+		List<ICompletionProposal> proposals= computeCompletionProposals(cu, completionIndex);
+		assertProposalsExist(Arrays.asList("b.getBaz() - 2 elements"), proposals);
+
+		// a reconcile only reports a fine grained content change of the method
+		bar.becomeWorkingCopy(null);
+		try {
+			String source= bar.getSource().replace("public Baz getBaz() {\n    return new Baz();", "public Qux getBaz() {\n    return new Qux();");
+			bar.getBuffer().setContents(source);
+			bar.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+			proposals= computeCompletionProposals(cu, completionIndex);
+			assertFalse(proposals.stream().anyMatch(p -> p.getDisplayString().startsWith("b.getBaz()")));
+		} finally {
+			bar.discardWorkingCopy();
+		}
+	}
+
 	private ICompilationUnit getCompilationUnit(IPackageFragment pack, StringBuffer buf, String name) throws JavaModelException {
 		return pack.createCompilationUnit(name, buf.toString().replace("$", ""), false, null);
 	}
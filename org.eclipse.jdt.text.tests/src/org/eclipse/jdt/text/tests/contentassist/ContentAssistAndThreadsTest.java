@@ -11,6 +11,7 @@
 package org.eclipse.jdt.text.tests.contentassist;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -38,6 +39,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 
 import org.eclipse.jface.text.contentassist.ContentAssistant;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
 
 import org.eclipse.ui.texteditor.ContentAssistAction;
 import org.eclipse.ui.texteditor.ITextEditorActionConstants;
@@ -59,6 +61,8 @@ public class ContentAssistAndThreadsTest extends AbstractCompletionTest {
 	@After
 	public void resetPreference() {
 		JavaPlugin.getDefault().getPreferenceStore().setToDefault(PreferenceConstants.CODEASSIST_NONUITHREAD_COMPUTATION);
+		JavaPlugin.getDefault().getPreferenceStore().setToDefault(PreferenceConstants.CODEASSIST_PARALLEL_COMPUTATION);
+		JavaPlugin.getDefault().getPreferenceStore().setToDefault(PreferenceConstants.CODEASSIST_COMPUTATION_BUDGET);
 	}
 
 	@Test
@@ -131,6 +135,64 @@ public class ContentAssistAndThreadsTest extends AbstractCompletionTest {
 		assertTrue("UI was frozen for " + thread.getMaxDuration(), thread.getMaxDuration() < 1000);
 	}
 
+	@Test
+	public void testComputationBudgetAndLateProposals() throws Exception {
+		JavaEditor part= openLongCompletionEditor();
+		JavaCompletionProcessor javaProcessor= createParallelProcessor(part);
+
+		// the long computer misses the budget
+		long start= System.currentTimeMillis();
+		ICompletionProposal[] proposals= javaProcessor.computeCompletionProposals(part.getViewer(), 0);
+		long duration= System.currentTimeMillis() - start;
+		assertTrue("Computation took " + duration + " ms", duration < 900);
+		assertFalse("Proposal of the late computer should be missing", containsLongCompletion(proposals));
+
+		// its proposal is added once it has been computed
+		Thread.sleep(Math.max(0, 1200 - duration));
+		proposals= javaProcessor.computeCompletionProposals(part.getViewer(), 0);
+		assertTrue("Missing late completion proposal", containsLongCompletion(proposals));
+	}
+
+	@Test
+	public void testCanceledComputationDoesntBlockUI() throws Exception {
+		JavaEditor part= openLongCompletionEditor();
+		JavaCompletionProcessor javaProcessor= createParallelProcessor(part);
+
+		javaProcessor.computeCompletionProposals(part.getViewer(), 0);
+		// the late computation is canceled by the new invocation, which does not wait for it
+		long start= System.currentTimeMillis();
+		ICompletionProposal[] proposals= javaProcessor.computeCompletionProposals(part.getViewer(), 4);
+		long duration= System.currentTimeMillis() - start;
+		assertTrue("Computation took " + duration + " ms", duration < 900);
+		assertFalse("Proposal of the late computer should be missing", containsLongCompletion(proposals));
+
+		// the new computation runs after the canceled one
+		Thread.sleep(2400);
+		proposals= javaProcessor.computeCompletionProposals(part.getViewer(), 4);
+		assertTrue("Missing late completion proposal", containsLongCompletion(proposals));
+	}
+
+	private JavaEditor openLongCompletionEditor() throws Exception {
+		IJavaProject fJProject1= JavaProjectHelper.createJavaProject("TestProject1", "bin");
+		JavaProjectHelper.addRTJar(fJProject1);
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack1= sourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit cu= pack1.createCompilationUnit("Blah.java", LongCompletionProposalComputer.CONTENT_TRIGGER_STRING, true, new NullProgressMonitor());
+		return (JavaEditor) JavaUI.openInEditor(cu);
+	}
+
+	private JavaCompletionProcessor createParallelProcessor(JavaEditor part) {
+		JavaPlugin.getDefault().getPreferenceStore().setValue(PreferenceConstants.CODEASSIST_PARALLEL_COMPUTATION, true);
+		JavaPlugin.getDefault().getPreferenceStore().setValue(PreferenceConstants.CODEASSIST_COMPUTATION_BUDGET, 200);
+		ContentAssistant assistant= new ContentAssistant();
+		assistant.setDocumentPartitioning(IJavaPartitions.JAVA_PARTITIONING);
+		return new JavaCompletionProcessor(part, assistant, getContentType());
+	}
+
+	private static boolean containsLongCompletion(ICompletionProposal[] proposals) {
+		return Arrays.stream(proposals).map(ICompletionProposal::getDisplayString).anyMatch(LongCompletionProposalComputer.CONTENT_TRIGGER_STRING::equals);
+	}
+
 	private Table findCompletionSelectionControl(Widget control) {
 		if (control instanceof Table) {
 			return (Table)control;
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.performance;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.core.runtime.Platform;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.preference.PreferenceStore;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.ui.texteditor.spelling.ISpellingProblemCollector;
+import org.eclipse.ui.texteditor.spelling.SpellingContext;
+import org.eclipse.ui.texteditor.spelling.SpellingProblem;
+import org.eclipse.ui.texteditor.spelling.SpellingService;
+
+import org.eclipse.ui.editors.text.EditorsUI;
+
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+import org.eclipse.jdt.ui.text.JavaTextTools;
+
+
+/**
+ * Measures the time to spell check a generated 20k-line compilation unit with large Javadoc
+ * comments while typing into one of its comments.
+ *
+ * @since 3.22
+ */
+public class IncrementalSpellCheckingTest extends TextPerformanceTestCase {
+
+	private static final Class<IncrementalSpellCheckingTest> THIS= IncrementalSpellCheckingTest.class;
+
+	private static final int METHODS= 1000;
+
+	private static final int WARM_UP_RUNS= 3;
+
+	private static final int MEASURED_RUNS= 20;
+
+	private JavaTextTools fTextTools;
+
+	private String fContent;
+
+	private SpellingContext fSpellingContext;
+
+
+	public static Test suite() {
+		return new PerformanceTestSetup(new TestSuite(THIS));
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		setWarmUpRuns(WARM_UP_RUNS);
+		setMeasuredRuns(MEASURED_RUNS);
+
+		PreferenceConstants.getPreferenceStore().setValue(PreferenceConstants.SPELLING_PROBLEMS_THRESHOLD, Integer.MAX_VALUE);
+		EditorsUI.getPreferenceStore().putValue(SpellingService.PREFERENCE_SPELLING_ENABLED, IPreferenceStore.TRUE);
+
+		fSpellingContext= new SpellingContext();
+		fSpellingContext.setContentType(Platform.getContentTypeManager().getContentType(JavaCore.JAVA_SOURCE_CONTENT_TYPE));
+		fTextTools= new JavaTextTools(new PreferenceStore());
+		fContent= createContent();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		fTextTools.dispose();
+		PreferenceConstants.getPreferenceStore().setToDefault(PreferenceConstants.SPELLING_PROBLEMS_THRESHOLD);
+		EditorsUI.getPreferenceStore().setToDefault(SpellingService.PREFERENCE_SPELLING_ENABLED);
+	}
+
+	/**
+	 * Checks a new document in every run, nothing can be reused.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	public void testInitialCheck() throws Exception {
+		measureInitialCheck(getNullPerformanceMeter(), getWarmUpRuns());
+		PerformanceMeter performanceMeter= createPerformanceMeter("Java Editor: Spell checking 20k lines");
+		measureInitialCheck(performanceMeter, getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	/**
+	 * Types a character into a Javadoc comment and checks the document in every run, like the
+	 * reconciler does.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	public void testTyping() throws Exception {
+		IDocument document= createDocument();
+		int offset= fContent.indexOf("received", fContent.length() / 2);
+		SpellingService spellingService= EditorsUI.getSpellingService();
+		spellingService.check(document, fSpellingContext, new SpellingProblemCollector(), null);
+
+		measureTyping(document, offset, getNullPerformanceMeter(), getWarmUpRuns());
+		PerformanceMeter performanceMeter= createPerformanceMeter("Java Editor: Spell checking 20k lines while typing");
+		measureTyping(document, offset, performanceMeter, getMeasuredRuns());
+
+		// the problems of the unchanged comments are reported at their new offsets
+		SpellingProblemCollector incremental= new SpellingProblemCollector();
+		spellingService.check(document, fSpellingContext, incremental, null);
+		SpellingProblemCollector full= new SpellingProblemCollector();
+		IDocument copy= new Document(document.get());
+		fTextTools.setupJavaDocumentPartitioner(copy, IJavaPartitions.JAVA_PARTITIONING);
+		spellingService.check(copy, fSpellingContext, full, null);
+		assertEquals(full.fProblems.toString(), incremental.fProblems.toString());
+
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	private void measureInitialCheck(PerformanceMeter performanceMeter, int runs) {
+		SpellingService spellingService= EditorsUI.getSpellingService();
+		for (int i= 0; i < runs; i++) {
+			IDocument document= createDocument();
+			performanceMeter.start();
+			spellingService.check(document, fSpellingContext, new SpellingProblemCollector(), null);
+			performanceMeter.stop();
+		}
+	}
+
+	private void measureTyping(IDocument document, int offset, PerformanceMeter performanceMeter, int runs) throws Exception {
+		SpellingService spellingService= EditorsUI.getSpellingService();
+		for (int i= 0; i < runs; i++) {
+			document.replace(offset, 0, "x");
+			performanceMeter.start();
+			spellingService.check(document, fSpellingContext, new SpellingProblemCollector(), null);
+			performanceMeter.stop();
+		}
+	}
+
+	private IDocument createDocument() {
+		IDocument document= new Document(fContent);
+		fTextTools.setupJavaDocumentPartitioner(document, IJavaPartitions.JAVA_PARTITIONING);
+		return document;
+	}
+
+	/*
+	 * 20 lines per method, with a Javadoc comment, a line comment and a string literal.
+	 */
+	private static String createContent() {
+		StringBuilder buf= new StringBuilder();
+		buf.append("package p;\n\npublic class Generated {\n");
+		for (int i= 0; i < METHODS; i++) {
+			buf.append("\t/**\n");
+			buf.append("\t * Computes the value of the property number ").append(i).append(" of the generated model.\n");
+			buf.append("\t * <p>\n");
+			buf.append("\t * The value is cached after it has been received from the underlying store, so\n");
+			buf.append("\t * subsequent calls return the same instance until the model is invalidated.\n");
+			buf.append("\t * Callers must not modify the returned value, it is shared with the recieving\n");
+			buf.append("\t * listeners of the model.\n");
+			buf.append("\t * </p>\n");
+			buf.append("\t *\n");
+			buf.append("\t * @param index the index of the element, must not be negative\n");
+			buf.append("\t * @return the value of the property, or <code>null</code> if it is not set\n");
+			buf.append("\t */\n");
+			buf.append("\tpublic Object getProperty").append(i).append("(int index) {\n");
+			buf.append("\t\t// look up the value in the seperate cache first\n");
+			buf.append("\t\tObject value= fCache.get(\"property").append(i).append(" value\");\n");
+			buf.append("\t\tif (value == null)\n");
+			buf.append("\t\t\tvalue= compute(index);\n");
+			buf.append("\t\treturn value;\n");
+			buf.append("\t}\n");
+			buf.append("\n");
+		}
+		buf.append("}\n");
+		return buf.toString();
+	}
+
+	/**
+	 * Spelling problem collector.
+	 */
+	private static class SpellingProblemCollector implements ISpellingProblemCollector {
+
+		private final StringBuilder fProblems= new StringBuilder();
+
+		@Override
+		public void accept(SpellingProblem problem) {
+			fProblems.append(problem.getOffset()).append(':').append(problem.getLength()).append('\n');
+		}
+
+		@Override
+		public void beginCollecting() {
+		}
+
+		@Override
+		public void endCollecting() {
+		}
+	}
+}
@@ -52,6 +52,8 @@ public class PerformanceTestSuite extends TestSuite {
 		addTest(SynchronizedLineDifferInitializationTest.suite());
 		addTest(DocumentLineDifferModificationTest.suite());
 		addTest(SpellCheckingTest.suite());
+		addTest(IncrementalSpellCheckingTest.suite());
+		addTest(SemanticHighlightingTypingTest.suite());
 
 
 		/* !!! IMPORTANT NOTE: The following test must be the last one !!! */
@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.performance;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.text.tests.Accessor;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.SourceViewer;
+
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
+
+import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitEditor;
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingManager;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingPresenter;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingReconciler;
+import org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener;
+
+
+/**
+ * Measures the time to reconcile the semantic highlighting of a generated 10k-line compilation
+ * unit while typing into one of its methods.
+ *
+ * @since 3.22
+ */
+public class SemanticHighlightingTypingTest extends TextPerformanceTestCase {
+
+	private static final Class<SemanticHighlightingTypingTest> THIS= SemanticHighlightingTypingTest.class;
+
+	private static final String FILE= "/" + PerformanceTestSetup.PROJECT + "/Eclipse SWT Custom Widgets/common/org/eclipse/swt/custom/GeneratedHighlighting.java";
+
+	private static final int METHODS= 500;
+
+	private static final int WARM_UP_RUNS= 3;
+
+	private static final int MEASURED_RUNS= 20;
+
+	private JavaEditor fEditor;
+
+	private SourceViewer fSourceViewer;
+
+	private SemanticHighlightingReconciler fReconciler;
+
+	private SemanticHighlightingPresenter fPresenter;
+
+
+	public static Test suite() {
+		return new PerformanceTestSetup(new TestSuite(THIS));
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		setWarmUpRuns(WARM_UP_RUNS);
+		setMeasuredRuns(MEASURED_RUNS);
+
+		ResourceTestHelper.write(FILE, createContent());
+		fEditor= (JavaEditor) EditorTestHelper.openInEditor(ResourceTestHelper.findFile(FILE), true);
+		fSourceViewer= EditorTestHelper.getSourceViewer(fEditor);
+		assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 0, 10000, 100));
+
+		// drive the semantic highlighting reconciler from the test instead of the editor's reconciler
+		SemanticHighlightingManager manager= (SemanticHighlightingManager) new Accessor(fEditor, JavaEditor.class).get("fSemanticManager");
+		fReconciler= (SemanticHighlightingReconciler) new Accessor(manager, SemanticHighlightingManager.class).get("fReconciler");
+		fPresenter= (SemanticHighlightingPresenter) new Accessor(manager, SemanticHighlightingManager.class).get("fPresenter");
+		new Accessor(fEditor, CompilationUnitEditor.class).invoke("removeReconcileListener", new Class[] { IJavaReconcilingListener.class }, new Object[] { fReconciler });
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		EditorTestHelper.revertEditor(fEditor, true);
+		EditorTestHelper.closeAllEditors();
+		ResourceTestHelper.delete(FILE);
+	}
+
+	/**
+	 * Types into a method body and reconciles the positions of the changed method only.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	public void testTyping() throws Exception {
+		IDocument document= fSourceViewer.getDocument();
+		int offset= getInsertPosition(document);
+		reconcileAll();
+
+		measureTyping(document, offset, false, getNullPerformanceMeter(), getWarmUpRuns());
+		PerformanceMeter performanceMeter= createPerformanceMeter("Java Editor: Semantic highlighting 10k lines while typing");
+		measureTyping(document, offset, false, performanceMeter, getMeasuredRuns());
+
+		// the positions of the unchanged methods are the same as after a full reconcile
+		String incremental= getPositions(document);
+		reconcileAll();
+		assertEquals(incremental, getPositions(document));
+
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	/**
+	 * Types into a method body and reconciles the positions of the whole compilation unit, like
+	 * after a change of the classpath.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	public void testTypingFullReconcile() throws Exception {
+		IDocument document= fSourceViewer.getDocument();
+		int offset= getInsertPosition(document);
+		reconcileAll();
+
+		measureTyping(document, offset, true, getNullPerformanceMeter(), getWarmUpRuns());
+		PerformanceMeter performanceMeter= createPerformanceMeter("Java Editor: Semantic highlighting 10k lines while typing (full reconcile)");
+		measureTyping(document, offset, true, performanceMeter, getMeasuredRuns());
+
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	private void measureTyping(IDocument document, int offset, boolean forced, PerformanceMeter performanceMeter, int runs) throws Exception {
+		for (int i= 0; i < runs; i++) {
+			document.replace(offset, 0, "x");
+			assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 0, 10000, 100));
+			CompilationUnit ast= getAST();
+			performanceMeter.start();
+			fReconciler.reconciled(ast, forced, new NullProgressMonitor());
+			performanceMeter.stop();
+			EditorTestHelper.runEventQueue(fEditor);
+		}
+	}
+
+	private void reconcileAll() {
+		fReconciler.reconciled(getAST(), true, new NullProgressMonitor());
+		EditorTestHelper.runEventQueue(fEditor);
+	}
+
+	private CompilationUnit getAST() {
+		ITypeRoot element= EditorUtility.getEditorInputJavaElement(fEditor, false);
+		return SharedASTProviderCore.getAST(element, SharedASTProviderCore.WAIT_YES, null);
+	}
+
+	private String getPositions(IDocument document) throws Exception {
+		StringBuilder buf= new StringBuilder();
+		for (Position position : document.getPositions(fPresenter.getPositionCategory())) {
+			if (!position.isDeleted())
+				buf.append(position.getOffset()).append(':').append(position.getLength()).append('\n');
+		}
+		return buf.toString();
+	}
+
+	/*
+	 * Into the string literal of the method in the middle.
+	 */
+	private static int getInsertPosition(IDocument document) {
+		String content= document.get();
+		int offset= content.indexOf("name + \"=", content.indexOf("public int compute" + METHODS / 2 + "("));
+		return offset + "name + \"=".length();
+	}
+
+	/*
+	 * 19 lines per method, with fields, parameters, local variables, static and inherited method
+	 * invocations. Like the other sources of the project, it does not use Java 5 constructs.
+	 */
+	private static String createContent() {
+		StringBuilder buf= new StringBuilder();
+		buf.append("package org.eclipse.swt.custom;\n\n");
+		buf.append("import java.util.ArrayList;\nimport java.util.List;\n\n");
+		buf.append("public class GeneratedHighlighting extends ArrayList {\n");
+		buf.append("\tprivate static final long serialVersionUID= 1L;\n");
+		buf.append("\tprivate static final int LIMIT= 100;\n");
+		buf.append("\tprivate final List fValues= new ArrayList();\n\n");
+		for (int i= 0; i < METHODS; i++) {
+			buf.append("\tpublic int compute").append(i).append("(int index, String name) {\n");
+			buf.append("\t\tint count= 1;\n");
+			buf.append("\t\tfor (int j= 0; j < LIMIT; j++) {\n");
+			buf.append("\t\t\tif (fValues.size() > j && ((Integer) fValues.get(j)).intValue() == index)\n");
+			buf.append("\t\t\t\tcount+= Math.max(j, index);\n");
+			buf.append("\t\t}\n");
+			buf.append("\t\tString text= name + \"=\" + String.valueOf(count);\n");
+			buf.append("\t\tif (contains(text))\n");
+			buf.append("\t\t\treturn count;\n");
+			buf.append("\t\tList names= new ArrayList(size());\n");
+			buf.append("\t\tfor (int j= 0; j < size(); j++) {\n");
+			buf.append("\t\t\tString element= (String) get(j);\n");
+			buf.append("\t\t\tif (element.startsWith(name))\n");
+			buf.append("\t\t\t\tnames.add(element);\n");
+			buf.append("\t\t}\n");
+			buf.append("\t\tcount+= names.size();\n");
+			buf.append("\t\tfValues.add(new Integer(count));\n");
+			buf.append("\t\treturn compute").append((i + 1) % METHODS).append("(count % LIMIT, text);\n");
+			buf.append("\t}\n");
+		}
+		buf.append("}\n");
+		return buf.toString();
+	}
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.spelling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.ui.text.spelling.SpellCheckEngine;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.LocaleSensitiveSpellDictionary;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.RankedWordProposal;
+
+/**
+ * Compares the memory-mapped word list of a dictionary with the word list on the heap.
+ */
+public class CompiledWordListTest {
+
+	private static class TestDictionary extends LocaleSensitiveSpellDictionary {
+
+		private final File fCompiledLocation;
+
+		TestDictionary(URL location, File compiledLocation) {
+			super(Locale.US, location);
+			fCompiledLocation= compiledLocation;
+		}
+
+		@Override
+		protected File getCompiledLocation() {
+			return fCompiledLocation;
+		}
+	}
+
+	private static final int WORD_STRIDE= 37;
+	private static final int PROPOSAL_STRIDE= 2000;
+
+	private static URL fgLocation;
+	private static List<String> fgWords;
+
+	private File fCompiledLocation;
+	private TestDictionary fHeapDictionary;
+
+	@BeforeClass
+	public static void readWords() throws IOException {
+		Enumeration<URL> locations= SpellCheckEngine.getDictionaryLocations();
+		assertNotNull(locations);
+		fgLocation= locations.nextElement();
+		fgWords= new ArrayList<>();
+		try (BufferedReader reader= new BufferedReader(new InputStreamReader(new URL(fgLocation, "en_US.dictionary").openStream(), StandardCharsets.UTF_8))) {
+			for (String line= reader.readLine(); line != null; line= reader.readLine())
+				fgWords.add(line);
+		}
+		assertTrue(fgWords.size() > PROPOSAL_STRIDE);
+	}
+
+	@Before
+	public void setUp() throws IOException {
+		fCompiledLocation= File.createTempFile("CompiledWordListTest", ".wordlist");
+		assertTrue(fCompiledLocation.delete());
+		fHeapDictionary= new TestDictionary(fgLocation, null);
+	}
+
+	@After
+	public void tearDown() {
+		fHeapDictionary.unload();
+		fCompiledLocation.delete();
+	}
+
+	@Test
+	public void testCompile() throws Exception {
+		TestDictionary dictionary= new TestDictionary(fgLocation, fCompiledLocation);
+		assertSameWords(fHeapDictionary, dictionary);
+		assertTrue(fCompiledLocation.isFile());
+		dictionary.unload();
+	}
+
+	@Test
+	public void testMap() throws Exception {
+		new TestDictionary(fgLocation, fCompiledLocation).isCorrect("the");
+		long modified= fCompiledLocation.lastModified();
+		long length= fCompiledLocation.length();
+
+		TestDictionary dictionary= new TestDictionary(fgLocation, fCompiledLocation);
+		assertSameWords(fHeapDictionary, dictionary);
+		assertEquals(modified, fCompiledLocation.lastModified());
+		assertEquals(length, fCompiledLocation.length());
+		dictionary.unload();
+	}
+
+	@Test
+	public void testTruncated() throws Exception {
+		new TestDictionary(fgLocation, fCompiledLocation).isCorrect("the");
+		long length= fCompiledLocation.length();
+		try (RandomAccessFile file= new RandomAccessFile(fCompiledLocation, "rw")) {
+			file.setLength(length / 2);
+		}
+
+		TestDictionary dictionary= new TestDictionary(fgLocation, fCompiledLocation);
+		assertSameWords(fHeapDictionary, dictionary);
+		assertEquals(length, fCompiledLocation.length());
+		dictionary.unload();
+	}
+
+	@Test
+	public void testCorrupt() throws Exception {
+		byte[] bytes= new byte[4096];
+		for (int i= 0; i < bytes.length; i++)
+			bytes[i]= (byte) (i * 31);
+		Files.write(fCompiledLocation.toPath(), bytes);
+
+		TestDictionary dictionary= new TestDictionary(fgLocation, fCompiledLocation);
+		assertSameWords(fHeapDictionary, dictionary);
+		assertTrue(fCompiledLocation.length() > bytes.length);
+		dictionary.unload();
+	}
+
+	private static void assertSameWords(TestDictionary expected, TestDictionary actual) {
+		for (int i= 0; i < fgWords.size(); i+= WORD_STRIDE) {
+			String word= fgWords.get(i);
+			assertEquals(word, expected.isCorrect(word), actual.isCorrect(word));
+			String upperCase= word.toUpperCase();
+			assertEquals(upperCase, expected.isCorrect(upperCase), actual.isCorrect(upperCase));
+			String misspelled= word + "xq";
+			assertEquals(misspelled, expected.isCorrect(misspelled), actual.isCorrect(misspelled));
+		}
+		for (int i= 0; i < fgWords.size(); i+= PROPOSAL_STRIDE) {
+			String word= fgWords.get(i);
+			if (word.length() > 3) {
+				String misspelled= word.substring(0, 1) + word.substring(2);
+				assertEquals(misspelled, getProposals(expected, misspelled), getProposals(actual, misspelled));
+			}
+		}
+	}
+
+	private static Set<String> getProposals(TestDictionary dictionary, String word) {
+		Set<String> result= new TreeSet<>();
+		for (RankedWordProposal proposal : dictionary.getProposals(word, false))
+			result.add(proposal.getRank() + " " + proposal.getText());
+		return result;
+	}
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring.typeconstraints;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TType;
+import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TypeEnvironment;
+
+import org.eclipse.jdt.ui.tests.refactoring.GenericRefactoringTest;
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+/**
+ * Tests the invalidation of the shared type environment and the concurrent use of a type
+ * environment.
+ */
+public class SharedTypeEnvironmentTests extends GenericRefactoringTest {
+
+	private static final int THREADS= 8;
+
+	public SharedTypeEnvironmentTests() {
+		rts= new RefactoringTestSetup();
+	}
+
+	@Test
+	public void testBodyChangeKeepsEnvironment() throws Exception {
+		createCU(getPackageP(), "A.java", "package p;\npublic class A {\n}\n");
+		ICompilationUnit cu= createCU(getPackageP(), "B.java", "package p;\npublic class B extends A {\n\tvoid m() {\n\t}\n}\n");
+		cu.becomeWorkingCopy(null);
+		try {
+			TypeEnvironment environment= TypeEnvironment.getSharedEnvironment();
+			assertSame(environment, TypeEnvironment.getSharedEnvironment());
+
+			setContents(cu, "package p;\npublic class B extends A {\n\tvoid m() {\n\t\tint i= 1;\n\t}\n}\n");
+			assertSame(environment, TypeEnvironment.getSharedEnvironment());
+
+			// a non-primary working copy doesn't change the types of the shared environment
+			ICompilationUnit copy= cu.getWorkingCopy(null);
+			try {
+				setContents(copy, "package p;\npublic class B {\n}\n");
+			} finally {
+				copy.discardWorkingCopy();
+			}
+			assertSame(environment, TypeEnvironment.getSharedEnvironment());
+		} finally {
+			cu.discardWorkingCopy();
+		}
+	}
+
+	@Test
+	public void testSupertypeChangeDiscardsEnvironment() throws Exception {
+		createCU(getPackageP(), "A.java", "package p;\npublic class A {\n}\n");
+		ICompilationUnit cu= createCU(getPackageP(), "B.java", "package p;\npublic class B extends A {\n}\n");
+		TypeEnvironment environment= TypeEnvironment.getSharedEnvironment();
+
+		cu.becomeWorkingCopy(null);
+		try {
+			TypeEnvironment workingCopyEnvironment= TypeEnvironment.getSharedEnvironment();
+			setContents(cu, "package p;\npublic class B {\n}\n");
+			assertNotSame(workingCopyEnvironment, TypeEnvironment.getSharedEnvironment());
+		} finally {
+			cu.discardWorkingCopy();
+		}
+		assertNotSame(environment, TypeEnvironment.getSharedEnvironment());
+	}
+
+	@Test
+	public void testAddedTypeDiscardsEnvironment() throws Exception {
+		TypeEnvironment environment= TypeEnvironment.getSharedEnvironment();
+		createCU(getPackageP(), "C.java", "package p;\npublic class C {\n}\n");
+		assertNotSame(environment, TypeEnvironment.getSharedEnvironment());
+	}
+
+	@Test
+	public void testConcurrentCreate() throws Exception {
+		ICompilationUnit cu= createCU(getPackageP(), "D.java",
+				"package p;\n" +
+				"import java.util.*;\n" +
+				"public class D<T extends Number> {\n" +
+				"\tString s;\n" +
+				"\tList<String> list;\n" +
+				"\tMap<String, Integer>[] maps;\n" +
+				"\tList<? extends T> extendsList;\n" +
+				"\tList<? super Integer> superList;\n" +
+				"\tList<?> unbound;\n" +
+				"\tList raw;\n" +
+				"\tD<Integer> d;\n" +
+				"\tT t;\n" +
+				"\tint[][] ints;\n" +
+				"}\n");
+		ITypeBinding[] bindings= getFieldTypes(cu);
+
+		TypeEnvironment environment= new TypeEnvironment();
+		List<Callable<TType[]>> tasks= new ArrayList<>();
+		for (int i= 0; i < THREADS; i++) {
+			int offset= i;
+			tasks.add(() -> {
+				environment.initializeJavaLangObject(getPackageP().getJavaProject());
+				TType[] types= new TType[bindings.length];
+				for (int j= 0; j < bindings.length; j++) {
+					int index= (j + offset) % bindings.length;
+					types[index]= environment.create(bindings[index]);
+				}
+				return types;
+			});
+		}
+		ExecutorService executor= Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<TType[]>> results= executor.invokeAll(tasks);
+			TType[] expected= results.get(0).get();
+			for (Future<TType[]> result : results) {
+				TType[] types= result.get();
+				for (int i= 0; i < bindings.length; i++) {
+					assertNotNull(types[i]);
+					assertSame(bindings[i].getKey(), expected[i], types[i]);
+				}
+			}
+			assertNotNull(environment.getJavaLangObject());
+			assertTrue(environment.getJavaLangObject().isJavaLangObject());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void setContents(ICompilationUnit cu, String contents) throws Exception {
+		IBuffer buffer= cu.getBuffer();
+		buffer.setContents(contents);
+		cu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	}
+
+	private static ITypeBinding[] getFieldTypes(ICompilationUnit cu) {
+		ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+		parser.setSource(cu);
+		parser.setResolveBindings(true);
+		CompilationUnit root= (CompilationUnit) parser.createAST(null);
+		List<ITypeBinding> result= new ArrayList<>();
+		root.accept(new ASTVisitor() {
+			@Override
+			public boolean visit(VariableDeclarationFragment node) {
+				result.add(node.resolveBinding().getType());
+				return false;
+			}
+		});
+		return result.toArray(new ITypeBinding[result.size()]);
+	}
+}
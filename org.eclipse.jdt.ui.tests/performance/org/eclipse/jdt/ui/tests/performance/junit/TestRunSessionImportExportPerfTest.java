@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.model.ITestRunSessionListener;
+import org.eclipse.jdt.internal.junit.model.JUnitModel;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+
+/**
+ * Measures the import and export of large Ant/Maven surefire style reports. The size of the
+ * generated report in megabytes can be set with the system property
+ * <code>org.eclipse.jdt.ui.tests.junit.reportSize</code>, the default is 500.
+ */
+public class TestRunSessionImportExportPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final long REPORT_SIZE= Long.getLong("org.eclipse.jdt.ui.tests.junit.reportSize", 500).longValue() * 1024 * 1024;
+	private static final int TESTS_PER_SUITE= 200;
+	private static final int FAILURE_RATE= 50;
+	private static final int OUTPUT_LINES= 40;
+	private static final int TRACE_LINES= 60;
+	private static final int RUNS= 3;
+
+	private static File fgReport;
+	private static int fgTestCount;
+
+	@BeforeClass
+	public static void createReport() throws IOException {
+		fgReport= File.createTempFile("surefire", ".xml");
+		fgTestCount= writeReport(fgReport, REPORT_SIZE);
+	}
+
+	@AfterClass
+	public static void deleteReport() {
+		if (fgReport != null)
+			fgReport.delete();
+	}
+
+	@Test
+	public void testImport() throws Exception {
+		tagAsSummary("Import large JUnit report", Dimension.ELAPSED_PROCESS);
+		for (int i= 0; i < RUNS; i++) {
+			startMeasuring();
+			TestRunSession session= JUnitModel.importTestRunSession(fgReport);
+			stopMeasuring();
+
+			assertEquals(fgTestCount, session.getTotalCount());
+			assertEquals(fgTestCount / FAILURE_RATE, session.getFailureCount());
+			JUnitCorePlugin.getModel().removeTestRunSession(session);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	@Test
+	public void testIncrementalImportFirstResult() throws Exception {
+		tagAsSummary("Import large JUnit report (first result)", Dimension.ELAPSED_PROCESS);
+		// the handler adds the session to the model on the parsing thread
+		ITestRunSessionListener listener= new ITestRunSessionListener() {
+			@Override
+			public void sessionAdded(TestRunSession testRunSession) {
+				stopMeasuring();
+			}
+
+			@Override
+			public void sessionRemoved(TestRunSession testRunSession) {
+			}
+		};
+		JUnitModel model= JUnitCorePlugin.getModel();
+		model.addTestRunSessionListener(listener);
+		try {
+			for (int i= 0; i < RUNS; i++) {
+				startMeasuring();
+				TestRunSession session= JUnitModel.importTestRunSession(fgReport, new NullProgressMonitor());
+
+				assertFalse(session.isRunning());
+				assertFalse(session.isStopped());
+				assertEquals(fgTestCount, session.getTotalCount());
+				model.removeTestRunSession(session);
+			}
+		} finally {
+			model.removeTestRunSessionListener(listener);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	@Test
+	public void testImportTruncated() throws Exception {
+		tagAsSummary("Import truncated JUnit report", Dimension.ELAPSED_PROCESS);
+		File truncated= File.createTempFile("surefire-truncated", ".xml");
+		try {
+			Files.copy(fgReport.toPath(), truncated.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			try (RandomAccessFile file= new RandomAccessFile(truncated, "rw")) {
+				file.setLength(file.length() / 2);
+			}
+			for (int i= 0; i < RUNS; i++) {
+				startMeasuring();
+				TestRunSession session= JUnitModel.importTestRunSession(truncated);
+				stopMeasuring();
+
+				assertNotNull(session);
+				assertTrue(session.isStopped());
+				assertTrue(session.getTotalCount() > 0);
+				JUnitCorePlugin.getModel().removeTestRunSession(session);
+			}
+		} finally {
+			truncated.delete();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	@Test
+	public void testExport() throws Exception {
+		tagAsSummary("Export large JUnit report", Dimension.ELAPSED_PROCESS);
+		TestRunSession session= JUnitModel.importTestRunSession(fgReport);
+		File exported= File.createTempFile("exported", ".xml");
+		try {
+			for (int i= 0; i < RUNS; i++) {
+				startMeasuring();
+				JUnitModel.exportTestRunSession(session, exported);
+				stopMeasuring();
+			}
+			TestRunSession reimported= JUnitModel.importTestRunSession(exported);
+			assertEquals(fgTestCount, reimported.getTotalCount());
+			JUnitCorePlugin.getModel().removeTestRunSession(reimported);
+		} finally {
+			exported.delete();
+			JUnitCorePlugin.getModel().removeTestRunSession(session);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/*
+	 * Writes a report like the ones of Ant's junitreport task and of the Maven surefire plugin,
+	 * with the test output of every test and a failure in every FAILURE_RATE-th test.
+	 */
+	private static int writeReport(File file, long size) throws IOException {
+		String output= createLines("DEBUG p.Service - processing request ", OUTPUT_LINES);
+		String trace= "java.lang.AssertionError: expected:&lt;1&gt; but was:&lt;2&gt;\n" + createLines("\tat p.Helper.check(Helper.java:", TRACE_LINES);
+		int testCount= 0;
+		long written= 0;
+		try (Writer writer= new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8), 1 << 16)) {
+			written+= write(writer, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<testsuites>\n");
+			for (int suite= 0; written < size; suite++) {
+				String className= "p.s" + (suite / 100) + ".GeneratedTest" + suite;
+				written+= write(writer, "<testsuite name=\"" + className + "\" tests=\"" + TESTS_PER_SUITE + "\" time=\"1.5\">\n");
+				written+= write(writer, "<properties><property name=\"java.version\" value=\"17\"/></properties>\n");
+				for (int test= 0; test < TESTS_PER_SUITE; test++, testCount++) {
+					written+= write(writer, "<testcase name=\"test" + test + "\" classname=\"" + className + "\" time=\"0.007\">\n");
+					if (testCount % FAILURE_RATE == 0)
+						written+= write(writer, "<failure message=\"expected:&lt;1&gt; but was:&lt;2&gt;\" type=\"java.lang.AssertionError\">" + trace + "</failure>\n");
+					written+= write(writer, "<system-out><![CDATA[" + output + "]]></system-out>\n</testcase>\n");
+				}
+				written+= write(writer, "</testsuite>\n");
+			}
+			write(writer, "</testsuites>\n");
+		}
+		return testCount;
+	}
+
+	private static String createLines(String prefix, int count) {
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < count; i++) {
+			buf.append(prefix).append(i).append(")\n");
+		}
+		return buf.toString();
+	}
+
+	private static int write(Writer writer, String string) throws IOException {
+		writer.write(string);
+		return string.length(); // ASCII only
+	}
+}
@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.jdt.launching.SocketUtil;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+import org.eclipse.jdt.internal.junit.model.ITestRunListener2;
+import org.eclipse.jdt.internal.junit.model.RemoteTestRunnerClient;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageWriter;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+
+/**
+ * Measures the throughput of the text and the binary protocol between the
+ * <code>RemoteTestRunner</code> and the {@link RemoteTestRunnerClient}.
+ */
+public class TestRunnerProtocolPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int TEST_COUNT= 50000;
+	private static final int FAILURE_RATE= 50;
+	private static final int TRACE_LINES= 60;
+	private static final int RUNS= 5;
+
+	private interface Sender {
+		void send(String message);
+		void flush();
+		void close();
+	}
+
+	private static class CountingListener implements ITestRunListener2 {
+		final CountDownLatch fEnded= new CountDownLatch(1);
+		final AtomicInteger fTreeEntries= new AtomicInteger();
+		final AtomicInteger fEndedTests= new AtomicInteger();
+		final AtomicInteger fFailures= new AtomicInteger();
+
+		@Override
+		public void testRunStarted(int testCount) {
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			fEndedTests.incrementAndGet();
+		}
+
+		@Override
+		public void testRunTerminated() {
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+			fTreeEntries.incrementAndGet();
+		}
+
+		@Override
+		public void testFailed(int status, String testId, String testName, String trace, String expected, String actual) {
+			fFailures.incrementAndGet();
+		}
+
+		@Override
+		public void testReran(String testId, String testClass, String testName, int status, String trace, String expected, String actual) {
+		}
+	}
+
+	@Test
+	public void testTextProtocol() throws Exception {
+		tagAsSummary("Test runner protocol (text)", Dimension.ELAPSED_PROCESS);
+		measure(false);
+	}
+
+	@Test
+	public void testBinaryProtocol() throws Exception {
+		tagAsSummary("Test runner protocol (binary)", Dimension.ELAPSED_PROCESS);
+		measure(true);
+	}
+
+	private void measure(boolean binary) throws Exception {
+		String trace= createTrace();
+		for (int i= 0; i < RUNS; i++) {
+			int port= SocketUtil.findFreePort();
+			CountingListener listener= new CountingListener();
+			RemoteTestRunnerClient client= new RemoteTestRunnerClient();
+			client.startListening(new ITestRunListener2[] { listener }, port);
+			try (Socket socket= connect(port)) {
+				Sender sender= createSender(socket, binary);
+
+				startMeasuring();
+				sendTestRun(sender, trace);
+				assertTrue("test run did not end", listener.fEnded.await(5, TimeUnit.MINUTES));
+				stopMeasuring();
+
+				sender.close();
+			}
+			assertEquals(TEST_COUNT, listener.fTreeEntries.get());
+			assertEquals(TEST_COUNT, listener.fEndedTests.get());
+			assertEquals(TEST_COUNT / FAILURE_RATE, listener.fFailures.get());
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/*
+	 * Sends the same messages as RemoteTestRunner and FirstRunExecutionListener,
+	 * including their flushes.
+	 */
+	private static void sendTestRun(Sender sender, String trace) {
+		sender.send(MessageIds.TEST_RUN_START + TEST_COUNT + " v2");
+		sender.send(MessageIds.TEST_TREE + "0,p.AllTests,true," + TEST_COUNT + ",false,-1,p.AllTests,,");
+		for (int i= 1; i < TEST_COUNT; i++) {
+			sender.send(MessageIds.TEST_TREE + i + ",testMethod" + i + "(p.ParameterizedTest),false,1,false,-1,testMethod" + i + "(p.ParameterizedTest),,");
+		}
+		for (int i= 0; i < TEST_COUNT; i++) {
+			String test= i + ",testMethod" + i + "(p.ParameterizedTest)";
+			sender.send(MessageIds.TEST_START + test);
+			sender.flush();
+			if (i % FAILURE_RATE == 0) {
+				sender.send(MessageIds.TEST_FAILED + test);
+				sender.send(MessageIds.TRACE_START);
+				sender.send(trace);
+				sender.send(MessageIds.TRACE_END);
+				sender.flush();
+			}
+			sender.send(MessageIds.TEST_END + test);
+			sender.flush();
+		}
+		sender.send(MessageIds.TEST_RUN_END + 1000);
+		sender.flush();
+	}
+
+	private static String createTrace() {
+		StringBuilder buf= new StringBuilder("java.lang.AssertionError: expected:<1> but was:<2>");
+		for (int i= 0; i < TRACE_LINES; i++) {
+			buf.append("\n\tat p.ParameterizedTest.helper").append(i).append("(ParameterizedTest.java:").append(i + 10).append(')');
+		}
+		return buf.toString();
+	}
+
+	private static Socket connect(int port) throws Exception {
+		for (int i= 0; i < 100; i++) {
+			try {
+				return new Socket("127.0.0.1", port);
+			} catch (ConnectException e) {
+				Thread.sleep(50); // client not yet listening
+			}
+		}
+		throw new ConnectException("Could not connect to port " + port);
+	}
+
+	private static Sender createSender(Socket socket, boolean binary) throws IOException {
+		if (binary) {
+			BinaryMessageWriter writer= new BinaryMessageWriter(socket.getOutputStream());
+			return new Sender() {
+				@Override
+				public void send(String message) {
+					writer.writeMessage(message);
+				}
+
+				@Override
+				public void flush() {
+					writer.flush();
+				}
+
+				@Override
+				public void close() {
+					writer.close();
+				}
+			};
+		}
+		PrintWriter writer= new PrintWriter(new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)), false);
+		return new Sender() {
+			@Override
+			public void send(String message) {
+				writer.println(message);
+			}
+
+			@Override
+			public void flush() {
+				writer.flush();
+			}
+
+			@Override
+			public void close() {
+				writer.close();
+			}
+		};
+	}
+}
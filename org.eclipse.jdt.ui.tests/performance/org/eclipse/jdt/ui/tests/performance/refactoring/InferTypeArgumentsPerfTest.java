@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.JavaTestPlugin;
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextChange;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+
+import org.eclipse.jdt.internal.corext.refactoring.generics.InferTypeArgumentsRefactoring;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+/**
+ * Measures the type constraint solver of Infer Generic Type Arguments on the JUnit 3.8.1 sources,
+ * the fixture of the refactoring tests.
+ */
+public class InferTypeArgumentsPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int RUNS= 10;
+
+	private static IJavaProject fgProject;
+
+	@BeforeClass
+	public static void createProject() throws Exception {
+		fgProject= JavaProjectHelper.createJavaProject("InferTypeArgumentsPerfTest", "bin");
+		assertNotNull(JavaProjectHelper.addRTJar(fgProject));
+		File junitSrcArchive= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.JUNIT_SRC_381);
+		assertTrue(junitSrcArchive != null && junitSrcArchive.exists());
+		JavaProjectHelper.addSourceContainerWithImport(fgProject, "src", junitSrcArchive, JavaProjectHelper.JUNIT_SRC_ENCODING);
+	}
+
+	@AfterClass
+	public static void deleteProject() throws Exception {
+		if (fgProject != null)
+			JavaProjectHelper.delete(fgProject);
+	}
+
+	@Test
+	public void testInferTypeArguments() throws Exception {
+		tagAsSummary("Infer Generic Type Arguments: JUnit 3.8.1", Dimension.ELAPSED_PROCESS);
+		measure(false);
+	}
+
+	@Test
+	public void testInferTypeArgumentsCloneNotRaw() throws Exception {
+		tagAsSummary("Infer Generic Type Arguments: JUnit 3.8.1, clone not raw", Dimension.ELAPSED_PROCESS);
+		measure(true);
+	}
+
+	/*
+	 * The final conditions build and solve the constraints, the change is created but not performed.
+	 */
+	private void measure(boolean cloneNotRaw) throws Exception {
+		String expected= null;
+		for (int i= 0; i < RUNS + 1; i++) {
+			InferTypeArgumentsRefactoring refactoring= new InferTypeArgumentsRefactoring(new IJavaElement[] { fgProject });
+			refactoring.setAssumeCloneReturnsSameType(cloneNotRaw);
+			refactoring.setLeaveUnconstrainedRaw(!cloneNotRaw);
+			assertTrue(refactoring.checkInitialConditions(new NullProgressMonitor()).isOK());
+
+			if (i > 0)
+				startMeasuring();
+			RefactoringStatus status= refactoring.checkFinalConditions(new NullProgressMonitor());
+			if (i > 0)
+				stopMeasuring();
+
+			assertTrue(status.isOK());
+			Change change= refactoring.createChange(new NullProgressMonitor());
+			String description= getDescription(change);
+			change.dispose();
+			if (expected == null)
+				expected= description;
+			else
+				assertEquals(expected, description);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private static String getDescription(Change change) throws Exception {
+		StringBuilder buf= new StringBuilder();
+		appendDescription(change, buf);
+		return buf.toString();
+	}
+
+	private static void appendDescription(Change change, StringBuilder buf) throws Exception {
+		buf.append(change.getName()).append('\n');
+		if (change instanceof CompositeChange) {
+			for (Change child : ((CompositeChange) change).getChildren())
+				appendDescription(child, buf);
+		} else if (change instanceof TextChange) {
+			buf.append(((TextChange) change).getPreviewContent(new NullProgressMonitor()));
+		}
+	}
+}
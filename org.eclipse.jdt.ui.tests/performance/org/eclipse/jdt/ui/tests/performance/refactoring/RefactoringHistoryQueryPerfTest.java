@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.refactoring;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.TimeZone;
+import java.util.stream.Stream;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.ltk.core.refactoring.RefactoringCore;
+import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
+import org.eclipse.ltk.core.refactoring.history.IRefactoringHistoryService;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+/**
+ * Measures time range queries on a synthetic refactoring history with
+ * {@link #ENTRIES} entries spread over ten years.
+ */
+public class RefactoringHistoryQueryPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int ENTRIES= 100000;
+	private static final long FIRST_STAMP= 1420070400000L; // 2015-01-01 GMT
+	private static final long STEP= 10L * 365 * 24 * 60 * 60 * 1000 / ENTRIES;
+	private static final long LAST_STAMP= FIRST_STAMP + (ENTRIES - 1) * STEP;
+	private static final long WEEK= 7L * 24 * 60 * 60 * 1000;
+	private static final int RUNS= 10;
+
+	// see RefactoringPreferenceConstants
+	private static final String PREFERENCE_HISTORY_INDEX= "org.eclipse.ltk.core.refactoring.refactoring.history.index";
+
+	private static IProject fgProject;
+	private static Path fgHistory;
+
+	@BeforeClass
+	public static void createHistory() throws Exception {
+		fgProject= ResourcesPlugin.getWorkspace().getRoot().getProject("RefactoringHistoryQueryPerfTest");
+		fgProject.create(null);
+		fgProject.open(null);
+		// the history of unshared projects is in the state location of the refactoring core plug-in
+		Path state= Platform.getStateLocation(Platform.getBundle(RefactoringCore.ID_PLUGIN)).toFile().toPath();
+		fgHistory= state.resolve(".refactorings").resolve(fgProject.getName());
+		writeHistory(fgHistory);
+	}
+
+	@AfterClass
+	public static void deleteHistory() throws Exception {
+		if (fgHistory != null) {
+			try (Stream<Path> paths= Files.walk(fgHistory)) {
+				paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+			}
+		}
+		if (fgProject != null)
+			fgProject.delete(true, true, null);
+	}
+
+	@Test
+	public void testQueryWeek() throws Exception {
+		tagAsSummary("Refactoring history: query last week", Dimension.ELAPSED_PROCESS);
+		measure(LAST_STAMP - WEEK, LAST_STAMP, false);
+	}
+
+	@Test
+	public void testQueryYear() throws Exception {
+		tagAsSummary("Refactoring history: query last year", Dimension.ELAPSED_PROCESS);
+		measure(LAST_STAMP - 52 * WEEK, LAST_STAMP, false);
+	}
+
+	@Test
+	public void testQueryAll() throws Exception {
+		tagAsSummary("Refactoring history: query all", Dimension.ELAPSED_PROCESS);
+		measure(0, Long.MAX_VALUE, false);
+	}
+
+	@Test
+	public void testQueryWeekIndexed() throws Exception {
+		tagAsSummary("Refactoring history: query last week (indexed)", Dimension.ELAPSED_PROCESS);
+		measure(LAST_STAMP - WEEK, LAST_STAMP, true);
+	}
+
+	private void measure(long start, long end, boolean indexed) throws Exception {
+		IEclipsePreferences preferences= InstanceScope.INSTANCE.getNode(RefactoringCore.ID_PLUGIN);
+		preferences.putBoolean(PREFERENCE_HISTORY_INDEX, indexed);
+		try {
+			IRefactoringHistoryService service= RefactoringCore.getHistoryService();
+			int expected= countEntries(start, end);
+			// the first query creates the index or the summaries of the index files
+			assertEquals(expected, service.getProjectHistory(fgProject, start, end, RefactoringDescriptor.NONE, null).getDescriptors().length);
+			for (int i= 0; i < RUNS; i++) {
+				startMeasuring();
+				int count= service.getProjectHistory(fgProject, start, end, RefactoringDescriptor.NONE, null).getDescriptors().length;
+				stopMeasuring();
+
+				assertEquals(expected, count);
+			}
+		} finally {
+			preferences.remove(PREFERENCE_HISTORY_INDEX);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private static int countEntries(long start, long end) {
+		int count= 0;
+		for (int i= 0; i < ENTRIES; i++) {
+			long stamp= FIRST_STAMP + i * STEP;
+			if (stamp >= start && stamp <= end)
+				count++;
+		}
+		return count;
+	}
+
+	/*
+	 * Writes the index files of the year/month/week layout of RefactoringHistoryManager.
+	 * The history files are not needed, since the descriptors are never resolved.
+	 */
+	private static void writeHistory(Path root) throws IOException {
+		Calendar calendar= Calendar.getInstance(TimeZone.getTimeZone("GMT+00:00"));
+		Path folder= null;
+		Writer writer= null;
+		try {
+			for (int i= 0; i < ENTRIES; i++) {
+				long stamp= FIRST_STAMP + i * STEP;
+				calendar.setTimeInMillis(stamp);
+				Path current= root.resolve(Integer.toString(calendar.get(Calendar.YEAR))).resolve(Integer.toString(calendar.get(Calendar.MONTH) + 1)).resolve(Integer.toString(calendar.get(Calendar.WEEK_OF_YEAR)));
+				if (!current.equals(folder)) {
+					if (writer != null)
+						writer.close();
+					folder= current;
+					Files.createDirectories(folder);
+					writer= Files.newBufferedWriter(folder.resolve("refactorings.index"), StandardCharsets.UTF_8);
+				}
+				writer.write(stamp + "\tRename type 'Type" + i + "'\n");
+			}
+		} finally {
+			if (writer != null)
+				writer.close();
+		}
+	}
+}
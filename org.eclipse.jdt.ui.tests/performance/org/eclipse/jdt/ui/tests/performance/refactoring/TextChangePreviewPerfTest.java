@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.refactoring;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.TextEditGroup;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.ltk.core.refactoring.DocumentChange;
+import org.eclipse.ltk.core.refactoring.TextEditBasedChangeGroup;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+/**
+ * Measures the previews of a text change with {@link #GROUPS} change groups on a document with
+ * {@link #LINES} lines, like the preview page of a refactoring that renames a frequently used
+ * element.
+ */
+public class TextChangePreviewPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int LINES= 20000;
+	private static final int GROUPS= 2000;
+	private static final int RUNS= 10;
+
+	private DocumentChange fChange;
+
+	@Before
+	public void createChange() {
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < LINES; i++) {
+			buf.append("\t\tint value").append(i).append("= compute(field").append(i % 100).append(");\n");
+		}
+		IDocument document= new Document(buf.toString());
+		fChange= new DocumentChange("TextChangePreviewPerfTest", document);
+		MultiTextEdit root= new MultiTextEdit();
+		fChange.setEdit(root);
+		String content= document.get();
+		int offset= 0;
+		for (int i= 0; i < GROUPS; i++) {
+			offset= content.indexOf("compute", content.indexOf("value" + i * (LINES / GROUPS) + "=", offset));
+			TextEdit edit;
+			switch (i % 3) {
+				case 0:
+					edit= new ReplaceEdit(offset, "compute".length(), "calculate");
+					break;
+				case 1:
+					edit= new InsertEdit(offset, "this.");
+					break;
+				default:
+					edit= new DeleteEdit(offset, "comp".length());
+					break;
+			}
+			root.addChild(edit);
+			fChange.addTextEditGroup(new TextEditGroup("group" + i, edit));
+		}
+	}
+
+	@Test
+	public void testGroupPreviews() throws Exception {
+		tagAsSummary("Text change: preview of change groups", Dimension.ELAPSED_PROCESS);
+		TextEditBasedChangeGroup[] groups= fChange.getChangeGroups();
+		String[] expected= getGroupPreviews(groups, true);
+		for (int i= 0; i < RUNS; i++) {
+			startMeasuring();
+			String[] previews= getGroupPreviews(groups, false);
+			stopMeasuring();
+
+			for (int j= 0; j < groups.length; j++)
+				assertEquals(expected[j], previews[j]);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	@Test
+	public void testPreview() throws Exception {
+		tagAsSummary("Text change: preview of all edits", Dimension.ELAPSED_PROCESS);
+		fChange.setKeepPreviewEdits(true);
+		String expected= fChange.getPreviewContent(new NullProgressMonitor());
+		fChange.setKeepPreviewEdits(false);
+		for (int i= 0; i < RUNS; i++) {
+			startMeasuring();
+			String preview= null;
+			for (int j= 0; j < 100; j++)
+				preview= fChange.getPreviewContent(new NullProgressMonitor());
+			stopMeasuring();
+
+			assertEquals(expected, preview);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/*
+	 * Like the preview viewer, with two surrounding lines. With keepPreviewEdits, the previews
+	 * are computed from a copy of the whole document.
+	 */
+	private String[] getGroupPreviews(TextEditBasedChangeGroup[] groups, boolean keepPreviewEdits) throws Exception {
+		fChange.setKeepPreviewEdits(keepPreviewEdits);
+		try {
+			String[] result= new String[groups.length];
+			for (int i= 0; i < groups.length; i++) {
+				TextEditBasedChangeGroup group= groups[i];
+				result[i]= fChange.getPreviewContent(new TextEditBasedChangeGroup[] { group }, group.getRegion(), true, 2, new NullProgressMonitor());
+			}
+			return result;
+		} finally {
+			fChange.setKeepPreviewEdits(false);
+		}
+	}
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.text;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+import org.eclipse.jdt.internal.ui.text.spelling.SpellCheckEngine;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.LocaleSensitiveSpellDictionary;
+
+/**
+ * Measures loading and querying the <code>en_US</code> dictionary, with the memory-mapped word
+ * list and with the word list on the heap.
+ */
+public class SpellDictionaryPerfTest extends JdtPerformanceTestCaseCommon {
+
+	/**
+	 * Dictionary which keeps its word list on the heap.
+	 */
+	private static class HeapSpellDictionary extends LocaleSensitiveSpellDictionary {
+
+		HeapSpellDictionary(Locale locale, URL location) {
+			super(locale, location);
+		}
+
+		@Override
+		protected File getCompiledLocation() {
+			return null;
+		}
+	}
+
+	private static final int RUNS= 10;
+	private static final int PROPOSAL_STRIDE= 500;
+
+	private static URL fgLocation;
+	private static List<String> fgWords;
+
+	@BeforeClass
+	public static void readWords() throws IOException {
+		Enumeration<URL> locations= SpellCheckEngine.getDictionaryLocations();
+		assertNotNull(locations);
+		fgLocation= locations.nextElement();
+		fgWords= new ArrayList<>();
+		try (BufferedReader reader= new BufferedReader(new InputStreamReader(new URL(fgLocation, "en_US.dictionary").openStream(), StandardCharsets.UTF_8))) {
+			for (String line= reader.readLine(); line != null; line= reader.readLine())
+				fgWords.add(line);
+		}
+		// compiles the word list if it is not in the state location yet
+		assertTrue(new LocaleSensitiveSpellDictionary(Locale.US, fgLocation).isCorrect("the"));
+	}
+
+	@Test
+	public void testLoadCompiled() throws Exception {
+		tagAsSummary("Spelling: load dictionary", Dimension.ELAPSED_PROCESS);
+		measureLoad(false);
+	}
+
+	@Test
+	public void testLoadWordList() throws Exception {
+		tagAsSummary("Spelling: load dictionary (heap)", Dimension.ELAPSED_PROCESS);
+		measureLoad(true);
+	}
+
+	@Test
+	public void testIsCorrectCompiled() throws Exception {
+		tagAsSummary("Spelling: check words", Dimension.ELAPSED_PROCESS);
+		measureIsCorrect(new LocaleSensitiveSpellDictionary(Locale.US, fgLocation));
+	}
+
+	@Test
+	public void testIsCorrectWordList() throws Exception {
+		tagAsSummary("Spelling: check words (heap)", Dimension.ELAPSED_PROCESS);
+		measureIsCorrect(new HeapSpellDictionary(Locale.US, fgLocation));
+	}
+
+	@Test
+	public void testGetProposalsCompiled() throws Exception {
+		tagAsSummary("Spelling: compute proposals", Dimension.ELAPSED_PROCESS);
+		measureGetProposals(new LocaleSensitiveSpellDictionary(Locale.US, fgLocation));
+	}
+
+	@Test
+	public void testGetProposalsWordList() throws Exception {
+		tagAsSummary("Spelling: compute proposals (heap)", Dimension.ELAPSED_PROCESS);
+		measureGetProposals(new HeapSpellDictionary(Locale.US, fgLocation));
+	}
+
+	private void measureLoad(boolean heap) throws Exception {
+		for (int i= 0; i < RUNS; i++) {
+			LocaleSensitiveSpellDictionary dictionary= heap ? new HeapSpellDictionary(Locale.US, fgLocation) : new LocaleSensitiveSpellDictionary(Locale.US, fgLocation);
+			startMeasuring();
+			boolean correct= dictionary.isCorrect("the");
+			stopMeasuring();
+
+			assertTrue(correct);
+			dictionary.unload();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void measureIsCorrect(LocaleSensitiveSpellDictionary dictionary) throws Exception {
+		assertTrue(dictionary.isCorrect("the"));
+		for (int i= 0; i < RUNS; i++) {
+			int correct= 0;
+			startMeasuring();
+			for (String word : fgWords) {
+				if (dictionary.isCorrect(word))
+					correct++;
+				if (dictionary.isCorrect(word + "xq"))
+					correct--;
+			}
+			stopMeasuring();
+
+			assertTrue(correct > fgWords.size() * 9 / 10);
+		}
+		dictionary.unload();
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void measureGetProposals(LocaleSensitiveSpellDictionary dictionary) throws Exception {
+		List<String> misspelled= new ArrayList<>();
+		for (int i= 0; i < fgWords.size(); i+= PROPOSAL_STRIDE) {
+			String word= fgWords.get(i);
+			if (word.length() > 3)
+				misspelled.add(word.substring(0, 1) + word.substring(2));
+		}
+		assertFalse(misspelled.isEmpty());
+		assertTrue(dictionary.isCorrect("the"));
+		for (int i= 0; i < RUNS; i++) {
+			startMeasuring();
+			for (String word : misspelled)
+				dictionary.getProposals(word, false);
+			stopMeasuring();
+		}
+		dictionary.unload();
+		commitMeasurements();
+		assertPerformance();
+	}
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.views;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
+import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
+
+/**
+ * Measures expanding a caller hierarchy to {@link #DEPTH} levels, node by node like the view and
+ * with the searches of a level prefetched in parallel. The fixture has {@link #LEVELS} levels of
+ * {@link #WIDTH} classes, in which every method calls {@link #FAN_OUT} methods of the next level,
+ * and {@link #FILLER} unrelated classes that make the index larger.
+ */
+public class CallHierarchyPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int LEVELS= 6;
+	private static final int WIDTH= 40;
+	private static final int FAN_OUT= 4;
+	private static final int FILLER= 2000;
+	private static final int DEPTH= 5;
+	private static final int RUNS= 5;
+
+	private static IJavaProject fgProject;
+	private static IMethod fgLeaf;
+
+	@BeforeClass
+	public static void createProject() throws Exception {
+		fgProject= JavaProjectHelper.createJavaProject("CallHierarchyPerfTest", "bin");
+		assertNotNull("rt not found", JavaProjectHelper.addRTJar18(fgProject));
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fgProject, "src");
+		IPackageFragment pack= root.createPackageFragment("calls", true, null);
+		for (int level= 0; level < LEVELS; level++) {
+			for (int i= 0; i < WIDTH; i++) {
+				StringBuilder buf= new StringBuilder();
+				buf.append("package calls;\n");
+				buf.append("public class L").append(level).append('_').append(i).append(" {\n");
+				buf.append("    public static void m() {\n");
+				if (level < LEVELS - 1) {
+					for (int j= 0; j < FAN_OUT; j++) {
+						buf.append("        L").append(level + 1).append('_').append((i + j) % WIDTH).append(".m();\n");
+					}
+				}
+				buf.append("    }\n}\n");
+				pack.createCompilationUnit("L" + level + '_' + i + ".java", buf.toString(), true, null);
+			}
+		}
+		IPackageFragment filler= root.createPackageFragment("filler", true, null);
+		for (int i= 0; i < FILLER; i++) {
+			String source= "package filler;\npublic class F" + i + " {\n    public void m() {\n        toString();\n    }\n}\n";
+			filler.createCompilationUnit("F" + i + ".java", source, true, null);
+		}
+		fgLeaf= pack.getCompilationUnit("L" + (LEVELS - 1) + "_0.java").getType("L" + (LEVELS - 1) + "_0").getMethod("m", new String[0]);
+		JavaProjectHelper.performDummySearch();
+	}
+
+	@AfterClass
+	public static void deleteProject() throws Exception {
+		if (fgProject != null)
+			JavaProjectHelper.delete(fgProject);
+	}
+
+	@Test
+	public void testExpandCallers() throws Exception {
+		tagAsSummary("Call hierarchy: expand callers", Dimension.ELAPSED_PROCESS);
+		measure(false);
+	}
+
+	@Test
+	public void testExpandCallersPrefetched() throws Exception {
+		tagAsSummary("Call hierarchy: expand callers (prefetched)", Dimension.ELAPSED_PROCESS);
+		measure(true);
+	}
+
+	private void measure(boolean prefetch) throws Exception {
+		int expected= expand(getRoots(), DEPTH);
+		for (int i= 0; i < RUNS; i++) {
+			MethodWrapper[] roots= getRoots();
+			startMeasuring();
+			if (prefetch)
+				CallHierarchy.getDefault().prefetchCalls(roots, DEPTH, new NullProgressMonitor());
+			int count= expand(roots, DEPTH);
+			stopMeasuring();
+
+			assertEquals(expected, count);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private static MethodWrapper[] getRoots() {
+		return CallHierarchy.getDefault().getCallerRoots(new IMember[] { fgLeaf });
+	}
+
+	/*
+	 * Expands the wrappers like the view does, one node after the other.
+	 */
+	private static int expand(MethodWrapper[] wrappers, int depth) {
+		int count= 0;
+		for (MethodWrapper wrapper : wrappers) {
+			count++;
+			if (depth > 0 && !wrapper.isRecursive())
+				count+= expand(wrapper.getCalls(new NullProgressMonitor()), depth - 1);
+		}
+		return count;
+	}
+}
@@ -184,6 +184,25 @@ public class CleanUpPerfTest extends JdtPerformanceTestCaseCommon {
 		doCleanUp(cleanUpRefactoring);
 	}
 
+	@Test
+	public void testNullCleanUpParallel() throws Exception {
+		CleanUpRefactoring cleanUpRefactoring= new CleanUpRefactoring();
+		cleanUpRefactoring.setParallelism(Runtime.getRuntime().availableProcessors());
+		addAllCUs(cleanUpRefactoring, MyTestSetup.fJProject1.getChildren());
+		cleanUpRefactoring.addCleanUp(new AbstractCleanUp() {
+
+			/*
+			 * @see org.eclipse.jdt.internal.ui.fix.AbstractCleanUp#getRequirements()
+			 */
+			@Override
+			public CleanUpRequirements getRequirements() {
+				return new CleanUpRequirements(true, false, false, null);
+			}
+		});
+
+		doCleanUp(cleanUpRefactoring);
+	}
+
 	@Test
 	public void testAllCleanUps() throws Exception {
 		CleanUpRefactoring cleanUpRefactoring= new CleanUpRefactoring();
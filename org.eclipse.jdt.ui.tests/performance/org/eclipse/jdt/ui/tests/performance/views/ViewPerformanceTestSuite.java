@@ -24,7 +24,8 @@ import org.junit.runners.Suite;
 	PackageExplorerWarmPerfTest.class,
 	PackageExplorerWorkspacePerfTest.class,
 	PackageExplorerWorkspaceWarmPerfTest.class,
-	TypeHierarchyPerfTest.class
+	TypeHierarchyPerfTest.class,
+	CallHierarchyPerfTest.class
 })
 public class ViewPerformanceTestSuite {
 }
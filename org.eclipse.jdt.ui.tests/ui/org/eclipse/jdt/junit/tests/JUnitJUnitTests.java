@@ -37,6 +37,7 @@ TestRunFilteredParameterizedRunnerTest4.class,
 
 TestRunSessionSerializationTests3.class,
 TestRunSessionSerializationTests4.class,
+TestRunSessionStoreTest.class,
 
 JUnit3TestFinderTest.class,
 JUnit4TestFinderTest.class,
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+import org.eclipse.jdt.junit.model.ITestElement.FailureTrace;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+/**
+ * Tests the storage of test ids and failure traces of a {@link TestRunSession}.
+ */
+public class TestRunSessionStoreTest {
+
+	private TestRunSession fSession;
+
+	@Before
+	public void setUp() {
+		fSession= new TestRunSession("TestRunSessionStoreTest", null);
+	}
+
+	@After
+	public void tearDown() {
+		fSession.removeSwapFile();
+	}
+
+	@Test
+	public void testIds() {
+		TestSuiteElement root= fSession.getTestRoot();
+		String[] ids= { "0", "1", "63", "64", "127", "500", "100000000", "007", "-1", "", "abc", "1234567890" };
+		TestElement[] elements= new TestElement[ids.length];
+		for (int i= 0; i < ids.length; i++) {
+			elements[i]= fSession.createTestElement(root, ids[i], "test" + i + "(pack.ATest)", false, 0, false, null, null, null);
+		}
+		for (int i= 0; i < 1000; i++) {
+			fSession.createTestElement(root, String.valueOf(1000 + i), "dense" + i + "(pack.ATest)", false, 0, false, null, null, null);
+		}
+
+		for (int i= 0; i < ids.length; i++) {
+			assertSame(ids[i], elements[i], fSession.getTestElement(ids[i]));
+		}
+		for (int i= 0; i < 1000; i++) {
+			assertEquals("dense" + i + "(pack.ATest)", fSession.getTestElement(String.valueOf(1000 + i)).getTestName());
+		}
+		assertNull(fSession.getTestElement("2"));
+		assertNull(fSession.getTestElement("7"));
+		assertNull(fSession.getTestElement("100000001"));
+		assertNull(fSession.getTestElement("xyz"));
+
+		TestElement replaced= fSession.createTestElement(root, "1", "replaced(pack.ATest)", false, 0, false, null, null, null);
+		assertSame(replaced, fSession.getTestElement("1"));
+	}
+
+	@Test
+	public void testFailureTraces() {
+		TestSuiteElement root= fSession.getTestRoot();
+		String shortTrace= "java.lang.AssertionError: short";
+		String longTrace= createTrace("long", 100);
+		String expected= createTrace("expected äöü", 50);
+		String actual= createTrace("actual €", 50);
+
+		TestElement shortFailure= fSession.createTestElement(root, "1", "testShort(pack.ATest)", false, 0, false, null, null, null);
+		fSession.registerTestFailureStatus(shortFailure, Status.FAILURE, shortTrace, null, null);
+		TestElement longFailure= fSession.createTestElement(root, "2", "testLong(pack.ATest)", false, 0, false, null, null, null);
+		fSession.registerTestFailureStatus(longFailure, Status.ERROR, longTrace, null, null);
+		TestElement comparison= fSession.createTestElement(root, "3", "testComparison(pack.ATest)", false, 0, false, null, null, null);
+		fSession.registerTestFailureStatus(comparison, Status.FAILURE, longTrace, expected, actual);
+		TestElement passed= fSession.createTestElement(root, "4", "testPassed(pack.ATest)", false, 0, false, null, null, null);
+		passed.setStatus(Status.OK);
+
+		assertEquals(shortTrace, shortFailure.getTrace());
+		assertEquals(longTrace, longFailure.getTrace());
+		assertFalse(longFailure.isComparisonFailure());
+		assertTrue(comparison.isComparisonFailure());
+		FailureTrace failureTrace= comparison.getFailureTrace();
+		assertEquals(longTrace, failureTrace.getTrace());
+		assertEquals(expected, failureTrace.getExpected());
+		assertEquals(actual, failureTrace.getActual());
+		assertNull(passed.getTrace());
+		assertNull(passed.getFailureTrace());
+
+		// a second failure of the same test is appended to the first
+		fSession.registerTestFailureStatus(longFailure, Status.ERROR, shortTrace, null, null);
+		assertEquals(longTrace + shortTrace, longFailure.getTrace());
+	}
+
+	@Test
+	public void testSwapCycles() throws Exception {
+		List<File> tracesBefore= getTraceFiles();
+		TestSuiteElement root= fSession.getTestRoot();
+		TestSuiteElement suite= (TestSuiteElement) fSession.createTestElement(root, "1", "pack.ATest", true, 0, false, null, null, null);
+		String[] traces= new String[20];
+		for (int i= 0; i < traces.length; i++) {
+			traces[i]= createTrace("failure" + i, 40);
+			TestElement test= fSession.createTestElement(suite, String.valueOf(i + 2), "test" + i + "(pack.ATest)", false, 0, false, null, null, null);
+			test.setStatus(Status.RUNNING);
+			fSession.registerTestFailureStatus(test, Status.FAILURE, traces[i], null, null);
+			fSession.registerTestEnded(test, true);
+		}
+		assertTraces(traces);
+
+		List<File> traceFiles= getTraceFiles();
+		traceFiles.removeAll(tracesBefore);
+		assertEquals(1, traceFiles.size());
+		File traceFile= traceFiles.get(0);
+		long length= traceFile.length();
+		assertTrue(length > 0);
+
+		for (int i= 0; i < 5; i++) {
+			fSession.swapOut();
+			fSession.swapIn();
+			assertTraces(traces);
+			assertEquals(length, traceFile.length());
+		}
+
+		fSession.removeSwapFile();
+		assertFalse(traceFile.exists());
+	}
+
+	private void assertTraces(String[] traces) {
+		ITestElement[] suites= fSession.getTestRoot().getChildren();
+		assertEquals(1, suites.length);
+		ITestElement[] tests= ((TestSuiteElement) suites[0]).getChildren();
+		assertEquals(traces.length, tests.length);
+		for (int i= 0; i < traces.length; i++) {
+			TestCaseElement test= (TestCaseElement) tests[i];
+			assertEquals("test" + i, test.getTestMethodName());
+			assertEquals(Status.FAILURE, test.getStatus());
+			assertNotNull(test.getFailureTrace());
+			assertEquals(traces[i], test.getTrace());
+		}
+	}
+
+	private static List<File> getTraceFiles() {
+		File[] files= JUnitCorePlugin.getHistoryDirectory().listFiles((dir, name) -> name.startsWith("traces") && name.endsWith(".tmp"));
+		return files != null ? new ArrayList<>(Arrays.asList(files)) : new ArrayList<>();
+	}
+
+	private static String createTrace(String message, int frames) {
+		StringBuilder buf= new StringBuilder("java.lang.AssertionError: ").append(message).append('\n');
+		for (int i= 0; i < frames; i++) {
+			buf.append("\tat pack.ATest.method").append(i).append("(ATest.java:").append(i + 10).append(")\n");
+		}
+		return buf.toString();
+	}
+}
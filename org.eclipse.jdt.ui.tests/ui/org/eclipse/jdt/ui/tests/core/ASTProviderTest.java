@@ -15,6 +15,8 @@ package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import org.junit.After;
 import org.junit.Before;
@@ -141,6 +143,42 @@ public class ASTProviderTest extends CoreTests {
 		cu.getBuffer().save(null, true);
 	}
 
+	@Test
+	public void testASTCacheOfInactiveElements() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test2", false, null);
+		ICompilationUnit cu1= pack1.createCompilationUnit("E2.java", "package test2;\npublic class E2 {\n}\n", false, null);
+		ICompilationUnit cu2= pack1.createCompilationUnit("E3.java", "package test2;\npublic class E3 {\n\tvoid foo() {\n\t}\n}\n", false, null);
+
+		CompilationUnit ast1= SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_YES, null);
+		CompilationUnit ast2= SharedASTProviderCore.getAST(cu2, SharedASTProviderCore.WAIT_YES, null);
+		assertNotNull(ast1);
+		assertNotNull(ast2);
+		assertSame(ast1, SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_NO, null));
+		assertSame(ast2, SharedASTProviderCore.getAST(cu2, SharedASTProviderCore.WAIT_NO, null));
+
+		// a change of a method body only removes the AST of its compilation unit
+		commit(cu2, "package test2;\npublic class E3 {\n\tvoid foo() {\n\t\tint i= 1;\n\t}\n}\n");
+		assertSame(ast1, SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_NO, null));
+		assertNull(SharedASTProviderCore.getAST(cu2, SharedASTProviderCore.WAIT_NO, null));
+
+		// a new member can change the bindings in other compilation units
+		assertNotNull(SharedASTProviderCore.getAST(cu2, SharedASTProviderCore.WAIT_YES, null));
+		commit(cu2, "package test2;\npublic class E3 {\n\tvoid foo() {\n\t}\n\tvoid bar() {\n\t}\n}\n");
+		assertNull(SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_NO, null));
+		assertNull(SharedASTProviderCore.getAST(cu2, SharedASTProviderCore.WAIT_NO, null));
+	}
+
+	private static void commit(ICompilationUnit cu, String contents) throws Exception {
+		cu.becomeWorkingCopy(null);
+		try {
+			cu.getBuffer().setContents(contents);
+			cu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			cu.commitWorkingCopy(true, null);
+		} finally {
+			cu.discardWorkingCopy();
+		}
+	}
+
 	private static String getNormalizeNumber(int number) {
 		if (number < 10) {
 			return "000" + number;
@@ -16,6 +16,8 @@ package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -27,11 +29,14 @@ import org.junit.Test;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
 
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.SearchEngine;
 
+import org.eclipse.jdt.internal.corext.callhierarchy.CallGraphIndex;
 import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 
@@ -91,6 +96,37 @@ public class CallHierarchyTest {
         helper.assertCalls(expectedSecondLevelMethods, wrapper2.getCalls(new NullProgressMonitor()));
     }
 
+	@Test
+	public void callersFromIndex() throws Exception {
+        helper.createSimpleClasses();
+        CallHierarchy.getDefault().setCallGraphIndexEnabled(true);
+        try {
+            CallGraphIndex.getDefault().update(null);
+
+            IMethod method1= helper.getMethod1();
+            assertNotNull(CallGraphIndex.getDefault().getCallers(method1, SearchEngine.createWorkspaceScope()));
+            Collection<IMember> expectedMethods= new ArrayList<>();
+            expectedMethods.add(helper.getMethod2());
+            expectedMethods.add(helper.getMethod3());
+            helper.assertCalls(expectedMethods, getSingleCallerRoot(method1).getCalls(new NullProgressMonitor()));
+
+            ICompilationUnit cu= helper.getMethod4().getCompilationUnit();
+            cu.getBuffer().setContents(cu.getSource().replace("method3(); }", "method3(); method1(); }"));
+            cu.save(null, true);
+
+            // searched while the index is stale
+            assertNull(CallGraphIndex.getDefault().getCallers(method1, SearchEngine.createWorkspaceScope()));
+            expectedMethods.add(helper.getMethod4());
+            helper.assertCalls(expectedMethods, getSingleCallerRoot(method1).getCalls(new NullProgressMonitor()));
+
+            CallGraphIndex.getDefault().update(null);
+            assertNotNull(CallGraphIndex.getDefault().getCallers(method1, SearchEngine.createWorkspaceScope()));
+            helper.assertCalls(expectedMethods, getSingleCallerRoot(method1).getCalls(new NullProgressMonitor()));
+        } finally {
+            CallHierarchy.getDefault().setCallGraphIndexEnabled(false);
+        }
+    }
+
 	@Test
 	public void callersNoResults() throws Exception {
         helper.createSimpleClasses();
@@ -135,6 +171,31 @@ public class CallHierarchyTest {
         helper.assertCalls(expectedMethodsTo3, wrapper2.getCalls(new NullProgressMonitor()));
     }
 
+	@Test
+	public void calleesAfterChange() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod method3= helper.getMethod3();
+        IMethod method4= helper.getMethod4();
+
+        Collection<IMember> expectedMethods= new ArrayList<>();
+        expectedMethods.add(helper.getMethod1());
+        expectedMethods.add(helper.getMethod2());
+        helper.assertCalls(expectedMethods, getSingleCalleeRoot(method3).getCalls(new NullProgressMonitor()));
+
+        Collection<IMember> expectedMethodsFrom4= new ArrayList<>();
+        expectedMethodsFrom4.add(method3);
+        MethodWrapper wrapper4= getSingleCalleeRoot(method4);
+        helper.assertCalls(expectedMethodsFrom4, wrapper4.getCalls(new NullProgressMonitor()));
+
+        ICompilationUnit cu= method3.getCompilationUnit();
+        cu.getBuffer().setContents(cu.getSource().replace("method1(); method2();", "method2();"));
+        cu.save(null, true);
+
+        expectedMethods.remove(helper.getMethod1());
+        helper.assertCalls(expectedMethods, getSingleCalleeRoot(method3).getCalls(new NullProgressMonitor()));
+    }
+
 	@Test
 	public void calleesNoResults() throws Exception {
         helper.createSimpleClasses();
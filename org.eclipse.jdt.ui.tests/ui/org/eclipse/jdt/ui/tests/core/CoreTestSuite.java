@@ -50,6 +50,7 @@ TypeHierarchyTest.class,
 TypeHierarchyViewPartTest.class,
 TypeRulesTest.class,
 TypeInfoTest.class,
+OpenTypeHistoryTest.class,
 StringsTest.class,
 IndentManipulationTest.class,
 SelectionHistoryTest.class,
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+
+import org.eclipse.jdt.internal.corext.util.OpenTypeHistory;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+public class OpenTypeHistoryTest {
+
+	private static final String FILENAME= "OpenTypeHistory.dat";
+	private static final String XML_FILENAME= "OpenTypeHistory.xml";
+
+	private IJavaProject fJProject;
+	private TypeNameMatch[] fMatches;
+
+	private OpenTypeHistory fHistory;
+	private byte[] fSavedFile;
+	private byte[] fSavedXMLFile;
+
+	@Before
+	public void setUp() throws Exception {
+		fHistory= OpenTypeHistory.getInstance();
+		fHistory.save();
+		fSavedFile= read(FILENAME);
+		fSavedXMLFile= read(XML_FILENAME);
+		clear();
+
+		fJProject= JavaProjectHelper.createJavaProject("TestProject1", "bin");
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJProject, "src");
+		IPackageFragment pack= root.createPackageFragment("pack", true, null);
+		ICompilationUnit cu1= pack.createCompilationUnit("A.java", "package pack;\npublic class A {\n public static final class Inner {\n }\n}\n", true, null);
+		ICompilationUnit cu2= pack.createCompilationUnit("B.java", "package pack;\nabstract class B {\n}\n", true, null);
+		IType[] types= { cu1.getType("A"), cu1.getType("A").getType("Inner"), cu2.getType("B") };
+		fMatches= new TypeNameMatch[types.length];
+		for (int i= 0; i < types.length; i++) {
+			fMatches[i]= SearchEngine.createTypeNameMatch(types[i], types[i].getFlags());
+		}
+		assertEquals(Flags.AccPublic | Flags.AccStatic | Flags.AccFinal, fMatches[1].getModifiers());
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		clear();
+		write(FILENAME, fSavedFile);
+		write(XML_FILENAME, fSavedXMLFile);
+		fHistory.load();
+		JavaProjectHelper.delete(fJProject);
+	}
+
+	@Test
+	public void testSaveAndLoad() throws Exception {
+		for (TypeNameMatch match : fMatches) {
+			fHistory.accessed(match);
+		}
+		String[] expected= toStrings(fHistory.getTypeInfos());
+		assertEquals(fMatches.length, expected.length);
+
+		fHistory.save();
+		assertTrue(getStateFile(FILENAME).isFile());
+		assertFalse(getStateFile(XML_FILENAME).exists());
+
+		clear();
+		fHistory.load();
+		assertArrayEquals(expected, toStrings(fHistory.getTypeInfos()));
+	}
+
+	@Test
+	public void testMigrateXML() throws Exception {
+		StringBuilder xml= new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<typeInfoHistroy>\n");
+		for (TypeNameMatch match : fMatches) {
+			xml.append("<typeInfo handle=\"").append(match.getType().getHandleIdentifier().replace("&", "&amp;").replace("<", "&lt;"))
+					.append("\" modifiers=\"").append(match.getModifiers()).append("\" timestamp=\"-1\"/>\n");
+		}
+		xml.append("</typeInfoHistroy>\n");
+		Files.deleteIfExists(getStateFile(FILENAME).toPath());
+		write(XML_FILENAME, xml.toString().getBytes(StandardCharsets.UTF_8));
+
+		fHistory.load();
+		String[] expected= toStrings(fHistory.getTypeInfos());
+		assertEquals(fMatches.length, expected.length);
+		assertEquals(toString(fMatches[fMatches.length - 1]), expected[0]);
+
+		// the XML file is replaced when the history is saved
+		fHistory.save();
+		assertTrue(getStateFile(FILENAME).isFile());
+		assertFalse(getStateFile(XML_FILENAME).exists());
+
+		clear();
+		fHistory.load();
+		assertArrayEquals(expected, toStrings(fHistory.getTypeInfos()));
+	}
+
+	@Test
+	public void testUnknownFormat() throws Exception {
+		fHistory.accessed(fMatches[0]);
+		fHistory.save();
+		byte[] bytes= read(FILENAME);
+		bytes[7]++; // version
+
+		write(FILENAME, bytes);
+		clear();
+		fHistory.load();
+		assertEquals(0, fHistory.getTypeInfos().length);
+	}
+
+	private void clear() {
+		for (TypeNameMatch match : fHistory.getTypeInfos()) {
+			fHistory.remove(match);
+		}
+	}
+
+	private static String[] toStrings(TypeNameMatch[] matches) {
+		String[] result= new String[matches.length];
+		for (int i= 0; i < matches.length; i++) {
+			result[i]= toString(matches[i]);
+		}
+		return result;
+	}
+
+	private static String toString(TypeNameMatch match) {
+		return match.getType().getHandleIdentifier() + ' ' + match.getModifiers();
+	}
+
+	private static File getStateFile(String name) {
+		return JavaPlugin.getDefault().getStateLocation().append(name).toFile();
+	}
+
+	private static byte[] read(String name) throws Exception {
+		File file= getStateFile(name);
+		return file.isFile() ? Files.readAllBytes(file.toPath()) : null;
+	}
+
+	private static void write(String name, byte[] bytes) throws Exception {
+		File file= getStateFile(name);
+		if (bytes == null)
+			Files.deleteIfExists(file.toPath());
+		else
+			Files.write(file.toPath(), bytes);
+	}
+}
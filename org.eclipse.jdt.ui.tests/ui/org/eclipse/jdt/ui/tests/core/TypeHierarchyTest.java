@@ -14,7 +14,11 @@
 package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.After;
 import org.junit.Before;
@@ -36,6 +40,7 @@ import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
 
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
@@ -268,4 +273,45 @@ public class TypeHierarchyTest {
 		assertEquals("Should contain 3 types, contains: " + allTypes.length, 3, allTypes.length);
 		assertEquals("Update count should be 1, is: " + updateCount[0], 1, updateCount[0]);
 	}
+
+	@Test
+	public void superTypeHierarchyCache() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJavaProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("pack1", true, null);
+
+		ICompilationUnit cu1= pack1.getCompilationUnit("A.java");
+		IType type1= cu1.createType("public class A {\n}\n", null, true, null);
+
+		ICompilationUnit cu2= pack1.getCompilationUnit("B.java");
+		IType type2= cu2.createType("public class B extends A {\n}\n", null, true, null);
+
+		ICompilationUnit cu3= pack1.getCompilationUnit("C.java");
+		IType type3= cu3.createType("public class C {\n}\n", null, true, null);
+
+		int misses= SuperTypeHierarchyCache.getCacheMisses();
+		int hits= SuperTypeHierarchyCache.getCacheHits();
+
+		ITypeHierarchy hierarchy2= SuperTypeHierarchyCache.getTypeHierarchy(type2);
+		ITypeHierarchy hierarchy3= SuperTypeHierarchyCache.getTypeHierarchy(type3);
+		assertEquals(misses + 2, SuperTypeHierarchyCache.getCacheMisses());
+
+		// the super type hierarchy of B also answers the queries for A
+		assertSame(hierarchy2, SuperTypeHierarchyCache.getTypeHierarchy(type2));
+		assertSame(hierarchy2, SuperTypeHierarchyCache.getTypeHierarchy(type1));
+		assertSame(hierarchy3, SuperTypeHierarchyCache.getTypeHierarchy(type3));
+		assertEquals(misses + 2, SuperTypeHierarchyCache.getCacheMisses());
+		assertEquals(hits + 3, SuperTypeHierarchyCache.getCacheHits());
+
+		// a change of B only removes the hierarchy of B
+		cu2.getBuffer().setContents("package pack1;\npublic class B {\n}\n");
+		cu2.save(null, true);
+		assertFalse(SuperTypeHierarchyCache.hasInCache(type2));
+		assertTrue(SuperTypeHierarchyCache.hasInCache(type3));
+		assertSame(hierarchy3, SuperTypeHierarchyCache.getTypeHierarchy(type3));
+
+		ITypeHierarchy changed= SuperTypeHierarchyCache.getTypeHierarchy(type2);
+		assertNotSame(hierarchy2, changed);
+		assertEquals(2, changed.getAllTypes().length);
+		assertEquals(misses + 3, SuperTypeHierarchyCache.getCacheMisses());
+	}
 }
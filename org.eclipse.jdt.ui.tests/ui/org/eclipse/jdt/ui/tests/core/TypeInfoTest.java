@@ -14,6 +14,7 @@
 package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -21,7 +22,9 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.After;
 import org.junit.Before;
@@ -50,6 +53,9 @@ import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.corext.util.TypeInfoFilter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
+
 public class TypeInfoTest {
 	@Rule
 	public ProjectTestSetup pts= new ProjectTestSetup();
@@ -220,4 +226,104 @@ public class TypeInfoTest {
 		assertNotNull(type2);
 		assertNotEquals(type1, type2);
 	}
+
+	@Test
+	public void typeNameIndex() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("com.oti", true, null);
+		ICompilationUnit cu1= pack1.getCompilationUnit("V.java");
+		cu1.createType("public class V {\n static class VInner {\n}\n}\n", null, true, null);
+
+		IJavaSearchScope scope= SearchEngine.createWorkspaceScope();
+		ArrayList<TypeNameMatch> expected= new ArrayList<>();
+		new SearchEngine().searchAllTypeNames(
+			null,
+			0,
+			new char[] {'V'},
+			SearchPattern.R_PREFIX_MATCH,
+			IJavaSearchConstants.TYPE,
+			scope,
+			new TypeNameMatchCollector(expected),
+			IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH,
+			null);
+
+		List<TypeNameMatch> result= searchIndex("V");
+		findTypeRef(result, "com.oti.V");
+		findTypeRef(result, "com.oti.V.VInner");
+		findTypeRef(result, "java.lang.Void");
+		assertEquals(getNames(expected), getNames(result));
+		for (TypeNameMatch ref : result) {
+			assertResolve(ref);
+		}
+
+		// refined pattern, with a type added since the last query
+		ICompilationUnit cu2= pack1.getCompilationUnit("W.java");
+		cu2.createType("public class VNew {\n}\nclass VSecondary {\n}\n", null, true, null);
+		result= searchIndex("VN");
+		findTypeRef(result, "com.oti.VNew");
+		assertFalse(getNames(result).contains("com.oti.V"));
+		result= searchIndex("VS");
+		findTypeRef(result, "com.oti.VSecondary");
+		for (TypeNameMatch ref : result) {
+			assertResolve(ref);
+		}
+
+		cu1.delete(true, null);
+		result= searchIndex("V");
+		assertFalse(getNames(result).contains("com.oti.V"));
+		assertFalse(getNames(result).contains("com.oti.V.VInner"));
+		findTypeRef(result, "com.oti.VNew");
+	}
+
+	@Test
+	public void typeNameIndexPatterns() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("com.oti", true, null);
+		ICompilationUnit cu1= pack1.getCompilationUnit("Maps.java");
+		cu1.createType("public class Maps {\n static class HashTreeMap {\n}\n static class MyHashMap {\n}\n static class Mapper {\n}\n}\n", null, true, null);
+
+		// wildcard patterns
+		List<TypeNameMatch> result= searchIndex("*Map");
+		findTypeRef(result, "com.oti.Maps.HashTreeMap");
+		findTypeRef(result, "com.oti.Maps.MyHashMap");
+		findTypeRef(result, "com.oti.Maps.Mapper");
+		findTypeRef(result, "com.oti.Maps");
+		for (TypeNameMatch ref : result) {
+			assertResolve(ref);
+		}
+		result= searchIndex("Hash*Map");
+		findTypeRef(result, "com.oti.Maps.HashTreeMap");
+		assertFalse(getNames(result).contains("com.oti.Maps.MyHashMap"));
+		result= searchIndex("*Hash?Map");
+		assertFalse(getNames(result).contains("com.oti.Maps.HashTreeMap"));
+
+		// mixed and lower case patterns
+		result= searchIndex("*hASH*map");
+		findTypeRef(result, "com.oti.Maps.HashTreeMap");
+		findTypeRef(result, "com.oti.Maps.MyHashMap");
+		assertFalse(getNames(result).contains("com.oti.Maps.Mapper"));
+		result= searchIndex("myhash*<");
+		findTypeRef(result, "com.oti.Maps.MyHashMap");
+		assertFalse(getNames(result).contains("com.oti.Maps.HashTreeMap"));
+		result= searchIndex("mapper");
+		findTypeRef(result, "com.oti.Maps.Mapper");
+		result= searchIndex("*APPER<");
+		findTypeRef(result, "com.oti.Maps.Mapper");
+		assertFalse(getNames(result).contains("com.oti.Maps"));
+	}
+
+	private static List<TypeNameMatch> searchIndex(String pattern) throws Exception {
+		ArrayList<TypeNameMatch> result= new ArrayList<>();
+		TypeInfoFilter filter= new TypeInfoFilter(pattern, SearchEngine.createWorkspaceScope(), IJavaSearchConstants.TYPE, null);
+		assertTrue(TypeNameIndex.getDefault().search(filter, new TypeNameMatchCollector(result), null));
+		return result;
+	}
+
+	private static Set<String> getNames(List<TypeNameMatch> matches) {
+		Set<String> names= new HashSet<>();
+		for (TypeNameMatch match : matches) {
+			names.add(match.getFullyQualifiedName());
+		}
+		return names;
+	}
 }
@@ -20,6 +20,8 @@ package org.eclipse.jdt.internal.corext.callhierarchy;
 import java.util.Collection;
 import java.util.List;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+
 import org.eclipse.jface.preference.IPreferenceStore;
 
 import org.eclipse.jdt.core.IJavaElement;
@@ -41,6 +43,8 @@ public class CallHierarchy {
     private static final String PREF_USE_FILTERS = "PREF_USE_FILTERS"; //$NON-NLS-1$
     private static final String PREF_FILTERS_LIST = "PREF_FILTERS_LIST"; //$NON-NLS-1$
     private static final String PREF_FILTER_TESTCODE= "PREF_FILTER_TESTCODE"; //$NON-NLS-1$
+    private static final String PREF_USE_CALL_GRAPH_INDEX= "PREF_USE_CALL_GRAPH_INDEX"; //$NON-NLS-1$
+    private static final String PREF_PREFETCH_CALLS= "PREF_PREFETCH_CALLS"; //$NON-NLS-1$
 
     private static CallHierarchy fgInstance;
     private CallHierarchyCore fgCallHierarchyCore;
@@ -81,6 +85,37 @@ public class CallHierarchy {
         settings.setValue(PREF_FILTER_TESTCODE, enabled);
     }
 
+    public boolean isCallGraphIndexEnabled() {
+        IPreferenceStore settings = JavaPlugin.getDefault().getPreferenceStore();
+
+        return settings.getBoolean(PREF_USE_CALL_GRAPH_INDEX);
+    }
+
+    public void setCallGraphIndexEnabled(boolean enabled) {
+        IPreferenceStore settings = JavaPlugin.getDefault().getPreferenceStore();
+
+        settings.setValue(PREF_USE_CALL_GRAPH_INDEX, enabled);
+    }
+
+    /**
+     * Tells whether the calls of the children of an expanded element are searched in the background
+     * before the children are expanded. Disabled by default, since the searches also run for
+     * children that are never expanded.
+     *
+     * @return <code>true</code> if the calls are prefetched
+     */
+    public boolean isPrefetchCallsEnabled() {
+        IPreferenceStore settings = JavaPlugin.getDefault().getPreferenceStore();
+
+        return settings.getBoolean(PREF_PREFETCH_CALLS);
+    }
+
+    public void setPrefetchCallsEnabled(boolean enabled) {
+        IPreferenceStore settings = JavaPlugin.getDefault().getPreferenceStore();
+
+        settings.setValue(PREF_PREFETCH_CALLS, enabled);
+    }
+
 
     public Collection<IJavaElement> getImplementingMethods(IMethod method) {
         return fgCallHierarchyCore.getImplementingMethods(method);
@@ -98,6 +133,10 @@ public class CallHierarchy {
         return fgCallHierarchyCore.getCalleeRoots(members);
     }
 
+    public void prefetchCalls(MethodWrapper[] wrappers, int depth, IProgressMonitor progressMonitor) {
+        fgCallHierarchyCore.prefetchCalls(wrappers, depth, progressMonitor);
+    }
+
     public static CallLocation getCallLocation(Object element) {
         return CallHierarchyCore.getCallLocation(element);
     }
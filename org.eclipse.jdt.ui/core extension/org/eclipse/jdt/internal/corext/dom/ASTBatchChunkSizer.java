@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.dom;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Computes the number of compilation units the {@link ASTBatchParser} passes to the
+ * batch parser at once.
+ * <p>
+ * The size of a chunk is derived from the heap headroom at the time the chunk is started and
+ * from the memory retained per parsed compilation unit, which is measured while parsing. The
+ * size is halved after a chunk during which the garbage collector was busy for a significant
+ * part of the time.
+ * </p>
+ * <p>
+ * Chunk sizes, parse times and garbage collection times are printed if the
+ * <code>org.eclipse.jdt.ui/debug/ASTBatchParser</code> debug option is set.
+ * </p>
+ * <p>
+ * This class is thread-safe. The measurements are shared by all batch parsers. Chunks that are
+ * parsed concurrently disturb each other's measurements, which makes the estimate more
+ * conservative.
+ * </p>
+ */
+final class ASTBatchChunkSizer {
+
+	/**
+	 * Information about a chunk that is being parsed.
+	 */
+	static final class Chunk {
+
+		private final int fSize;
+		private final long fStartTime;
+		private final long fStartMemory;
+		private final long fStartGCTime;
+
+		private Chunk(int size) {
+			fSize= size;
+			fStartTime= System.nanoTime();
+			fStartMemory= getUsedMemory();
+			fStartGCTime= getGCTime();
+		}
+	}
+
+	private static final int MIN_AT_ONCE= 10;
+	private static final int MAX_AT_ONCE= 1000;
+
+	/**
+	 * Retained bytes per compilation unit assumed before anything has been measured. Together
+	 * with {@link #HEADROOM_FRACTION}, this results in chunks of 400 compilation units for a heap
+	 * of 2 GiB.
+	 */
+	private static final long INITIAL_BYTES_PER_UNIT= 5L << 19;
+	private static final long MIN_BYTES_PER_UNIT= 64L << 10;
+	private static final long MAX_BYTES_PER_UNIT= 64L << 20;
+
+	/**
+	 * Fraction of the currently free heap a single chunk may use.
+	 */
+	private static final double HEADROOM_FRACTION= 0.5;
+
+	/**
+	 * Fraction of the parse time spent in garbage collection above which the next chunk is
+	 * made smaller.
+	 */
+	private static final double GC_PRESSURE_THRESHOLD= 0.25;
+
+	private static final ASTBatchChunkSizer INSTANCE= new ASTBatchChunkSizer();
+
+	private long fBytesPerUnit= INITIAL_BYTES_PER_UNIT;
+	private int fLastSize= -1;
+	private boolean fUnderPressure;
+
+	public static ASTBatchChunkSizer getInstance() {
+		return INSTANCE;
+	}
+
+	private ASTBatchChunkSizer() {
+	}
+
+	/**
+	 * Computes the size of the next chunk.
+	 *
+	 * @param remaining the number of compilation units that still need to be parsed
+	 * @param parallelism the number of chunks that are parsed at the same time
+	 * @return the number of compilation units to parse at once, at least <code>1</code> if
+	 *         <code>remaining</code> is positive
+	 */
+	public synchronized int computeChunkSize(int remaining, int parallelism) {
+		long headroom= Runtime.getRuntime().maxMemory() - getUsedMemory();
+		long budget= (long) (headroom * HEADROOM_FRACTION) / Math.max(1, parallelism);
+		int size= (int) Math.min(MAX_AT_ONCE, Math.max(MIN_AT_ONCE, budget / fBytesPerUnit));
+		if (fUnderPressure && fLastSize > 0)
+			size= Math.max(MIN_AT_ONCE, Math.min(size, fLastSize / 2));
+		fLastSize= size;
+		return Math.min(size, remaining);
+	}
+
+	/**
+	 * Starts measuring a chunk.
+	 *
+	 * @param size the number of compilation units in the chunk
+	 * @return the chunk to pass to {@link #endChunk(Chunk)}
+	 */
+	public Chunk startChunk(int size) {
+		return new Chunk(size);
+	}
+
+	/**
+	 * Records the measurements of a chunk that has been parsed completely.
+	 *
+	 * @param chunk the chunk returned by {@link #startChunk(int)}
+	 */
+	public synchronized void endChunk(Chunk chunk) {
+		long elapsed= (System.nanoTime() - chunk.fStartTime) / 1000000;
+		long gcTime= getGCTime() - chunk.fStartGCTime;
+		long retained= getUsedMemory() - chunk.fStartMemory;
+
+		// a negative value only tells that the GC ran in the meantime, ignore it
+		if (retained > 0 && chunk.fSize > 0) {
+			long sample= Math.min(MAX_BYTES_PER_UNIT, Math.max(MIN_BYTES_PER_UNIT, retained / chunk.fSize));
+			fBytesPerUnit= (fBytesPerUnit * 7 + sample * 3) / 10;
+		}
+		fUnderPressure= elapsed > 0 && gcTime > elapsed * GC_PRESSURE_THRESHOLD;
+
+		if (JavaPlugin.DEBUG_AST_BATCH_PARSER) {
+			System.out.println("ASTBatchParser > chunk: " + chunk.fSize + " units, parse time: " + elapsed + " ms, GC time: " + gcTime //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ " ms, retained: " + (retained >> 10) + " KiB, estimate per unit: " + (fBytesPerUnit >> 10) + " KiB" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ (fUnderPressure ? ", shrinking next chunk" : "")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private static long getUsedMemory() {
+		Runtime runtime= Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static long getGCTime() {
+		long result= 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			long time= bean.getCollectionTime();
+			if (time > 0)
+				result+= time;
+		}
+		return result;
+	}
+}
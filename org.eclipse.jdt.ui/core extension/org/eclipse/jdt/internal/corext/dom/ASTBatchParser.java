@@ -18,9 +18,17 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -29,25 +37,24 @@ import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.IBinding;
 
+import org.eclipse.jdt.internal.corext.dom.ASTBatchChunkSizer.Chunk;
+
 /**
  * Creates AST from a set of compilation units. Uses the
  * batch parser. Splits the set of compilation units in subsets
  * such that it is unlikely that a out of memory exception will occur.
+ * The size of the subsets adapts to the available heap and to the
+ * memory retained per compilation unit, see {@link ASTBatchChunkSizer}.
+ * <p>
+ * The subsets can optionally be parsed concurrently, see
+ * {@link #createASTs(ICompilationUnit[], String[], Function, Consumer, int, IProgressMonitor)}.
+ * </p>
  *
  * @since 3.4
  */
 public class ASTBatchParser {
 
-	private static final int MAX_AT_ONCE;
-	static {
-		long maxMemory= Runtime.getRuntime().maxMemory() / (1 << 20); // in MiB
-
-		if      (maxMemory >= 2000) MAX_AT_ONCE= 400;
-		else if (maxMemory >= 1500) MAX_AT_ONCE= 300;
-		else if (maxMemory >= 1000) MAX_AT_ONCE= 200;
-		else if (maxMemory >=  500) MAX_AT_ONCE= 100;
-		else                        MAX_AT_ONCE=  25;
-	}
+	private static ThreadPoolExecutor fgExecutor;
 
 	/**
 	 * Creates ASTs for each compilation unit in <code>units</code>.
@@ -74,31 +81,154 @@ public class ASTBatchParser {
 		if (monitor == null)
 			monitor= new NullProgressMonitor();
 
+		ASTBatchChunkSizer sizer= ASTBatchChunkSizer.getInstance();
 		monitor.beginTask("", compilationUnits.length); //$NON-NLS-1$
 		try {
-
 			for (ICompilationUnit[] units : splitByProject(compilationUnits)) {
-				if (units.length <= MAX_AT_ONCE) {
+				int cursor= 0;
+				while (cursor < units.length) {
+					int end= cursor + sizer.computeChunkSize(units.length - cursor, 1);
+					ICompilationUnit[] toParse= Arrays.copyOfRange(units, cursor, end);
+
+					Chunk chunk= sizer.startChunk(toParse.length);
+					createParser(units[0].getJavaProject()).createASTs(toParse, bindingKeys, requestor, new SubProgressMonitor(monitor, toParse.length));
+					sizer.endChunk(chunk);
+					cursor= end;
+				}
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Creates ASTs for each compilation unit in <code>compilationUnits</code>, parsing
+	 * independent chunks of compilation units concurrently on at most <code>parallelism</code>
+	 * threads of a shared thread pool.
+	 * <p>
+	 * Each chunk contains compilation units of a single project only. It is parsed with its own
+	 * parser created by {@link #createParser(IJavaProject)} and passes its ASTs to its own
+	 * requestor created by <code>requestorFactory</code> from the compilation units of the chunk.
+	 * The requestors are called from the worker threads, but a requestor is never called
+	 * concurrently.
+	 * </p>
+	 * <p>
+	 * The requestors are passed to <code>chunkAcceptor</code> on the calling thread in the order
+	 * of the chunks, which does not depend on the scheduling of the worker threads. Callers can
+	 * therefore merge their results deterministically. The work of a chunk is reported on the
+	 * calling thread when the chunk is complete, before its requestor is accepted.
+	 * </p>
+	 *
+	 * @param compilationUnits the compilation units to create ASTs for
+	 * @param bindingKeys the binding keys to create bindings for
+	 * @param requestorFactory creates a requestor for the compilation units of each chunk
+	 * @param chunkAcceptor accepts the requestor of each chunk once the chunk is complete
+	 * @param parallelism the maximal number of chunks to parse at the same time, a value smaller
+	 *            than <code>2</code> parses all chunks on the calling thread
+	 * @param monitor the progress monitor used to report progress and request cancelation, or
+	 *            <code>null</code> if none
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	public final <R extends ASTRequestor> void createASTs(ICompilationUnit[] compilationUnits, String[] bindingKeys, Function<ICompilationUnit[], R> requestorFactory,
+			Consumer<? super R> chunkAcceptor, int parallelism, IProgressMonitor monitor) {
+		if (compilationUnits.length == 0)
+			return;
+
+		if (monitor == null)
+			monitor= new NullProgressMonitor();
+
+		final IProgressMonitor parentMonitor= monitor;
+		final ASTBatchChunkSizer sizer= ASTBatchChunkSizer.getInstance();
+		int chunkSize= sizer.computeChunkSize(compilationUnits.length, Math.max(1, parallelism));
+		if (parallelism > 1) {
+			// make sure that there is enough work for all threads, even if there is only one project
+			chunkSize= Math.max(1, Math.min(chunkSize, (compilationUnits.length + parallelism - 1) / parallelism));
+		}
+		List<ICompilationUnit[]> chunks= splitIntoChunks(compilationUnits, chunkSize);
+
+		monitor.beginTask("", compilationUnits.length); //$NON-NLS-1$
+		if (parallelism < 2 || chunks.size() == 1) {
+			try {
+				for (ICompilationUnit[] units : chunks) {
+					R requestor= requestorFactory.apply(units);
+					Chunk chunk= sizer.startChunk(units.length);
 					createParser(units[0].getJavaProject()).createASTs(units, bindingKeys, requestor, new SubProgressMonitor(monitor, units.length));
-				} else {
-					List<ICompilationUnit> list= Arrays.asList(units);
-					int end= 0;
-					int cursor= 0;
-					while (cursor < units.length) {
-						end= Math.min(end + MAX_AT_ONCE, units.length);
-						List<ICompilationUnit> toParse= list.subList(cursor, end);
-
-						createParser(units[0].getJavaProject()).createASTs(toParse.toArray(new ICompilationUnit[toParse.size()]), bindingKeys, requestor,
-							new SubProgressMonitor(monitor, toParse.size()));
-						cursor= end;
-					}
+					sizer.endChunk(chunk);
+					chunkAcceptor.accept(requestor);
 				}
+				return;
+			} finally {
+				monitor.done();
+			}
+		}
+
+		List<Future<R>> futures= new ArrayList<>(chunks.size());
+		try {
+			for (int i= 0; i < chunks.size(); i++) {
+				// keep at most parallelism chunks in flight, the shared pool may be used by other parsers
+				while (futures.size() < Math.min(i + parallelism, chunks.size())) {
+					ICompilationUnit[] units= chunks.get(futures.size());
+					R requestor= requestorFactory.apply(units);
+					ASTParser parser= createParser(units[0].getJavaProject());
+					futures.add(getExecutor().submit(() -> {
+						Chunk chunk= sizer.startChunk(units.length);
+						parser.createASTs(units, bindingKeys, requestor, new NullProgressMonitor() {
+							@Override
+							public boolean isCanceled() {
+								return super.isCanceled() || parentMonitor.isCanceled();
+							}
+						});
+						sizer.endChunk(chunk);
+						if (parentMonitor.isCanceled())
+							throw new OperationCanceledException();
+						return requestor;
+					}));
+				}
+				R requestor= waitFor(futures.get(i), monitor);
+				monitor.worked(chunks.get(i).length);
+				chunkAcceptor.accept(requestor);
 			}
 		} finally {
+			for (Future<R> future : futures) {
+				future.cancel(true);
+			}
 			monitor.done();
 		}
 	}
 
+	private static synchronized ThreadPoolExecutor getExecutor() {
+		if (fgExecutor == null) {
+			int threads= Math.max(1, Runtime.getRuntime().availableProcessors());
+			fgExecutor= new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread= new Thread(runnable, "AST Batch Parser"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			fgExecutor.allowCoreThreadTimeOut(true);
+		}
+		return fgExecutor;
+	}
+
+	private static <R> R waitFor(Future<R> future, IProgressMonitor monitor) {
+		R result;
+		try {
+			result= future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}
+		if (monitor.isCanceled())
+			throw new OperationCanceledException();
+		return result;
+	}
+
 	/**
 	 * Creates a new parser which can be used to create ASTs
 	 * for compilation units in <code>project</code>
@@ -117,6 +247,26 @@ public class ASTBatchParser {
 		return result;
 	}
 
+	private static List<ICompilationUnit[]> splitIntoChunks(ICompilationUnit[] compilationUnits, int chunkSize) {
+		List<ICompilationUnit[]> result= new ArrayList<>();
+		for (ICompilationUnit[] units : splitByProject(compilationUnits)) {
+			if (units.length <= chunkSize) {
+				result.add(units);
+			} else {
+				List<ICompilationUnit> list= Arrays.asList(units);
+				int end= 0;
+				int cursor= 0;
+				while (cursor < units.length) {
+					end= Math.min(end + chunkSize, units.length);
+					List<ICompilationUnit> toParse= list.subList(cursor, end);
+					result.add(toParse.toArray(new ICompilationUnit[toParse.size()]));
+					cursor= end;
+				}
+			}
+		}
+		return result;
+	}
+
 	private static ICompilationUnit[][] splitByProject(ICompilationUnit[] units) {
 		if (hasOnlyOneProject(units))
 			return new ICompilationUnit[][] { units };
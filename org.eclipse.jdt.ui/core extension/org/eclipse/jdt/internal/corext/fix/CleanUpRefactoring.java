@@ -222,9 +222,13 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 
 		public void flush() {
+			flush(1);
+		}
+
+		public void flush(int count) {
 			super.internalWorked(fRealWork);
 			reset();
-			fFlushCount++;
+			fFlushCount+= count;
 		}
 
 		public void reset() {
@@ -261,6 +265,29 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			}
 		}
 
+		private CleanUpASTRequestor(Hashtable<ICompilationUnit, ParseListElement> compilationUnitParseElementMap, CleanUpRefactoringProgressMonitor monitor) {
+			fSolutions= new Hashtable<>();
+			fMonitor= monitor;
+			fUndoneElements= new ArrayList<>();
+			fCompilationUnitParseElementMap= compilationUnitParseElementMap;
+		}
+
+		/**
+		 * Creates a requestor which collects the solutions for <code>units</code> on its own, see
+		 * {@link #merge(CleanUpASTRequestor)}.
+		 *
+		 * @param units the compilation units the new requestor is passed the ASTs of
+		 * @return the new requestor
+		 */
+		public CleanUpASTRequestor createChunkRequestor(ICompilationUnit[] units) {
+			Hashtable<ICompilationUnit, ParseListElement> map= new Hashtable<>(units.length);
+			for (ICompilationUnit unit : units) {
+				ICompilationUnit primary= unit.getPrimary();
+				map.put(primary, fCompilationUnitParseElementMap.get(primary));
+			}
+			return new CleanUpASTRequestor(map, new CleanUpRefactoringProgressMonitor(new NullProgressMonitor(), 0, fMonitor.fSize, 0));
+		}
+
 		@Override
 		public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
 
@@ -294,6 +321,22 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			return fUndoneElements;
 		}
 
+		/**
+		 * Adds the solutions and undone elements collected by <code>other</code> to this requestor
+		 * and reports the work done so far for the compilation units completed by <code>other</code>.
+		 *
+		 * @param other a requestor which has processed a different set of compilation units
+		 */
+		public void merge(CleanUpASTRequestor other) {
+			for (Entry<ICompilationUnit, List<CleanUpChange>> entry : other.fSolutions.entrySet()) {
+				for (CleanUpChange solution : entry.getValue()) {
+					integrateSolution(solution, entry.getKey());
+				}
+			}
+			fUndoneElements.addAll(other.fUndoneElements);
+			fMonitor.flush(other.fMonitor.getIndex());
+		}
+
 		private ICleanUp[] calculateSolutions(CleanUpContext context, ICleanUp[] cleanUps) {
 			List<ICleanUp>result= new ArrayList<>();
 			CleanUpChange solution;
@@ -396,7 +439,12 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 					};
 					try {
 						ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
-						parser.createASTs(units, new String[0], requestor, cuMonitor);
+						if (fParallelism > 1) {
+							// each chunk collects into its own requestor, the results are merged in chunk order
+							parser.createASTs(units, new String[0], requestor::createChunkRequestor, requestor::merge, fParallelism, cuMonitor);
+						} else {
+							parser.createASTs(units, new String[0], requestor, cuMonitor);
+						}
 					} catch (FixCalculationException e) {
 						throw e.getException();
 					}
@@ -509,6 +557,13 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 	private boolean fUseOptionsFromProfile;
 
+	/**
+	 * The number of threads used to parse and clean up the compilation units of a project.
+	 * Can be configured with the <code>org.eclipse.jdt.ui.cleanup.parallelism</code> system
+	 * property, the default is to process all compilation units on the calling thread.
+	 */
+	private int fParallelism;
+
 	public CleanUpRefactoring() {
 		this(FixMessages.CleanUpRefactoring_Refactoring_name);
 	}
@@ -518,12 +573,25 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		fCleanUps= new ArrayList<>();
 		fProjects= new Hashtable<>();
 		fUseOptionsFromProfile= false;
+		fParallelism= Integer.getInteger("org.eclipse.jdt.ui.cleanup.parallelism", 1).intValue(); //$NON-NLS-1$
 	}
 
 	public void setUseOptionsFromProfile(boolean enabled) {
 		fUseOptionsFromProfile= enabled;
 	}
 
+	/**
+	 * Sets the number of threads used to parse and clean up the compilation units of a project.
+	 * The clean ups must be able to create fixes for different compilation units concurrently if
+	 * the parallelism is larger than <code>1</code>.
+	 *
+	 * @param parallelism the maximal number of threads, <code>1</code> to process all compilation
+	 *            units on the calling thread
+	 */
+	public void setParallelism(int parallelism) {
+		fParallelism= parallelism;
+	}
+
 	public void addCompilationUnit(ICompilationUnit unit) {
 		addCleanUpTarget(new CleanUpTarget(unit));
 	}
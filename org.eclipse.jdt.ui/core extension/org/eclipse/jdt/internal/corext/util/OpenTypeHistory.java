@@ -13,11 +13,21 @@
  *******************************************************************************/
  package org.eclipse.jdt.internal.corext.util;
 
-import java.net.URI;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -26,11 +36,11 @@ import org.w3c.dom.Element;
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileInfo;
 
-import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.core.resources.IResource;
@@ -54,6 +64,8 @@ import org.eclipse.jdt.core.search.TypeNameMatch;
 
 import org.eclipse.jdt.internal.corext.CorextMessages;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
 /**
  * History for the open type dialog. Object and keys are both {@link TypeNameMatch}s.
  */
@@ -173,13 +185,21 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	private final IElementChangedListener fDeltaListener;
 	private final UpdateJob fUpdateJob;
 
-	private static final String FILENAME= "OpenTypeHistory.xml"; //$NON-NLS-1$
+	private static final String FILENAME= "OpenTypeHistory.dat"; //$NON-NLS-1$
+	/** The XML file of older versions, which is migrated */
+	private static final String XML_FILENAME= "OpenTypeHistory.xml"; //$NON-NLS-1$
 	private static final String NODE_ROOT= "typeInfoHistroy"; //$NON-NLS-1$
 	private static final String NODE_TYPE_INFO= "typeInfo"; //$NON-NLS-1$
 	private static final String NODE_HANDLE= "handle"; //$NON-NLS-1$
 	private static final String NODE_MODIFIERS= "modifiers";  //$NON-NLS-1$
 	private static final String NODE_TIMESTAMP= "timestamp"; //$NON-NLS-1$
 
+	private static final int MAGIC= 0x4A544859; // JTHY
+	private static final int VERSION= 1;
+
+	/** The delay of the consistency check after a change, in milliseconds */
+	private static final long UPDATE_DELAY= 500;
+
 	private static OpenTypeHistory fgInstance;
 
 	public static synchronized OpenTypeHistory getInstance() {
@@ -195,7 +215,7 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	}
 
 	private OpenTypeHistory() {
-		super(FILENAME, NODE_ROOT, NODE_TYPE_INFO);
+		super(XML_FILENAME, NODE_ROOT, NODE_TYPE_INFO);
 		fTimestampMapping= new HashMap<>();
 		fNeedsConsistencyCheck= true;
 		load();
@@ -212,9 +232,18 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 
 	public void markAsInconsistent() {
 		fNeedsConsistencyCheck= true;
-		// cancel the old job. If no job is running this is a NOOP.
-		fUpdateJob.cancel();
-		fUpdateJob.schedule();
+		// Delay the job so that a burst of deltas results in one check. A running
+		// check is not canceled, the job runs again when it is done.
+		fUpdateJob.schedule(UPDATE_DELAY);
+	}
+
+	/**
+	 * Checks the consistency of the history in the background if necessary. Entries that turn
+	 * out to be invalid are removed when the check is done.
+	 */
+	public void scheduleConsistencyCheck() {
+		if (fNeedsConsistencyCheck && fUpdateJob.getState() == Job.NONE)
+			fUpdateJob.schedule();
 	}
 
 	public boolean needConsistencyCheck() {
@@ -259,8 +288,12 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	}
 
 	public synchronized void replace(TypeNameMatch old, TypeNameMatch newMatch) {
+		replace(old, newMatch, getContainerTimestamp(newMatch));
+	}
+
+	private synchronized void replace(TypeNameMatch old, TypeNameMatch newMatch, long timestamp) {
 		fTimestampMapping.remove(old);
-		fTimestampMapping.put(newMatch, getContainerTimestamp(newMatch));
+		fTimestampMapping.put(newMatch, timestamp);
 		super.remove(old);
 		super.accessed(newMatch);
 	}
@@ -293,73 +326,109 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		return object;
 	}
 
-	private synchronized void internalCheckConsistency(IProgressMonitor monitor) throws OperationCanceledException {
+	/*
+	 * Validates the entries root by root, without holding the lock of the history while the
+	 * file system and the Java model are accessed. The entries of an archive share the time stamp
+	 * of the archive, so one check covers all of them.
+	 */
+	private void internalCheckConsistency(IProgressMonitor monitor) throws OperationCanceledException {
 		// Setting fNeedsConsistencyCheck is necessary here since
 		// markAsInconsistent isn't synchronized.
 		fNeedsConsistencyCheck= true;
-		List<TypeNameMatch> typesToCheck= new ArrayList<>(getKeys());
-		monitor.beginTask(CorextMessages.TypeInfoHistory_consistency_check, typesToCheck.size());
-		monitor.setTaskName(CorextMessages.TypeInfoHistory_consistency_check);
-		for (TypeNameMatch type : typesToCheck) {
-			long currentTimestamp= getContainerTimestamp(type);
-			Long lastTested= fTimestampMapping.get(type);
-			if (lastTested != null && currentTimestamp != IResource.NULL_STAMP && currentTimestamp == lastTested.longValue() && !isContainerDirty(type))
-				continue;
-			try {
-				IType jType= type.getType();
-				if (jType == null || !jType.exists()) {
-					remove(type);
-				} else {
-					// copy over the modifiers since they may have changed
-					int modifiers= jType.getFlags();
-					if (modifiers != type.getModifiers()) {
-						replace(type, SearchEngine.createTypeNameMatch(jType, modifiers));
-					} else {
-						fTimestampMapping.put(type, currentTimestamp);
+		Map<IPackageFragmentRoot, List<TypeNameMatch>> typesByRoot= new LinkedHashMap<>();
+		Map<TypeNameMatch, Long> timestamps;
+		synchronized (this) {
+			for (TypeNameMatch type : getKeys()) {
+				typesByRoot.computeIfAbsent(type.getPackageFragmentRoot(), root -> new ArrayList<>()).add(type);
+			}
+			timestamps= new HashMap<>(fTimestampMapping);
+		}
+		SubMonitor subMonitor= SubMonitor.convert(monitor, CorextMessages.TypeInfoHistory_consistency_check, typesByRoot.size());
+		List<TypeNameMatch> removed= new ArrayList<>();
+		Map<TypeNameMatch, TypeNameMatch> replaced= new HashMap<>();
+		for (Map.Entry<IPackageFragmentRoot, List<TypeNameMatch>> entry : typesByRoot.entrySet()) {
+			if (subMonitor.isCanceled())
+				throw new OperationCanceledException();
+			IPackageFragmentRoot root= entry.getKey();
+			List<TypeNameMatch> types= entry.getValue();
+			if (root == null || !root.exists()) {
+				removed.addAll(types);
+			} else {
+				boolean archive= root.isArchive();
+				long rootTimestamp= archive ? getArchiveTimestamp(root) : IResource.NULL_STAMP;
+				for (TypeNameMatch type : types) {
+					long currentTimestamp= archive ? rootTimestamp : getResourceTimestamp(type);
+					Long lastTested= timestamps.get(type);
+					if (lastTested != null && currentTimestamp != IResource.NULL_STAMP && currentTimestamp == lastTested.longValue() && !isContainerDirty(type))
+						continue;
+					try {
+						IType jType= type.getType();
+						if (jType == null || !jType.exists()) {
+							removed.add(type);
+						} else {
+							// copy over the modifiers since they may have changed
+							int modifiers= jType.getFlags();
+							if (modifiers != type.getModifiers()) {
+								TypeNameMatch newType= SearchEngine.createTypeNameMatch(jType, modifiers);
+								replaced.put(type, newType);
+								timestamps.put(newType, Long.valueOf(currentTimestamp));
+							} else {
+								timestamps.put(type, Long.valueOf(currentTimestamp));
+							}
+						}
+					} catch (JavaModelException e) {
+						removed.add(type);
 					}
 				}
-			} catch (JavaModelException e) {
+			}
+			subMonitor.worked(1);
+		}
+
+		synchronized (this) {
+			// entries that have been removed or accessed meanwhile are left as they are
+			for (TypeNameMatch type : removed) {
 				remove(type);
 			}
-			if (monitor.isCanceled())
-				throw new OperationCanceledException();
-			monitor.worked(1);
+			for (Map.Entry<TypeNameMatch, TypeNameMatch> entry : replaced.entrySet()) {
+				if (containsKey(entry.getKey()))
+					replace(entry.getKey(), entry.getValue(), timestamps.get(entry.getValue()).longValue());
+			}
+			for (TypeNameMatch type : getKeys()) {
+				Long timestamp= timestamps.get(type);
+				if (timestamp != null && timestamp.longValue() != IResource.NULL_STAMP)
+					fTimestampMapping.put(type, timestamp);
+			}
 		}
-		monitor.done();
 		fNeedsConsistencyCheck= false;
 	}
 
+	/*
+	 * The time stamp of an archive is the one of its file, the time stamp of a type in a source
+	 * folder is the one of its compilation unit.
+	 */
 	private long getContainerTimestamp(TypeNameMatch match) {
-		try {
-			IType type= match.getType();
-			IResource resource= type.getResource();
-			if (resource != null) {
-				URI location= resource.getLocationURI();
-				if (location != null) {
-					IFileInfo info= EFS.getStore(location).fetchInfo();
-					if (info.exists()) {
-						// The element could be removed from the build path. So check
-						// if the Java element still exists.
-						IJavaElement element= JavaCore.create(resource);
-						if (element != null && element.exists())
-							return info.getLastModified();
-					}
-				}
-			} else { // external JAR
-				IPackageFragmentRoot root= match.getPackageFragmentRoot();
-				if (root.exists()) {
-					IFileInfo info= EFS.getLocalFileSystem().getStore(root.getPath()).fetchInfo();
-					if (info.exists()) {
-						return info.getLastModified();
-					}
-				}
-			}
-		} catch (CoreException e) {
-			// Fall through
-		}
-		return IResource.NULL_STAMP;
+		IPackageFragmentRoot root= match.getPackageFragmentRoot();
+		if (root != null && root.isArchive())
+			return root.exists() ? getArchiveTimestamp(root) : IResource.NULL_STAMP;
+		return getResourceTimestamp(match);
 	}
 
+	private long getArchiveTimestamp(IPackageFragmentRoot root) {
+		IResource resource= root.getResource();
+		if (resource != null)
+			return resource.getLocalTimeStamp();
+		// external JAR
+		IFileInfo info= EFS.getLocalFileSystem().getStore(root.getPath()).fetchInfo();
+		return info.exists() ? info.getLastModified() : IResource.NULL_STAMP;
+	}
+
+	private long getResourceTimestamp(TypeNameMatch match) {
+		IType type= match.getType();
+		IResource resource= type == null ? null : type.getResource();
+		if (resource == null)
+			return IResource.NULL_STAMP;
+		return resource.getLocalTimeStamp();
+	}
 
 	public boolean isContainerDirty(TypeNameMatch match) {
 		ICompilationUnit cu= match.getType().getCompilationUnit();
@@ -381,6 +450,104 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		save();
 	}
 
+	/**
+	 * Loads the history from its binary file, or from the XML file of older versions if there
+	 * is none.
+	 */
+	@Override
+	public synchronized void load() {
+		File file= getStateFile(FILENAME);
+		if (!file.exists()) {
+			super.load();
+			return;
+		}
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			int magic= in.readInt();
+			int version= in.readInt();
+			if (magic != MAGIC || version != VERSION) {
+				JavaPlugin.logErrorMessage("Ignoring the open type history " + file + " with unknown format " + Integer.toHexString(magic) + ", version " + version); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				return;
+			}
+			String[] roots= new String[in.readInt()];
+			for (int i= 0; i < roots.length; i++) {
+				roots[i]= in.readUTF();
+			}
+			int count= in.readInt();
+			for (int i= 0; i < count; i++) {
+				int rootIndex= in.readInt();
+				String handle= in.readUTF();
+				int modifiers= in.readInt();
+				long timestamp= in.readLong();
+				if (rootIndex >= 0)
+					handle= roots[rootIndex] + handle;
+				IJavaElement element= JavaCore.create(handle);
+				if (!(element instanceof IType))
+					continue;
+				TypeNameMatch info= SearchEngine.createTypeNameMatch((IType) element, modifiers);
+				if (timestamp != IResource.NULL_STAMP)
+					fTimestampMapping.put(info, timestamp);
+				super.accessed(info);
+			}
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Saves the history in a binary file. The handles of package fragment roots are only written
+	 * once, the handles of the types are relative to them.
+	 * <pre>
+	 * int magic, int version, int root count, (UTF root handle)*,
+	 * int entry count, (int root index, UTF handle, int modifiers, long time stamp)*
+	 * </pre>
+	 */
+	@Override
+	public synchronized void save() {
+		File file= getStateFile(FILENAME);
+		File temp= getStateFile(FILENAME + ".tmp"); //$NON-NLS-1$
+		Map<String, Integer> roots= new LinkedHashMap<>();
+		for (TypeNameMatch type : getValues()) {
+			IPackageFragmentRoot root= type.getPackageFragmentRoot();
+			if (root != null)
+				roots.putIfAbsent(root.getHandleIdentifier(), Integer.valueOf(roots.size()));
+		}
+		try {
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(roots.size());
+				for (String root : roots.keySet()) {
+					out.writeUTF(root);
+				}
+				Collection<TypeNameMatch> values= getValues();
+				out.writeInt(values.size());
+				for (TypeNameMatch type : values) {
+					String handle= type.getType().getHandleIdentifier();
+					IPackageFragmentRoot root= type.getPackageFragmentRoot();
+					String rootHandle= root == null ? null : root.getHandleIdentifier();
+					if (rootHandle != null && handle.startsWith(rootHandle)) {
+						out.writeInt(roots.get(rootHandle).intValue());
+						out.writeUTF(handle.substring(rootHandle.length()));
+					} else {
+						out.writeInt(-1);
+						out.writeUTF(handle);
+					}
+					out.writeInt(type.getModifiers());
+					Long timestamp= fTimestampMapping.get(type);
+					out.writeLong(timestamp == null ? IResource.NULL_STAMP : timestamp.longValue());
+				}
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			Files.deleteIfExists(getStateFile(XML_FILENAME).toPath());
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+		}
+	}
+
+	private static File getStateFile(String fileName) {
+		return JavaPlugin.getDefault().getStateLocation().append(fileName).toFile();
+	}
+
 	@Override
 	protected TypeNameMatch createFromElement(Element type) {
 		String handle= type.getAttribute(NODE_HANDLE);
@@ -62,7 +62,17 @@ public class TypeFilter implements IPropertyChangeListener {
 		if (filteredByPattern)
 			return true;
 
-		int accessibility= match.getAccessibility();
+		return isFilteredByAccessRule(match.getAccessibility());
+	}
+
+	/**
+	 * Tells whether types with the given accessibility are filtered by the code assist options
+	 * for forbidden and discouraged references.
+	 *
+	 * @param accessibility the accessibility, see {@link TypeNameMatch#getAccessibility()}
+	 * @return <code>true</code> iff types with this accessibility are filtered
+	 */
+	public static boolean isFilteredByAccessRule(int accessibility) {
 		switch (accessibility) {
 			case IAccessRule.K_NON_ACCESSIBLE:
 				return JavaCore.ENABLED.equals(JavaCore.getOption(JavaCore.CODEASSIST_FORBIDDEN_REFERENCE_CHECK));
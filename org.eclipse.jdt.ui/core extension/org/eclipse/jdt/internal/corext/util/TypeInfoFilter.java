@@ -140,6 +140,10 @@ public class TypeInfoFilter {
 		return fSearchScope;
 	}
 
+	public boolean isWorkspaceScope() {
+		return fIsWorkspaceScope;
+	}
+
 	public int getPackageFlags() {
 		if (fPackageMatcher == null)
 			return SearchPattern.R_EXACT_MATCH;
@@ -166,6 +170,25 @@ public class TypeInfoFilter {
 		return matchesName(type);
 	}
 
+	/**
+	 * Matches an entry of the {@link TypeNameIndex} against the package pattern, the name pattern
+	 * and the element kind of this filter. The scope and the filter extension are not checked.
+	 *
+	 * @param packageName the package name
+	 * @param chars the characters that contain the simple type name
+	 * @param nameStart the start of the simple type name, inclusive
+	 * @param nameEnd the end of the simple type name, exclusive
+	 * @param modifiers the modifiers of the type
+	 * @return <code>true</code> iff the entry matches
+	 */
+	public boolean matchesIndexEntry(char[] packageName, char[] chars, int nameStart, int nameEnd, int modifiers) {
+		if (fPackageMatcher != null && !fPackageMatcher.matches(packageName, 0, packageName.length))
+			return false;
+		if (!matchesModifiers(modifiers))
+			return false;
+		return fText.length() == 0 || fNameMatcher.matches(chars, nameStart, nameEnd);
+	}
+
 	public boolean matchesFilterExtension(TypeNameMatch type) {
 		if (fFilterExtension == null)
 			return true;
@@ -193,9 +216,13 @@ public class TypeInfoFilter {
 	}
 
 	private boolean matchesModifiers(TypeNameMatch type) {
+		return matchesModifiers(type.getModifiers());
+	}
+
+	private boolean matchesModifiers(int typeModifiers) {
 		if (fElementKind == IJavaSearchConstants.TYPE)
 			return true;
-		int modifiers= type.getModifiers() & TYPE_MODIFIERS;
+		int modifiers= typeModifiers & TYPE_MODIFIERS;
 		switch (fElementKind) {
 			case IJavaSearchConstants.CLASS:
 				return modifiers == 0;
@@ -0,0 +1,594 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IAccessRule;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+
+import org.eclipse.jdt.internal.corext.CorextMessages;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * A compact in-memory index of the names of all types in the workspace, which the type selection
+ * dialog queries instead of searching the type name index of the search engine for every
+ * pattern.
+ * <p>
+ * The index is built with {@link SearchEngine#searchAllTypeNames} and kept up to date from Java
+ * element deltas: changed compilation units, packages and package fragment roots are marked stale
+ * and searched again before the next query, class path changes drop the whole index. The type
+ * qualified names of all types are stored in one character array and matched in place, handles
+ * and {@link TypeNameMatch}es are only created for the types that match a query.
+ * </p>
+ * <p>
+ * The rows matched by the last query are remembered, so that a query for a refined pattern only
+ * checks them. The index only answers queries in the workspace scope.
+ * </p>
+ */
+public final class TypeNameIndex {
+
+	/** The number of stale elements at which the whole index is rebuilt */
+	private static final int MAX_STALE= 1000;
+
+	private static final int INITIAL_ROWS= 1024;
+
+	private static final String CLASS_FILE_SUFFIX= ".class"; //$NON-NLS-1$
+
+	private static TypeNameIndex fgInstance;
+
+	/** Guards the rows and the last query, acquired with {@link #lock(IProgressMonitor)} */
+	private final ReentrantLock fLock= new ReentrantLock();
+
+	private final IElementChangedListener fDeltaListener;
+
+	private final Job fUpdateJob;
+
+	/** The compilation units, packages and package fragment roots to search again, guarded by itself */
+	private final Set<IJavaElement> fStale= new LinkedHashSet<>();
+
+	/** Whether the index must be rebuilt, guarded by {@link #fStale} */
+	private boolean fInvalid= true;
+
+	/** The type qualified names of all rows */
+	private char[] fChars;
+	private int fCharCount;
+
+	/** The number of characters of removed rows */
+	private int fGarbage;
+
+	private int fRowCount;
+
+	/** The start of the type qualified name of a row, or <code>-1</code> if the row has been removed */
+	private int[] fStarts;
+	private int[] fSimpleNameStarts;
+	private int[] fEnds;
+	private int[] fPackages;
+	private int[] fModifiers;
+	private byte[] fAccessibilities;
+
+	/** The names of the files of rows that are not named after their top level type */
+	private Map<Integer, String> fFileNames;
+
+	private List<IPackageFragment> fPackageFragments;
+	private List<char[]> fPackageNames;
+	private Map<IPackageFragment, Integer> fPackageIds;
+	private BitSet fBinaryPackages;
+
+	/** Incremented whenever rows are added, removed or moved */
+	private int fModificationCount;
+
+	private String fLastText;
+	private int fLastElementKind;
+	private int fLastModificationCount;
+	private int[] fLastRows;
+
+	public static synchronized TypeNameIndex getDefault() {
+		if (fgInstance == null)
+			fgInstance= new TypeNameIndex();
+		return fgInstance;
+	}
+
+	public static synchronized void shutdown() {
+		if (fgInstance == null)
+			return;
+		JavaCore.removeElementChangedListener(fgInstance.fDeltaListener);
+		fgInstance.fUpdateJob.cancel();
+		fgInstance= null;
+	}
+
+	private TypeNameIndex() {
+		clear();
+		fDeltaListener= event -> processDelta(event.getDelta());
+		JavaCore.addElementChangedListener(fDeltaListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		fUpdateJob= new Job(CorextMessages.TypeNameIndex_taskname) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					lock(monitor);
+					try {
+						update(monitor);
+					} finally {
+						fLock.unlock();
+					}
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				} catch (JavaModelException e) {
+					JavaPlugin.log(e);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		fUpdateJob.setSystem(true);
+		fUpdateJob.setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Builds or updates the index in the background, so that it is ready when it is queried.
+	 */
+	public void scheduleUpdate() {
+		synchronized (fStale) {
+			if (!fInvalid && fStale.isEmpty())
+				return;
+		}
+		fUpdateJob.schedule();
+	}
+
+	/**
+	 * Reports the types in the workspace that match the package pattern, the name pattern and the
+	 * element kind of a filter. Types that are filtered because of their access restrictions are
+	 * not reported, the other type filters and the filter extension are not applied.
+	 *
+	 * @param filter the filter
+	 * @param requestor the requestor that gets the matches
+	 * @param monitor the progress monitor
+	 * @return <code>false</code> if the index cannot answer queries in the scope of the filter
+	 * @throws JavaModelException if the index could not be updated
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	public boolean search(TypeInfoFilter filter, TypeNameMatchRequestor requestor, IProgressMonitor monitor) throws JavaModelException {
+		if (!filter.isWorkspaceScope())
+			return false;
+		SubMonitor subMonitor= SubMonitor.convert(monitor, 10);
+		lock(subMonitor);
+		try {
+			update(subMonitor.split(7));
+			int[] rows= select(filter, subMonitor.split(2));
+			SubMonitor reportMonitor= subMonitor.split(1);
+			for (int i= 0; i < rows.length; i++) {
+				if ((i & 0xff) == 0 && reportMonitor.isCanceled())
+					throw new OperationCanceledException();
+				int row= rows[i];
+				int accessibility= fAccessibilities[row];
+				if (accessibility != IAccessRule.K_ACCESSIBLE && TypeFilter.isFilteredByAccessRule(accessibility))
+					continue;
+				requestor.acceptTypeNameMatch(SearchEngine.createTypeNameMatch(createType(row), fModifiers[row]));
+			}
+		} finally {
+			fLock.unlock();
+		}
+		return true;
+	}
+
+	/*
+	 * Narrows the rows of the last query if the filter is a refinement of it.
+	 */
+	private int[] select(TypeInfoFilter filter, IProgressMonitor monitor) {
+		int[] candidates= null;
+		int candidateCount= fRowCount;
+		if (fLastRows != null && fLastModificationCount == fModificationCount && fLastElementKind == filter.getElementKind()
+				&& filter.isSubFilter(fLastText)) {
+			candidates= fLastRows;
+			candidateCount= candidates.length;
+		}
+		int[] rows= new int[Math.min(candidateCount, INITIAL_ROWS)];
+		int count= 0;
+		for (int i= 0; i < candidateCount; i++) {
+			if ((i & 0xfff) == 0 && monitor.isCanceled())
+				throw new OperationCanceledException();
+			int row= candidates == null ? i : candidates[i];
+			if (fStarts[row] < 0)
+				continue;
+			if (filter.matchesIndexEntry(fPackageNames.get(fPackages[row]), fChars, fSimpleNameStarts[row], fEnds[row], fModifiers[row])) {
+				if (count == rows.length)
+					rows= Arrays.copyOf(rows, count * 2);
+				rows[count++]= row;
+			}
+		}
+		rows= Arrays.copyOf(rows, count);
+		fLastText= filter.getText();
+		fLastElementKind= filter.getElementKind();
+		fLastModificationCount= fModificationCount;
+		fLastRows= rows;
+		return rows;
+	}
+
+	private void lock(IProgressMonitor monitor) {
+		try {
+			while (!fLock.tryLock(100, TimeUnit.MILLISECONDS)) {
+				if (monitor != null && monitor.isCanceled())
+					throw new OperationCanceledException();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+	}
+
+	/*
+	 * Rebuilds the index or searches the stale elements again. The lock must be held.
+	 */
+	private void update(IProgressMonitor monitor) throws JavaModelException {
+		List<IJavaElement> stale;
+		synchronized (fStale) {
+			if (fInvalid) {
+				fInvalid= false;
+				stale= null;
+			} else if (!fStale.isEmpty()) {
+				stale= new ArrayList<>(fStale);
+			} else {
+				return;
+			}
+			fStale.clear();
+		}
+		try {
+			if (stale == null) {
+				clear();
+				search(SearchEngine.createWorkspaceScope(), monitor);
+			} else {
+				refresh(stale, monitor);
+			}
+		} catch (RuntimeException | JavaModelException e) {
+			synchronized (fStale) {
+				if (stale == null)
+					fInvalid= true;
+				else
+					stale.forEach(this::markStale);
+			}
+			throw e;
+		}
+	}
+
+	private void refresh(List<IJavaElement> stale, IProgressMonitor monitor) throws JavaModelException {
+		// find the packages that are stale as a whole or contain stale compilation units
+		Set<IPath> staleRoots= new HashSet<>();
+		List<IJavaElement> searched= new ArrayList<>();
+		for (IJavaElement element : stale) {
+			if (element instanceof IPackageFragmentRoot) {
+				if (staleRoots.add(element.getPath()) && element.exists())
+					searched.add(element);
+			} else if (element.exists()) {
+				searched.add(element);
+			}
+		}
+		int packageCount= fPackageFragments.size();
+		boolean[] stalePackages= new boolean[packageCount];
+		Map<Integer, Set<String>> staleFiles= new HashMap<>();
+		for (int id= 0; id < packageCount; id++) {
+			stalePackages[id]= staleRoots.contains(fPackageFragments.get(id).getParent().getPath());
+		}
+		for (IJavaElement element : stale) {
+			if (element instanceof IPackageFragmentRoot)
+				continue;
+			boolean isPackage= element instanceof IPackageFragment;
+			Integer id= fPackageIds.get(isPackage ? element : element.getParent());
+			if (id == null)
+				continue;
+			if (isPackage)
+				stalePackages[id.intValue()]= true;
+			else
+				staleFiles.computeIfAbsent(id, key -> new HashSet<>()).add(element.getElementName());
+		}
+
+		for (int row= 0; row < fRowCount; row++) {
+			if (fStarts[row] < 0)
+				continue;
+			int id= fPackages[row];
+			if (stalePackages[id]) {
+				remove(row);
+			} else {
+				Set<String> files= staleFiles.get(Integer.valueOf(id));
+				if (files != null && files.contains(getFileName(row)))
+					remove(row);
+			}
+		}
+		if (fGarbage > fCharCount / 2)
+			compact();
+
+		if (!searched.isEmpty())
+			search(SearchEngine.createJavaSearchScope(searched.toArray(new IJavaElement[searched.size()])), monitor);
+	}
+
+	private void search(IJavaSearchScope scope, IProgressMonitor monitor) throws JavaModelException {
+		TypeNameMatchRequestor requestor= new TypeNameMatchRequestor() {
+			@Override
+			public void acceptTypeNameMatch(TypeNameMatch match) {
+				add(match);
+			}
+		};
+		new SearchEngine((WorkingCopyOwner) null).searchAllTypeNames(null, 0, null, SearchPattern.R_PATTERN_MATCH, IJavaSearchConstants.TYPE, scope,
+				requestor, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+	}
+
+	private void clear() {
+		fChars= new char[INITIAL_ROWS * 16];
+		fCharCount= 0;
+		fGarbage= 0;
+		fRowCount= 0;
+		fStarts= new int[INITIAL_ROWS];
+		fSimpleNameStarts= new int[INITIAL_ROWS];
+		fEnds= new int[INITIAL_ROWS];
+		fPackages= new int[INITIAL_ROWS];
+		fModifiers= new int[INITIAL_ROWS];
+		fAccessibilities= new byte[INITIAL_ROWS];
+		fFileNames= new HashMap<>();
+		fPackageFragments= new ArrayList<>();
+		fPackageNames= new ArrayList<>();
+		fPackageIds= new HashMap<>();
+		fBinaryPackages= new BitSet();
+		fModificationCount++;
+		fLastRows= null;
+	}
+
+	private void add(TypeNameMatch match) {
+		IType type= match.getType();
+		if (type == null)
+			return;
+		String qualifiedName= match.getTypeQualifiedName();
+		int simpleNameLength= match.getSimpleTypeName().length();
+		boolean binary= type.isBinary();
+		int packageId= getPackageId(type.getPackageFragment(), binary);
+
+		if (fRowCount == fStarts.length) {
+			int capacity= fRowCount * 2;
+			fStarts= Arrays.copyOf(fStarts, capacity);
+			fSimpleNameStarts= Arrays.copyOf(fSimpleNameStarts, capacity);
+			fEnds= Arrays.copyOf(fEnds, capacity);
+			fPackages= Arrays.copyOf(fPackages, capacity);
+			fModifiers= Arrays.copyOf(fModifiers, capacity);
+			fAccessibilities= Arrays.copyOf(fAccessibilities, capacity);
+		}
+		int length= qualifiedName.length();
+		if (fCharCount + length > fChars.length)
+			fChars= Arrays.copyOf(fChars, Math.max(fChars.length * 2, fCharCount + length));
+		qualifiedName.getChars(0, length, fChars, fCharCount);
+
+		int row= fRowCount++;
+		fStarts[row]= fCharCount;
+		fCharCount+= length;
+		fEnds[row]= fCharCount;
+		fSimpleNameStarts[row]= fCharCount - simpleNameLength;
+		fPackages[row]= packageId;
+		fModifiers[row]= match.getModifiers();
+		fAccessibilities[row]= (byte) match.getAccessibility();
+		String fileName= type.getTypeRoot().getElementName();
+		if (!fileName.equals(getDefaultFileName(qualifiedName, binary)))
+			fFileNames.put(Integer.valueOf(row), fileName);
+		fModificationCount++;
+	}
+
+	private void remove(int row) {
+		fGarbage+= fEnds[row] - fStarts[row];
+		fStarts[row]= -1;
+		fFileNames.remove(Integer.valueOf(row));
+		fModificationCount++;
+	}
+
+	/*
+	 * Drops the removed rows and their characters.
+	 */
+	private void compact() {
+		char[] chars= new char[Math.max(INITIAL_ROWS * 16, (fCharCount - fGarbage) * 3 / 2)];
+		Map<Integer, String> fileNames= new HashMap<>();
+		int charCount= 0;
+		int rowCount= 0;
+		for (int row= 0; row < fRowCount; row++) {
+			int start= fStarts[row];
+			if (start < 0)
+				continue;
+			int length= fEnds[row] - start;
+			System.arraycopy(fChars, start, chars, charCount, length);
+			fStarts[rowCount]= charCount;
+			fSimpleNameStarts[rowCount]= charCount + fSimpleNameStarts[row] - start;
+			fEnds[rowCount]= charCount + length;
+			fPackages[rowCount]= fPackages[row];
+			fModifiers[rowCount]= fModifiers[row];
+			fAccessibilities[rowCount]= fAccessibilities[row];
+			String fileName= fFileNames.get(Integer.valueOf(row));
+			if (fileName != null)
+				fileNames.put(Integer.valueOf(rowCount), fileName);
+			charCount+= length;
+			rowCount++;
+		}
+		fChars= chars;
+		fCharCount= charCount;
+		fGarbage= 0;
+		fRowCount= rowCount;
+		fFileNames= fileNames;
+		fModificationCount++;
+	}
+
+	private int getPackageId(IPackageFragment pack, boolean binary) {
+		Integer id= fPackageIds.get(pack);
+		if (id == null) {
+			id= Integer.valueOf(fPackageFragments.size());
+			fPackageIds.put(pack, id);
+			fPackageFragments.add(pack);
+			fPackageNames.add(pack.getElementName().toCharArray());
+			if (binary)
+				fBinaryPackages.set(id.intValue());
+		}
+		return id.intValue();
+	}
+
+	private IType createType(int row) {
+		int packageId= fPackages[row];
+		IPackageFragment pack= fPackageFragments.get(packageId);
+		String qualifiedName= new String(fChars, fStarts[row], fEnds[row] - fStarts[row]);
+		String fileName= getFileName(row);
+		if (fBinaryPackages.get(packageId))
+			return pack.getOrdinaryClassFile(fileName).getType();
+
+		int index= qualifiedName.indexOf('.');
+		IType type= pack.getCompilationUnit(fileName).getType(index == -1 ? qualifiedName : qualifiedName.substring(0, index));
+		while (index != -1) {
+			int next= qualifiedName.indexOf('.', index + 1);
+			type= type.getType(next == -1 ? qualifiedName.substring(index + 1) : qualifiedName.substring(index + 1, next));
+			index= next;
+		}
+		return type;
+	}
+
+	private String getFileName(int row) {
+		String fileName= fFileNames.get(Integer.valueOf(row));
+		if (fileName != null)
+			return fileName;
+		String qualifiedName= new String(fChars, fStarts[row], fEnds[row] - fStarts[row]);
+		return getDefaultFileName(qualifiedName, fBinaryPackages.get(fPackages[row]));
+	}
+
+	private static String getDefaultFileName(String qualifiedName, boolean binary) {
+		if (binary)
+			return qualifiedName.replace('.', '$') + CLASS_FILE_SUFFIX;
+		int index= qualifiedName.indexOf('.');
+		return (index == -1 ? qualifiedName : qualifiedName.substring(0, index)) + JavaModelUtil.DEFAULT_CU_SUFFIX;
+	}
+
+	private void markStale(IJavaElement element) {
+		synchronized (fStale) {
+			if (fInvalid)
+				return;
+			for (IJavaElement parent= element.getParent(); parent != null; parent= parent.getParent()) {
+				if (fStale.contains(parent))
+					return;
+			}
+			fStale.removeIf(stale -> isAncestor(element, stale));
+			fStale.add(element);
+			if (fStale.size() > MAX_STALE)
+				invalidate();
+		}
+	}
+
+	private void invalidate() {
+		synchronized (fStale) {
+			fInvalid= true;
+			fStale.clear();
+		}
+	}
+
+	private static boolean isAncestor(IJavaElement ancestor, IJavaElement element) {
+		for (IJavaElement parent= element.getParent(); parent != null; parent= parent.getParent()) {
+			if (parent.equals(ancestor))
+				return true;
+		}
+		return false;
+	}
+
+	private void processDelta(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		int kind= delta.getKind();
+		int flags= delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+				if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+						| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+					invalidate();
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+						| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+					markStale(element);
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (kind != IJavaElementDelta.CHANGED) {
+					markStale(element);
+					return;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				if (kind != IJavaElementDelta.CHANGED || affectsTypes(delta))
+					markStale(element);
+				return;
+			case IJavaElement.CLASS_FILE:
+				markStale(element.getParent());
+				return;
+			default:
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren())
+			processDelta(child);
+	}
+
+	/*
+	 * Tells whether a change of a compilation unit may add, remove or modify types. Fine grained
+	 * deltas that only change the members of types, like the ones of typing in a method body, do
+	 * not.
+	 */
+	private static boolean affectsTypes(IJavaElementDelta delta) {
+		int flags= delta.getFlags();
+		if ((flags & (IJavaElementDelta.F_PRIMARY_RESOURCE | IJavaElementDelta.F_PRIMARY_WORKING_COPY)) != 0)
+			return true;
+		if ((flags & IJavaElementDelta.F_FINE_GRAINED) == 0)
+			return (flags & IJavaElementDelta.F_CONTENT) != 0;
+		return hasTypeChanges(delta);
+	}
+
+	private static boolean hasTypeChanges(IJavaElementDelta delta) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (child.getElement().getElementType() != IJavaElement.TYPE)
+				continue;
+			if (child.getKind() != IJavaElementDelta.CHANGED || (child.getFlags() & IJavaElementDelta.F_MODIFIERS) != 0 || hasTypeChanges(child))
+				return true;
+		}
+		return false;
+	}
+}
@@ -17,15 +17,17 @@ package org.eclipse.jdt.internal.corext.refactoring.generics;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
@@ -61,6 +63,64 @@ public class InferTypeArgumentsConstraintsSolver {
 		public static TTypeComparator INSTANCE= new TTypeComparator();
 	}
 
+	/**
+	 * A work-list that holds every variable at most once. The variable with the highest degree
+	 * in the constraint graph, i.e. the one that is used in the most constraints, is handed out
+	 * first, since narrowing its estimate narrows the most other estimates. Variables with the
+	 * same degree are handed out in the order in which they have first been added.
+	 */
+	private static class WorkList {
+		private final InferTypeArgumentsTCModel fModel;
+		private final Map<ConstraintVariable2, Integer> fIndices= new IdentityHashMap<>();
+		private final List<ConstraintVariable2> fVariables= new ArrayList<>();
+		private int[] fDegrees= new int[16];
+		private final BitSet fPending= new BitSet();
+		private final PriorityQueue<Integer> fQueue;
+
+		public WorkList(InferTypeArgumentsTCModel model) {
+			fModel= model;
+			fQueue= new PriorityQueue<>((index1, index2) -> {
+				int i1= index1.intValue();
+				int i2= index2.intValue();
+				int result= Integer.compare(fDegrees[i2], fDegrees[i1]);
+				return result != 0 ? result : Integer.compare(i1, i2);
+			});
+		}
+
+		public void addAll(ConstraintVariable2[] variables) {
+			for (ConstraintVariable2 variable : variables) {
+				Integer index= fIndices.get(variable);
+				if (index == null) {
+					index= Integer.valueOf(fVariables.size());
+					fIndices.put(variable, index);
+					fVariables.add(variable);
+					if (index.intValue() == fDegrees.length)
+						fDegrees= Arrays.copyOf(fDegrees, 2 * fDegrees.length);
+					// the constraints have all been created when the solver runs
+					fDegrees[index.intValue()]= fModel.getUsedIn(variable).size();
+				}
+				if (!fPending.get(index.intValue())) {
+					fPending.set(index.intValue());
+					fQueue.add(index);
+				}
+			}
+		}
+
+		public boolean isEmpty() {
+			return fQueue.isEmpty();
+		}
+
+		public int size() {
+			return fQueue.size();
+		}
+
+		public ConstraintVariable2 removeFirst() {
+			int index= fQueue.remove().intValue();
+			fPending.clear(index);
+			return fVariables.get(index);
+		}
+	}
+
 	private final static String CHOSEN_TYPE= "chosenType"; //$NON-NLS-1$
 
 	private final InferTypeArgumentsTCModel fTCModel;
@@ -71,14 +131,14 @@ public class InferTypeArgumentsConstraintsSolver {
 	 * nodes in the constraint graph that remain to be (re-)processed. Entries
 	 * are <code>ConstraintVariable2</code>s.
 	 */
-	private LinkedList<ConstraintVariable2> fWorkList;
+	private WorkList fWorkList;
 
 	private InferTypeArgumentsUpdate fUpdate;
 
 
 	public InferTypeArgumentsConstraintsSolver(InferTypeArgumentsTCModel typeConstraintFactory) {
 		fTCModel= typeConstraintFactory;
-		fWorkList= new LinkedList<>();
+		fWorkList= new WorkList(typeConstraintFactory);
 	}
 
 	public InferTypeArgumentsUpdate solveConstraints(IProgressMonitor pm) {
@@ -122,7 +182,7 @@ public class InferTypeArgumentsConstraintsSolver {
 		initializeTypeEstimates(allConstraintVariables);
 		if (pm.isCanceled())
 			throw new OperationCanceledException();
-		fWorkList.addAll(Arrays.asList(allConstraintVariables));
+		fWorkList.addAll(allConstraintVariables);
 		runSolver(new SubProgressMonitor(pm, 1));
 		chooseTypes(allConstraintVariables, new SubProgressMonitor(pm, 1));
 		findCastsToRemove(fTCModel.getCastVariables());
@@ -248,7 +308,7 @@ public class InferTypeArgumentsConstraintsSolver {
 //				throw new IllegalStateException("Type estimate set is now empty for LHS in " + left + " <= " + right + "; estimates were " + leftEstimate + " <= " + rightEstimate); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 
 			leftSet.setTypeEstimate(xsection);
-			fWorkList.addAll(Arrays.asList(leftSet.getContributingVariables()));
+			fWorkList.addAll(leftSet.getContributingVariables());
 		}
 		if (! lhsSuperTypes.containsAll(rightEstimate)) {
 			TypeSet xsection= rightEstimate.intersectedWith(lhsSuperTypes);
@@ -257,7 +317,7 @@ public class InferTypeArgumentsConstraintsSolver {
 //				throw new IllegalStateException("Type estimate set is now empty for RHS in " + left + " <= " + right + "; estimates were " + leftEstimate + " <= " + rightEstimate); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 
 			rightSet.setTypeEstimate(xsection);
-			fWorkList.addAll(Arrays.asList(rightSet.getContributingVariables()));
+			fWorkList.addAll(rightSet.getContributingVariables());
 		}
 	}
 
@@ -1112,7 +1112,8 @@ public abstract class SuperTypeRefactoringProcessor extends RefactoringProcessor
 		Assert.isNotNull(monitor);
 		Assert.isNotNull(status);
 		int level= 3;
-		TypeEnvironment environment= new TypeEnvironment();
+		// bindings resolved against working copies of the refactoring must not end up in the shared environment
+		TypeEnvironment environment= JavaCore.getWorkingCopies(fOwner).length == 0 ? TypeEnvironment.getSharedEnvironment() : new TypeEnvironment();
 		final SuperTypeConstraintsModel model= new SuperTypeConstraintsModel(environment, environment.create(subBinding), environment.create(superBinding));
 		final SuperTypeConstraintsCreator creator= new SuperTypeConstraintsCreator(model, fInstanceOf);
 		try {
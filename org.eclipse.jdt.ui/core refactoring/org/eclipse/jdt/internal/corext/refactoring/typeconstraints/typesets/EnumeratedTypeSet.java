@@ -13,19 +13,26 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.typeconstraints.typesets;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.NoSuchElementException;
 
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.ArrayType;
 import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TType;
+import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TypeEnvironment;
 import org.eclipse.jdt.internal.corext.refactoring.typeconstraints2.TTypes;
 
 /**
  * A type-safe wrapper for {@code Set<TType>} that also adds {@code TType}-specific
  * functionality, e.g. subTypes() and superTypes().
+ * <p>
+ * The members are stored as a bit set of their ids in the {@link TypeEnvironment}, so that
+ * intersections, unions and subset tests don't hash the types. Like a {@code LinkedHashSet},
+ * the set iterates over its members in the order in which they have been added.
+ * </p>
  */
 public class EnumeratedTypeSet extends TypeSet {
 	static private int sCount= 0;
@@ -38,10 +45,22 @@ public class EnumeratedTypeSet extends TypeSet {
 		sCount= 0;
 	}
 
+	private final TypeEnvironment fTypeEnvironment;
+
+	/**
+	 * Ids of the TTypes in this EnumeratedTypeSet.
+	 *
+	 * @see TypeEnvironment#getTypeId(TType)
+	 */
+	private BitSet fIds= new BitSet();
+
 	/**
-	 * Set containing the TTypes in this EnumeratedTypeSet.
+	 * Ids of the TTypes in this EnumeratedTypeSet in the order in which they have been added.
+	 * Only the first {@link #fSize} elements are used.
 	 */
-	Set<TType> fMembers= new LinkedHashSet<>();
+	private int[] fOrder= new int[4];
+
+	private int fSize;
 
 	/**
 	 * Constructs a new EnumeratedTypeSet with the members of Set s in it.
@@ -52,8 +71,9 @@ public class EnumeratedTypeSet extends TypeSet {
 	 */
 	public EnumeratedTypeSet(Iterator<TType> types, TypeSetEnvironment typeSetEnvironment) {
 		super(typeSetEnvironment);
+		fTypeEnvironment= typeSetEnvironment.getTypeEnvironment();
 		while (types.hasNext()) {
-			fMembers.add(types.next());
+			addId(idOf(types.next()));
 		}
 		sCount++;
 	}
@@ -65,6 +85,7 @@ public class EnumeratedTypeSet extends TypeSet {
 	 */
 	public EnumeratedTypeSet(TypeSetEnvironment typeSetEnvironment) {
 		super(typeSetEnvironment);
+		fTypeEnvironment= typeSetEnvironment.getTypeEnvironment();
 		sCount++;
 	}
 
@@ -77,7 +98,8 @@ public class EnumeratedTypeSet extends TypeSet {
 	public EnumeratedTypeSet(TType t, TypeSetEnvironment typeSetEnvironment) {
 		super(typeSetEnvironment);
 		Assert.isNotNull(t);
-		fMembers.add(t);
+		fTypeEnvironment= typeSetEnvironment.getTypeEnvironment();
+		addId(idOf(t));
 		sCount++;
 	}
 
@@ -95,20 +117,20 @@ public class EnumeratedTypeSet extends TypeSet {
 		if (o instanceof EnumeratedTypeSet) {
 			EnumeratedTypeSet other= (EnumeratedTypeSet) o;
 
-			return fMembers.equals(other.fMembers);
+			return fIds.equals(idsOf(other));
 		} else if (o instanceof SingletonTypeSet) {
 			SingletonTypeSet other= (SingletonTypeSet) o;
 
-			return (fMembers.size() == 1) && fMembers.contains(other.anyMember());
+			return (fSize == 1) && contains(other.anyMember());
 		} else if (o instanceof TypeSet) {
 			TypeSet other= (TypeSet) o;
 
 			for(Iterator<TType> otherIter= other.iterator(); otherIter.hasNext(); ) {
-				if (!fMembers.contains(otherIter.next()))
+				if (!contains(otherIter.next()))
 					return false;
 			}
-			for (TType tType : fMembers) {
-				if (!other.contains(tType))
+			for (int i= 0; i < fSize; i++) {
+				if (!other.contains(typeOf(fOrder[i])))
 					return false;
 			}
 			return true;
@@ -118,7 +140,7 @@ public class EnumeratedTypeSet extends TypeSet {
 
 	@Override
 	public int hashCode() {
-		return 37 + fMembers.hashCode();
+		return 37 + fIds.hashCode();
 	}
 
 	/**
@@ -152,8 +174,8 @@ public class EnumeratedTypeSet extends TypeSet {
 			// More than an optimization: the universe never contains array types, so
 			// if s2 has array types, the following will retain them, as it should.
 			EnumeratedTypeSet ets2= (EnumeratedTypeSet) s2;
-			fMembers= new LinkedHashSet<>();
-			fMembers.addAll(ets2.fMembers);
+			clear();
+			addAll(ets2);
 		} else
 			retainAll(s2);
 	}
@@ -167,7 +189,7 @@ public class EnumeratedTypeSet extends TypeSet {
 		if (isUniverse())
 			return makeClone(); // subtypes(universe) = universe
 
-		if (fMembers.contains(getJavaLangObject()))
+		if (contains(getJavaLangObject()))
 			return getTypeSetEnvironment().getUniverseTypeSet();
 
 		return getTypeSetEnvironment().createSubTypesSet(this);
@@ -200,64 +222,66 @@ public class EnumeratedTypeSet extends TypeSet {
 	public TypeSet makeClone() {
 		EnumeratedTypeSet result= new EnumeratedTypeSet(getTypeSetEnvironment());
 
-		result.fMembers.addAll(fMembers);
+		result.addAll(this);
 		result.initComplete();
 		return result;
 	}
 
 	public int size() {
-		return fMembers.size();
+		return fSize;
 	}
 
 	public void clear() {
-		if (isUniverse())
-			fMembers= new LinkedHashSet<>();
-		else
-			fMembers.clear();
+		fIds= new BitSet();
+		fSize= 0;
 	}
 
 	@Override
 	public boolean isEmpty() {
-		return fMembers.isEmpty();
+		return fSize == 0;
 	}
 
 	public TType[] toArray() {
-		return fMembers.toArray(new TType[fMembers.size()]);
+		TType[] result= new TType[fSize];
+		for (int i= 0; i < fSize; i++) {
+			result[i]= typeOf(fOrder[i]);
+		}
+		return result;
 	}
 
 	public boolean add(TType t) {
 		// Doesn't make sense to do here what other methods do (copy-and-modify)
 		Assert.isTrue(!isUniverse(), "Someone's trying to expand the universe!"); //$NON-NLS-1$
-		return fMembers.add(t);
+		return addId(idOf(t));
 	}
 
 	@Override
 	public boolean contains(TType t) {
 		if (isUniverse())
 			return true;
-		return fMembers.contains(t);
+		return t != null && fIds.get(idOf(t));
 	}
 
 	public boolean remove(TType t) {
-		if (isUniverse())
-			fMembers= cloneSet(fMembers);
-		return fMembers.remove(t);
-	}
-
-	private Set<TType> cloneSet(Set<TType> members) {
-		return new LinkedHashSet<>(members);
+		if (t == null)
+			return false;
+		int id= idOf(t);
+		if (!fIds.get(id))
+			return false;
+		BitSet removed= new BitSet();
+		removed.set(id);
+		return removeIds(removed);
 	}
 
 	public boolean addAll(TypeSet s) {
-		if (s instanceof EnumeratedTypeSet) {
-			EnumeratedTypeSet ets= (EnumeratedTypeSet) s;
-
-			return fMembers.addAll(ets.fMembers);
-		} else {
-			EnumeratedTypeSet ets= s.enumerate();
-
-			return fMembers.addAll(ets.fMembers);
+		EnumeratedTypeSet ets= s instanceof EnumeratedTypeSet ? (EnumeratedTypeSet) s : s.enumerate();
+		boolean sameEnvironment= ets.fTypeEnvironment == fTypeEnvironment;
+		boolean changed= false;
+		for (int i= 0, size= ets.fSize; i < size; i++) {
+			int id= ets.fOrder[i];
+			changed|= addId(sameEnvironment ? id : idOf(ets.typeOf(id)));
 		}
+		return changed;
 	}
 
 	@Override
@@ -276,15 +300,16 @@ public class EnumeratedTypeSet extends TypeSet {
 			return true;
 		if (s.isUniverse())
 			return false;
-		EnumeratedTypeSet ets= s.enumerate();
-
-		return fMembers.containsAll(ets.fMembers);
+		BitSet ids= idsOf(s.enumerate());
+		for (int id= ids.nextSetBit(0); id >= 0; id= ids.nextSetBit(id + 1)) {
+			if (!fIds.get(id))
+				return false;
+		}
+		return true;
 	}
 
 	public boolean removeAll(EnumeratedTypeSet s) {
-		if (isUniverse())
-			fMembers= cloneSet(fMembers);
-		return fMembers.removeAll(s.fMembers);
+		return removeIds(idsOf(s));
 	}
 
 	public boolean retainAll(TypeSet s) {
@@ -293,65 +318,73 @@ public class EnumeratedTypeSet extends TypeSet {
 		EnumeratedTypeSet ets= (EnumeratedTypeSet) s;
 
 		if (isUniverse()) {
-			fMembers= cloneSet(ets.fMembers);
+			clear();
+			addAll(ets);
 			return true;
 		} else
-			return fMembers.retainAll(ets.fMembers);
+			return retainIds(idsOf(ets));
 	}
 
 	@Override
 	public boolean isSingleton() {
-		return fMembers.size() == 1;
+		return fSize == 1;
 	}
 
 	@Override
 	public TType anyMember() {
-		return fMembers.iterator().next();
+		if (fSize == 0)
+			throw new NoSuchElementException();
+		return typeOf(fOrder[0]);
 	}
 
 	@Override
 	public TypeSet upperBound() {
-		if (fMembers.size() == 1)
-			return new SingletonTypeSet(fMembers.iterator().next(), getTypeSetEnvironment());
-		if (fMembers.contains(getJavaLangObject()))
+		if (fSize == 1)
+			return new SingletonTypeSet(anyMember(), getTypeSetEnvironment());
+		if (contains(getJavaLangObject()))
 			return new SingletonTypeSet(getJavaLangObject(), getTypeSetEnvironment());
 
 		EnumeratedTypeSet result= new EnumeratedTypeSet(getTypeSetEnvironment());
 
-		// Add to result each element of fMembers that has no proper supertype in fMembers
-		result.fMembers.addAll(fMembers);
-		for (TType t : fMembers) {
+		// Add to result each member that has no proper supertype in the members
+		result.addAll(this);
+		BitSet subTypes= new BitSet();
+		for (int i= 0; i < fSize; i++) {
+			TType t= typeOf(fOrder[i]);
 			if (t.isArrayType()) {
 				ArrayType at= (ArrayType) t;
 				int numDims= at.getDimensions();
 				for(Iterator<TType> subIter=TTypes.getAllSubTypesIterator(at.getElementType()); subIter.hasNext(); ) {
-					result.fMembers.remove(TTypes.createArrayType(subIter.next(), numDims));
+					subTypes.set(idOf(TTypes.createArrayType(subIter.next(), numDims)));
 				}
 			} else {
 				for (Iterator<TType> iterator= TTypes.getAllSubTypesIterator(t); iterator.hasNext();) {
-					result.fMembers.remove(iterator.next());
+					subTypes.set(idOf(iterator.next()));
 				}
 			}
 		}
+		result.removeIds(subTypes);
 		result.initComplete();
 		return result;
 	}
 
 	@Override
 	public TypeSet lowerBound() {
-		if (fMembers.size() == 1)
-			return new SingletonTypeSet(fMembers.iterator().next(), getTypeSetEnvironment());
+		if (fSize == 1)
+			return new SingletonTypeSet(anyMember(), getTypeSetEnvironment());
 
 		EnumeratedTypeSet result= new EnumeratedTypeSet(getTypeSetEnvironment());
 
-		// Add to result each element of fMembers that has no proper subtype in fMembers
-		result.fMembers.addAll(fMembers);
+		// Add to result each member that has no proper subtype in the members
+		result.addAll(this);
 
-		for (TType t : fMembers) {
-			// java.lang.Object is only in the lower bound if fMembers consists
+		BitSet superTypes= new BitSet();
+		for (int i= 0; i < fSize; i++) {
+			TType t= typeOf(fOrder[i]);
+			// java.lang.Object is only in the lower bound if the members consist
 			// of only java.lang.Object, but that case is handled above.
 			if (t.equals(getJavaLangObject())) {
-				result.fMembers.remove(t);
+				superTypes.set(fOrder[i]);
 				continue;
 			}
 
@@ -359,14 +392,15 @@ public class EnumeratedTypeSet extends TypeSet {
 				ArrayType at= (ArrayType) t;
 				int numDims= at.getDimensions();
 				for(Iterator<TType> superIter=TTypes.getAllSuperTypesIterator(at.getElementType()); superIter.hasNext(); ) {
-					result.fMembers.remove(TTypes.createArrayType(superIter.next(), numDims));
+					superTypes.set(idOf(TTypes.createArrayType(superIter.next(), numDims)));
 				}
 			} else {
 				for (Iterator<TType> iterator= TTypes.getAllSuperTypesIterator(t); iterator.hasNext();) {
-					result.fMembers.remove(iterator.next());
+					superTypes.set(idOf(iterator.next()));
 				}
 			}
 		}
+		result.removeIds(superTypes);
 		if (result.size() > 0)
 			return result;
 		else
@@ -375,31 +409,45 @@ public class EnumeratedTypeSet extends TypeSet {
 
 	@Override
 	public boolean hasUniqueLowerBound() {
-		return fMembers.size() == 1;
+		return fSize == 1;
 	}
 
 	@Override
 	public boolean hasUniqueUpperBound() {
-		return fMembers.size() == 1;
+		return fSize == 1;
 	}
 
 	@Override
 	public TType uniqueLowerBound() {
-		if (fMembers.size() == 1)
-			return fMembers.iterator().next();
+		if (fSize == 1)
+			return anyMember();
 		return null;
 	}
 
 	@Override
 	public TType uniqueUpperBound() {
-		if (fMembers.size() == 1)
-			return fMembers.iterator().next();
+		if (fSize == 1)
+			return anyMember();
 		return null;
 	}
 
 	@Override
 	public Iterator<TType> iterator() {
-		return fMembers.iterator();
+		return new Iterator<TType>() {
+			private int fIndex= 0;
+
+			@Override
+			public boolean hasNext() {
+				return fIndex < fSize;
+			}
+
+			@Override
+			public TType next() {
+				if (fIndex >= fSize)
+					throw new NoSuchElementException();
+				return typeOf(fOrder[fIndex++]);
+			}
+		};
 	}
 
 	/**
@@ -436,7 +484,61 @@ public class EnumeratedTypeSet extends TypeSet {
 	}
 
 	public void initComplete() {
-		Assert.isTrue(! fMembers.isEmpty());
+		Assert.isTrue(fSize > 0);
+	}
+
+	private int idOf(TType t) {
+		return fTypeEnvironment.getTypeId(t);
+	}
+
+	private TType typeOf(int id) {
+		return fTypeEnvironment.getTypeForId(id);
+	}
+
+	/*
+	 * The ids of the members of the given set, in the type environment of this set.
+	 */
+	private BitSet idsOf(EnumeratedTypeSet s) {
+		if (s.fTypeEnvironment == fTypeEnvironment)
+			return s.fIds;
+		BitSet result= new BitSet();
+		for (int i= 0; i < s.fSize; i++) {
+			result.set(idOf(s.typeOf(s.fOrder[i])));
+		}
+		return result;
+	}
+
+	private boolean addId(int id) {
+		if (fIds.get(id))
+			return false;
+		fIds.set(id);
+		if (fSize == fOrder.length)
+			fOrder= Arrays.copyOf(fOrder, fSize * 2);
+		fOrder[fSize++]= id;
+		return true;
+	}
+
+	private boolean retainIds(BitSet ids) {
+		return filterIds(ids, true);
+	}
+
+	private boolean removeIds(BitSet ids) {
+		return filterIds(ids, false);
+	}
+
+	private boolean filterIds(BitSet ids, boolean retain) {
+		int size= 0;
+		for (int i= 0; i < fSize; i++) {
+			int id= fOrder[i];
+			if (ids.get(id) == retain) {
+				fOrder[size++]= id;
+			} else {
+				fIds.clear(id);
+			}
+		}
+		boolean changed= size != fSize;
+		fSize= size;
+		return changed;
 	}
 
 }
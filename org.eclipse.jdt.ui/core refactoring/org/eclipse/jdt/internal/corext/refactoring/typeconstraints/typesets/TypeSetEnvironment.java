@@ -42,6 +42,10 @@ public class TypeSetEnvironment {
 		fEmptyTypeSet= new EmptyTypeSet(this);
 	}
 
+	public TypeEnvironment getTypeEnvironment() {
+		return fTypeEnvironment;
+	}
+
 	public TType getJavaLangObject() {
 		return fTypeEnvironment.getJavaLangObject();
 	}
@@ -15,10 +15,16 @@
 package org.eclipse.jdt.internal.ui.callhierarchy;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.operation.IRunnableContext;
 import org.eclipse.jface.operation.IRunnableWithProgress;
@@ -33,6 +39,7 @@ import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
 import org.eclipse.jdt.internal.corext.callhierarchy.CallerMethodWrapper;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodCall;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
@@ -65,6 +72,7 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
 
     private DeferredTreeContentManager fManager;
     private CallHierarchyViewPart fPart;
+    private Job fPrefetchJob;
 
     private static class MethodWrapperRunnable implements IRunnableWithProgress {
         private MethodWrapper fMethodWrapper;
@@ -391,7 +399,55 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
      */
     @Override
 	public void dispose() {
-        // Nothing to dispose
+        cancelPrefetch();
+    }
+
+    /**
+     * Searches the calls of the given wrappers in the background after they have been added to the
+     * tree, so that expanding them finds their calls in the cache. The searches run in parallel, see
+     * {@link CallHierarchy#prefetchCalls(MethodWrapper[], int, IProgressMonitor)}. A new prefetch
+     * cancels the previous one. Does nothing unless enabled with
+     * {@link CallHierarchy#setPrefetchCallsEnabled(boolean)}.
+     *
+     * @param wrappers the fetched children of an expanded element
+     * @since 3.23
+     */
+    void prefetchCalls(MethodWrapper[] wrappers) {
+    	if (!CallHierarchy.getDefault().isPrefetchCallsEnabled())
+    		return;
+    	List<MethodWrapper> expandable= new ArrayList<>(wrappers.length);
+    	for (MethodWrapper wrapper : wrappers) {
+    		if (wrapper.canHaveChildren() && !shouldStopTraversion(wrapper))
+    			expandable.add(wrapper);
+    	}
+    	cancelPrefetch();
+    	if (expandable.isEmpty())
+    		return;
+    	final MethodWrapper[] prefetched= expandable.toArray(new MethodWrapper[expandable.size()]);
+    	Job job= new Job(CallHierarchyMessages.CallHierarchyContentProvider_prefetch_job) {
+    		@Override
+    		protected IStatus run(IProgressMonitor monitor) {
+    			try {
+    				CallHierarchy.getDefault().prefetchCalls(prefetched, 1, monitor);
+    			} catch (OperationCanceledException e) {
+    				return Status.CANCEL_STATUS;
+    			}
+    			return Status.OK_STATUS;
+    		}
+    	};
+    	job.setSystem(true);
+    	job.setPriority(Job.DECORATE);
+    	synchronized (this) {
+    		fPrefetchJob= job;
+    	}
+    	job.schedule();
+    }
+
+    private synchronized void cancelPrefetch() {
+    	if (fPrefetchJob != null) {
+    		fPrefetchJob.cancel();
+    		fPrefetchJob= null;
+    	}
     }
 
     /**
@@ -434,6 +490,7 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
     		MethodWrapper[] roots = ((TreeRoot) oldInput).getRoots();
    			cancelJobs(roots);
     	}
+    	cancelPrefetch();
         if (viewer instanceof AbstractTreeViewer) {
             fManager = new DeferredTreeContentManager((AbstractTreeViewer) viewer, fPart.getSite());
         }
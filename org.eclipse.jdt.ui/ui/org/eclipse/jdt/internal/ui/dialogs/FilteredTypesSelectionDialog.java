@@ -96,6 +96,7 @@ import org.eclipse.jdt.internal.corext.util.Strings;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
 import org.eclipse.jdt.internal.corext.util.TypeInfoFilter;
 import org.eclipse.jdt.internal.corext.util.TypeInfoRequestorAdapter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
 
 import org.eclipse.jdt.launching.IVMInstall;
 import org.eclipse.jdt.launching.IVMInstallType;
@@ -238,6 +239,8 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 		fExtension= extension;
 		fFilterExtension= (extension == null) ? null : extension.getFilterExtension();
 		fSearchScope= scope;
+		if (scope.equals(SearchEngine.createWorkspaceScope()))
+			TypeNameIndex.getDefault().scheduleUpdate();
 
 		if (extension != null) {
 			fValidator= extension.getSelectionValidator();
@@ -486,6 +489,8 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 		typeSearchFilter.setMatchEverythingMode(true);
 
 		try {
+			if (TypeNameIndex.getDefault().search(typeSearchFilter.fTypeInfoFilter, requestor, progressMonitor))
+				return;
 			engine.searchAllTypeNames(packPattern == null ? null : packPattern.toCharArray(),
 					typeSearchFilter.getPackageFlags(),
 					typePattern.toCharArray(),
@@ -540,8 +545,9 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 	}
 
 	/*
-	 * We only have to ensure history consistency here since the search engine
-	 * takes care of working copies.
+	 * We only have to ensure that the search indexes are ready here. The search
+	 * engine takes care of working copies and the history is checked in the
+	 * background, see TypeItemsFilter#isConsistentItem(Object).
 	 */
 	private static class ConsistencyRunnable implements IRunnableWithProgress {
 		@Override
@@ -553,21 +559,12 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 			}
 			OpenTypeHistory history= OpenTypeHistory.getInstance();
 			if (fgFirstTime || history.isEmpty()) {
-				if (history.needConsistencyCheck()) {
-					SubMonitor subMonitor= SubMonitor.convert(monitor,JavaUIMessages.TypeSelectionDialog_progress_consistency, 10 );
-					refreshSearchIndices(subMonitor.split(9));
-					history.checkConsistency(subMonitor.split(1));
-				} else {
-					refreshSearchIndices(monitor);
-				}
+				refreshSearchIndices(monitor);
 				fgFirstTime= false;
-			} else {
-				history.checkConsistency(monitor);
 			}
 		}
 		public static boolean needsExecution() {
-			OpenTypeHistory history= OpenTypeHistory.getInstance();
-			return fgFirstTime || history.isEmpty() || history.needConsistencyCheck();
+			return fgFirstTime || OpenTypeHistory.getInstance().isEmpty();
 		}
 		private void refreshSearchIndices(IProgressMonitor monitor) throws InvocationTargetException {
 			try {
@@ -595,6 +592,7 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 	public void reloadCache(boolean checkDuplicates, IProgressMonitor monitor) {
 		IProgressMonitor remainingMonitor;
 		SubMonitor subMonitor= SubMonitor.convert(monitor, JavaUIMessages.TypeSelectionDialog_progress_consistency, 10);
+		OpenTypeHistory.getInstance().scheduleConsistencyCheck();
 		if (ConsistencyRunnable.needsExecution()) {
 
 			try {
@@ -985,9 +983,15 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 			fMatchEverything= matchEverything;
 		}
 
+		/*
+		 * History entries are only added to the open type history when the dialog is closed,
+		 * so history items that it no longer contains have been removed by its consistency check.
+		 */
 		@Override
 		public boolean isConsistentItem(Object item) {
-			return true;
+			if (!getSelectionHistory().contains(item))
+				return true;
+			return OpenTypeHistory.getInstance().contains((TypeNameMatch) item);
 		}
 
 		@Override
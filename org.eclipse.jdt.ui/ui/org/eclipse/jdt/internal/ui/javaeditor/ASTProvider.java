@@ -35,6 +35,8 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
 /**
  * Provides a shared AST for clients. The shared AST is
  * the AST of the active Java editor's input element.
+ * ASTs of recently used other elements are kept in a
+ * bounded cache by the {@link CoreASTProvider}.
  *
  * @since 3.0
  */
@@ -241,9 +243,10 @@ public final class ASTProvider implements IASTSharedValues {
 	 *
 	 * @param ast the compilation unit AST
 	 * @return <code>true</code> if the given AST is the cached one
+	 *         or one of the recently used ASTs
 	 */
 	public boolean isCached(CompilationUnit ast) {
-		return ast != null && INSTANCE.getCachedAST() == ast;
+		return ast != null && (INSTANCE.getCachedAST() == ast || INSTANCE.isInASTCache(ast));
 	}
 
 	/**
@@ -268,6 +271,7 @@ public final class ASTProvider implements IASTSharedValues {
 		fActivationListener= null;
 
 		INSTANCE.disposeAST();
+		INSTANCE.clearASTCache();
 		INSTANCE.waitLockNotifyAll();
 
 	}
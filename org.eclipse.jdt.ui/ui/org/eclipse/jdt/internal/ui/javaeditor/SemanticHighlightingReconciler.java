@@ -25,7 +25,9 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.ITextInputListener;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.TextPresentation;
@@ -33,13 +35,28 @@ import org.eclipse.jface.text.source.ISourceViewer;
 
 import org.eclipse.ui.IWorkbenchPartSite;
 
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.AnnotationTypeMemberDeclaration;
+import org.eclipse.jdt.core.dom.AnonymousClassDeclaration;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.BodyDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ConstructorInvocation;
+import org.eclipse.jdt.core.dom.EnumConstantDeclaration;
+import org.eclipse.jdt.core.dom.EnumDeclaration;
 import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.IBinding;
 import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.Initializer;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.Modifier.ModifierKeyword;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
@@ -47,6 +64,7 @@ import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SimpleType;
 import org.eclipse.jdt.core.dom.SuperConstructorInvocation;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 import org.eclipse.jdt.core.dom.YieldStatement;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
@@ -135,12 +153,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				int offset= node.getStartPosition();
 				int length= node.getLength();
 				if (offset > -1 && length > 0) {
-					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
-							return false;
-						}
+					if (fJobRestrictedIdentifiersHighlighting != null) {
+						addPosition(offset, length, fJobRestrictedIdentifiersHighlighting);
+						return false;
 					}
 				}
 			}
@@ -154,12 +169,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				int offset= node.getStartPosition();
 				int length= 5; // length of 'yield'
 				if (offset > -1 && length > 0) {
-					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
-							return false;
-						}
+					if (fJobRestrictedIdentifiersHighlighting != null) {
+						addPosition(offset, length, fJobRestrictedIdentifiersHighlighting);
+						return false;
 					}
 				}
 			}
@@ -173,13 +185,8 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				int offset= node.getRestrictedIdentifierStartPosition();
 				int length= 6; // length of 'record'
 				if (offset > -1 && length > 0) {
-					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
-							return true;
-						}
-					}
+					if (fJobRestrictedIdentifiersHighlighting != null)
+						addPosition(offset, length, fJobRestrictedIdentifiersHighlighting);
 				}
 			}
 			return true;
@@ -192,13 +199,8 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 					int offset= node.getRestrictedIdentifierStartPosition();
 					int length= 7; // length of 'permits'
 					if (offset > -1) {
-						for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-							SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-							if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-								addPosition(offset, length, fJobHighlightings[i]);
-								return true;
-							}
-						}
+						if (fJobRestrictedIdentifiersHighlighting != null)
+							addPosition(offset, length, fJobRestrictedIdentifiersHighlighting);
 					}
 				}
 			} catch (UnsupportedOperationException e) {
@@ -222,12 +224,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 					return true;
 				}
 				if (offset > -1 && length > 0) {
-					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
-							return false;
-						}
+					if (fJobRestrictedIdentifiersHighlighting != null) {
+						addPosition(offset, length, fJobRestrictedIdentifiersHighlighting);
+						return false;
 					}
 				}
 			}
@@ -240,9 +239,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		@Override
 		public boolean visit(SimpleName node) {
 			fToken.update(node);
-			for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
-				SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-				if (fJobHighlightings[i].isEnabled() && semanticHighlighting.consumes(fToken)) {
+			IBinding binding= fToken.getBinding();
+			for (int i : getDispatchedHighlightings(binding == null ? 0 : binding.getKind())) {
+				if (fJobSemanticHighlightings[i].consumes(fToken)) {
 					int offset= node.getStartPosition();
 					int length= node.getLength();
 					if (offset > -1 && length > 0)
@@ -261,24 +260,19 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 * @param highlighting The highlighting
 		 */
 		private void addPosition(int offset, int length, Highlighting highlighting) {
-			boolean isExisting= false;
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+			for (int i= computeIndexAtOffset(offset), n= fRemovedPositions.size(); i < n; i++) {
 				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
-				if (position == null)
-					continue;
-				if (position.isEqual(offset, length, highlighting)) {
-					isExisting= true;
-					fRemovedPositions.set(i, null);
-					fNOfRemovedPositions--;
+				if (position.getOffset() > offset)
 					break;
+				if (!fKeptPositions[i] && position.isEqual(offset, length, highlighting)) {
+					fKeptPositions[i]= true;
+					fNOfRemovedPositions--;
+					return;
 				}
 			}
 
-			if (!isExisting) {
-				Position position= fJobPresenter.createHighlightedPosition(offset, length, highlighting);
-				fAddedPositions.add(position);
-			}
+			Position position= fJobPresenter.createHighlightedPosition(offset, length, highlighting);
+			fAddedPositions.add(position);
 		}
 
 		/**
@@ -288,15 +282,94 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		@Override
 		protected void retainPositions(int offset, int length) {
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+			for (int i= computeIndexAtOffset(offset), n= fRemovedPositions.size(); i < n; i++) {
 				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
-				if (position != null && position.isContained(offset, length)) {
-					fRemovedPositions.set(i, null);
+				if (position.getOffset() > offset + length)
+					break;
+				if (!fKeptPositions[i] && position.isContained(offset, length)) {
+					fKeptPositions[i]= true;
 					fNOfRemovedPositions--;
 				}
 			}
 		}
+
+		/**
+		 * Returns the index of the first removed position with an offset equal or greater than
+		 * the given offset. The removed positions are ordered by offset.
+		 *
+		 * @param offset the offset
+		 * @return the index
+		 */
+		private int computeIndexAtOffset(int offset) {
+			int i= -1;
+			int j= fRemovedPositions.size();
+			while (j - i > 1) {
+				int k= (i + j) >> 1;
+				if (fRemovedPositions.get(k).getOffset() >= offset)
+					j= k;
+				else
+					i= k;
+			}
+			return j;
+		}
+	}
+
+	/**
+	 * Tracks the range of the document that has changed since the positions have last been
+	 * reconciled.
+	 *
+	 * @since 3.22
+	 */
+	private class DirtyRegionTracker implements IDocumentListener, ITextInputListener {
+
+		/*
+		 * The range is updated before the document changes, so that a reconciler that sees the
+		 * change also sees the range.
+		 */
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			String text= event.getText();
+			addDirtyRegion(event.getOffset(), event.getLength(), text == null ? 0 : text.length());
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			// Do nothing
+		}
+
+		@Override
+		public void inputDocumentAboutToBeChanged(IDocument oldInput, IDocument newInput) {
+			if (oldInput != null)
+				oldInput.removeDocumentListener(this);
+			invalidateDirtyRegion();
+		}
+
+		@Override
+		public void inputDocumentChanged(IDocument oldInput, IDocument newInput) {
+			if (newInput != null)
+				newInput.addDocumentListener(this);
+			JavaEditor editor= fEditor;
+			fInputElement= editor != null ? editor.getInputJavaElement() : null;
+			invalidateDirtyRegion();
+		}
+	}
+
+	/**
+	 * Forces a full reconcile after Java model changes, which may change the bindings anywhere
+	 * in the editor's compilation unit.
+	 *
+	 * @since 3.22
+	 */
+	private class ElementChangedListener implements IElementChangedListener {
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			IJavaElementDelta delta= event.getDelta();
+			// the editor's own reconcile is covered by the dirty region
+			if (event.getType() == ElementChangedEvent.POST_RECONCILE && delta.getElement().equals(fInputElement))
+				return;
+			invalidateDirtyRegion();
+		}
 	}
 
 	/** Position collector */
@@ -319,6 +392,59 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private List<Position> fRemovedPositions= new ArrayList<>();
 	/** Number of removed positions */
 	private int fNOfRemovedPositions;
+	/**
+	 * Flags of the background job's removed positions that have been found again.
+	 * @since 3.22
+	 */
+	private boolean[] fKeptPositions= new boolean[0];
+
+	/**
+	 * The dirty region tracker, only installed on the source viewer of a compilation unit editor.
+	 * @since 3.22
+	 */
+	private DirtyRegionTracker fDirtyRegionTracker;
+	/**
+	 * The Java element changed listener, only installed for a compilation unit editor.
+	 * @since 3.22
+	 */
+	private IElementChangedListener fElementChangedListener;
+	/**
+	 * The input element of the editor when this reconciler was installed.
+	 * @since 3.22
+	 */
+	private volatile ITypeRoot fInputElement;
+	/**
+	 * Dirty region lock.
+	 * @since 3.22
+	 */
+	private final Object fDirtyRegionLock= new Object();
+	/**
+	 * Start of the range that has changed since the last reconcile, or <code>-1</code> if the
+	 * document has not changed.
+	 * @since 3.22
+	 */
+	private int fDirtyRegionStart= -1;
+	/**
+	 * End of the range that has changed since the last reconcile.
+	 * @since 3.22
+	 */
+	private int fDirtyRegionEnd;
+	/**
+	 * Number of document changes, used to detect changes during a reconcile.
+	 * @since 3.22
+	 */
+	private int fModificationCount;
+	/**
+	 * <code>true</code> iff all positions have to be reconciled with the next AST.
+	 * @since 3.22
+	 */
+	private boolean fIsFullReconcileNeeded= true;
+	/**
+	 * The declaration signature of the AST of the last applied reconcile, see
+	 * {@link #computeDeclarationSignature(CompilationUnit)}.
+	 * @since 3.22
+	 */
+	private String fDeclarationSignature;
 
 	/** Background job */
 	private Job fJob;
@@ -342,12 +468,44 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private SemanticHighlighting[] fJobSemanticHighlightings;
 	/** Highlightings - cache for background thread, only valid during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)} */
 	private Highlighting[] fJobHighlightings;
+	/**
+	 * Indices of the enabled semantic highlightings that may consume a token, by binding kind
+	 * and computed on demand - cache for background thread, only valid during
+	 * {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)}
+	 * @since 3.22
+	 */
+	private int[][] fJobDispatchTable;
+	/**
+	 * Range of the positions that are reconciled, or <code>null</code> if all positions are
+	 * reconciled - cache for background thread, only valid during
+	 * {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)}
+	 * @since 3.22
+	 */
+	private Position fJobRange;
+	/**
+	 * Number of document changes when the reconcile started - cache for background thread, only
+	 * valid during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)}
+	 * @since 3.22
+	 */
+	private int fJobModificationCount;
+	/**
+	 * Declaration signature of the reconciled AST - cache for background thread, only valid
+	 * during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)}
+	 * @since 3.22
+	 */
+	private String fJobDeclarationSignature;
 
 	/**
 	 * XXX Hack for performance reasons (should loop over fJobSemanticHighlightings can call consumes(*))
 	 * @since 3.5
 	 */
 	private Highlighting fJobDeprecatedMemberHighlighting;
+	/**
+	 * The highlighting of restricted identifiers - cache for background thread, only valid
+	 * during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)}
+	 * @since 3.22
+	 */
+	private Highlighting fJobRestrictedIdentifiersHighlighting;
 
 	/*
 	 * @see org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener#aboutToBeReconciled()
@@ -382,6 +540,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (ast == null || fJobPresenter.isCanceled())
 				return;
 
+			// bindings may have changed anywhere, keep the flag until a full reconcile is applied
+			if (forced)
+				invalidateDirtyRegion();
+
 			ASTNode[] subtrees= getAffectedSubtrees(ast);
 			if (subtrees.length == 0)
 				return;
@@ -390,13 +552,15 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 
 			if (!fJobPresenter.isCanceled()) {
 				fJobDeprecatedMemberHighlighting= null;
+				fJobRestrictedIdentifiersHighlighting= null;
 				for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
 					SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-					if (fJobHighlightings[i].isEnabled() && semanticHighlighting instanceof DeprecatedMemberHighlighting) {
+					if (fJobDeprecatedMemberHighlighting == null && fJobHighlightings[i].isEnabled() && semanticHighlighting instanceof DeprecatedMemberHighlighting)
 						fJobDeprecatedMemberHighlighting= fJobHighlightings[i];
-						break;
-					}
+					else if (fJobRestrictedIdentifiersHighlighting == null && semanticHighlighting instanceof RestrictedIdentifiersHighlighting)
+						fJobRestrictedIdentifiersHighlighting= fJobHighlightings[i];
 				}
+				fJobDispatchTable= new int[Integer.SIZE][];
 				reconcilePositions(subtrees);
 			}
 
@@ -413,6 +577,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			fJobSemanticHighlightings= null;
 			fJobHighlightings= null;
 			fJobDeprecatedMemberHighlighting= null;
+			fJobRestrictedIdentifiersHighlighting= null;
+			fJobDispatchTable= null;
+			fJobRange= null;
+			fJobDeclarationSignature= null;
 			synchronized (fReconcileLock) {
 				fIsReconciling= false;
 			}
@@ -420,20 +588,156 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	}
 
 	/**
-	 * @param node Root node
+	 * Returns the subtrees whose positions have to be reconciled. This is the body of the method
+	 * or initializer that contains all document changes since the last reconcile, if the
+	 * declarations outside of bodies have not changed; the positions of the other members are
+	 * kept. Otherwise it is the whole AST.
+	 * <p>
+	 * Also sets {@link #fJobRange}, {@link #fJobModificationCount} and
+	 * {@link #fJobDeclarationSignature}.
+	 * </p>
+	 *
+	 * @param ast the AST
 	 * @return Array of subtrees that may be affected by past document changes
 	 */
-	private ASTNode[] getAffectedSubtrees(ASTNode node) {
-		// TODO: only return nodes which are affected by document changes - would require an 'anchor' concept for taking distant effects into account
-		return new ASTNode[] { node };
+	private ASTNode[] getAffectedSubtrees(CompilationUnit ast) {
+		fJobRange= null;
+		fJobDeclarationSignature= computeDeclarationSignature(ast);
+		int start, end;
+		synchronized (fDirtyRegionLock) {
+			fJobModificationCount= fModificationCount;
+			if (fIsFullReconcileNeeded || fDirtyRegionStart == -1 || !fJobDeclarationSignature.equals(fDeclarationSignature))
+				return new ASTNode[] { ast };
+			start= fDirtyRegionStart;
+			end= fDirtyRegionEnd;
+		}
+
+		Block body= findEnclosingBody(ast.types(), start, end);
+		if (body == null)
+			return new ASTNode[] { ast };
+		fJobRange= new Position(body.getStartPosition(), body.getLength());
+		return new ASTNode[] { body };
+	}
+
+	/**
+	 * Returns the body of a method or initializer that strictly contains the given range,
+	 * between its braces.
+	 *
+	 * @param declarations the body declarations to search
+	 * @param start the start of the range
+	 * @param end the end of the range
+	 * @return the outermost body containing the range, or <code>null</code> if none
+	 * @since 3.22
+	 */
+	private static Block findEnclosingBody(List<?> declarations, int start, int end) {
+		for (Object declaration : declarations) {
+			ASTNode node= (ASTNode) declaration;
+			if (node.getStartPosition() > start || node.getStartPosition() + node.getLength() < end)
+				continue;
+			if (node instanceof AbstractTypeDeclaration)
+				return findEnclosingBody(((AbstractTypeDeclaration) node).bodyDeclarations(), start, end);
+
+			Block body= null;
+			if (node instanceof MethodDeclaration)
+				body= ((MethodDeclaration) node).getBody();
+			else if (node instanceof Initializer)
+				body= ((Initializer) node).getBody();
+			if (body != null && body.getStartPosition() < start && end < body.getStartPosition() + body.getLength())
+				return body;
+			return null;
+		}
+		return null;
 	}
 
 	/**
-	 * Start reconciling positions.
+	 * Computes a signature of the declarations of the AST outside of method and initializer
+	 * bodies. A change of the document inside of a body can only be reconciled incrementally if
+	 * the signature is unchanged, otherwise the parser has recovered differently from it.
+	 *
+	 * @param ast the AST
+	 * @return the signature
+	 * @since 3.22
+	 */
+	private static String computeDeclarationSignature(CompilationUnit ast) {
+		StringBuilder buf= new StringBuilder();
+		if (ast.getPackage() != null)
+			buf.append(ast.getPackage().getName().getFullyQualifiedName());
+		buf.append(';').append(ast.imports().size());
+		appendDeclarationSignature(ast.types(), buf);
+		return buf.toString();
+	}
+
+	private static void appendDeclarationSignature(List<?> declarations, StringBuilder buf) {
+		for (Object declaration : declarations) {
+			BodyDeclaration member= (BodyDeclaration) declaration;
+			buf.append(';').append(member.getNodeType()).append(':').append(member.getModifiers()).append(':');
+			if (member instanceof AbstractTypeDeclaration) {
+				AbstractTypeDeclaration type= (AbstractTypeDeclaration) member;
+				buf.append(type.getName().getIdentifier()).append('{');
+				if (type instanceof EnumDeclaration)
+					appendDeclarationSignature(((EnumDeclaration) type).enumConstants(), buf);
+				appendDeclarationSignature(type.bodyDeclarations(), buf);
+				buf.append('}');
+			} else if (member instanceof MethodDeclaration) {
+				MethodDeclaration method= (MethodDeclaration) member;
+				buf.append(method.getName().getIdentifier()).append('(').append(method.parameters().size()).append(')');
+				if (method.getBody() != null)
+					buf.append("{}"); //$NON-NLS-1$
+			} else if (member instanceof FieldDeclaration) {
+				for (Object fragment : ((FieldDeclaration) member).fragments())
+					buf.append(((VariableDeclarationFragment) fragment).getName().getIdentifier()).append(',');
+			} else if (member instanceof EnumConstantDeclaration) {
+				EnumConstantDeclaration constant= (EnumConstantDeclaration) member;
+				buf.append(constant.getName().getIdentifier());
+				AnonymousClassDeclaration anonymous= constant.getAnonymousClassDeclaration();
+				if (anonymous != null) {
+					buf.append('{');
+					appendDeclarationSignature(anonymous.bodyDeclarations(), buf);
+					buf.append('}');
+				}
+			} else if (member instanceof AnnotationTypeMemberDeclaration) {
+				buf.append(((AnnotationTypeMemberDeclaration) member).getName().getIdentifier());
+			}
+		}
+	}
+
+	/**
+	 * Returns the indices of the enabled semantic highlightings that may consume a token with a
+	 * binding of the given kind, in the order of precedence.
+	 *
+	 * @param kind the {@link IBinding#getKind() binding kind}, or <code>0</code> for tokens without
+	 *            binding
+	 * @return the indices into {@link #fJobSemanticHighlightings}
+	 * @since 3.22
+	 */
+	private int[] getDispatchedHighlightings(int kind) {
+		int[] dispatched= fJobDispatchTable[kind];
+		if (dispatched == null) {
+			int[] indices= new int[fJobSemanticHighlightings.length];
+			int n= 0;
+			for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
+				if (fJobHighlightings[i].isEnabled() && (fJobSemanticHighlightings[i].getConsumedBindingKinds() & 1 << kind) != 0)
+					indices[n++]= i;
+			}
+			dispatched= new int[n];
+			System.arraycopy(indices, 0, dispatched, 0, n);
+			fJobDispatchTable[kind]= dispatched;
+		}
+		return dispatched;
+	}
+
+	/**
+	 * Start reconciling positions. Only the positions in {@link #fJobRange} are reconciled.
 	 */
 	private void startReconcilingPositions() {
-		fJobPresenter.addAllPositions(fRemovedPositions);
+		List<Position> positions= new ArrayList<>();
+		fJobPresenter.addAllPositions(positions);
+		for (Position position : positions) {
+			if (position != null && (fJobRange == null || fJobRange.overlapsWith(position.getOffset(), position.getLength())))
+				fRemovedPositions.add(position);
+		}
 		fNOfRemovedPositions= fRemovedPositions.size();
+		fKeptPositions= new boolean[fNOfRemovedPositions];
 	}
 
 	/**
@@ -442,17 +746,13 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @param subtrees the AST subtrees
 	 */
 	private void reconcilePositions(ASTNode[] subtrees) {
-		// FIXME: remove positions not covered by subtrees
-
-
-
 		for (ASTNode subtree : subtrees)
 			subtree.accept(fCollector);
 		List<Position> oldPositions= fRemovedPositions;
 		List<Position> newPositions= new ArrayList<>(fNOfRemovedPositions);
-		for (Position current : oldPositions) {
-			if (current != null)
-				newPositions.add(current);
+		for (int i= 0, n= oldPositions.size(); i < n; i++) {
+			if (!fKeptPositions[i])
+				newPositions.add(oldPositions.get(i));
 		}
 		fRemovedPositions= newPositions;
 	}
@@ -466,8 +766,11 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	private void updatePresentation(TextPresentation textPresentation, List<Position> addedPositions, List<Position> removedPositions) {
 		Runnable runnable= fJobPresenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions);
-		if (runnable == null)
+		if (runnable == null) {
+			if (addedPositions.isEmpty() && removedPositions.isEmpty() && !fJobPresenter.isCanceled())
+				clearDirtyRegion(fJobModificationCount, fJobDeclarationSignature);
 			return;
+		}
 
 		JavaEditor editor= fEditor;
 		if (editor == null)
@@ -485,7 +788,14 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		if (display == null || display.isDisposed())
 			return;
 
-		display.asyncExec(runnable);
+		SemanticHighlightingPresenter presenter= fJobPresenter;
+		int modificationCount= fJobModificationCount;
+		String declarationSignature= fJobDeclarationSignature;
+		display.asyncExec(() -> {
+			runnable.run();
+			if (!presenter.isCanceled())
+				clearDirtyRegion(modificationCount, declarationSignature);
+		});
 	}
 
 	/**
@@ -494,9 +804,70 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private void stopReconcilingPositions() {
 		fRemovedPositions.clear();
 		fNOfRemovedPositions= 0;
+		fKeptPositions= new boolean[0];
 		fAddedPositions.clear();
 	}
 
+	/**
+	 * Adds a document change to the dirty region.
+	 *
+	 * @param offset the offset of the replaced text
+	 * @param length the length of the replaced text
+	 * @param textLength the length of the new text
+	 * @since 3.22
+	 */
+	private void addDirtyRegion(int offset, int length, int textLength) {
+		synchronized (fDirtyRegionLock) {
+			fModificationCount++;
+			int changeEnd= offset + textLength;
+			if (fDirtyRegionStart == -1) {
+				fDirtyRegionStart= offset;
+				fDirtyRegionEnd= changeEnd;
+				return;
+			}
+			int end= fDirtyRegionEnd;
+			if (end > offset + length)
+				end+= textLength - length;
+			else if (end > offset)
+				end= changeEnd;
+			fDirtyRegionStart= Math.min(fDirtyRegionStart, offset);
+			fDirtyRegionEnd= Math.max(end, changeEnd);
+		}
+	}
+
+	/**
+	 * Forces the next reconcile to reconcile all positions.
+	 *
+	 * @since 3.22
+	 */
+	private void invalidateDirtyRegion() {
+		synchronized (fDirtyRegionLock) {
+			fModificationCount++;
+			fIsFullReconcileNeeded= true;
+		}
+	}
+
+	/**
+	 * Clears the dirty region after the positions of a reconcile have been applied, unless the
+	 * document has changed since the reconcile started.
+	 * <p>
+	 * NOTE: Called from the UI thread.
+	 * </p>
+	 *
+	 * @param modificationCount the number of document changes when the reconcile started
+	 * @param declarationSignature the declaration signature of the reconciled AST
+	 * @since 3.22
+	 */
+	private void clearDirtyRegion(int modificationCount, String declarationSignature) {
+		synchronized (fDirtyRegionLock) {
+			if (modificationCount != fModificationCount)
+				return;
+			fDirtyRegionStart= -1;
+			fIsFullReconcileNeeded= false;
+			fDeclarationSignature= declarationSignature;
+		}
+	}
+
 	/**
 	 * Install this reconciler on the given editor, presenter and highlightings.
 	 * @param editor the editor
@@ -514,6 +885,14 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		fSourceViewer= sourceViewer;
 
 		if (fEditor instanceof CompilationUnitEditor) {
+			fDirtyRegionTracker= new DirtyRegionTracker();
+			fSourceViewer.addTextInputListener(fDirtyRegionTracker);
+			IDocument document= fSourceViewer.getDocument();
+			if (document != null)
+				document.addDocumentListener(fDirtyRegionTracker);
+			fInputElement= fEditor.getInputJavaElement();
+			fElementChangedListener= new ElementChangedListener();
+			JavaCore.addElementChangedListener(fElementChangedListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
 			((CompilationUnitEditor)fEditor).addReconcileListener(this);
 		} else if (fEditor == null) {
 			fSourceViewer.addTextInputListener(this);
@@ -536,6 +915,20 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			fEditor= null;
 		}
 
+		if (fDirtyRegionTracker != null) {
+			fSourceViewer.removeTextInputListener(fDirtyRegionTracker);
+			IDocument document= fSourceViewer.getDocument();
+			if (document != null)
+				document.removeDocumentListener(fDirtyRegionTracker);
+			fDirtyRegionTracker= null;
+		}
+
+		if (fElementChangedListener != null) {
+			JavaCore.removeElementChangedListener(fElementChangedListener);
+			fElementChangedListener= null;
+			fInputElement= null;
+		}
+
 		fSourceViewer= null;
 		fSemanticHighlightings= null;
 		fHighlightings= null;
@@ -614,6 +1007,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @since 3.2
 	 */
 	public void refresh() {
+		invalidateDirtyRegion();
 		scheduleJob();
 	}
 }
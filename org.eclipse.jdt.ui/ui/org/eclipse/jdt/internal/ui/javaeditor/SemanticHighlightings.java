@@ -266,6 +266,11 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.VARIABLE && ((IVariableBinding)binding).isField() && (binding.getModifiers() & (Modifier.FINAL | Modifier.STATIC)) == (Modifier.FINAL | Modifier.STATIC);
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -329,6 +334,11 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.VARIABLE && ((IVariableBinding)binding).isField() && (binding.getModifiers() & Modifier.STATIC) == Modifier.STATIC;
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -392,6 +402,11 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.VARIABLE && ((IVariableBinding)binding).isField();
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -630,6 +645,11 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.METHOD && (binding.getModifiers() & Modifier.STATIC) == Modifier.STATIC;
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.METHOD;
+		}
 	}
 
 	/**
@@ -701,6 +721,11 @@ public class SemanticHighlightings {
 
 			return false;
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.METHOD;
+		}
 	}
 
 	/**
@@ -779,6 +804,11 @@ public class SemanticHighlightings {
 
 			return true;
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.METHOD;
+		}
 	}
 
 	/**
@@ -854,6 +884,11 @@ public class SemanticHighlightings {
 
 			return Bindings.isSuperType(declaringType, currentType);
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.METHOD;
+		}
 	}
 
 	/**
@@ -1055,6 +1090,11 @@ public class SemanticHighlightings {
 			}
 			return false;
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -1122,6 +1162,11 @@ public class SemanticHighlightings {
 			}
 			return false;
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -1288,6 +1333,11 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isTypeVariable();
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1367,6 +1417,11 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isClass();
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1447,6 +1502,11 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isEnum();
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1526,6 +1586,11 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isInterface();
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1606,6 +1671,11 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isAnnotation();
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1746,6 +1816,11 @@ public class SemanticHighlightings {
 			return false;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return 0;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesLiteral(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1839,6 +1914,11 @@ public class SemanticHighlightings {
 
 			return false;
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1917,6 +1997,11 @@ public class SemanticHighlightings {
 
 			return Bindings.isSuperType(declaringType, currentType);
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 1 << IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -1958,6 +2043,11 @@ public class SemanticHighlightings {
 		public boolean consumes(SemanticToken token) {
 			return false;
 		}
+
+		@Override
+		public int getConsumedBindingKinds() {
+			return 0;
+		}
 	}
 
 	/**
@@ -54,6 +54,15 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 
 	public static final String CATEGORY_ID= "org.eclipse.jdt.ui.javaChainProposalCategory"; //$NON-NLS-1$
 
+	/** The time in milliseconds to wait for a canceled search to stop */
+	private static final long CANCEL_GRACE_PERIOD= 100;
+
+	private static final ExecutorService fgExecutor= Executors.newCachedThreadPool(runnable -> {
+		Thread thread= new Thread(runnable, "Chain Completion Search"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	});
+
 	private JavaContentAssistInvocationContext ctx;
 
 	private CompletionProposalCollector collector;
@@ -162,18 +171,22 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 
 		final List<ChainType> expectedTypes= ChainElementAnalyzer.resolveBindingsForExpectedTypes(ctx.getProject(), ctx.getCoreContext());
 		final ChainFinder finder= new ChainFinder(expectedTypes, Arrays.asList(excludedTypes), invocationType);
-		final ExecutorService executor= Executors.newSingleThreadExecutor();
+		Future<?> future= fgExecutor.submit(() -> {
+			if (findEntrypoints()) {
+				finder.startChainSearch(entrypoints, maxChains, minDepth, maxDepth);
+			}
+		});
 		try {
-			Future<?> future= executor.submit(() -> {
-				if (findEntrypoints()) {
-					finder.startChainSearch(entrypoints, maxChains, minDepth, maxDepth);
-				}
-			});
 			long timeout= Long.parseLong(JavaManipulation.getPreference(PreferenceConstants.PREF_CHAIN_TIMEOUT, ctx.getProject()));
 			future.get(timeout, TimeUnit.SECONDS);
 		} catch (final Exception e) {
 			finder.cancel();
-			executor.shutdownNow();
+			try {
+				// the search stops soon after being canceled, let it publish the chains of the current depth
+				future.get(CANCEL_GRACE_PERIOD, TimeUnit.MILLISECONDS);
+			} catch (final Exception e1) {
+				future.cancel(true);
+			}
 			setError("Timeout during call chain computation."); //$NON-NLS-1$
 		}
 		return buildCompletionProposals(finder.getChains());
@@ -276,6 +276,22 @@ public final class CompletionProposalCategory {
 		return false;
 	}
 
+	/**
+	 * Tells whether any computer of this category requires the UI thread in the given partition.
+	 *
+	 * @param partition the partition type
+	 * @return <code>true</code> if a computer of this category requires the UI thread
+	 * @since 3.23
+	 */
+	public boolean requiresUIThread(String partition) {
+		List<CompletionProposalComputerDescriptor> descriptors= fRegistry.getProposalComputerDescriptors(partition);
+		for (CompletionProposalComputerDescriptor desc : descriptors) {
+			if (desc.getCategory() == this && desc.requiresUIThread())
+				return true;
+		}
+		return false;
+	}
+
 	/**
 	 * @return sortOrder
 	 */
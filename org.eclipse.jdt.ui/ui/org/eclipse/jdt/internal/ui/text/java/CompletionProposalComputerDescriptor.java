@@ -134,6 +134,11 @@ final class CompletionProposalComputerDescriptor {
 	private boolean fIsReportingDelay= false;
 	/** The start of the last operation. */
 	private long fStart;
+	/**
+	 * The latencies of {@link #computeCompletionProposals(ContentAssistInvocationContext, IProgressMonitor)}.
+	 * @since 3.23
+	 */
+	private final LatencyHistogram fLatencies= new LatencyHistogram();
 	/**
 	 * Tells whether we tried to load the computer.
 	 * @since 3.4
@@ -345,7 +350,9 @@ final class CompletionProposalComputerDescriptor {
 
 			try {
 				PerformanceStats stats= startMeter(context, computer);
+				long start= System.nanoTime();
 				List<ICompletionProposal> proposals= computer.computeCompletionProposals(context, monitor);
+				fLatencies.record(System.nanoTime() - start);
 				stopMeter(stats, COMPUTE_COMPLETION_PROPOSALS);
 
 				if (proposals != null) {
@@ -584,6 +591,16 @@ final class CompletionProposalComputerDescriptor {
 		return fLastError;
 	}
 
+	/**
+	 * Returns the latencies of the completion proposal computations of the described extension.
+	 *
+	 * @return the latency histogram
+	 * @since 3.23
+	 */
+	public LatencyHistogram getLatencyHistogram() {
+		return fLatencies;
+	}
+
 	/**
 	 * Returns the contributor of the described extension.
 	 *
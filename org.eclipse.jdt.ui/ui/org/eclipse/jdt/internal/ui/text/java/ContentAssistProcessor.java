@@ -19,10 +19,21 @@ package org.eclipse.jdt.internal.ui.text.java;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionAdapter;
@@ -181,6 +192,7 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 				return;
 			}
 
+			cancelLateComputations();
 			for (CompletionProposalCategory cat : getCategoriesToNotify()) {
 				cat.sessionEnded();
 			}
@@ -219,6 +231,121 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		}
 	}
 
+	/**
+	 * The computation of the proposals of a category on a thread of {@link #fgExecutor}, with its
+	 * own invocation context since contexts are not thread-safe.
+	 *
+	 * @since 3.23
+	 */
+	private static final class ConcurrentComputation implements Callable<List<ICompletionProposal>> {
+		private final CompletionProposalCategory fCategory;
+		private final ContentAssistInvocationContext fContext;
+		private final String fPartition;
+		private final Future<?> fPredecessor;
+		private final IProgressMonitor fMonitor= new NullProgressMonitor();
+		private volatile String fErrorMessage;
+		private Future<List<ICompletionProposal>> fFuture;
+
+		/**
+		 * Creates a computation.
+		 *
+		 * @param category the category
+		 * @param context the invocation context, only used by this computation
+		 * @param partition the partition type
+		 * @param predecessor the canceled computation of the same category that may still be
+		 *            running and is waited for on the executor thread, or <code>null</code>
+		 */
+		ConcurrentComputation(CompletionProposalCategory category, ContentAssistInvocationContext context, String partition, Future<?> predecessor) {
+			fCategory= category;
+			fContext= context;
+			fPartition= partition;
+			fPredecessor= predecessor;
+		}
+
+		void start() {
+			fFuture= fgExecutor.submit(this);
+		}
+
+		@Override
+		public List<ICompletionProposal> call() throws InterruptedException {
+			if (fPredecessor != null) {
+				// the computers of a category must not run concurrently with themselves
+				try {
+					fPredecessor.get();
+				} catch (CancellationException | ExecutionException e) {
+					// the result of the predecessor is dropped anyway
+				}
+			}
+			if (fMonitor.isCanceled())
+				return Collections.emptyList();
+			List<ICompletionProposal> proposals= fCategory.computeCompletionProposals(fContext, fPartition, new SubProgressMonitor(fMonitor, 1));
+			fErrorMessage= fCategory.getErrorMessage();
+			return proposals;
+		}
+
+		/**
+		 * Waits for the proposals.
+		 *
+		 * @param deadline the value of {@link System#nanoTime()} until which to wait
+		 * @param monitor the monitor of the invocation, checked for cancellation
+		 * @return the proposals, or <code>null</code> if they have not been computed until the
+		 *         deadline or the invocation has been canceled
+		 */
+		List<ICompletionProposal> await(long deadline, IProgressMonitor monitor) {
+			while (true) {
+				long remaining= deadline - System.nanoTime();
+				if (remaining <= 0 && !fFuture.isDone() || monitor.isCanceled())
+					return null;
+				try {
+					return fFuture.get(Math.min(remaining, POLL_INTERVAL), TimeUnit.NANOSECONDS);
+				} catch (TimeoutException e) {
+					// check the deadline and the monitor again
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return null;
+				} catch (CancellationException | ExecutionException e) {
+					return Collections.emptyList();
+				}
+			}
+		}
+
+		/**
+		 * Cancels the computation without waiting for it. Its proposals are dropped.
+		 *
+		 * @return the future of the computation if it may still be running, <code>null</code>
+		 *         otherwise
+		 */
+		Future<?> cancel() {
+			fMonitor.setCanceled(true);
+			fFuture.cancel(false);
+			return fFuture.isDone() ? null : fFuture;
+		}
+	}
+
+	/**
+	 * Interval in nanoseconds in which concurrent computations check for cancellation while
+	 * waiting.
+	 *
+	 * @since 3.23
+	 */
+	private static final long POLL_INTERVAL= TimeUnit.MILLISECONDS.toNanos(50);
+
+	/**
+	 * The executor of concurrent category computations.
+	 *
+	 * @since 3.23
+	 */
+	private static final ThreadPoolExecutor fgExecutor;
+	static {
+		int threads= Math.max(2, Runtime.getRuntime().availableProcessors());
+		fgExecutor= new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread= new Thread(runnable, "Content Assist Computation"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		fgExecutor.allowCoreThreadTimeOut(true);
+	}
+
 	/**
 	 * Dialog settings key for the "all categories are disabled" warning dialog. See
 	 * {@link OptionalMessageDialog}.
@@ -259,6 +386,22 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 	 */
 	private boolean fNeedsSortingAfterFiltering;
 
+	/**
+	 * The concurrent computations that did not finish within the budget of their invocation. Their
+	 * proposals are added to the next page of the same invocation.
+	 *
+	 * @since 3.23
+	 */
+	private final Map<CompletionProposalCategory, ConcurrentComputation> fLateComputations= new LinkedHashMap<>();
+
+	/**
+	 * The canceled computations that may still be running, guarded by {@link #fLateComputations}.
+	 * New computations of their categories wait for them on the executor thread.
+	 *
+	 * @since 3.23
+	 */
+	private final Map<CompletionProposalCategory, Future<?>> fCanceledComputations= new HashMap<>();
+
 
 	public ContentAssistProcessor(ContentAssistant assistant, String partition) {
 		Assert.isNotNull(partition);
@@ -275,19 +418,15 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 	 */
 	@Override
 	public final ICompletionProposal[] computeCompletionProposals(ITextViewer viewer, int offset) {
-		long start= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
-
 		clearState();
 
 		IProgressMonitor monitor= createProgressMonitor();
 		monitor.beginTask(JavaTextMessages.ContentAssistProcessor_computing_proposals, fCategories.size() + 1);
 
 		ContentAssistInvocationContext context= createContext(viewer, offset);
-		long setup= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
 
 		monitor.subTask(JavaTextMessages.ContentAssistProcessor_collecting_proposals);
 		List<ICompletionProposal> proposals= collectProposals(viewer, offset, monitor, context);
-		long collect= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
 
 		monitor.subTask(JavaTextMessages.ContentAssistProcessor_sorting_proposals);
 		if (fNeedsSortingAfterFiltering) {
@@ -296,16 +435,17 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 			proposals= sortProposals(proposals, monitor, context);
 		}
 		fNumberOfComputedResults= proposals.size();
-		long filter= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
 
 		ICompletionProposal[] result= proposals.toArray(new ICompletionProposal[proposals.size()]);
 		monitor.done();
 
 		if (JavaPlugin.DEBUG_RESULT_COLLECTOR) {
 			System.err.println("Code Assist Stats (" + result.length + " proposals)"); //$NON-NLS-1$ //$NON-NLS-2$
-			System.err.println("Code Assist (setup):\t" + (setup - start) ); //$NON-NLS-1$
-			System.err.println("Code Assist (collect):\t" + (collect - setup) ); //$NON-NLS-1$
-			System.err.println("Code Assist (sort):\t" + (filter - collect) ); //$NON-NLS-1$
+			for (CompletionProposalComputerDescriptor desc : fComputerRegistry.getProposalComputerDescriptors(fPartition)) {
+				LatencyHistogram latencies= desc.getLatencyHistogram();
+				if (latencies.getCount() > 0)
+					System.err.println("Code Assist (" + desc.getId() + "):\t" + latencies); //$NON-NLS-1$ //$NON-NLS-2$
+			}
 		}
 
 		return result;
@@ -329,12 +469,37 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		boolean needsSortingAfterFiltering= false;
 		List<ICompletionProposal> proposals= new ArrayList<>();
 		List<CompletionProposalCategory> providers= getCategories();
+		Map<CompletionProposalCategory, ConcurrentComputation> computations= startConcurrentComputations(viewer, offset, providers, context);
+		long deadline= getDeadline();
+		for (CompletionProposalCategory cat : computations.keySet()) {
+			if (!providers.contains(cat)) {
+				// late proposals of a previous page
+				providers= new ArrayList<>(providers);
+				providers.add(cat);
+			}
+		}
 		for (CompletionProposalCategory cat : providers) {
-			List<ICompletionProposal> computed= cat.computeCompletionProposals(context, fPartition, new SubProgressMonitor(monitor, 1));
+			List<ICompletionProposal> computed;
+			String errorMessage;
+			ConcurrentComputation computation= computations.get(cat);
+			if (computation != null) {
+				computed= computation.await(deadline, monitor);
+				monitor.worked(1);
+				if (computed == null) {
+					synchronized (fLateComputations) {
+						fLateComputations.put(cat, computation);
+					}
+					continue;
+				}
+				errorMessage= computation.fErrorMessage;
+			} else {
+				computed= cat.computeCompletionProposals(context, fPartition, new SubProgressMonitor(monitor, 1));
+				errorMessage= cat.getErrorMessage();
+			}
 			proposals.addAll(computed);
 			needsSortingAfterFiltering= needsSortingAfterFiltering || (cat.isSortingAfterFilteringNeeded() && !computed.isEmpty());
 			if (fErrorMessage == null) {
-				fErrorMessage= cat.getErrorMessage();
+				fErrorMessage= errorMessage;
 			}
 		}
 		if (fNeedsSortingAfterFiltering && !needsSortingAfterFiltering) {
@@ -344,6 +509,89 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		return proposals;
 	}
 
+	/**
+	 * Starts the concurrent computations of a page. The late computations of previous pages are
+	 * reused if they have been started for the same invocation context, and canceled otherwise.
+	 *
+	 * @param viewer the text viewer
+	 * @param offset the offset
+	 * @param providers the categories of the page
+	 * @param context the code assist invocation context
+	 * @return the concurrent computations by category, including the finished late computations
+	 *         of categories that are not on the page
+	 * @since 3.23
+	 */
+	private Map<CompletionProposalCategory, ConcurrentComputation> startConcurrentComputations(ITextViewer viewer, int offset, List<CompletionProposalCategory> providers, ContentAssistInvocationContext context) {
+		Map<CompletionProposalCategory, ConcurrentComputation> computations= new HashMap<>();
+		Map<CompletionProposalCategory, Future<?>> predecessors= new HashMap<>();
+		synchronized (fLateComputations) {
+			for (Iterator<ConcurrentComputation> it= fLateComputations.values().iterator(); it.hasNext();) {
+				ConcurrentComputation late= it.next();
+				if (!late.fContext.equals(context)) {
+					cancel(late);
+					it.remove();
+				} else if (providers.contains(late.fCategory) || late.fFuture.isDone()) {
+					computations.put(late.fCategory, late);
+					it.remove();
+				}
+			}
+			fCanceledComputations.values().removeIf(Future::isDone);
+			predecessors.putAll(fCanceledComputations);
+		}
+
+		boolean parallel= providers.size() > 1 && PreferenceConstants.getPreferenceStore().getBoolean(PreferenceConstants.CODEASSIST_PARALLEL_COMPUTATION);
+		for (CompletionProposalCategory cat : providers) {
+			Future<?> predecessor= predecessors.get(cat);
+			// a category that may still be running is computed after it, off the UI thread
+			if (!computations.containsKey(cat) && (parallel && !cat.requiresUIThread(fPartition) || predecessor != null)) {
+				ConcurrentComputation computation= new ConcurrentComputation(cat, createContext(viewer, offset), fPartition, predecessor);
+				computation.start();
+				computations.put(cat, computation);
+			}
+		}
+		return computations;
+	}
+
+	/**
+	 * Returns the time until which concurrent computations are waited for.
+	 *
+	 * @return the deadline as a value of {@link System#nanoTime()}
+	 * @since 3.23
+	 */
+	private long getDeadline() {
+		int budget= PreferenceConstants.getPreferenceStore().getInt(PreferenceConstants.CODEASSIST_COMPUTATION_BUDGET);
+		if (budget <= 0)
+			return Long.MAX_VALUE;
+		return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budget);
+	}
+
+	/**
+	 * Cancels the late computations, whose proposals would not be shown anymore.
+	 *
+	 * @since 3.23
+	 */
+	private void cancelLateComputations() {
+		synchronized (fLateComputations) {
+			for (ConcurrentComputation late : fLateComputations.values()) {
+				cancel(late);
+			}
+			fLateComputations.clear();
+		}
+	}
+
+	/**
+	 * Cancels a late computation and remembers it while it may still be running. Must be called
+	 * while holding the lock of {@link #fLateComputations}.
+	 *
+	 * @param late the late computation
+	 * @since 3.23
+	 */
+	private void cancel(ConcurrentComputation late) {
+		Future<?> running= late.cancel();
+		if (running != null)
+			fCanceledComputations.put(late.fCategory, running);
+	}
+
 	/**
 	 * Filters and sorts the proposals. The passed list may be modified
 	 * and returned, or a new list may be created and returned.
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.java;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of latencies with logarithmic buckets. Bucket <code>0</code> counts the
+ * latencies below 1 ms, bucket <code>i</code> the ones below 2<sup>i</sup> ms and the last
+ * bucket all longer ones.
+ *
+ * @since 3.23
+ */
+public final class LatencyHistogram {
+
+	/** The number of buckets, the last one counts latencies of 16 s and more */
+	public static final int BUCKETS= 16;
+
+	private final AtomicLongArray fCounts= new AtomicLongArray(BUCKETS);
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanos the latency in nanoseconds
+	 */
+	public void record(long nanos) {
+		long millis= nanos / 1000000;
+		int bucket= millis <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(millis));
+		fCounts.incrementAndGet(bucket);
+	}
+
+	/**
+	 * Returns the number of recorded latencies.
+	 *
+	 * @return the number of recorded latencies
+	 */
+	public long getCount() {
+		long count= 0;
+		for (int bucket= 0; bucket < BUCKETS; bucket++)
+			count+= fCounts.get(bucket);
+		return count;
+	}
+
+	/**
+	 * Returns the number of recorded latencies in a bucket.
+	 *
+	 * @param bucket the bucket
+	 * @return the number of latencies in the bucket
+	 */
+	public long getCount(int bucket) {
+		return fCounts.get(bucket);
+	}
+
+	/**
+	 * Returns the exclusive upper bound of the latencies counted in a bucket.
+	 *
+	 * @param bucket the bucket
+	 * @return the upper bound in milliseconds, or {@link Long#MAX_VALUE} for the last bucket
+	 */
+	public static long getUpperBound(int bucket) {
+		return bucket == BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+	}
+
+	/**
+	 * Returns the upper bound of the bucket containing the given percentile.
+	 *
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the upper bound in milliseconds, or <code>0</code> if nothing has been recorded
+	 */
+	public long getPercentile(double percentile) {
+		long count= getCount();
+		if (count == 0)
+			return 0;
+		long rank= (long) Math.ceil(count * percentile / 100);
+		long seen= 0;
+		for (int bucket= 0; bucket < BUCKETS; bucket++) {
+			seen+= fCounts.get(bucket);
+			if (seen >= rank && seen > 0)
+				return getUpperBound(bucket);
+		}
+		return getUpperBound(BUCKETS - 1);
+	}
+
+	/**
+	 * Forgets all recorded latencies.
+	 */
+	public void reset() {
+		for (int bucket= 0; bucket < BUCKETS; bucket++)
+			fCounts.set(bucket, 0);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buffer= new StringBuilder();
+		buffer.append("n=").append(getCount()); //$NON-NLS-1$
+		buffer.append(" p50<").append(format(getPercentile(50))); //$NON-NLS-1$
+		buffer.append(" p90<").append(format(getPercentile(90))); //$NON-NLS-1$
+		buffer.append(" p99<").append(format(getPercentile(99))); //$NON-NLS-1$
+		buffer.append(" ["); //$NON-NLS-1$
+		boolean first= true;
+		for (int bucket= 0; bucket < BUCKETS; bucket++) {
+			long count= fCounts.get(bucket);
+			if (count == 0)
+				continue;
+			if (!first)
+				buffer.append(' ');
+			first= false;
+			buffer.append('<').append(format(getUpperBound(bucket))).append(':').append(count);
+		}
+		buffer.append(']');
+		return buffer.toString();
+	}
+
+	private static String format(long millis) {
+		return millis == Long.MAX_VALUE ? "inf" : millis + "ms"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -13,9 +13,19 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.spelling;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
 import org.eclipse.core.runtime.AssertionFailedException;
 import org.eclipse.core.runtime.IProgressMonitor;
 
+import org.eclipse.jface.preference.IPreferenceStore;
+
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
@@ -28,6 +38,9 @@ import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.text.IJavaPartitions;
 
 import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellChecker;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellEvent;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellEventListener;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.RankedWordProposal;
 
 
 /**
@@ -37,6 +50,156 @@ import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellChecker;
  */
 public class JavaSpellingEngine extends SpellingEngine {
 
+	/**
+	 * Spell event of a cached partition, moved to the current offset of the partition.
+	 *
+	 * @since 3.22
+	 */
+	private static final class MovedSpellEvent implements ISpellEvent {
+
+		/** The recorded event */
+		private final ISpellEvent fEvent;
+
+		/** The distance the partition has moved */
+		private final int fDelta;
+
+		MovedSpellEvent(ISpellEvent event, int delta) {
+			fEvent= event;
+			fDelta= delta;
+		}
+
+		@Override
+		public int getBegin() {
+			return fEvent.getBegin() + fDelta;
+		}
+
+		@Override
+		public int getEnd() {
+			return fEvent.getEnd() + fDelta;
+		}
+
+		@Override
+		public Set<RankedWordProposal> getProposals() {
+			return fEvent.getProposals();
+		}
+
+		@Override
+		public String getWord() {
+			return fEvent.getWord();
+		}
+
+		@Override
+		public boolean isMatch() {
+			return fEvent.isMatch();
+		}
+
+		@Override
+		public boolean isStart() {
+			return fEvent.isStart();
+		}
+	}
+
+	/**
+	 * Listener that records the spell events of a partition before forwarding them.
+	 *
+	 * @since 3.22
+	 */
+	private static final class RecordingListener implements ISpellEventListener {
+
+		/** The forwarded listener */
+		private final ISpellEventListener fListener;
+
+		/** The recorded events */
+		final List<ISpellEvent> fEvents= new ArrayList<>();
+
+		RecordingListener(ISpellEventListener listener) {
+			fListener= listener;
+		}
+
+		@Override
+		public void handle(ISpellEvent event) {
+			fEvents.add(event);
+			fListener.handle(event);
+		}
+	}
+
+	/**
+	 * The spell events of a completely checked partition.
+	 *
+	 * @since 3.22
+	 */
+	private static final class CheckedPartition {
+
+		/** The partition type */
+		final String fType;
+
+		/** The offset of the partition when it was checked */
+		final int fOffset;
+
+		/** The length of the partition */
+		final int fLength;
+
+		/** The spell events, relative to the document at the time the partition was checked */
+		final ISpellEvent[] fEvents;
+
+		CheckedPartition(String type, int offset, int length, List<ISpellEvent> events) {
+			fType= type;
+			fOffset= offset;
+			fLength= length;
+			fEvents= events.toArray(new ISpellEvent[events.size()]);
+		}
+	}
+
+	/**
+	 * The checked partitions of a document, by content hash.
+	 *
+	 * @since 3.22
+	 */
+	private static final class DocumentCache {
+
+		/** The spell checker the partitions have been checked with */
+		final ISpellChecker fChecker;
+
+		/** The spelling preferences the partitions have been checked with */
+		final String fSettings;
+
+		/** The checked partitions */
+		final Map<Long, CheckedPartition> fPartitions;
+
+		DocumentCache(ISpellChecker checker, String settings, Map<Long, CheckedPartition> partitions) {
+			fChecker= checker;
+			fSettings= settings;
+			fPartitions= partitions;
+		}
+	}
+
+	/**
+	 * The preferences which change the spell events of a partition.
+	 *
+	 * @since 3.22
+	 */
+	private static final String[] CACHE_SETTINGS= {
+			PreferenceConstants.SPELLING_IGNORE_DIGITS,
+			PreferenceConstants.SPELLING_IGNORE_MIXED,
+			PreferenceConstants.SPELLING_IGNORE_SENTENCE,
+			PreferenceConstants.SPELLING_IGNORE_UPPER,
+			PreferenceConstants.SPELLING_IGNORE_URLS,
+			PreferenceConstants.SPELLING_IGNORE_NON_LETTERS,
+			PreferenceConstants.SPELLING_IGNORE_SINGLE_LETTERS,
+			PreferenceConstants.SPELLING_IGNORE_JAVA_STRINGS,
+			PreferenceConstants.SPELLING_LOCALE,
+			PreferenceConstants.SPELLING_USER_DICTIONARY,
+			PreferenceConstants.SPELLING_USER_DICTIONARY_ENCODING,
+	};
+
+	/**
+	 * The checked partitions of the recently checked documents. The spelling service creates a
+	 * new engine for every check, hence the cache is shared.
+	 *
+	 * @since 3.22
+	 */
+	private static final Map<IDocument, DocumentCache> fgCaches= Collections.synchronizedMap(new WeakHashMap<IDocument, DocumentCache>());
+
 
 	/*
 	 * @see org.eclipse.jdt.internal.ui.text.spelling.SpellingEngine#check(org.eclipse.jface.text.IDocument, org.eclipse.jface.text.IRegion[], org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellChecker, org.eclipse.ui.texteditor.spelling.ISpellingProblemCollector, org.eclipse.core.runtime.IProgressMonitor)
@@ -44,7 +207,16 @@ public class JavaSpellingEngine extends SpellingEngine {
 	@Override
 	protected void check(IDocument document, IRegion[] regions, ISpellChecker checker, ISpellingProblemCollector collector, IProgressMonitor monitor) {
 		SpellEventListener listener= new SpellEventListener(collector, document);
-		boolean isIgnoringJavaStrings= PreferenceConstants.getPreferenceStore().getBoolean(PreferenceConstants.SPELLING_IGNORE_JAVA_STRINGS);
+		IPreferenceStore store= PreferenceConstants.getPreferenceStore();
+		boolean isIgnoringJavaStrings= store.getBoolean(PreferenceConstants.SPELLING_IGNORE_JAVA_STRINGS);
+		int problemsThreshold= store.getInt(PreferenceConstants.SPELLING_PROBLEMS_THRESHOLD);
+
+		// partitions with unchanged content replay their spell events instead of being checked again
+		String settings= getSettings(store);
+		DocumentCache cache= fgCaches.get(document);
+		Map<Long, CheckedPartition> previous= cache != null && cache.fChecker == checker && cache.fSettings.equals(settings) ? cache.fPartitions : Collections.<Long, CheckedPartition> emptyMap();
+		Map<Long, CheckedPartition> checked= new HashMap<>();
+		boolean complete= false;
 		try {
 			for (IRegion region : regions) {
 				for (ITypedRegion partition : TextUtilities.computePartitioning(document, IJavaPartitions.JAVA_PARTITIONING, region.getOffset(), region.getLength(), false)) {
@@ -55,12 +227,96 @@ public class JavaSpellingEngine extends SpellingEngine {
 					final String type= partition.getType();
 					if (isIgnoringJavaStrings && type.equals(IJavaPartitions.JAVA_STRING))
 						continue;
-					if (!type.equals(IDocument.DEFAULT_CONTENT_TYPE) && !type.equals(IJavaPartitions.JAVA_CHARACTER))
-						checker.execute(listener, new SpellCheckIterator(document, partition, checker.getLocale()));
+					if (!type.equals(IDocument.DEFAULT_CONTENT_TYPE) && !type.equals(IJavaPartitions.JAVA_CHARACTER)) {
+						Long key= getKey(type, document.get(partition.getOffset(), partition.getLength()));
+						CheckedPartition checkedPartition= checked.get(key);
+						if (checkedPartition == null)
+							checkedPartition= previous.get(key);
+						if (checkedPartition != null && checkedPartition.fType.equals(type) && checkedPartition.fLength == partition.getLength()) {
+							checked.put(key, checkedPartition);
+							replay(checkedPartition, partition.getOffset(), checker, listener);
+						} else {
+							RecordingListener recorder= new RecordingListener(listener);
+							checker.execute(recorder, new SpellCheckIterator(document, partition, checker.getLocale()));
+							// the checker stops after too many problems, such partitions are incomplete
+							if (recorder.fEvents.size() <= problemsThreshold)
+								checked.put(key, new CheckedPartition(type, partition.getOffset(), partition.getLength(), recorder.fEvents));
+						}
+					}
 				}
 			}
+			complete= true;
 		} catch (BadLocationException | AssertionFailedException x) {
 			// ignore: the document has been changed in another thread and will be checked again
+		} finally {
+			if (!complete || !isDocumentRegion(document, regions)) {
+				// keep the partitions which have not been visited
+				Map<Long, CheckedPartition> merged= new HashMap<>(previous);
+				merged.putAll(checked);
+				checked= merged;
+			}
+			fgCaches.put(document, new DocumentCache(checker, settings, checked));
+		}
+	}
+
+	/**
+	 * Forwards the spell events of an unchanged partition to the listener.
+	 *
+	 * @param partition the checked partition
+	 * @param offset the current offset of the partition
+	 * @param checker the spell checker
+	 * @param listener the listener
+	 * @since 3.22
+	 */
+	private static void replay(CheckedPartition partition, int offset, ISpellChecker checker, ISpellEventListener listener) {
+		int delta= offset - partition.fOffset;
+		for (ISpellEvent event : partition.fEvents) {
+			// the word may have been added to a dictionary or ignored in the meantime
+			if (!event.isMatch() && checker.isCorrect(event.getWord()))
+				continue;
+			listener.handle(delta == 0 ? event : new MovedSpellEvent(event, delta));
 		}
 	}
+
+	/**
+	 * Tells whether the regions consist of the whole document.
+	 *
+	 * @param document the document
+	 * @param regions the checked regions
+	 * @return <code>true</code> iff the only region spans the document
+	 * @since 3.22
+	 */
+	private static boolean isDocumentRegion(IDocument document, IRegion[] regions) {
+		return regions.length == 1 && regions[0].getOffset() == 0 && regions[0].getLength() == document.getLength();
+	}
+
+	/**
+	 * Returns the values of the preferences which change the spell events.
+	 *
+	 * @param store the preference store
+	 * @return the values of the preferences
+	 * @since 3.22
+	 */
+	private static String getSettings(IPreferenceStore store) {
+		StringBuilder buffer= new StringBuilder();
+		for (String setting : CACHE_SETTINGS)
+			buffer.append(store.getString(setting)).append('\n');
+		return buffer.toString();
+	}
+
+	/**
+	 * Returns the 64-bit FNV-1a hash of the type and the content of a partition.
+	 *
+	 * @param type the partition type
+	 * @param content the partition content
+	 * @return the hash
+	 * @since 3.22
+	 */
+	private static Long getKey(String type, String content) {
+		long hash= 0xcbf29ce484222325L;
+		hash= (hash ^ type.hashCode()) * 0x100000001b3L;
+		for (int index= 0; index < content.length(); index++)
+			hash= (hash ^ content.charAt(index)) * 0x100000001b3L;
+		return Long.valueOf(hash);
+	}
 }
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.internal.ui.text.spelling.engine;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -21,6 +22,7 @@ import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
@@ -30,6 +32,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -112,7 +115,14 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	private IPhoneticDistanceAlgorithm fDistanceAlgorithm= new DefaultPhoneticDistanceAlgorithm();
 
 	/** The mapping from phonetic hashes to word lists */
-	private final Map<ByteArrayWrapper, Object> fHashBuckets= new HashMap<>(getInitialSize(), LOAD_FACTOR);
+	private Map<ByteArrayWrapper, Object> fHashBuckets= new HashMap<>(getInitialSize(), LOAD_FACTOR);
+
+	/**
+	 * The memory-mapped word list, or <code>null</code> if the word list is in
+	 * {@link #fHashBuckets}
+	 * @since 3.22
+	 */
+	private volatile CompiledWordList fCompiledWords;
 
 	/** The phonetic hash provider */
 	private IPhoneticHashProvider fHashProvider= new DefaultPhoneticHashProvider();
@@ -149,14 +159,42 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 * @return Array of candidates for the phonetic hash
 	 */
 	protected final Object getCandidates(final String hash) {
-		ByteArrayWrapper hashBytes;
+		byte[] hashBytes;
 		try {
-			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
+			hashBytes= hash.getBytes(UTF_8);
 		} catch (UnsupportedEncodingException e) {
 			JavaPlugin.log(e);
 			return null;
 		}
-		return fHashBuckets.get(hashBytes);
+		Object candidates= fHashBuckets.get(new ByteArrayWrapper(hashBytes));
+		final CompiledWordList compiledWords= fCompiledWords;
+		if (compiledWords == null)
+			return candidates;
+
+		Object compiledCandidates= compiledWords.getCandidates(hashBytes);
+		if (candidates == null)
+			return compiledCandidates;
+		if (compiledCandidates == null)
+			return candidates;
+
+		ArrayList<Object> list= new ArrayList<>(BUCKET_CAPACITY);
+		addCandidates(list, compiledCandidates);
+		addCandidates(list, candidates);
+		return list;
+	}
+
+	/**
+	 * Adds the words of a bucket to a list.
+	 *
+	 * @param list the list to add the words to
+	 * @param candidates the bucket, either a word or a list of words
+	 * @since 3.22
+	 */
+	private static void addCandidates(final ArrayList<Object> list, final Object candidates) {
+		if (candidates instanceof ArrayList)
+			list.addAll((ArrayList<?>)candidates);
+		else
+			list.add(candidates);
 	}
 
 	/**
@@ -314,7 +352,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 * @since 3.3
 	 */
 	protected boolean isEmpty() {
-		return fHashBuckets.isEmpty();
+		return fHashBuckets.isEmpty() && fCompiledWords == null;
 	}
 
 	/**
@@ -506,7 +544,21 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			// Do nothing
 		}
 
-		final Object candidates= getCandidates(fHashProvider.getHash(word));
+		final String hash= fHashProvider.getHash(word);
+		final CompiledWordList compiledWords= fCompiledWords;
+		if (compiledWords != null) {
+			try {
+				if (compiledWords.contains(hash.getBytes(UTF_8), word.getBytes(UTF_8), word.toLowerCase().getBytes(UTF_8)))
+					return true;
+			} catch (UnsupportedEncodingException e) {
+				JavaPlugin.log(e);
+				return false;
+			}
+			if (fHashBuckets.isEmpty())
+				return false;
+		}
+
+		final Object candidates= getCandidates(hash);
 		if (candidates == null)
 			return false;
 		else if (candidates instanceof byte[]) {
@@ -574,7 +626,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 	@Override
 	public synchronized final boolean isLoaded() {
-		return fLoaded || fHashBuckets.size() > 0;
+		return fLoaded || fHashBuckets.size() > 0 || fCompiledWords != null;
 	}
 
 	/**
@@ -590,6 +642,11 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			 return fLoaded;
 
 		if (url != null) {
+			final File compiledLocation= getCompiledLocation();
+			final String compiledKey= compiledLocation != null ? getCompiledKey(url) : null;
+			if (compiledKey != null && loadCompiled(compiledLocation, compiledKey))
+				return true;
+
 			InputStream stream= null;
 			int line= 0;
 			try {
@@ -627,6 +684,8 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 								hashWord(word);
 						}
 					}
+					if (compiledKey != null)
+						compile(compiledLocation, compiledKey);
 					return true;
 				}
 			} catch (FileNotFoundException ex) {
@@ -659,6 +718,93 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		return false;
 	}
 
+	/**
+	 * Returns the location of the memory-mapped copy of the word list.
+	 * <p>
+	 * Dictionaries with large read-only word lists should return a location in the state
+	 * location of the plug-in. The word list is then compiled into this file when it is loaded
+	 * for the first time and memory-mapped afterwards, instead of being kept on the heap.
+	 * </p>
+	 *
+	 * @return the location of the compiled word list, or <code>null</code> if the word list
+	 *         must not be compiled
+	 * @since 3.22
+	 */
+	protected File getCompiledLocation() {
+		return null;
+	}
+
+	/**
+	 * Returns the key which identifies the word list at the given URL in its compiled form.
+	 *
+	 * @param url the URL of the word list
+	 * @return the key, or <code>null</code> if the modification of the word list cannot be
+	 *         detected
+	 * @since 3.22
+	 */
+	private String getCompiledKey(final URL url) {
+		long modified;
+		long length;
+		try {
+			URLConnection connection= url.openConnection();
+			modified= connection.getLastModified();
+			length= connection.getContentLengthLong();
+		} catch (IOException e) {
+			return null;
+		}
+		if (modified == 0 || length < 0)
+			return null;
+		return url.toExternalForm() + '\n' + getEncoding() + '\n' + fHashProvider.getClass().getName() + '\n' + modified + '\n' + length;
+	}
+
+	/**
+	 * Maps the compiled word list.
+	 *
+	 * @param location the location of the compiled word list
+	 * @param key the key of the word list
+	 * @return <code>true</code> iff the compiled word list is valid for the key
+	 * @since 3.22
+	 */
+	private boolean loadCompiled(final File location, final String key) {
+		try {
+			CompiledWordList compiledWords= CompiledWordList.read(location, key);
+			if (compiledWords != null) {
+				fCompiledWords= compiledWords;
+				fMustLoad= false;
+				return true;
+			}
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+		}
+		return false;
+	}
+
+	/**
+	 * Compiles the loaded word list and replaces the hash buckets with the mapped file.
+	 *
+	 * @param location the location of the compiled word list
+	 * @param key the key of the word list
+	 * @since 3.22
+	 */
+	private void compile(final File location, final String key) {
+		final List<byte[]> hashes= new ArrayList<>(fHashBuckets.size());
+		final List<Object> buckets= new ArrayList<>(fHashBuckets.size());
+		for (Map.Entry<ByteArrayWrapper, Object> entry : fHashBuckets.entrySet()) {
+			hashes.add(entry.getKey().byteArray);
+			buckets.add(entry.getValue());
+		}
+		try {
+			CompiledWordList.write(location, key, hashes, buckets);
+			CompiledWordList compiledWords= CompiledWordList.read(location, key);
+			if (compiledWords != null) {
+				fCompiledWords= compiledWords;
+				fHashBuckets= new HashMap<>();
+			}
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+		}
+	}
+
 	/**
 	 * Compacts the dictionary.
 	 *
@@ -698,6 +844,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		fLoaded= false;
 		fMustLoad= true;
 		fHashBuckets.clear();
+		fCompiledWords= null;
 	}
 
 	@Override
@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Read-only word list of a spell dictionary in a memory-mapped file.
+ * <p>
+ * The file contains an open addressing hash table from phonetic hashes to buckets of words.
+ * Hashes and words are stored in UTF-8 and compared as bytes, so looking up a word neither
+ * creates strings nor keeps the word list on the heap. The file is only valid for the key it
+ * was written with, which describes the word list it was compiled from, and only if its length
+ * is the one recorded in the header, so truncated files are rejected.
+ * </p>
+ * <pre>
+ * header:  int magic, int version, short key length, key bytes, int slot count, int file length
+ * slots:   int offset of the bucket of the slot, or 0 if the slot is empty
+ * buckets: short hash length, hash bytes, int word count, (short word length, word bytes)*
+ * </pre>
+ *
+ * @since 3.22
+ */
+final class CompiledWordList {
+
+	/** The magic number of compiled word lists */
+	private static final int MAGIC= 0x4A445754; // JDWT
+
+	/** The version of the file format */
+	private static final int VERSION= 2;
+
+	/** The mapped file */
+	private final ByteBuffer fBuffer;
+
+	/** The offset of the slot table */
+	private final int fSlots;
+
+	/** The slot count minus one */
+	private final int fMask;
+
+	private CompiledWordList(ByteBuffer buffer, int slots, int slotCount) {
+		fBuffer= buffer;
+		fSlots= slots;
+		fMask= slotCount - 1;
+	}
+
+	/**
+	 * Maps a compiled word list.
+	 *
+	 * @param file the compiled word list
+	 * @param key the key of the word list
+	 * @return the word list, or <code>null</code> if the file does not exist, is invalid or has
+	 *         been compiled for another key
+	 * @throws IOException if the file could not be read
+	 */
+	static CompiledWordList read(File file, String key) throws IOException {
+		if (!file.isFile())
+			return null;
+		ByteBuffer buffer;
+		try (FileChannel channel= FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size= channel.size();
+			if (size > Integer.MAX_VALUE)
+				return null;
+			buffer= channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+		byte[] keyBytes= key.getBytes(StandardCharsets.UTF_8);
+		int header= 10 + keyBytes.length + 8;
+		if (buffer.limit() < header || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+			return null;
+		if ((buffer.getShort(8) & 0xffff) != keyBytes.length || !equals(buffer, 10, keyBytes))
+			return null;
+		int slotCount= buffer.getInt(header - 8);
+		if (buffer.getInt(header - 4) != buffer.limit())
+			return null;
+		if (slotCount <= 0 || Integer.bitCount(slotCount) != 1 || buffer.limit() < header + 4L * slotCount)
+			return null;
+		return new CompiledWordList(buffer, header, slotCount);
+	}
+
+	/**
+	 * Writes a compiled word list.
+	 *
+	 * @param file the file to write
+	 * @param key the key of the word list
+	 * @param hashes the UTF-8 encoded phonetic hashes
+	 * @param buckets the buckets of the hashes, either a UTF-8 encoded word or a list of them
+	 * @throws IOException if the file could not be written
+	 */
+	static void write(File file, String key, List<byte[]> hashes, List<Object> buckets) throws IOException {
+		byte[] keyBytes= key.getBytes(StandardCharsets.UTF_8);
+		int header= 10 + keyBytes.length + 8;
+		int slotCount= Integer.highestOneBit(Math.max(2, hashes.size()) * 2 - 1) << 1;
+
+		int[] slots= new int[slotCount];
+		long offset= header + 4L * slotCount;
+		for (int index= 0; index < hashes.size(); index++) {
+			byte[] hash= hashes.get(index);
+			int slot= hash(hash, 0, hash.length) & (slotCount - 1);
+			while (slots[slot] != 0)
+				slot= (slot + 1) & (slotCount - 1);
+			slots[slot]= (int) offset;
+			offset+= 6 + hash.length;
+			for (byte[] word : getWords(buckets.get(index)))
+				offset+= 2 + word.length;
+			if (offset > Integer.MAX_VALUE)
+				throw new IOException("Word list too large: " + file); //$NON-NLS-1$
+		}
+
+		File directory= file.getParentFile();
+		if (directory != null)
+			directory.mkdirs();
+		File temp= new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream stream= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 1 << 16))) {
+			stream.writeInt(MAGIC);
+			stream.writeInt(VERSION);
+			stream.writeShort(keyBytes.length);
+			stream.write(keyBytes);
+			stream.writeInt(slotCount);
+			stream.writeInt((int) offset);
+			for (int slot : slots)
+				stream.writeInt(slot);
+			for (int index= 0; index < hashes.size(); index++) {
+				byte[] hash= hashes.get(index);
+				List<byte[]> words= getWords(buckets.get(index));
+				stream.writeShort(hash.length);
+				stream.write(hash);
+				stream.writeInt(words.size());
+				for (byte[] word : words) {
+					stream.writeShort(word.length);
+					stream.write(word);
+				}
+			}
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Returns all words with the given phonetic hash.
+	 *
+	 * @param hash the UTF-8 encoded phonetic hash
+	 * @return the UTF-8 encoded word if there is exactly one, a list of them if there are more,
+	 *         or <code>null</code> if there is none
+	 */
+	Object getCandidates(byte[] hash) {
+		int bucket= findBucket(hash);
+		if (bucket < 0)
+			return null;
+		int count= fBuffer.getInt(bucket);
+		int offset= bucket + 4;
+		if (count == 1)
+			return getBytes(offset);
+		ArrayList<byte[]> words= new ArrayList<>(count);
+		for (int index= 0; index < count; index++) {
+			byte[] word= getBytes(offset);
+			words.add(word);
+			offset+= 2 + word.length;
+		}
+		return words;
+	}
+
+	/**
+	 * Tells whether one of the given words is in this word list.
+	 *
+	 * @param hash the UTF-8 encoded phonetic hash of the words
+	 * @param word the UTF-8 encoded word
+	 * @param lowercaseWord the UTF-8 encoded lower case word
+	 * @return <code>true</code> iff one of the words is in this word list
+	 */
+	boolean contains(byte[] hash, byte[] word, byte[] lowercaseWord) {
+		int bucket= findBucket(hash);
+		if (bucket < 0)
+			return false;
+		int count= fBuffer.getInt(bucket);
+		int offset= bucket + 4;
+		for (int index= 0; index < count; index++) {
+			int length= fBuffer.getShort(offset) & 0xffff;
+			offset+= 2;
+			if (length == word.length && equals(fBuffer, offset, word) || length == lowercaseWord.length && equals(fBuffer, offset, lowercaseWord))
+				return true;
+			offset+= length;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the offset of the word count of the bucket with the given hash.
+	 *
+	 * @param hash the UTF-8 encoded phonetic hash
+	 * @return the offset of the bucket, or <code>-1</code> if there is no such bucket
+	 */
+	private int findBucket(byte[] hash) {
+		int slot= hash(hash, 0, hash.length) & fMask;
+		while (true) {
+			int offset= fBuffer.getInt(fSlots + 4 * slot);
+			if (offset == 0)
+				return -1;
+			if ((fBuffer.getShort(offset) & 0xffff) == hash.length && equals(fBuffer, offset + 2, hash))
+				return offset + 2 + hash.length;
+			slot= (slot + 1) & fMask;
+		}
+	}
+
+	private byte[] getBytes(int offset) {
+		byte[] bytes= new byte[fBuffer.getShort(offset) & 0xffff];
+		for (int index= 0; index < bytes.length; index++)
+			bytes[index]= fBuffer.get(offset + 2 + index);
+		return bytes;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<byte[]> getWords(Object bucket) {
+		if (bucket instanceof byte[]) {
+			List<byte[]> words= new ArrayList<>(1);
+			words.add((byte[]) bucket);
+			return words;
+		}
+		return (List<byte[]>) bucket;
+	}
+
+	private static boolean equals(ByteBuffer buffer, int offset, byte[] bytes) {
+		for (int index= 0; index < bytes.length; index++) {
+			if (buffer.get(offset + index) != bytes[index])
+				return false;
+		}
+		return true;
+	}
+
+	/*
+	 * FNV-1a, the file format depends on it.
+	 */
+	private static int hash(byte[] bytes, int offset, int length) {
+		int hash= 0x811c9dc5;
+		for (int index= offset; index < offset + length; index++) {
+			hash^= bytes[index] & 0xff;
+			hash*= 0x01000193;
+		}
+		return hash ^ (hash >>> 16);
+	}
+}
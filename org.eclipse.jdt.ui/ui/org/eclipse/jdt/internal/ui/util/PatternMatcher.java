@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.util;
 
+import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.search.SearchPattern;
 
 import org.eclipse.jdt.internal.corext.util.SearchUtils;
@@ -27,6 +28,7 @@ import org.eclipse.jdt.internal.core.manipulation.util.Strings;
 public class PatternMatcher {
 
 	private String fPattern;
+	private final char[] fPatternChars;
 	private int fMatchKind;
 	private StringMatcher fStringMatcher;
 
@@ -44,6 +46,10 @@ public class PatternMatcher {
 		fMatchKind= fMatchKind & allowedModes;
 		if (fMatchKind == SearchPattern.R_PATTERN_MATCH) {
 			fStringMatcher= new StringMatcher(fPattern, true, false);
+			// CharOperation.match only lowercases the name when matching case-insensitively
+			fPatternChars= CharOperation.toLowerCase(fPattern.toCharArray());
+		} else {
+			fPatternChars= fPattern.toCharArray();
 		}
 	}
 
@@ -74,6 +80,46 @@ public class PatternMatcher {
 		}
 	}
 
+	/**
+	 * Matches a range of a character array like {@link #matches(String)}, without creating a
+	 * string.
+	 *
+	 * @param text the characters
+	 * @param start the start of the range, inclusive
+	 * @param end the end of the range, exclusive
+	 * @return <code>true</code> iff the range matches the pattern
+	 * @since 3.22
+	 */
+	public boolean matches(char[] text, int start, int end) {
+		char[] pattern= fPatternChars;
+		switch (fMatchKind) {
+			case SearchPattern.R_PATTERN_MATCH:
+				return CharOperation.match(pattern, 0, pattern.length, text, start, end, false);
+			case SearchPattern.R_EXACT_MATCH:
+				return end - start == pattern.length && startsWithIgnoreCase(text, start, end, pattern);
+			case SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH:
+				return SearchPattern.camelCaseMatch(pattern, 0, pattern.length, text, start, end, true);
+			case SearchPattern.R_CAMELCASE_MATCH:
+				if (SearchPattern.camelCaseMatch(pattern, 0, pattern.length, text, start, end)) {
+					return true;
+				}
+				// fall back to prefix match if camel case failed (bug 137244)
+				return startsWithIgnoreCase(text, start, end, pattern);
+			default:
+				return startsWithIgnoreCase(text, start, end, pattern);
+		}
+	}
+
+	private static boolean startsWithIgnoreCase(char[] text, int start, int end, char[] prefix) {
+		if (end - start < prefix.length)
+			return false;
+		for (int i= prefix.length - 1; i >= 0; i--) {
+			if (Character.toLowerCase(prefix[i]) != Character.toLowerCase(text[start + i]))
+				return false;
+		}
+		return true;
+	}
+
 	private void initializePatternAndMatchKind(String pattern) {
 		int length= pattern.length();
 		if (length == 0) {
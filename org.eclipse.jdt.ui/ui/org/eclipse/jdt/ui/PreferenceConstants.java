@@ -2969,6 +2969,29 @@ public class PreferenceConstants {
 	 */
 	public static final String CODEASSIST_NONUITHREAD_COMPUTATION= "content_assist_noUIThread_computation"; //$NON-NLS-1$
 
+	/**
+	 * A named preference that controls whether the proposal categories of a content assist page
+	 * are computed concurrently. Categories with a computer that requires the UI thread are always
+	 * computed on the invoking thread.
+	 * <p>Value is of type <code>Boolean</code></p>
+	 *
+	 * @see #CODEASSIST_COMPUTATION_BUDGET
+	 * @since 3.23
+	 */
+	public static final String CODEASSIST_PARALLEL_COMPUTATION= "content_assist_parallel_computation"; //$NON-NLS-1$
+
+	/**
+	 * A named preference that holds the time in milliseconds that concurrently computed proposal
+	 * categories may take. Proposals of categories that take longer are shown on the next content
+	 * assist page if they have been computed for the same invocation, and dropped otherwise.
+	 * <code>0</code> means no budget.
+	 * <p>Value is of type <code>Integer</code></p>
+	 *
+	 * @see #CODEASSIST_PARALLEL_COMPUTATION
+	 * @since 3.23
+	 */
+	public static final String CODEASSIST_COMPUTATION_BUDGET= "content_assist_computation_budget"; //$NON-NLS-1$
+
 
 	/**
 	 * A named preference that controls if the Java code assist gets auto activated.
@@ -4104,6 +4127,8 @@ public class PreferenceConstants {
 		store.setDefault(PreferenceConstants.CODEASSIST_AUTOINSERT, true);
 		store.setDefault(PreferenceConstants.CODEASSIST_DISABLE_COMPLETION_PROPOSAL_TRIGGER_CHARS, false);
 		store.setDefault(PreferenceConstants.CODEASSIST_NONUITHREAD_COMPUTATION, true);
+		store.setDefault(PreferenceConstants.CODEASSIST_PARALLEL_COMPUTATION, false);
+		store.setDefault(PreferenceConstants.CODEASSIST_COMPUTATION_BUDGET, 1000);
 		store.setDefault(PreferenceConstants.PREF_MIN_CHAIN_LENGTH, 2);
 		store.setDefault(PreferenceConstants.PREF_MAX_CHAIN_LENGTH, 4);
 		store.setDefault(PreferenceConstants.PREF_MAX_CHAINS, 20);
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests;
+
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
+import org.eclipse.ltk.internal.core.refactoring.BufferValidationState;
+
+/**
+ * Tests that a file whose modification stamp has changed is only valid if its content has not
+ * changed and its buffer is not dirty.
+ */
+public class BufferValidationStateTests {
+
+	private static final String CONTENT= "section one section two";
+
+	private SimpleTestProject fProject;
+	private IFile fFile;
+	private BufferValidationState fState;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= new SimpleTestProject();
+		fFile= fProject.createFile(fProject.getProject(), "test.txt", CONTENT);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (fState != null)
+			fState.dispose();
+		fProject.delete();
+	}
+
+	@Test
+	public void testTouchedFile() throws Exception {
+		fState= BufferValidationState.create(fFile);
+		long stamp= fFile.getModificationStamp();
+		fFile.touch(null);
+		assertNotEquals(stamp, fFile.getModificationStamp());
+		assertTrue(fState.isValid(false).isOK());
+
+		fFile.setContents(new ByteArrayInputStream(CONTENT.getBytes()), true, false, null);
+		assertTrue(fState.isValid(true).isOK());
+	}
+
+	@Test
+	public void testChangedFile() throws Exception {
+		fState= BufferValidationState.create(fFile);
+		fFile.setContents(new ByteArrayInputStream("section three section two".getBytes()), true, false, null);
+		RefactoringStatus status= fState.isValid(false);
+		assertTrue(status.hasFatalError());
+	}
+
+	@Test
+	public void testDirtyBuffer() throws Exception {
+		fState= BufferValidationState.create(fFile);
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		manager.connect(fFile.getFullPath(), LocationKind.IFILE, null);
+		try {
+			ITextFileBuffer buffer= manager.getTextFileBuffer(fFile.getFullPath(), LocationKind.IFILE);
+			IDocument document= buffer.getDocument();
+			document.replace(0, 0, "changed ");
+			document.replace(0, 8, "");
+			assertTrue(buffer.isDirty());
+			RefactoringStatus status= fState.isValid(false);
+			assertTrue(status.hasFatalError());
+		} finally {
+			manager.disconnect(fFile.getFullPath(), LocationKind.IFILE, null);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
+
+public class CompositeChangeTests {
+
+	private static final int FILES= 50;
+
+	private SimpleTestProject fProject;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= new SimpleTestProject();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fProject.delete();
+	}
+
+	@Test
+	public void testPerformTextFileChanges() throws Exception {
+		IFolder folder= fProject.createFolder("test");
+		IFile[] files= new IFile[FILES];
+		CompositeChange change= new CompositeChange("composite");
+		for (int i= 0; i < FILES; i++) {
+			files[i]= fProject.createFile(folder, "test" + i + ".txt", "section one section two");
+			TextFileChange fileChange= new TextFileChange("", files[i]);
+			MultiTextEdit root= new MultiTextEdit();
+			root.addChild(new ReplaceEdit(8, 3, "three"));
+			fileChange.setEdit(root);
+			fileChange.setEnabled(i != 1);
+			change.add(fileChange);
+		}
+
+		change.initializeValidationData(new NullProgressMonitor());
+		RefactoringStatus status= change.isValid(new NullProgressMonitor());
+		assertTrue(status.isOK());
+		Change undo= change.perform(new NullProgressMonitor());
+		assertNotNull(undo);
+		change.dispose();
+		for (int i= 0; i < FILES; i++) {
+			assertEquals(i != 1 ? "section three section two" : "section one section two", fProject.getContent(files[i]));
+		}
+		assertNoBuffers(files);
+
+		undo.initializeValidationData(new NullProgressMonitor());
+		status= undo.isValid(new NullProgressMonitor());
+		assertFalse(status.hasFatalError());
+		Change redo= undo.perform(new NullProgressMonitor());
+		assertNotNull(redo);
+		undo.dispose();
+		for (int i= 0; i < FILES; i++) {
+			assertEquals("section one section two", fProject.getContent(files[i]));
+		}
+		assertNoBuffers(files);
+	}
+
+	private static void assertNoBuffers(IFile[] files) {
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		for (IFile file : files) {
+			assertNull(manager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE));
+		}
+	}
+}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MoveSourceEdit;
+import org.eclipse.text.edits.MoveTargetEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.TextEditGroup;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+
+import org.eclipse.ltk.core.refactoring.DocumentChange;
+import org.eclipse.ltk.core.refactoring.TextChange;
+import org.eclipse.ltk.core.refactoring.TextEditChangeGroup;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
+
+/**
+ * Tests the previews of {@link TextChange}s, which are computed from a slice of the document
+ * unless preview edits are kept.
+ */
+public class TextChangeTests {
+
+	private static final int LINES= 40;
+
+	private SimpleTestProject fProject;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= new SimpleTestProject();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fProject.delete();
+	}
+
+	@Test
+	public void testSlicedPreview() throws Exception {
+		String content= createContent();
+		TextChange sliced= createChange(new Document(content));
+		TextChange copied= createChange(new Document(content));
+		copied.setKeepPreviewEdits(true);
+		TextEditChangeGroup[] slicedGroups= sliced.getTextEditChangeGroups();
+		TextEditChangeGroup[] copiedGroups= copied.getTextEditChangeGroups();
+
+		// each group on its own, as shown when a group is selected in the preview
+		for (int i= 0; i < slicedGroups.length; i++) {
+			for (int j= 0; j < slicedGroups.length; j++) {
+				slicedGroups[j].setEnabled(i == j);
+				copiedGroups[j].setEnabled(i == j);
+			}
+			TextEditChangeGroup[] slicedGroup= { slicedGroups[i] };
+			TextEditChangeGroup[] copiedGroup= { copiedGroups[i] };
+			assertSamePreviews(slicedGroups[i].getName(), sliced, slicedGroup, copied, copiedGroup);
+		}
+
+		// all groups, as shown when the change is selected
+		for (int j= 0; j < slicedGroups.length; j++) {
+			slicedGroups[j].setEnabled(true);
+			copiedGroups[j].setEnabled(true);
+		}
+		assertSamePreviews("all", sliced, slicedGroups, copied, copiedGroups);
+		assertEquals(copied.getPreviewContent(new NullProgressMonitor()), sliced.getPreviewContent(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testMoveEditPreview() throws Exception {
+		IDocument document= new Document("line0\nline1\nline2\nline3\n");
+		DocumentChange change= new DocumentChange("move", document);
+		MultiTextEdit root= new MultiTextEdit();
+		change.setEdit(root);
+		MoveSourceEdit source= new MoveSourceEdit(6, 6);
+		MoveTargetEdit target= new MoveTargetEdit(24, source);
+		root.addChild(source);
+		root.addChild(target);
+		TextEditChangeGroup group= new TextEditChangeGroup(change, new TextEditGroup("move", new TextEdit[] { source, target }));
+		change.addTextEditChangeGroup(group);
+
+		String preview= change.getPreviewContent(new TextEditChangeGroup[] { group }, new Region(0, 24), true, 0, new NullProgressMonitor());
+		assertEquals("line0\nline2\nline3\nline1", preview);
+	}
+
+	@Test
+	public void testPreviewContentCache() throws Exception {
+		IDocument document= new Document(createContent());
+		TextChange change= createChange(document);
+		String preview= change.getPreviewContent(new NullProgressMonitor());
+		assertSame(preview, change.getPreviewContent(new NullProgressMonitor()));
+
+		TextEditChangeGroup group= change.getTextEditChangeGroups()[0];
+		group.setEnabled(false);
+		String disabled= change.getPreviewContent(new NullProgressMonitor());
+		assertNotSame(preview, disabled);
+		group.setEnabled(true);
+		assertEquals(preview, change.getPreviewContent(new NullProgressMonitor()));
+
+		document.replace(document.getLength(), 0, "appended");
+		assertEquals(preview + "appended", change.getPreviewContent(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testFilePreviewContentCache() throws Exception {
+		IFile file= fProject.createFile(fProject.getProject(), "test.txt", createContent());
+		TextChange change= createChange(file);
+		String preview= change.getPreviewContent(new NullProgressMonitor());
+		assertSame(preview, change.getPreviewContent(new NullProgressMonitor()));
+
+		file.setContents(new ByteArrayInputStream((createContent() + "appended").getBytes()), true, false, null);
+		assertEquals(preview + "appended", change.getPreviewContent(new NullProgressMonitor()));
+	}
+
+	private static void assertSamePreviews(String message, TextChange sliced, TextEditChangeGroup[] slicedGroups, TextChange copied, TextEditChangeGroup[] copiedGroups) throws Exception {
+		IRegion region= getRegion(slicedGroups);
+		for (int surroundingLines= 0; surroundingLines < 4; surroundingLines++) {
+			String expected= copied.getPreviewContent(copiedGroups, region, true, surroundingLines, new NullProgressMonitor());
+			String actual= sliced.getPreviewContent(slicedGroups, region, true, surroundingLines, new NullProgressMonitor());
+			assertEquals(message + ", surrounding lines " + surroundingLines, expected, actual);
+		}
+		String expected= copied.getPreviewContent(copiedGroups, region, false, 0, new NullProgressMonitor());
+		String actual= sliced.getPreviewContent(slicedGroups, region, false, 0, new NullProgressMonitor());
+		assertEquals(message + ", not expanded", expected, actual);
+	}
+
+	private static IRegion getRegion(TextEditChangeGroup[] groups) {
+		List<TextEdit> edits= new ArrayList<>();
+		for (TextEditChangeGroup group : groups) {
+			edits.addAll(Arrays.asList(group.getTextEdits()));
+		}
+		return TextEdit.getCoverage(edits.toArray(new TextEdit[edits.size()]));
+	}
+
+	private static String createContent() {
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < LINES; i++) {
+			buf.append("line").append(i).append(" of the document\n");
+		}
+		return buf.toString();
+	}
+
+	private static TextChange createChange(IDocument document) throws BadLocationException {
+		DocumentChange change= new DocumentChange("change", document);
+		addEdits(change, document);
+		return change;
+	}
+
+	private static TextChange createChange(IFile file) throws Exception {
+		TextFileChange change= new TextFileChange("change", file);
+		addEdits(change, new Document(createContent()));
+		return change;
+	}
+
+	private static void addEdits(TextChange change, IDocument document) throws BadLocationException {
+		MultiTextEdit root= new MultiTextEdit();
+		change.setEdit(root);
+		addGroup(change, "replace", new ReplaceEdit(document.getLineOffset(2) + 4, 1, "two"));
+		addGroup(change, "insert lines", new InsertEdit(document.getLineOffset(10), "new line\nanother new line\n"));
+		addGroup(change, "delete line", new DeleteEdit(document.getLineOffset(20), document.getLineLength(20)));
+		addGroup(change, "two edits", new ReplaceEdit(document.getLineOffset(30), 5, "LINE30"), new DeleteEdit(document.getLineOffset(31) + 6, 3));
+		addGroup(change, "first line", new InsertEdit(0, "header\n"));
+		addGroup(change, "last line", new ReplaceEdit(document.getLineOffset(LINES - 1), document.getLineLength(LINES - 1), "last"));
+	}
+
+	private static void addGroup(TextChange change, String name, TextEdit... edits) {
+		for (TextEdit edit : edits) {
+			change.getEdit().addChild(edit);
+		}
+		change.addTextEditChangeGroup(new TextEditChangeGroup(change, new TextEditGroup(name, edits)));
+	}
+}
@@ -21,8 +21,11 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.After;
@@ -32,6 +35,7 @@ import org.osgi.service.prefs.BackingStoreException;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
@@ -50,6 +54,7 @@ import org.eclipse.ltk.core.refactoring.history.RefactoringExecutionEvent;
 import org.eclipse.ltk.core.refactoring.history.RefactoringHistory;
 import org.eclipse.ltk.core.refactoring.history.RefactoringHistoryEvent;
 import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringPreferenceConstants;
 import org.eclipse.ltk.internal.core.refactoring.history.RefactoringDescriptorProxyAdapter;
 import org.eclipse.ltk.internal.core.refactoring.history.RefactoringHistoryImplementation;
@@ -195,6 +200,15 @@ public class RefactoringHistoryServiceTests {
 		RefactoringHistoryService.setSharedRefactoringHistory(fProject.getProject(), shared, null);
 	}
 
+	private void setRefactoringHistoryIndex(boolean enabled) throws BackingStoreException {
+		final IEclipsePreferences preferences= InstanceScope.INSTANCE.getNode(RefactoringCore.ID_PLUGIN);
+		if (enabled)
+			preferences.putBoolean(RefactoringPreferenceConstants.PREFERENCE_REFACTORING_HISTORY_INDEX, true);
+		else
+			preferences.remove(RefactoringPreferenceConstants.PREFERENCE_REFACTORING_HISTORY_INDEX);
+		preferences.flush();
+	}
+
 	@Before
 	public void setUp() throws Exception {
 		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
@@ -304,6 +318,114 @@ public class RefactoringHistoryServiceTests {
 		assertEquals("", afterHistory.getDescriptors().length + BREAKING_NUMBER, workspaceHistory.getDescriptors().length);
 	}
 
+	@Test
+	public void testIndexedHistory0() throws Exception {
+		setUpWorkspaceRefactorings();
+		final IProject project= fProject.getProject();
+		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		RefactoringHistory expectedProject= service.getProjectHistory(project, null);
+		RefactoringHistory expectedWorkspace= service.getWorkspaceHistory(null);
+		try {
+			setRefactoringHistoryIndex(true);
+			for (int run= 0; run < 2; run++) {
+				assertEquals("Refactoring history should be the same:", expectedProject, service.getProjectHistory(project, null));
+				assertEquals("Refactoring history should be the same:", expectedWorkspace, service.getWorkspaceHistory(null));
+				RefactoringDescriptorProxy[] proxies= service.getWorkspaceHistory(STAMP_FACTOR * 3, STAMP_FACTOR * 5, null).getDescriptors();
+				assertEquals("Refactoring history has wrong size", 3, proxies.length);
+				assertDescendingSortOrder(proxies);
+			}
+			assertTrue("Refactoring history index should not be stored in the project", findFiles(project.getFolder(RefactoringHistoryService.NAME_HISTORY_FOLDER).getLocation().toFile(), ".bindex").isEmpty());
+			assertFalse("Refactoring history index should exist", findFiles(RefactoringCorePlugin.getDefault().getStateLocation().append("historyIndex").toFile(), ".bindex").isEmpty());
+		} finally {
+			setRefactoringHistoryIndex(false);
+		}
+	}
+
+	@Test
+	public void testIndexedHistory1() throws Exception {
+		final IProject project= fProject.getProject();
+		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		try {
+			setRefactoringHistoryIndex(true);
+			assertEquals("Refactoring history has wrong size", TOTAL_PROJECT_NUMBER, service.getProjectHistory(project, null).getDescriptors().length);
+			executeRefactoring(project.getName(), 1000000, CUSTOM_FLAG);
+			RefactoringHistory history= service.getProjectHistory(project, 0, Long.MAX_VALUE, RefactoringDescriptor.BREAKING_CHANGE, null);
+			service.deleteRefactoringDescriptors(history.getDescriptors(), null);
+			RefactoringHistory indexedHistory= service.getProjectHistory(project, null);
+			assertEquals("Refactoring history has wrong size", TOTAL_PROJECT_NUMBER + 1 - BREAKING_NUMBER, indexedHistory.getDescriptors().length);
+			setRefactoringHistoryIndex(false);
+			assertEquals("Refactoring history should be the same:", service.getProjectHistory(project, null), indexedHistory);
+		} finally {
+			setRefactoringHistoryIndex(false);
+		}
+	}
+
+	@Test
+	public void testIndexedHistory2() throws Exception {
+		final IProject project= fProject.getProject();
+		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		try {
+			setRefactoringHistoryIndex(true);
+			assertEquals("Refactoring history has wrong size", TOTAL_PROJECT_NUMBER, service.getProjectHistory(project, null).getDescriptors().length);
+			// modify an older week behind the back of the history service
+			List<File> files= findFiles(project.getFolder(RefactoringHistoryService.NAME_HISTORY_FOLDER).getLocation().toFile(), "refactorings.index");
+			assertTrue("Refactoring history should span several weeks", files.size() > 1);
+			Collections.sort(files);
+			File week= files.get(0).getParentFile();
+			for (File file : week.listFiles())
+				assertTrue(file.delete());
+			assertTrue(week.delete());
+			RefactoringHistory indexedHistory= service.getProjectHistory(project, null);
+			assertTrue("Refactoring history should have lost entries", indexedHistory.getDescriptors().length < TOTAL_PROJECT_NUMBER);
+			setRefactoringHistoryIndex(false);
+			assertEquals("Refactoring history should be the same:", service.getProjectHistory(project, null), indexedHistory);
+		} finally {
+			setRefactoringHistoryIndex(false);
+		}
+	}
+
+	@Test
+	public void testIndexedHistory3() throws Exception {
+		final IProject project= fProject.getProject();
+		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		final File indexFolder= RefactoringCorePlugin.getDefault().getStateLocation().append("historyIndex").toFile();
+		try {
+			setRefactoringHistoryIndex(true);
+			assertEquals("Refactoring history has wrong size", TOTAL_PROJECT_NUMBER, service.getProjectHistory(project, null).getDescriptors().length);
+			List<File> indexes= findFiles(indexFolder, ".bindex");
+			assertFalse("Refactoring history index should exist", indexes.isEmpty());
+			// modifications while the index is disabled leave it alone
+			setRefactoringHistoryIndex(false);
+			executeRefactoring(project.getName(), 1000000, CUSTOM_FLAG);
+			RefactoringHistory history= service.getProjectHistory(project, 0, Long.MAX_VALUE, RefactoringDescriptor.BREAKING_CHANGE, null);
+			service.deleteRefactoringDescriptors(history.getDescriptors(), null);
+			for (File index : indexes)
+				assertTrue("Refactoring history index should not be deleted", index.exists());
+			RefactoringHistory expected= service.getProjectHistory(project, null);
+			assertEquals("Refactoring history has wrong size", TOTAL_PROJECT_NUMBER + 1 - BREAKING_NUMBER, expected.getDescriptors().length);
+			// the modified weeks are read again once the index is enabled
+			setRefactoringHistoryIndex(true);
+			assertEquals("Refactoring history should be the same:", expected, service.getProjectHistory(project, null));
+			assertEquals("Refactoring history should be the same:", expected, service.getProjectHistory(project, null));
+		} finally {
+			setRefactoringHistoryIndex(false);
+		}
+	}
+
+	private static List<File> findFiles(File folder, String suffix) {
+		final List<File> result= new ArrayList<>();
+		final File[] files= folder.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				if (file.isDirectory())
+					result.addAll(findFiles(file, suffix));
+				else if (file.getName().endsWith(suffix))
+					result.add(file);
+			}
+		}
+		return result;
+	}
+
 	@Test
 	public void testPopDescriptor0() throws Exception {
 		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests.participants;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.participants.CheckConditionsContext;
+import org.eclipse.ltk.core.refactoring.participants.RenameParticipant;
+
+public class ParallelParticipant extends RenameParticipant {
+
+	/** If set, all participants must reach the latch while checking conditions */
+	public static CountDownLatch fgLatch;
+
+	/** The time in milliseconds to check conditions */
+	public static long fgCheckTime;
+
+	/** If set, the participants return a fatal error */
+	public static boolean fgFatal;
+
+	/** The number of participants that are checking conditions */
+	public static final AtomicInteger fgRunning= new AtomicInteger();
+
+	@Override
+	protected boolean initialize(Object element) {
+		return true;
+	}
+
+	@Override
+	public String getName() {
+		return ParallelParticipant.class.getName();
+	}
+
+	@Override
+	public RefactoringStatus checkConditions(IProgressMonitor pm, CheckConditionsContext context) throws OperationCanceledException {
+		fgRunning.incrementAndGet();
+		try {
+			CountDownLatch latch= fgLatch;
+			if (latch != null) {
+				latch.countDown();
+				if (!latch.await(10, TimeUnit.SECONDS))
+					return RefactoringStatus.createErrorStatus("participants did not check conditions concurrently");
+			} else
+				Thread.sleep(fgCheckTime);
+		} catch (InterruptedException e) {
+			throw new OperationCanceledException();
+		} finally {
+			fgRunning.decrementAndGet();
+		}
+		if (fgFatal)
+			return RefactoringStatus.createFatalErrorStatus("fatal error of " + getName());
+		return new RefactoringStatus();
+	}
+
+	@Override
+	public Change createChange(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+		return null;
+	}
+}
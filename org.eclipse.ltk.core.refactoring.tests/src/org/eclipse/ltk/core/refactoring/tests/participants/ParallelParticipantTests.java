@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests.participants;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.NullChange;
+import org.eclipse.ltk.core.refactoring.RefactoringCore;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.participants.CheckConditionsContext;
+import org.eclipse.ltk.core.refactoring.participants.ParticipantManager;
+import org.eclipse.ltk.core.refactoring.participants.RefactoringParticipant;
+import org.eclipse.ltk.core.refactoring.participants.RenameArguments;
+import org.eclipse.ltk.core.refactoring.participants.RenameProcessor;
+import org.eclipse.ltk.core.refactoring.participants.RenameRefactoring;
+import org.eclipse.ltk.core.refactoring.participants.SharableParticipants;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringPreferenceConstants;
+
+public class ParallelParticipantTests {
+
+	private static class TestProcessor extends RenameProcessor {
+		private final Object fElement= new ElementParallel();
+
+		@Override
+		public Object[] getElements() {
+			return new Object[] { fElement };
+		}
+		@Override
+		public String getIdentifier() {
+			return "org.eclipse.ltk.core.refactoring.tests.TestProcessor";
+		}
+		@Override
+		public String getProcessorName() {
+			return "processor";
+		}
+		@Override
+		public boolean isApplicable() throws CoreException {
+			return true;
+		}
+		@Override
+		public RefactoringStatus checkInitialConditions(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+			return new RefactoringStatus();
+		}
+		@Override
+		public RefactoringStatus checkFinalConditions(IProgressMonitor pm, CheckConditionsContext context) throws CoreException, OperationCanceledException {
+			return new RefactoringStatus();
+		}
+		@Override
+		public Change createChange(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+			return new NullChange("test change");
+		}
+		@Override
+		public RefactoringParticipant[] loadParticipants(RefactoringStatus status, SharableParticipants sharedParticipants) throws CoreException {
+			return ParticipantManager.loadRenameParticipants(status, this, fElement, new RenameArguments("test", true), new String[0], sharedParticipants);
+		}
+	}
+
+	private IEclipsePreferences fPreferences;
+
+	@Before
+	public void setUp() {
+		fPreferences= InstanceScope.INSTANCE.getNode(RefactoringCore.ID_PLUGIN);
+	}
+
+	@After
+	public void tearDown() {
+		fPreferences.remove(RefactoringPreferenceConstants.PREFERENCE_PARALLEL_PARTICIPANTS);
+		fPreferences.remove(RefactoringPreferenceConstants.PREFERENCE_PARTICIPANT_TIME_BUDGET);
+		ParallelParticipant.fgLatch= null;
+		ParallelParticipant.fgCheckTime= 0;
+		ParallelParticipant.fgFatal= false;
+		SerialParticipant.fgChecks= 0;
+	}
+
+	@Test
+	public void testConcurrentCheckConditions() throws Exception {
+		fPreferences.putBoolean(RefactoringPreferenceConstants.PREFERENCE_PARALLEL_PARTICIPANTS, true);
+		ParallelParticipant.fgLatch= new CountDownLatch(2);
+
+		RenameRefactoring refactoring= new RenameRefactoring(new TestProcessor());
+		refactoring.checkInitialConditions(new NullProgressMonitor());
+		RefactoringStatus status= refactoring.checkFinalConditions(new NullProgressMonitor());
+
+		assertTrue(status.toString(), status.isOK());
+		assertEquals(0, ParallelParticipant.fgLatch.getCount());
+	}
+
+	@Test
+	public void testSerialCheckConditions() throws Exception {
+		fPreferences.putBoolean(RefactoringPreferenceConstants.PREFERENCE_PARALLEL_PARTICIPANTS, true);
+		ParallelParticipant.fgCheckTime= 200;
+
+		RenameRefactoring refactoring= new RenameRefactoring(new TestProcessor());
+		refactoring.checkInitialConditions(new NullProgressMonitor());
+		RefactoringStatus status= refactoring.checkFinalConditions(new NullProgressMonitor());
+
+		assertTrue(status.toString(), status.isOK());
+		assertEquals(0, ParallelParticipant.fgRunning.get());
+	}
+
+	@Test
+	public void testConcurrentFatalError() throws Exception {
+		fPreferences.putBoolean(RefactoringPreferenceConstants.PREFERENCE_PARALLEL_PARTICIPANTS, true);
+		ParallelParticipant.fgFatal= true;
+
+		RenameRefactoring refactoring= new RenameRefactoring(new TestProcessor());
+		refactoring.checkInitialConditions(new NullProgressMonitor());
+		RefactoringStatus status= refactoring.checkFinalConditions(new NullProgressMonitor());
+
+		assertTrue(status.toString(), status.hasFatalError());
+		assertEquals(status.toString(), 1, status.getEntries().length);
+		assertEquals(0, SerialParticipant.fgChecks);
+	}
+
+	@Test
+	public void testTimeBudget() throws Exception {
+		fPreferences.putLong(RefactoringPreferenceConstants.PREFERENCE_PARTICIPANT_TIME_BUDGET, 1);
+		ParallelParticipant.fgCheckTime= 50;
+
+		RenameRefactoring refactoring= new RenameRefactoring(new TestProcessor());
+		refactoring.checkInitialConditions(new NullProgressMonitor());
+		RefactoringStatus status= refactoring.checkFinalConditions(new NullProgressMonitor());
+
+		assertEquals(status.toString(), RefactoringStatus.WARNING, status.getSeverity());
+		assertEquals(status.toString(), 2, status.getEntries().length);
+	}
+}
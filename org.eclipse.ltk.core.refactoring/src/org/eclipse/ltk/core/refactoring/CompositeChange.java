@@ -29,6 +29,7 @@ import org.eclipse.core.runtime.SubProgressMonitor;
 
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+import org.eclipse.ltk.internal.core.refactoring.TextFileBufferPrefetcher;
 
 /**
  * Represents a composite change. Composite changes can be marked
@@ -258,11 +259,27 @@ public class CompositeChange extends Change {
 	 * undo objects of all executed children.
 	 * </p>
 	 * <p>
+	 * If more than one child is a text file change, the file buffers of the text
+	 * file changes are connected in the background ahead of their changes.
+	 * </p>
+	 * <p>
 	 * Client are allowed to extend this method.
 	 * </p>
 	 */
 	@Override
 	public Change perform(IProgressMonitor pm) throws CoreException {
+		TextFileBufferPrefetcher prefetcher= TextFileBufferPrefetcher.create(fChanges);
+		if (prefetcher == null)
+			return performChanges(pm, null);
+
+		try {
+			return performChanges(pm, prefetcher);
+		} finally {
+			prefetcher.dispose();
+		}
+	}
+
+	private Change performChanges(IProgressMonitor pm, TextFileBufferPrefetcher prefetcher) throws CoreException {
 		fUndoUntilException= null;
 		List<Change> undos= new ArrayList<>(fChanges.size());
 		pm.beginTask("", fChanges.size()); //$NON-NLS-1$
@@ -277,6 +294,8 @@ public class CompositeChange extends Change {
 
 				if (change.isEnabled()) {
 					Change undoChange= null;
+					if (prefetcher != null)
+						prefetcher.aboutToPerform(change);
 					try {
 						undoChange= change.perform(new SubProgressMonitor(pm, 1));
 					} catch(OperationCanceledException e) {
@@ -284,6 +303,9 @@ public class CompositeChange extends Change {
 						if (!internalContinueOnCancel())
 							throw e;
 						undos= null;
+					} finally {
+						if (prefetcher != null)
+							prefetcher.performed(change);
 					}
 					if (undos != null) {
 						if (undoChange == null) {
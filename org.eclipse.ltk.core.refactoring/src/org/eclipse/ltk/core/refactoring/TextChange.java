@@ -13,9 +13,14 @@
  *******************************************************************************/
 package org.eclipse.ltk.core.refactoring;
 
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -23,8 +28,12 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
 import org.eclipse.text.edits.MalformedTreeException;
 import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.RangeMarker;
+import org.eclipse.text.edits.ReplaceEdit;
 import org.eclipse.text.edits.TextEdit;
 import org.eclipse.text.edits.TextEditCopier;
 import org.eclipse.text.edits.TextEditGroup;
@@ -76,6 +85,16 @@ public abstract class TextChange extends TextEditBasedChange {
 	private TextEdit fEdit;
 	private TextEditCopier fCopier;
 
+	/*
+	 * The preview of all edits is cached for the document it has been computed from, or the file
+	 * in case of a text file change, as long as neither the content nor the edits and the
+	 * enablement of the change groups change.
+	 */
+	private SoftReference<String> fPreviewContent;
+	private WeakReference<Object> fPreviewKey;
+	private long fPreviewModificationStamp;
+	private long fPreviewFingerprint;
+
 	/**
 	 * Creates a new text change with the specified name.  The name is a
 	 * human-readable value that is displayed to users.  The name does not
@@ -404,7 +423,25 @@ public abstract class TextChange extends TextEditBasedChange {
 
 	@Override
 	public String getPreviewContent(IProgressMonitor pm) throws CoreException {
-		return getPreviewDocument(pm).get();
+		if (getKeepPreviewEdits())
+			return getPreviewDocument(pm).get();
+
+		IDocument document= getCurrentDocument(pm);
+		Object key= getPreviewKey(document);
+		long stamp= getPreviewModificationStamp(document);
+		long fingerprint= computeFingerprint();
+		String content= fPreviewContent != null ? fPreviewContent.get() : null;
+		if (content != null && fPreviewKey.get() == key && stamp == fPreviewModificationStamp && fingerprint == fPreviewFingerprint)
+			return content;
+
+		content= getPreviewDocument(document, ALL_EDITS).document.get();
+		if (stamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+			fPreviewContent= new SoftReference<>(content);
+			fPreviewKey= new WeakReference<>(key);
+			fPreviewModificationStamp= stamp;
+			fPreviewFingerprint= fingerprint;
+		}
+		return content;
 	}
 
 	/**
@@ -503,6 +540,11 @@ public abstract class TextChange extends TextEditBasedChange {
 				Assert.isTrue(root == edit.getRoot(), "Wrong root edit"); //$NON-NLS-1$
 			}
 		}
+		if (!getKeepPreviewEdits()) {
+			String content= getSlicedPreviewContent(changeGroups, region, expandRegionToFullLine, surroundingLines, pm);
+			if (content != null)
+				return content;
+		}
 		PreviewAndRegion result= getPreviewDocument(changeGroups, pm);
 		int delta;
 		if (result.region == null) {	// all edits were delete edits so no new region
@@ -517,7 +559,11 @@ public abstract class TextChange extends TextEditBasedChange {
 	//---- private helper methods --------------------------------------------------
 
 	private PreviewAndRegion getPreviewDocument(TextEditBasedChangeGroup[] changes, IProgressMonitor pm) throws CoreException {
-		IDocument document= new Document(getCurrentDocument(pm).get());
+		return getPreviewDocument(getCurrentDocument(pm), changes);
+	}
+
+	private PreviewAndRegion getPreviewDocument(IDocument currentDocument, TextEditBasedChangeGroup[] changes) throws CoreException {
+		IDocument document= new Document(currentDocument.get());
 		boolean trackChanges= getKeepPreviewEdits();
 		setKeepPreviewEdits(true);
 		TextEditProcessor processor= changes == ALL_EDITS
@@ -533,6 +579,134 @@ public abstract class TextChange extends TextEditBasedChange {
 		}
 	}
 
+	/**
+	 * Computes the preview of the given change groups clipped to a region by applying their
+	 * edits to the part of the current document that is shown. Neither the document nor the
+	 * edit tree are copied.
+	 *
+	 * @param changes the change groups
+	 * @param region the region, containing all edits of the change groups
+	 * @param expandRegionToFullLine whether the region is extended to cover full lines
+	 * @param surroundingLines the number of surrounding lines
+	 * @param pm a progress monitor or <code>null</code>
+	 * @return the preview content, or <code>null</code> if an edit can't be applied in isolation
+	 *  or edits start at the same offset, so that the order in the edit tree matters
+	 * @throws CoreException if the document can't be acquired
+	 */
+	private String getSlicedPreviewContent(TextEditBasedChangeGroup[] changes, IRegion region, boolean expandRegionToFullLine, int surroundingLines, IProgressMonitor pm) throws CoreException {
+		Set<TextEdit> collected= Collections.newSetFromMap(new IdentityHashMap<>());
+		for (TextEditBasedChangeGroup change : changes) {
+			Assert.isTrue(change.getTextEditChange() == this);
+			if (change.isEnabled()) {
+				for (TextEdit edit : change.getTextEditGroup().getTextEdits()) {
+					if (!collectTextEdits(edit, collected))
+						return null;
+				}
+			}
+		}
+		List<TextEdit> edits= new ArrayList<>(collected);
+		edits.sort((edit1, edit2) -> edit1.getOffset() - edit2.getOffset());
+		for (int i= 1; i < edits.size(); i++) {
+			if (edits.get(i - 1).getOffset() == edits.get(i).getOffset())
+				return null;
+		}
+
+		IDocument document= getCurrentDocument(pm);
+		try {
+			int regionEnd= region.getOffset() + region.getLength();
+			int sliceStart;
+			int sliceEnd;
+			if (expandRegionToFullLine) {
+				// the lines before and after the region are the same in the preview
+				int startLine= Math.max(document.getLineOfOffset(region.getOffset()) - surroundingLines, 0);
+				int endLine= Math.min(document.getLineOfOffset(regionEnd) + surroundingLines, document.getNumberOfLines() - 1);
+				sliceStart= document.getLineOffset(startLine);
+				IRegion endLineRegion= document.getLineInformation(endLine);
+				sliceEnd= endLineRegion.getOffset() + endLineRegion.getLength();
+			} else {
+				sliceStart= region.getOffset();
+				sliceEnd= regionEnd;
+			}
+			StringBuilder buffer= new StringBuilder(document.get(sliceStart, sliceEnd - sliceStart));
+			int delta= 0;
+			for (TextEdit edit : edits) {
+				String text= edit instanceof InsertEdit ? ((InsertEdit) edit).getText()
+					: edit instanceof ReplaceEdit ? ((ReplaceEdit) edit).getText()
+					: ""; //$NON-NLS-1$
+				int offset= edit.getOffset() - sliceStart + delta;
+				buffer.replace(offset, offset + edit.getLength(), text);
+				delta+= text.length() - edit.getLength();
+			}
+			IDocument slice= new Document(buffer.toString());
+			return getContent(slice, new Region(region.getOffset() - sliceStart, region.getLength() + delta), expandRegionToFullLine, surroundingLines);
+		} catch (BadLocationException e) {
+			throw Changes.asCoreException(e);
+		}
+	}
+
+	/*
+	 * Returns the object whose modification stamp identifies the content of the given current
+	 * document, used as key of the cached preview. Subclasses that return a new document on
+	 * each access have to return a longer living key.
+	 */
+	Object getPreviewKey(IDocument document) {
+		return document;
+	}
+
+	/*
+	 * Returns the modification stamp of the preview key for the given current document, or
+	 * IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP if the preview must not be cached.
+	 */
+	long getPreviewModificationStamp(IDocument document) {
+		return document instanceof IDocumentExtension4
+			? ((IDocumentExtension4) document).getModificationStamp()
+			: IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	/*
+	 * Collects the edits that change the text, returns false for edits whose effect depends on
+	 * other parts of the document, like move and copy edits.
+	 */
+	private static boolean collectTextEdits(TextEdit edit, Set<TextEdit> result) {
+		if (edit.isDeleted())
+			return false;
+		Class<?> clazz= edit.getClass();
+		if (clazz == MultiTextEdit.class || clazz == RangeMarker.class) {
+			for (TextEdit child : edit.getChildren()) {
+				if (!collectTextEdits(child, result))
+					return false;
+			}
+			return true;
+		}
+		if (clazz == InsertEdit.class || clazz == ReplaceEdit.class || clazz == DeleteEdit.class) {
+			if (edit.hasChildren())
+				return false;
+			result.add(edit);
+			return true;
+		}
+		return false;
+	}
+
+	/*
+	 * A cheap fingerprint of the edit tree and of the enablement of the change groups, to detect
+	 * changes since the preview has been cached. The text of insert and replace edits can't change.
+	 */
+	private long computeFingerprint() {
+		long fingerprint= fEdit == null ? 0 : computeFingerprint(fEdit);
+		for (TextEditBasedChangeGroup group : getChangeGroups())
+			fingerprint= 31 * fingerprint + System.identityHashCode(group) + (group.isEnabled() ? 1 : 0);
+		return fingerprint;
+	}
+
+	private static long computeFingerprint(TextEdit edit) {
+		long fingerprint= System.identityHashCode(edit);
+		fingerprint= 31 * fingerprint + edit.getOffset();
+		fingerprint= 31 * fingerprint + edit.getLength();
+		for (TextEdit child : edit.getChildren())
+			fingerprint= 31 * fingerprint + computeFingerprint(child);
+		return fingerprint;
+	}
+
 	private TextEditProcessor createTextEditProcessor(IDocument document, int flags, boolean preview) {
 		if (fEdit == null)
 			return new TextEditProcessor(document, new MultiTextEdit(0,0), flags);
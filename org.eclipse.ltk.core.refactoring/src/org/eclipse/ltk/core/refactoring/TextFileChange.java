@@ -243,6 +243,27 @@ public class TextFileChange extends TextChange {
 		fAcquireCount--;
  	}
 
+	/*
+	 * A document that is only connected by this change is read from the file on each access, so
+	 * the preview is cached for the file instead.
+	 */
+	@Override
+	Object getPreviewKey(IDocument document) {
+		return isReadFromFile(document) ? fFile : super.getPreviewKey(document);
+	}
+
+	@Override
+	long getPreviewModificationStamp(IDocument document) {
+		return isReadFromFile(document) ? fFile.getModificationStamp() : super.getPreviewModificationStamp(document);
+	}
+
+	private boolean isReadFromFile(IDocument document) {
+		if (fAcquireCount > 0 || fBuffer == null || fBuffer.getDocument() != document)
+			return false;
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		return manager.getTextFileBuffer(fFile.getFullPath(), LocationKind.IFILE) == null;
+	}
+
 	@Override
 	protected final Change createUndoChange(UndoEdit edit) {
 		return createUndoChange(edit, fContentStamp);
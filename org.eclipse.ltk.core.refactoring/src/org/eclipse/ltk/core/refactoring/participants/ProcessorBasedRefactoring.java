@@ -19,9 +19,18 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -29,6 +38,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.PerformanceStats;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
@@ -46,6 +56,7 @@ import org.eclipse.ltk.internal.core.refactoring.Messages;
 import org.eclipse.ltk.internal.core.refactoring.ParticipantDescriptor;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringPreferenceConstants;
 
 /**
  * An base implementation for refactorings that are split into
@@ -75,6 +86,50 @@ public class ProcessorBasedRefactoring extends Refactoring {
 
 	private static final List<RefactoringParticipant> EMPTY_PARTICIPANTS= Collections.emptyList();
 
+	private static ExecutorService fgExecutor;
+
+	private static class ParticipantThread extends Thread {
+		public ParticipantThread(Runnable runnable) {
+			super(runnable, "Refactoring Participant"); //$NON-NLS-1$
+			setDaemon(true);
+		}
+	}
+
+	/**
+	 * The condition check of a thread-safe participant that runs concurrently to
+	 * the checks of the other participants.
+	 */
+	private static class ConcurrentCheck implements Callable<RefactoringStatus> {
+		private final RefactoringParticipant fParticipant;
+		private final CheckConditionsContext fContext;
+		private final IProgressMonitor fMonitor;
+		private final String fStatsName;
+		private Future<RefactoringStatus> fFuture;
+		private volatile long fElapsedTime;
+		private RefactoringStatus fStatus; // null until awaited
+		private boolean fFailed;
+
+		public ConcurrentCheck(RefactoringParticipant participant, CheckConditionsContext context, IProgressMonitor monitor, String refactoringName) {
+			fParticipant= participant;
+			fContext= context;
+			fMonitor= monitor;
+			fStatsName= refactoringName + ", " + participant.getName(); //$NON-NLS-1$
+		}
+
+		@Override
+		public RefactoringStatus call() {
+			final PerformanceStats stats= PerformanceStats.getStats(PERF_CHECK_CONDITIONS, fStatsName);
+			stats.startRun();
+			long start= System.nanoTime();
+			try {
+				return fParticipant.checkConditions(fMonitor, fContext);
+			} finally {
+				fElapsedTime= System.nanoTime() - start;
+				stats.endRun();
+			}
+		}
+	}
+
 	private static class ProcessorChange extends CompositeChange {
 		private Map<Change, RefactoringParticipant> fParticipantMap;
 		private List<RefactoringParticipant> fPreChangeParticipants; // can be null
@@ -246,30 +301,86 @@ public class ProcessorBasedRefactoring extends Refactoring {
 		IProgressMonitor sm= new SubProgressMonitor(pm, 2);
 
 		sm.beginTask("", fParticipants.size()); //$NON-NLS-1$
-		for (Iterator<RefactoringParticipant> iter= fParticipants.iterator(); iter.hasNext() && !result.hasFatalError(); ) {
-
-			RefactoringParticipant participant= iter.next();
-
-			final PerformanceStats stats= PerformanceStats.getStats(PERF_CHECK_CONDITIONS, getName() + ", " + participant.getName()); //$NON-NLS-1$
-			stats.startRun();
-
-			try {
-				result.merge(participant.checkConditions(new SubProgressMonitor(sm, 1), context));
-			} catch (OperationCanceledException e) {
-				throw e;
-			} catch (RuntimeException e) {
-				// remove the participant so that it will be ignored during change execution.
-				RefactoringCorePlugin.log(e);
-				result.merge(RefactoringStatus.createErrorStatus(Messages.format(
-					RefactoringCoreMessages.ProcessorBasedRefactoring_check_condition_participant_failed,
-					participant.getName())));
-				iter.remove();
+		long budget= Platform.getPreferencesService().getLong(RefactoringCorePlugin.getPluginId(), RefactoringPreferenceConstants.PREFERENCE_PARTICIPANT_TIME_BUDGET, 0, null);
+		NullProgressMonitor concurrentMonitor= new NullProgressMonitor();
+		Map<RefactoringParticipant, ConcurrentCheck> concurrentChecks= startConcurrentChecks(context, concurrentMonitor);
+		try {
+			// the other participants do not synchronize on the context, so they are only checked once all concurrent checks have ended
+			boolean concurrentFatalError= false;
+			for (Iterator<RefactoringParticipant> iter= fParticipants.iterator(); iter.hasNext() && !concurrentChecks.isEmpty(); ) {
+				RefactoringParticipant participant= iter.next();
+				ConcurrentCheck check= concurrentChecks.get(participant);
+				if (check == null)
+					continue;
+				try {
+					check.fStatus= awaitConcurrentCheck(check, sm, concurrentMonitor);
+					sm.worked(1);
+					if (check.fStatus.hasFatalError()) {
+						concurrentFatalError= true;
+						break;
+					}
+				} catch (OperationCanceledException e) {
+					throw e;
+				} catch (RuntimeException e) {
+					// reported in contribution order below
+					RefactoringCorePlugin.log(e);
+					check.fFailed= true;
+				}
 			}
+			finishConcurrentChecks(concurrentChecks.values(), concurrentMonitor);
+
+			// merge the results in contribution order up to the first fatal error. The serial checks would run after the
+			// concurrent checks anyway, so none of them are run once a concurrent check has failed fatally.
+			for (Iterator<RefactoringParticipant> iter= fParticipants.iterator(); iter.hasNext() && !result.hasFatalError(); ) {
+
+				RefactoringParticipant participant= iter.next();
+				ConcurrentCheck check= concurrentChecks.get(participant);
+				if (check == null && concurrentFatalError)
+					continue;
+				long elapsedTime;
+
+				try {
+					if (check != null) {
+						if (check.fFailed) {
+							// remove the participant so that it will be ignored during change execution.
+							result.merge(RefactoringStatus.createErrorStatus(Messages.format(
+								RefactoringCoreMessages.ProcessorBasedRefactoring_check_condition_participant_failed,
+								participant.getName())));
+							iter.remove();
+							continue;
+						}
+						if (check.fStatus == null)
+							continue; // not awaited after a fatal error
+						result.merge(check.fStatus);
+						elapsedTime= check.fElapsedTime;
+					} else {
+						final PerformanceStats stats= PerformanceStats.getStats(PERF_CHECK_CONDITIONS, getName() + ", " + participant.getName()); //$NON-NLS-1$
+						stats.startRun();
+						long start= System.nanoTime();
+						try {
+							result.merge(participant.checkConditions(new SubProgressMonitor(sm, 1), context));
+						} finally {
+							elapsedTime= System.nanoTime() - start;
+							stats.endRun();
+						}
+					}
+					checkTimeBudget(participant, elapsedTime, budget, result);
+				} catch (OperationCanceledException e) {
+					throw e;
+				} catch (RuntimeException e) {
+					// remove the participant so that it will be ignored during change execution.
+					RefactoringCorePlugin.log(e);
+					result.merge(RefactoringStatus.createErrorStatus(Messages.format(
+						RefactoringCoreMessages.ProcessorBasedRefactoring_check_condition_participant_failed,
+						participant.getName())));
+					iter.remove();
+				}
 
-			stats.endRun();
-
-			if (sm.isCanceled())
-				throw new OperationCanceledException();
+				if (sm.isCanceled())
+					throw new OperationCanceledException();
+			}
+		} finally {
+			finishConcurrentChecks(concurrentChecks.values(), concurrentMonitor);
 		}
 		sm.done();
 		if (result.hasFatalError()) {
@@ -407,6 +518,114 @@ public class ProcessorBasedRefactoring extends Refactoring {
 
 	//---- Helper methods ---------------------------------------------------------------------
 
+	/**
+	 * Starts the condition checks of the thread-safe participants if parallel
+	 * participants are enabled.
+	 *
+	 * @param context the condition checking context
+	 * @param monitor the progress monitor for the concurrent checks, which is
+	 *  canceled when the refactoring is canceled
+	 * @return the started checks by participant
+	 */
+	private Map<RefactoringParticipant, ConcurrentCheck> startConcurrentChecks(CheckConditionsContext context, IProgressMonitor monitor) {
+		Map<RefactoringParticipant, ConcurrentCheck> result= new IdentityHashMap<>();
+		if (fParticipants.size() < 2 || Thread.currentThread() instanceof ParticipantThread
+				|| !Platform.getPreferencesService().getBoolean(RefactoringCorePlugin.getPluginId(), RefactoringPreferenceConstants.PREFERENCE_PARALLEL_PARTICIPANTS, false, null))
+			return result;
+		for (RefactoringParticipant participant : fParticipants) {
+			ParticipantDescriptor descriptor= participant.getDescriptor();
+			if (descriptor != null && descriptor.isThreadSafe()) {
+				ConcurrentCheck check= new ConcurrentCheck(participant, context, monitor, getName());
+				check.fFuture= getExecutor().submit(check);
+				result.put(participant, check);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Waits for the result of a concurrent condition check.
+	 *
+	 * @param check the check to wait for
+	 * @param pm the progress monitor of the refactoring
+	 * @param concurrentMonitor the progress monitor of the concurrent checks
+	 * @return the result of the check
+	 * @throws OperationCanceledException if the refactoring or the check got canceled
+	 */
+	private static RefactoringStatus awaitConcurrentCheck(ConcurrentCheck check, IProgressMonitor pm, IProgressMonitor concurrentMonitor) {
+		while (true) {
+			if (pm.isCanceled()) {
+				concurrentMonitor.setCanceled(true);
+				throw new OperationCanceledException();
+			}
+			try {
+				return check.fFuture.get(50, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				// check for cancellation
+			} catch (InterruptedException e) {
+				concurrentMonitor.setCanceled(true);
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				Throwable cause= e.getCause();
+				if (cause instanceof OperationCanceledException) {
+					if (concurrentMonitor.isCanceled())
+						pm.setCanceled(true);
+					throw (OperationCanceledException) cause;
+				}
+				if (cause instanceof RuntimeException)
+					throw (RuntimeException) cause;
+				if (cause instanceof Error)
+					throw (Error) cause;
+				throw new IllegalStateException(cause);
+			}
+		}
+	}
+
+	/**
+	 * Cancels the concurrent condition checks that are still running and waits
+	 * for them, so that no participant is called after the condition checking
+	 * has ended.
+	 *
+	 * @param checks the concurrent checks
+	 * @param concurrentMonitor the progress monitor of the concurrent checks
+	 */
+	private static void finishConcurrentChecks(Iterable<ConcurrentCheck> checks, IProgressMonitor concurrentMonitor) {
+		for (ConcurrentCheck check : checks) {
+			if (!check.fFuture.isDone()) {
+				concurrentMonitor.setCanceled(true);
+				if (!check.fFuture.cancel(false)) {
+					try {
+						check.fFuture.get();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					} catch (ExecutionException e) {
+						// the result is not used
+					}
+				}
+			}
+		}
+	}
+
+	private static void checkTimeBudget(RefactoringParticipant participant, long elapsedTime, long budget, RefactoringStatus result) {
+		long elapsedMillis= TimeUnit.NANOSECONDS.toMillis(elapsedTime);
+		if (budget > 0 && elapsedMillis > budget) {
+			result.addWarning(Messages.format(
+				RefactoringCoreMessages.ProcessorBasedRefactoring_time_budget_exceeded,
+				new String[] { participant.getName(), Long.toString(elapsedMillis), Long.toString(budget) }));
+		}
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (fgExecutor == null) {
+			int threads= Math.max(2, Runtime.getRuntime().availableProcessors());
+			ThreadPoolExecutor executor= new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), ParticipantThread::new);
+			executor.allowCoreThreadTimeOut(true);
+			fgExecutor= executor;
+		}
+		return fgExecutor;
+	}
+
 	private CheckConditionsContext createCheckConditionsContext() throws CoreException {
 		CheckConditionsContext result= new CheckConditionsContext();
 		result.add(new ValidateEditChecker(getValidationContext()));
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the executors that read files in the background.
+ */
+public final class BackgroundExecutors {
+
+	private static final int MAX_THREADS= 4;
+
+	private BackgroundExecutors() {
+	}
+
+	/**
+	 * Creates an executor with up to {@value #MAX_THREADS} daemon threads, which end when they
+	 * have been idle for a few seconds.
+	 *
+	 * @param threadName the name of the threads
+	 * @param priority the priority of the threads
+	 * @return the executor
+	 */
+	public static ThreadPoolExecutor create(String threadName, int priority) {
+		int threads= Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+		ThreadPoolExecutor executor= new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread= new Thread(runnable, threadName);
+			thread.setDaemon(true);
+			thread.setPriority(priority);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+}
@@ -13,6 +13,9 @@
  *******************************************************************************/
 package org.eclipse.ltk.internal.core.refactoring;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 
@@ -313,15 +316,19 @@ class NoStampValidationState extends BufferValidationState {
 }
 
 /**
- * Buffer validation state based on modification stamp.
+ * Buffer validation state based on modification stamp. If the file stamp of a file
+ * that isn't dirty has changed, the file is still valid if its content hasn't.
  */
 class ModificationStampValidationState extends BufferValidationState {
 
 	private ModificationStamp fModificationStamp;
+	private Future<Long> fContentHash;
 
 	public ModificationStampValidationState(IFile file) {
 		super(file);
 		fModificationStamp= getModificationStamp();
+		if (fModificationStamp.isFileStamp() && fModificationStamp.getValue() != IResource.NULL_STAMP && !fWasDirty)
+			fContentHash= ContentHashes.schedule(file, fModificationStamp.getValue());
 	}
 
 	@Override
@@ -345,6 +352,10 @@ class ModificationStampValidationState extends BufferValidationState {
 				&& !currentStamp.isDocumentStamp())
 			|| (fModificationStamp.isFileStamp()
 				&& currentStamp.isFileStamp() && isDirty(fFile))) {
+			if (isContentUnchanged(currentStamp)) {
+				fModificationStamp= currentStamp;
+				return result;
+			}
 			result.addFatalError(Messages.format(
 				RefactoringCoreMessages.TextChanges_error_content_changed,
 				BasicElementLabels.getPathLabel(fFile.getFullPath(), false)
@@ -353,6 +364,32 @@ class ModificationStampValidationState extends BufferValidationState {
 		}
 		return result;
 	}
+
+	@Override
+	public void dispose() {
+		if (fContentHash != null) {
+			fContentHash.cancel(false);
+			fContentHash= null;
+		}
+	}
+
+	/*
+	 * Only the file stamp is ambiguous, a file can be written or touched without changing its content.
+	 */
+	private boolean isContentUnchanged(ModificationStamp currentStamp) {
+		if (fContentHash == null || !currentStamp.isFileStamp() || currentStamp.getValue() == IResource.NULL_STAMP || isDirty(fFile))
+			return false;
+		Long hash;
+		try {
+			hash= fContentHash.get();
+		} catch (ExecutionException e) {
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		return hash != null && hash.equals(ContentHashes.get(fFile, currentStamp.getValue()));
+	}
 }
 
 /*
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.zip.CRC32;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * Computes hashes of the content of files, to find out whether a file whose modification stamp
+ * has changed still has the same content.
+ */
+public final class ContentHashes {
+
+	private static ThreadPoolExecutor fgExecutor;
+
+	private ContentHashes() {
+	}
+
+	/**
+	 * Computes the hash of the content that the given file has at the given modification stamp
+	 * in the background.
+	 *
+	 * @param file the file
+	 * @param stamp the modification stamp of the file
+	 * @return the future hash, which is <code>null</code> if the file has been modified or
+	 *  can't be read
+	 */
+	public static Future<Long> schedule(IFile file, long stamp) {
+		return getExecutor().submit(() -> get(file, stamp));
+	}
+
+	/**
+	 * Computes the hash of the content that the given file has at the given modification stamp.
+	 *
+	 * @param file the file
+	 * @param stamp the modification stamp of the file
+	 * @return the hash, or <code>null</code> if the file has been modified or can't be read
+	 */
+	public static Long get(IFile file, long stamp) {
+		if (file.getModificationStamp() != stamp)
+			return null;
+		CRC32 crc= new CRC32();
+		byte[] buffer= new byte[8192];
+		try (InputStream stream= file.getContents()) {
+			int read;
+			while ((read= stream.read(buffer)) != -1) {
+				crc.update(buffer, 0, read);
+			}
+		} catch (CoreException | IOException e) {
+			// out of sync or deleted
+			return null;
+		}
+		if (file.getModificationStamp() != stamp)
+			return null;
+		return Long.valueOf(crc.getValue());
+	}
+
+	private static synchronized ThreadPoolExecutor getExecutor() {
+		if (fgExecutor == null)
+			fgExecutor= BackgroundExecutors.create("Refactoring Content Hash", Thread.MIN_PRIORITY); //$NON-NLS-1$
+		return fgExecutor;
+	}
+}
@@ -153,6 +153,8 @@ public final class RefactoringCoreMessages extends NLS {
 
 	public static String ProcessorBasedRefactoring_prechange_participants_removed;
 
+	public static String ProcessorBasedRefactoring_time_budget_exceeded;
+
 	public static String Refactoring_execute_label;
 
 	public static String RenameResourceChange_name;
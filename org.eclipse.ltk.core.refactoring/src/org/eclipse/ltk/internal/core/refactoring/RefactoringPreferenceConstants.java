@@ -23,6 +23,15 @@ public final class RefactoringPreferenceConstants {
 	/** The shared refactoring history preference */
 	public static final String PREFERENCE_SHARED_REFACTORING_HISTORY= "org.eclipse.ltk.core.refactoring.enable.project.refactoring.history"; //$NON-NLS-1$
 
+	/** The refactoring history index preference */
+	public static final String PREFERENCE_REFACTORING_HISTORY_INDEX= "org.eclipse.ltk.core.refactoring.refactoring.history.index"; //$NON-NLS-1$
+
+	/** The parallel participants preference */
+	public static final String PREFERENCE_PARALLEL_PARTICIPANTS= "org.eclipse.ltk.core.refactoring.parallel.participants"; //$NON-NLS-1$
+
+	/** The participant time budget preference, in milliseconds */
+	public static final String PREFERENCE_PARTICIPANT_TIME_BUDGET= "org.eclipse.ltk.core.refactoring.participant.time.budget"; //$NON-NLS-1$
+
 	private RefactoringPreferenceConstants() {
 		// Not for instantiation
 	}
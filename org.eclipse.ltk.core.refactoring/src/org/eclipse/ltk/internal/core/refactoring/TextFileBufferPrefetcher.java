@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+import org.eclipse.ltk.core.refactoring.UndoTextFileChange;
+
+/**
+ * Connects the file buffers of the text file changes of a composite change in the background,
+ * a few changes ahead of the change that is performed. Creating a file buffer reads the file, so
+ * the changes find their buffers already connected when they acquire their documents. The edits
+ * are still applied and committed by the changes themselves, in the thread that performs them.
+ * <p>
+ * The buffers are released after their change has been performed: a connect that has not started
+ * yet is canceled, a buffer that is still being connected is disconnected by the background thread
+ * once it is connected, and a connected buffer is disconnected. Only {@link #dispose()} waits for
+ * the background threads.
+ * </p>
+ */
+public final class TextFileBufferPrefetcher {
+
+	private static final int WINDOW= 32;
+
+	private static ThreadPoolExecutor fgExecutor;
+
+	private final List<IPath> fPaths;
+	private final Map<Change, Integer> fIndices;
+	private final Future<?>[] fConnects;
+	/* guarded by this */
+	private final boolean[] fConnected;
+	/* guarded by this */
+	private final boolean[] fReleased;
+	private int fSubmitted;
+
+	private TextFileBufferPrefetcher(List<IPath> paths, Map<Change, Integer> indices) {
+		fPaths= paths;
+		fIndices= indices;
+		fConnects= new Future[paths.size()];
+		fConnected= new boolean[paths.size()];
+		fReleased= new boolean[paths.size()];
+	}
+
+	/**
+	 * Creates a prefetcher for the enabled text file changes in the given list.
+	 *
+	 * @param changes the changes, in the order in which they are performed
+	 * @return the prefetcher, or <code>null</code> if there are less than two text file changes
+	 */
+	public static TextFileBufferPrefetcher create(List<Change> changes) {
+		List<IPath> paths= new ArrayList<>();
+		Map<Change, Integer> indices= new IdentityHashMap<>();
+		for (Change change : changes) {
+			if (!change.isEnabled() || !(change instanceof TextFileChange || change instanceof UndoTextFileChange))
+				continue;
+			Object element= change.getModifiedElement();
+			if (element instanceof IFile) {
+				indices.put(change, Integer.valueOf(paths.size()));
+				paths.add(((IFile) element).getFullPath());
+			}
+		}
+		if (paths.size() < 2)
+			return null;
+		return new TextFileBufferPrefetcher(paths, indices);
+	}
+
+	/**
+	 * Starts connecting the buffers of the next changes.
+	 *
+	 * @param change the change that is about to be performed
+	 */
+	public void aboutToPerform(Change change) {
+		Integer index= fIndices.get(change);
+		if (index == null)
+			return;
+		int end= Math.min(index.intValue() + WINDOW, fPaths.size());
+		for (; fSubmitted < end; fSubmitted++) {
+			int i= fSubmitted;
+			fConnects[i]= getExecutor().submit(() -> connect(i));
+		}
+	}
+
+	/**
+	 * Releases the buffer of a change that has been performed.
+	 *
+	 * @param change the change
+	 */
+	public void performed(Change change) {
+		Integer index= fIndices.get(change);
+		if (index != null && index.intValue() < fSubmitted)
+			release(index.intValue());
+	}
+
+	/**
+	 * Releases the buffers of the changes that have not been performed, and waits until the
+	 * connects that are running have ended, so that no buffer remains connected.
+	 */
+	public void dispose() {
+		for (int i= 0; i < fSubmitted; i++) {
+			release(i);
+		}
+		for (int i= 0; i < fSubmitted; i++) {
+			try {
+				fConnects[i].get();
+			} catch (CancellationException | ExecutionException e) {
+				// not started
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private void connect(int index) {
+		synchronized (this) {
+			if (fReleased[index])
+				return;
+		}
+		IPath path= fPaths.get(index);
+		try {
+			FileBuffers.getTextFileBufferManager().connect(path, LocationKind.IFILE, null);
+		} catch (CoreException e) {
+			// the change reports the error when it acquires its document
+			return;
+		}
+		synchronized (this) {
+			if (!fReleased[index]) {
+				fConnected[index]= true;
+				return;
+			}
+		}
+		// released while connecting
+		disconnect(path);
+	}
+
+	private void release(int index) {
+		boolean connected;
+		synchronized (this) {
+			if (fReleased[index])
+				return;
+			fReleased[index]= true;
+			connected= fConnected[index];
+		}
+		if (connected)
+			disconnect(fPaths.get(index));
+		else
+			fConnects[index].cancel(false);
+	}
+
+	private static void disconnect(IPath path) {
+		try {
+			FileBuffers.getTextFileBufferManager().disconnect(path, LocationKind.IFILE, null);
+		} catch (CoreException e) {
+			RefactoringCorePlugin.log(e);
+		}
+	}
+
+	private static synchronized ThreadPoolExecutor getExecutor() {
+		if (fgExecutor == null)
+			fgExecutor= BackgroundExecutors.create("Refactoring File Buffer Prefetch", Thread.NORM_PRIORITY); //$NON-NLS-1$
+		return fgExecutor;
+	}
+}
@@ -0,0 +1,899 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring.history;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+import org.eclipse.core.filesystem.IFileStore;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.SubProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.RefactoringDescriptorProxy;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+
+/**
+ * Compact index of the time stamps and descriptions of a refactoring history
+ * store.
+ * <p>
+ * The index is a cache derived from the per-week index files of a history
+ * store, which remain authoritative. It is therefore kept in the state
+ * location of the plug-in, in the folder {@link #NAME_INDEX_FOLDER}, and never
+ * in the history store itself, which may be shared in a repository. An index
+ * file consists of a header, the stamps of the per-week index files it has
+ * been derived from and of the folders of the history tree, a table of
+ * records sorted by time stamp, and a pool with the UTF-8 encoded
+ * descriptions:
+ * </p>
+ *
+ * <pre>
+ * int magic, int version, UTF store URI
+ * int file count, file count * (UTF path, long last modified, long length)
+ * int folder count, folder count * (UTF path, long last modified, long length)
+ * int count, int pool length
+ * count * (long stamp, int description offset, int description length)
+ * byte[pool length] descriptions
+ * </pre>
+ * <p>
+ * Weeks modified by older versions or by team providers are detected by
+ * {@link #getModifiedPaths(IFileStore, IProgressMonitor)}. Since adding or
+ * removing a week changes the stamp of its parent folder, only the folders
+ * whose stamp has changed are listed again, the other ones are known to
+ * contain the same weeks and only the stamps of their per-week index files are
+ * compared. Queries locate the first entry
+ * of a time range by binary search and only decode the descriptions of the
+ * entries within the range. Refactoring descriptors are still read from the
+ * history files when they are requested.
+ * </p>
+ * <p>
+ * Indexes are immutable. Adding and removing entries creates a new index that
+ * shares the encoded descriptions of this one. Read indexes are cached per
+ * store and are reused while the index file is unchanged.
+ * </p>
+ *
+ * @since 3.11
+ */
+final class RefactoringHistoryIndex {
+
+	/** Cache entry for a read index */
+	private static final class CacheEntry {
+
+		/** The index */
+		private final RefactoringHistoryIndex fIndex;
+
+		/** The length of the index file */
+		private final long fLength;
+
+		/** The modification stamp of the index file */
+		private final long fModified;
+
+		private CacheEntry(final RefactoringHistoryIndex index, final IFileInfo info) {
+			fIndex= index;
+			fModified= info.getLastModified();
+			fLength= info.getLength();
+		}
+	}
+
+	/** The state of a per-week index file or of a folder of a history store */
+	static final class FileStamp {
+
+		/** The length of the file or folder */
+		private final long fLength;
+
+		/** The modification stamp of the file or folder */
+		private final long fModified;
+
+		private FileStamp(final long modified, final long length) {
+			fModified= modified;
+			fLength= length;
+		}
+
+		private FileStamp(final IFileInfo info) {
+			this(info.getLastModified(), info.getLength());
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if (!(object instanceof FileStamp))
+				return false;
+			final FileStamp other= (FileStamp) object;
+			return fModified == other.fModified && fLength == other.fLength;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(fModified) * 31 + Long.hashCode(fLength);
+		}
+	}
+
+	/** The magic number of index files */
+	private static final int MAGIC= 0x52484958;
+
+	/** The name of the folder with the index files in the state location */
+	static final String NAME_INDEX_FOLDER= "historyIndex"; //$NON-NLS-1$
+
+	/** The file extension of index files */
+	private static final String EXTENSION_INDEX_FILE= ".bindex"; //$NON-NLS-1$
+
+	/** The size of a record in bytes */
+	private static final int SIZE_RECORD= 16;
+
+	/** The version of the index format */
+	private static final int VERSION= 3;
+
+	/** The read indexes (element type: &lt;IFileStore, CacheEntry&gt;) */
+	private static final Map<IFileStore, CacheEntry> fgCache= new HashMap<>();
+
+	/**
+	 * Returns an empty index with the current stamps of the per-week index
+	 * files and of the folders of the specified history store.
+	 *
+	 * @param store
+	 *            the history store
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return the empty index
+	 * @throws CoreException
+	 *             if an error occurs while listing the files
+	 */
+	static RefactoringHistoryIndex collect(final IFileStore store, final IProgressMonitor monitor) throws CoreException {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 2);
+			final Map<String, FileStamp> files= new TreeMap<>();
+			final Map<String, FileStamp> folders= new TreeMap<>();
+			final IFileInfo info= store.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			// the stamp of the root is kept even if it does not exist, so that its creation is detected
+			folders.put("", new FileStamp(info)); //$NON-NLS-1$
+			if (info.exists() && info.isDirectory())
+				collectIndexFiles(store, "", files, folders, monitor); //$NON-NLS-1$
+			return new RefactoringHistoryIndex(new long[0], new int[0], new int[0], new byte[0], files, folders);
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Adds the per-week index files and the folders below the specified folder
+	 * to the maps.
+	 *
+	 * @param folder
+	 *            the folder of the history tree
+	 * @param prefix
+	 *            the path of the folder relative to the store, with a
+	 *            trailing separator
+	 * @param files
+	 *            the map of files to fill in
+	 * @param folders
+	 *            the map of folders to fill in
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs while listing the files
+	 */
+	private static void collectIndexFiles(final IFileStore folder, final String prefix, final Map<String, FileStamp> files, final Map<String, FileStamp> folders, final IProgressMonitor monitor) throws CoreException {
+		if (monitor.isCanceled())
+			throw new OperationCanceledException();
+		for (IFileInfo info : folder.childInfos(EFS.NONE, null)) {
+			if (info.isDirectory()) {
+				final String path= prefix + info.getName() + IPath.SEPARATOR;
+				folders.put(path, new FileStamp(info));
+				collectIndexFiles(folder.getChild(info.getName()), path, files, folders, monitor);
+			} else if (info.getName().equalsIgnoreCase(RefactoringHistoryService.NAME_INDEX_FILE))
+				files.put(prefix + info.getName(), new FileStamp(info));
+		}
+	}
+
+	/**
+	 * Creates an index of the specified refactoring descriptor proxies.
+	 *
+	 * @param proxies
+	 *            the refactoring descriptor proxies
+	 * @param stamps
+	 *            the index with the stamps of the per-week index files the
+	 *            proxies have been read from
+	 * @return the index
+	 */
+	static RefactoringHistoryIndex create(final Collection<RefactoringDescriptorProxy> proxies, final RefactoringHistoryIndex stamps) {
+		final RefactoringDescriptorProxy[] array= new HashSet<>(proxies).toArray(new RefactoringDescriptorProxy[0]);
+		RefactoringHistoryManager.sortRefactoringDescriptorsAscending(array);
+		final long[] times= new long[array.length];
+		final int[] offsets= new int[array.length];
+		final int[] lengths= new int[array.length];
+		final byte[] pool= encode(array, 0, times, offsets, lengths, 0);
+		return new RefactoringHistoryIndex(times, offsets, lengths, pool, stamps.fFiles, stamps.fFolders);
+	}
+
+	/**
+	 * Deletes the index of the specified history store.
+	 *
+	 * @param store
+	 *            the history store
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs while deleting the index
+	 */
+	static void delete(final IFileStore store, final IProgressMonitor monitor) throws CoreException {
+		synchronized (fgCache) {
+			fgCache.remove(store);
+			getIndexFile(store).delete(EFS.NONE, monitor);
+		}
+	}
+
+	/**
+	 * Encodes the descriptions of the specified proxies into a pool.
+	 *
+	 * @param proxies
+	 *            the proxies, in ascending order of their time stamps
+	 * @param start
+	 *            the position of the first proxy in the record arrays
+	 * @param stamps
+	 *            the time stamps to fill in
+	 * @param offsets
+	 *            the description offsets to fill in
+	 * @param lengths
+	 *            the description lengths to fill in
+	 * @param base
+	 *            the offset of the first description in the pool
+	 * @return the encoded descriptions, preceded by <code>base</code> unused
+	 *         bytes
+	 */
+	private static byte[] encode(final RefactoringDescriptorProxy[] proxies, final int start, final long[] stamps, final int[] offsets, final int[] lengths, final int base) {
+		final List<byte[]> descriptions= new ArrayList<>(proxies.length);
+		int offset= base;
+		for (int index= 0; index < proxies.length; index++) {
+			final byte[] bytes= proxies[index].getDescription().getBytes(StandardCharsets.UTF_8);
+			stamps[start + index]= proxies[index].getTimeStamp();
+			offsets[start + index]= offset;
+			lengths[start + index]= bytes.length;
+			descriptions.add(bytes);
+			offset+= bytes.length;
+		}
+		final byte[] pool= new byte[offset];
+		for (int index= 0; index < proxies.length; index++) {
+			final byte[] bytes= descriptions.get(index);
+			System.arraycopy(bytes, 0, pool, offsets[start + index], bytes.length);
+		}
+		return pool;
+	}
+
+	/**
+	 * Returns the index file of the specified history store.
+	 *
+	 * @param store
+	 *            the history store
+	 * @return the index file in the state location
+	 */
+	private static IFileStore getIndexFile(final IFileStore store) {
+		final String name= Integer.toHexString(store.toURI().toString().hashCode()) + EXTENSION_INDEX_FILE;
+		return EFS.getLocalFileSystem().getStore(RefactoringCorePlugin.getDefault().getStateLocation()).getChild(NAME_INDEX_FOLDER).getChild(name);
+	}
+
+	/**
+	 * Returns the parent folder of the specified path.
+	 *
+	 * @param path
+	 *            the path of a file or folder relative to the history store
+	 * @return the path of the parent folder with a trailing separator, or
+	 *         <code>null</code> for the root of the history store
+	 */
+	private static String getParentFolder(final String path) {
+		if (path.isEmpty())
+			return null;
+		return path.substring(0, path.lastIndexOf(IPath.SEPARATOR, path.length() - 2) + 1);
+	}
+
+	/**
+	 * Is the specified path below one of the specified folders?
+	 *
+	 * @param path
+	 *            the path relative to the history store
+	 * @param folders
+	 *            the paths of the folders, with a trailing separator
+	 * @return <code>true</code> if the path is below one of the folders,
+	 *         <code>false</code> otherwise
+	 */
+	private static boolean isBelow(final String path, final Collection<String> folders) {
+		for (String folder : folders) {
+			if (path.length() > folder.length() && path.startsWith(folder))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Reads the index of the specified history store.
+	 *
+	 * @param store
+	 *            the history store
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return the index, or <code>null</code> if the store has no valid
+	 *         index. The index may not reflect modifications of the history
+	 *         store by older versions or by team providers, see
+	 *         {@link #getModifiedPaths(IFileStore, IProgressMonitor)}.
+	 * @throws CoreException
+	 *             if an error occurs while reading the index
+	 */
+	static RefactoringHistoryIndex read(final IFileStore store, final IProgressMonitor monitor) throws CoreException {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 2);
+			final IFileStore file= getIndexFile(store);
+			final IFileInfo info= file.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			if (!info.exists() || info.isDirectory())
+				return null;
+			RefactoringHistoryIndex index= null;
+			synchronized (fgCache) {
+				final CacheEntry entry= fgCache.get(store);
+				if (entry != null && entry.fModified == info.getLastModified() && entry.fLength == info.getLength())
+					index= entry.fIndex;
+			}
+			if (index == null) {
+				try (DataInputStream input= new DataInputStream(new BufferedInputStream(file.openInputStream(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)), 8192))) {
+					index= read(input, store);
+				} catch (EOFException exception) {
+					return null; // truncated
+				} catch (IOException exception) {
+					throw RefactoringHistoryManager.createCoreException(exception);
+				}
+				if (index == null)
+					return null;
+				synchronized (fgCache) {
+					fgCache.put(store, new CacheEntry(index, info));
+				}
+			} else
+				monitor.worked(1);
+			return index;
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Reads an index from the specified input stream.
+	 *
+	 * @param input
+	 *            the input stream
+	 * @param store
+	 *            the history store of the index
+	 * @return the index, or <code>null</code> if the stream does not contain
+	 *         a valid index of the store
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	private static RefactoringHistoryIndex read(final DataInputStream input, final IFileStore store) throws IOException {
+		if (input.readInt() != MAGIC || input.readInt() != VERSION || !store.toURI().toString().equals(input.readUTF()))
+			return null;
+		final Map<String, FileStamp> files= readStamps(input);
+		final Map<String, FileStamp> folders= readStamps(input);
+		if (files == null || folders == null)
+			return null;
+		final int count= input.readInt();
+		final int size= input.readInt();
+		if (count < 0 || size < 0)
+			return null;
+		final long[] stamps= new long[count];
+		final int[] offsets= new int[count];
+		final int[] lengths= new int[count];
+		for (int index= 0; index < count; index++) {
+			stamps[index]= input.readLong();
+			offsets[index]= input.readInt();
+			lengths[index]= input.readInt();
+			if (offsets[index] < 0 || lengths[index] < 0 || offsets[index] > size - lengths[index] || index > 0 && stamps[index] < stamps[index - 1])
+				return null;
+		}
+		final byte[] pool= new byte[size];
+		input.readFully(pool);
+		if (input.read() != -1)
+			return null;
+		return new RefactoringHistoryIndex(stamps, offsets, lengths, pool, files, folders);
+	}
+
+	/**
+	 * Reads the stamps of files or folders from the specified input stream.
+	 *
+	 * @param input
+	 *            the input stream
+	 * @return the stamps by path relative to the history store, or
+	 *         <code>null</code> if the stream does not contain valid stamps
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	private static Map<String, FileStamp> readStamps(final DataInputStream input) throws IOException {
+		final int count= input.readInt();
+		if (count < 0)
+			return null;
+		final Map<String, FileStamp> stamps= new TreeMap<>();
+		for (int index= 0; index < count; index++) {
+			final String path= input.readUTF();
+			stamps.put(path, new FileStamp(input.readLong(), input.readLong()));
+		}
+		return stamps;
+	}
+
+	/**
+	 * Writes the index of the specified history store.
+	 *
+	 * @param store
+	 *            the history store
+	 * @param index
+	 *            the index to write
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs while writing the index
+	 */
+	static void write(final IFileStore store, final RefactoringHistoryIndex index, final IProgressMonitor monitor) throws CoreException {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_updating_history, 3);
+			final IFileStore file= getIndexFile(store);
+			synchronized (fgCache) {
+				fgCache.remove(store);
+				file.getParent().mkdir(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+				try (DataOutputStream output= new DataOutputStream(new BufferedOutputStream(file.openOutputStream(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)), 8192))) {
+					index.write(output, store);
+				} catch (IOException exception) {
+					file.delete(EFS.NONE, null);
+					throw RefactoringHistoryManager.createCoreException(exception);
+				}
+				fgCache.put(store, new CacheEntry(index, file.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL))));
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Writes the stamps of files or folders to the specified output stream.
+	 *
+	 * @param output
+	 *            the output stream
+	 * @param stamps
+	 *            the stamps by path relative to the history store
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	private static void writeStamps(final DataOutputStream output, final Map<String, FileStamp> stamps) throws IOException {
+		output.writeInt(stamps.size());
+		for (Entry<String, FileStamp> entry : stamps.entrySet()) {
+			output.writeUTF(entry.getKey());
+			output.writeLong(entry.getValue().fModified);
+			output.writeLong(entry.getValue().fLength);
+		}
+	}
+
+	/** The per-week index files this index has been derived from */
+	private final Map<String, FileStamp> fFiles;
+
+	/** The folders of the history tree, by path with a trailing separator */
+	private final Map<String, FileStamp> fFolders;
+
+	/** The lengths of the encoded descriptions */
+	private final int[] fLengths;
+
+	/** The offsets of the descriptions in the pool */
+	private final int[] fOffsets;
+
+	/** The UTF-8 encoded descriptions, possibly with unused ranges */
+	private final byte[] fPool;
+
+	/** The time stamps in ascending order */
+	private final long[] fStamps;
+
+	/**
+	 * Creates a new refactoring history index.
+	 *
+	 * @param stamps
+	 *            the time stamps in ascending order
+	 * @param offsets
+	 *            the offsets of the descriptions
+	 * @param lengths
+	 *            the lengths of the descriptions
+	 * @param pool
+	 *            the UTF-8 encoded descriptions
+	 * @param files
+	 *            the per-week index files the index has been derived from
+	 * @param folders
+	 *            the folders of the history tree
+	 */
+	private RefactoringHistoryIndex(final long[] stamps, final int[] offsets, final int[] lengths, final byte[] pool, final Map<String, FileStamp> files, final Map<String, FileStamp> folders) {
+		fStamps= stamps;
+		fOffsets= offsets;
+		fLengths= lengths;
+		fPool= pool;
+		fFiles= Collections.unmodifiableMap(files);
+		fFolders= Collections.unmodifiableMap(folders);
+	}
+
+	/**
+	 * Returns a new index with the entries of this index and the specified
+	 * refactoring descriptor proxies.
+	 * <p>
+	 * Only the descriptions of the new proxies are encoded, the records are
+	 * merged with the ones of this index.
+	 * </p>
+	 *
+	 * @param proxies
+	 *            the refactoring descriptor proxies to add
+	 * @return the new index
+	 */
+	RefactoringHistoryIndex add(final RefactoringDescriptorProxy[] proxies) {
+		final List<RefactoringDescriptorProxy> list= new ArrayList<>(proxies.length);
+		for (RefactoringDescriptorProxy proxy : proxies) {
+			if (indexOf(proxy) < 0 && !list.contains(proxy))
+				list.add(proxy);
+		}
+		if (list.isEmpty())
+			return this;
+		final RefactoringDescriptorProxy[] added= list.toArray(new RefactoringDescriptorProxy[list.size()]);
+		RefactoringHistoryManager.sortRefactoringDescriptorsAscending(added);
+		final int count= fStamps.length;
+		final long[] addedStamps= new long[added.length];
+		final int[] addedOffsets= new int[added.length];
+		final int[] addedLengths= new int[added.length];
+		final byte[] pool= encode(added, 0, addedStamps, addedOffsets, addedLengths, fPool.length);
+		System.arraycopy(fPool, 0, pool, 0, fPool.length);
+		final long[] stamps= new long[count + added.length];
+		final int[] offsets= new int[count + added.length];
+		final int[] lengths= new int[count + added.length];
+		int existing= 0;
+		int next= 0;
+		for (int index= 0; index < stamps.length; index++) {
+			if (next == added.length || existing < count && fStamps[existing] <= addedStamps[next]) {
+				stamps[index]= fStamps[existing];
+				offsets[index]= fOffsets[existing];
+				lengths[index]= fLengths[existing];
+				existing++;
+			} else {
+				stamps[index]= addedStamps[next];
+				offsets[index]= addedOffsets[next];
+				lengths[index]= addedLengths[next];
+				next++;
+			}
+		}
+		return new RefactoringHistoryIndex(stamps, offsets, lengths, pool, fFiles, fFolders);
+	}
+
+	/**
+	 * Returns the description of the entry with the specified index.
+	 *
+	 * @param index
+	 *            the index of the entry
+	 * @return the description
+	 */
+	private String getDescription(final int index) {
+		return new String(fPool, fOffsets[index], fLengths[index], StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the per-week index files and the folders of the specified
+	 * history store which have been added, modified or removed since this
+	 * index has been derived from them.
+	 * <p>
+	 * Only folders whose stamp has changed are listed.
+	 * </p>
+	 *
+	 * @param store
+	 *            the history store
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return the paths relative to the store, folders with a trailing
+	 *         separator, in ascending order
+	 * @throws CoreException
+	 *             if an error occurs while accessing the files
+	 */
+	Set<String> getModifiedPaths(final IFileStore store, final IProgressMonitor monitor) throws CoreException {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, fFolders.size() + fFiles.size());
+			final Set<String> paths= new TreeSet<>();
+			final List<String> listed= new ArrayList<>();
+			final Map<String, FileStamp> files= new TreeMap<>();
+			final Map<String, FileStamp> folders= new TreeMap<>();
+			// parent folders precede their children
+			for (Entry<String, FileStamp> entry : fFolders.entrySet()) {
+				final String path= entry.getKey();
+				if (!isBelow(path, listed)) {
+					final IFileStore folder= store.getFileStore(new Path(path));
+					final IFileInfo info= folder.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+					if (!entry.getValue().equals(new FileStamp(info))) {
+						listed.add(path);
+						paths.add(path);
+						if (info.exists() && info.isDirectory())
+							collectIndexFiles(folder, path, files, folders, monitor);
+					}
+				} else {
+					if (!folders.containsKey(path))
+						paths.add(path);
+					monitor.worked(1);
+				}
+			}
+			for (Entry<String, FileStamp> entry : fFiles.entrySet()) {
+				final String path= entry.getKey();
+				if (isBelow(path, listed)) {
+					if (!entry.getValue().equals(files.get(path)))
+						paths.add(path);
+					monitor.worked(1);
+				} else {
+					final IFileInfo info= store.getFileStore(new Path(path)).fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+					if (!info.exists() || info.isDirectory() || !entry.getValue().equals(new FileStamp(info)))
+						paths.add(path);
+				}
+			}
+			for (Entry<String, FileStamp> entry : files.entrySet()) {
+				if (!fFiles.containsKey(entry.getKey()))
+					paths.add(entry.getKey());
+			}
+			for (Entry<String, FileStamp> entry : folders.entrySet()) {
+				if (!entry.getValue().equals(fFolders.get(entry.getKey())))
+					paths.add(entry.getKey());
+			}
+			return paths;
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Adds the entries within the specified time range to the collection.
+	 *
+	 * @param project
+	 *            the name of the project, or <code>null</code> for the
+	 *            workspace
+	 * @param start
+	 *            the start time stamp, inclusive
+	 * @param end
+	 *            the end time stamp, inclusive
+	 * @param collection
+	 *            the collection of proxies to fill in
+	 */
+	void getProxies(final String project, final long start, final long end, final Collection<RefactoringDescriptorProxy> collection) {
+		for (int index= lowerBound(start); index < fStamps.length && fStamps[index] <= end; index++) {
+			if (fLengths[index] > 0)
+				collection.add(new DefaultRefactoringDescriptorProxy(getDescription(index), project, fStamps[index]));
+		}
+	}
+
+	/**
+	 * Returns the index of the entry of the specified proxy.
+	 *
+	 * @param proxy
+	 *            the refactoring descriptor proxy
+	 * @return the index of the entry, or <code>-1</code>
+	 */
+	private int indexOf(final RefactoringDescriptorProxy proxy) {
+		final long stamp= proxy.getTimeStamp();
+		for (int index= lowerBound(stamp); index < fStamps.length && fStamps[index] == stamp; index++) {
+			if (getDescription(index).equals(proxy.getDescription()))
+				return index;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the first entry whose time stamp is not less than
+	 * the specified one.
+	 *
+	 * @param stamp
+	 *            the time stamp
+	 * @return the index of the entry, or the number of entries
+	 */
+	private int lowerBound(final long stamp) {
+		int low= 0;
+		int high= fStamps.length;
+		while (low < high) {
+			final int middle= (low + high) >>> 1;
+			if (fStamps[middle] < stamp)
+				low= middle + 1;
+			else
+				high= middle;
+		}
+		return low;
+	}
+
+	/**
+	 * Returns a new index with the current state of the specified per-week
+	 * index files or folders, which have been modified since this index was
+	 * read, and of their parent folders.
+	 *
+	 * @param store
+	 *            the history store
+	 * @param paths
+	 *            the paths of the per-week index files or folders, relative
+	 *            to the store, folders with a trailing separator
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return the new index
+	 * @throws CoreException
+	 *             if an error occurs while accessing the files
+	 */
+	RefactoringHistoryIndex refresh(final IFileStore store, final Collection<String> paths, final IProgressMonitor monitor) throws CoreException {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_updating_history, paths.size());
+			final Map<String, FileStamp> files= new TreeMap<>(fFiles);
+			final Map<String, FileStamp> folders= new TreeMap<>(fFolders);
+			final Set<String> refreshed= new HashSet<>();
+			for (String path : paths) {
+				for (String current= path; current != null && refreshed.add(current); current= getParentFolder(current)) {
+					final IFileInfo info= store.getFileStore(new Path(current)).fetchInfo(EFS.NONE, null);
+					if (current.isEmpty() || current.charAt(current.length() - 1) == IPath.SEPARATOR) {
+						if (info.exists() && info.isDirectory())
+							folders.put(current, new FileStamp(info));
+						else {
+							final String prefix= current;
+							folders.keySet().removeIf(folder -> folder.startsWith(prefix));
+							files.keySet().removeIf(file -> file.startsWith(prefix));
+							if (prefix.isEmpty())
+								folders.put(prefix, new FileStamp(info));
+						}
+					} else if (info.exists() && !info.isDirectory())
+						files.put(current, new FileStamp(info));
+					else
+						files.remove(current);
+				}
+				monitor.worked(1);
+			}
+			return new RefactoringHistoryIndex(fStamps, fOffsets, fLengths, fPool, files, folders);
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Returns a new index without the specified refactoring descriptor
+	 * proxies.
+	 * <p>
+	 * The descriptions of the remaining entries are copied into a new pool
+	 * only if most of the pool is no longer used.
+	 * </p>
+	 *
+	 * @param proxies
+	 *            the refactoring descriptor proxies to remove
+	 * @return the new index
+	 */
+	RefactoringHistoryIndex remove(final RefactoringDescriptorProxy[] proxies) {
+		final boolean[] removed= new boolean[fStamps.length];
+		int count= 0;
+		for (RefactoringDescriptorProxy proxy : proxies) {
+			final int index= indexOf(proxy);
+			if (index >= 0 && !removed[index]) {
+				removed[index]= true;
+				count++;
+			}
+		}
+		return remove(removed, count);
+	}
+
+	/**
+	 * Returns a new index without the specified entries.
+	 *
+	 * @param removed
+	 *            the entries to remove
+	 * @param count
+	 *            the number of entries to remove
+	 * @return the new index
+	 */
+	private RefactoringHistoryIndex remove(final boolean[] removed, final int count) {
+		if (count == 0)
+			return this;
+		final int remaining= fStamps.length - count;
+		final long[] stamps= new long[remaining];
+		final int[] offsets= new int[remaining];
+		final int[] lengths= new int[remaining];
+		int used= 0;
+		int position= 0;
+		for (int index= 0; index < fStamps.length; index++) {
+			if (!removed[index]) {
+				stamps[position]= fStamps[index];
+				offsets[position]= fOffsets[index];
+				lengths[position]= fLengths[index];
+				used+= fLengths[index];
+				position++;
+			}
+		}
+		byte[] pool= fPool;
+		if (used < fPool.length / 2) {
+			pool= new byte[used];
+			int offset= 0;
+			for (int index= 0; index < remaining; index++) {
+				System.arraycopy(fPool, offsets[index], pool, offset, lengths[index]);
+				offsets[index]= offset;
+				offset+= lengths[index];
+			}
+		}
+		return new RefactoringHistoryIndex(stamps, offsets, lengths, pool, fFiles, fFolders);
+	}
+
+	/**
+	 * Returns a new index whose entries within the specified time range are
+	 * replaced by the specified refactoring descriptor proxies.
+	 *
+	 * @param start
+	 *            the start time stamp, inclusive
+	 * @param end
+	 *            the end time stamp, inclusive
+	 * @param proxies
+	 *            the refactoring descriptor proxies within the time range
+	 * @return the new index
+	 */
+	RefactoringHistoryIndex replace(final long start, final long end, final RefactoringDescriptorProxy[] proxies) {
+		final boolean[] removed= new boolean[fStamps.length];
+		int count= 0;
+		for (int index= lowerBound(start); index < fStamps.length && fStamps[index] <= end; index++) {
+			removed[index]= true;
+			count++;
+		}
+		return remove(removed, count).add(proxies);
+	}
+
+	/**
+	 * Returns the number of entries of this index.
+	 *
+	 * @return the number of entries
+	 */
+	int size() {
+		return fStamps.length;
+	}
+
+	/**
+	 * Writes this index to the specified output stream.
+	 *
+	 * @param output
+	 *            the output stream
+	 * @param store
+	 *            the history store of this index
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	private void write(final DataOutputStream output, final IFileStore store) throws IOException {
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		output.writeUTF(store.toURI().toString());
+		writeStamps(output, fFiles);
+		writeStamps(output, fFolders);
+		final int count= fStamps.length;
+		output.writeInt(count);
+		output.writeInt(fPool.length);
+		for (int index= 0; index < count; index++) {
+			output.writeLong(fStamps[index]);
+			output.writeInt(fOffsets[index]);
+			output.writeInt(fLengths[index]);
+		}
+		output.write(fPool);
+	}
+
+}
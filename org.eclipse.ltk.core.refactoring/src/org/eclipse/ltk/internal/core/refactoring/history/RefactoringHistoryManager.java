@@ -32,6 +32,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -67,6 +68,7 @@ import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
@@ -82,6 +84,7 @@ import org.eclipse.ltk.internal.core.refactoring.IRefactoringSerializationConsta
 import org.eclipse.ltk.internal.core.refactoring.Messages;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringPreferenceConstants;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringSessionReader;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringSessionTransformer;
 
@@ -98,9 +101,46 @@ public final class RefactoringHistoryManager {
 	/** The index entry delimiter */
 	public static final char DELIMITER_ENTRY= '\n';
 
+	/** Summary of the time stamps in an index file */
+	private static final class IndexSummary {
+
+		/** The length of the index file */
+		private final long fLength;
+
+		/** The largest time stamp, or {@link Long#MIN_VALUE} */
+		private final long fMaxStamp;
+
+		/** The smallest time stamp, or {@link Long#MAX_VALUE} */
+		private final long fMinStamp;
+
+		/** The modification stamp of the index file */
+		private final long fModified;
+
+		private IndexSummary(final IFileInfo info, final long minStamp, final long maxStamp) {
+			fModified= info.getLastModified();
+			fLength= info.getLength();
+			fMinStamp= minStamp;
+			fMaxStamp= maxStamp;
+		}
+	}
+
+	/** The maximal number of cached index summaries */
+	private static final int MAX_SUMMARIES= 1024;
+
 	/** The calendar instance */
 	private static final Calendar fgCalendar= Calendar.getInstance(TimeZone.getTimeZone("GMT+00:00")); //$NON-NLS-1$
 
+	/** The index summaries, in access order */
+	private static final Map<IFileStore, IndexSummary> fgSummaries= new LinkedHashMap<IFileStore, IndexSummary>(64, 0.75f, true) {
+
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<IFileStore, IndexSummary> eldest) {
+			return size() > MAX_SUMMARIES;
+		}
+	};
+
 	/**
 	 * Checks whether the argument map is well-formed.
 	 * <p>
@@ -142,7 +182,7 @@ public final class RefactoringHistoryManager {
 	 *            the throwable to wrap
 	 * @return the core exception
 	 */
-	private static CoreException createCoreException(final Throwable exception) {
+	static CoreException createCoreException(final Throwable exception) {
 		return new CoreException(new Status(IStatus.ERROR, RefactoringCore.ID_PLUGIN, IRefactoringCoreStatusCodes.REFACTORING_HISTORY_IO_ERROR, exception.getLocalizedMessage(), exception));
 	}
 
@@ -185,6 +225,164 @@ public final class RefactoringHistoryManager {
 		return arguments;
 	}
 
+	/**
+	 * Is the compact refactoring history index enabled?
+	 *
+	 * @return <code>true</code> if histories are read from a
+	 *         {@link RefactoringHistoryIndex}, <code>false</code> otherwise
+	 */
+	static boolean isIndexEnabled() {
+		return Platform.getPreferencesService().getBoolean(RefactoringCorePlugin.getPluginId(), RefactoringPreferenceConstants.PREFERENCE_REFACTORING_HISTORY_INDEX, false, null);
+	}
+
+	/**
+	 * Returns the time range of the specified week folder of the history
+	 * tree.
+	 *
+	 * @param path
+	 *            the path of the week folder, as returned by
+	 *            {@link #stampToPath(long)}
+	 * @return the start and end time stamps, inclusive, or <code>null</code>
+	 *         if the path does not denote a week folder
+	 */
+	private static long[] getWeekRange(final IPath path) {
+		if (path.segmentCount() != 3)
+			return null;
+		final int year;
+		final int month;
+		final int week;
+		try {
+			year= Integer.parseInt(path.segment(0));
+			month= Integer.parseInt(path.segment(1)) - 1;
+			week= Integer.parseInt(path.segment(2));
+		} catch (NumberFormatException exception) {
+			return null;
+		}
+		if (month < Calendar.JANUARY || month > Calendar.DECEMBER)
+			return null;
+		final Calendar calendar= Calendar.getInstance(TimeZone.getTimeZone("GMT+00:00")); //$NON-NLS-1$
+		calendar.clear();
+		calendar.set(year, month, 1);
+		long start= -1;
+		long end= -1;
+		while (calendar.get(Calendar.MONTH) == month) {
+			final boolean matches= calendar.get(Calendar.WEEK_OF_YEAR) == week;
+			if (matches && start < 0)
+				start= calendar.getTimeInMillis();
+			calendar.add(Calendar.DAY_OF_MONTH, 1);
+			if (matches)
+				end= calendar.getTimeInMillis() - 1;
+		}
+		if (start < 0)
+			return null;
+		return new long[] { start, end };
+	}
+
+	/**
+	 * Reads the up to date refactoring history index of the specified history
+	 * store.
+	 * <p>
+	 * Weeks which have been modified since the index has been written, e.g. by
+	 * older versions or by team providers, are read again and the updated
+	 * index is written.
+	 * </p>
+	 *
+	 * @param store
+	 *            the history store
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return the index, or <code>null</code>
+	 * @throws CoreException
+	 *             if an error occurs while reading the index
+	 */
+	private static RefactoringHistoryIndex readIndex(final IFileStore store, final IProgressMonitor monitor) throws CoreException {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 100);
+			final RefactoringHistoryIndex index= RefactoringHistoryIndex.read(store, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			if (index == null)
+				return null;
+			final Set<String> paths= index.getModifiedPaths(store, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			if (paths.isEmpty())
+				return index;
+			// Refresh the stamps first, so that concurrent modifications invalidate the updated index
+			RefactoringHistoryIndex updated= index.refresh(store, paths, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			final IProgressMonitor subMonitor= new SubProgressMonitor(monitor, 50, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL);
+			try {
+				subMonitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, paths.size());
+				for (String path : paths) {
+					if (path.charAt(path.length() - 1) != IPath.SEPARATOR) {
+						final IPath file= new Path(path);
+						final long[] range= getWeekRange(file.removeLastSegments(1));
+						if (range == null)
+							return null;
+						final Set<RefactoringDescriptorProxy> proxies= new HashSet<>();
+						readRefactoringDescriptorProxies(store.getFileStore(file), 3, null, proxies, 0, Long.MAX_VALUE, new SubProgressMonitor(subMonitor, 1), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+						updated= updated.replace(range[0], range[1], proxies.toArray(new RefactoringDescriptorProxy[proxies.size()]));
+					} else
+						subMonitor.worked(1);
+				}
+			} finally {
+				subMonitor.done();
+			}
+			try {
+				RefactoringHistoryIndex.write(store, updated, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			} catch (CoreException exception) {
+				RefactoringCorePlugin.log(exception);
+			}
+			return updated;
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Reads refactoring descriptor proxies using the refactoring history
+	 * index.
+	 * <p>
+	 * If the history store has no up to date index, the index is created from
+	 * the index files of the history store.
+	 * </p>
+	 *
+	 * @param store
+	 *            the history store to read
+	 * @param project
+	 *            the name of the project, or <code>null</code> for the
+	 *            workspace
+	 * @param collection
+	 *            the collection of proxies to fill in
+	 * @param start
+	 *            the start time stamp, inclusive
+	 * @param end
+	 *            the end time stamp, inclusive
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @param task
+	 *            the task label to use
+	 * @throws CoreException
+	 *             if an error occurs
+	 */
+	private static void readIndexedRefactoringDescriptorProxies(final IFileStore store, final String project, final Collection<RefactoringDescriptorProxy> collection, final long start, final long end, final IProgressMonitor monitor, final String task) throws CoreException {
+		try {
+			monitor.beginTask(task, 100);
+			RefactoringHistoryIndex index= readIndex(store, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			if (index == null) {
+				// Collect the index files first, so that concurrent modifications invalidate the new index
+				final RefactoringHistoryIndex stamps= RefactoringHistoryIndex.collect(store, new SubProgressMonitor(monitor, 5, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+				final Set<RefactoringDescriptorProxy> set= new HashSet<>();
+				readRefactoringDescriptorProxies(store, null, set, 0, Long.MAX_VALUE, new SubProgressMonitor(monitor, 75), task);
+				index= RefactoringHistoryIndex.create(set, stamps);
+				try {
+					RefactoringHistoryIndex.write(store, index, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+				} catch (CoreException exception) {
+					RefactoringCorePlugin.log(exception);
+				}
+			}
+			index.getProxies(project, start, end, collection);
+		} finally {
+			monitor.done();
+		}
+	}
+
 	/**
 	 * Reads refactoring descriptor proxies.
 	 *
@@ -207,29 +405,81 @@ public final class RefactoringHistoryManager {
 	 *             if an error occurs
 	 */
 	private static void readRefactoringDescriptorProxies(final IFileStore store, final String project, final Collection<RefactoringDescriptorProxy> collection, final long start, final long end, final IProgressMonitor monitor, final String task) throws CoreException {
+		readRefactoringDescriptorProxies(store, 0, project, collection, start, end, monitor, task);
+	}
+
+	/**
+	 * Reads refactoring descriptor proxies.
+	 * <p>
+	 * Year and month folders of the history tree whose time span does not
+	 * intersect the time range are skipped, and so are index files whose
+	 * cached summary shows that they do not contain time stamps within the
+	 * time range.
+	 * </p>
+	 *
+	 * @param store
+	 *            the file store to read
+	 * @param depth
+	 *            the depth of the file store below the root of the history
+	 *            tree
+	 * @param project
+	 *            the name of the project, or <code>null</code> for the
+	 *            workspace
+	 * @param collection
+	 *            the collection of proxies to fill in
+	 * @param start
+	 *            the start time stamp, inclusive
+	 * @param end
+	 *            the end time stamp, inclusive
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @param task
+	 *            the task label to use
+	 * @throws CoreException
+	 *             if an error occurs
+	 */
+	private static void readRefactoringDescriptorProxies(final IFileStore store, final int depth, final String project, final Collection<RefactoringDescriptorProxy> collection, final long start, final long end, final IProgressMonitor monitor, final String task) throws CoreException {
 		try {
 			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 22);
 			final IFileInfo info= store.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 2, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
 			if (!info.isDirectory() && info.exists() && store.getName().equalsIgnoreCase(RefactoringHistoryService.NAME_INDEX_FILE)) {
-				try (InputStream stream= store.openInputStream(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL))) {
-					final RefactoringDescriptorProxy[] proxies= readRefactoringDescriptorProxies(stream, project, start, end);
-					collection.addAll(Arrays.asList(proxies));
-					monitor.worked(1);
-				} catch (IOException exception) {
-					throw createCoreException(exception);
-				} finally {
-					monitor.worked(1);
+				final IndexSummary summary;
+				synchronized (fgSummaries) {
+					summary= fgSummaries.get(store);
+				}
+				if (summary != null && summary.fModified == info.getLastModified() && summary.fLength == info.getLength() && (summary.fMaxStamp < start || summary.fMinStamp > end))
+					monitor.worked(4);
+				else {
+					try (InputStream stream= store.openInputStream(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL))) {
+						final long[] bounds= { Long.MAX_VALUE, Long.MIN_VALUE };
+						final RefactoringDescriptorProxy[] proxies= readRefactoringDescriptorProxies(stream, project, start, end, bounds);
+						collection.addAll(Arrays.asList(proxies));
+						synchronized (fgSummaries) {
+							fgSummaries.put(store, new IndexSummary(info, bounds[0], bounds[1]));
+						}
+						monitor.worked(1);
+					} catch (IOException exception) {
+						throw createCoreException(exception);
+					} finally {
+						monitor.worked(1);
+					}
 				}
-			} else
-				monitor.worked(4);
+				return;
+			}
+			monitor.worked(4);
 			if (monitor.isCanceled())
 				throw new OperationCanceledException();
+			if (!info.isDirectory())
+				return;
 			final IFileStore[] stores= store.childStores(EFS.NONE, new SubProgressMonitor(monitor, 2, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
 			final IProgressMonitor subMonitor= new SubProgressMonitor(monitor, 12);
 			try {
 				subMonitor.beginTask(task, stores.length);
 				for (IFileStore s : stores) {
-					readRefactoringDescriptorProxies(s, project, collection, start, end, new SubProgressMonitor(subMonitor, 1), task);
+					if (intersectsTimeRange(s, depth + 1, start, end))
+						readRefactoringDescriptorProxies(s, depth + 1, project, collection, start, end, new SubProgressMonitor(subMonitor, 1), task);
+					else
+						subMonitor.worked(1);
 				}
 			} finally {
 				subMonitor.done();
@@ -239,6 +489,54 @@ public final class RefactoringHistoryManager {
 		}
 	}
 
+	/**
+	 * Determines whether the specified folder of the history tree may contain
+	 * refactorings within the specified time range.
+	 * <p>
+	 * The history tree is organized by {@link #stampToPath(long)}. The time
+	 * span of year and month folders is derived from their names. Weeks may
+	 * span two months or years, so week folders and folders with other names
+	 * are always considered to intersect the time range.
+	 * </p>
+	 *
+	 * @param store
+	 *            the folder of the history tree
+	 * @param depth
+	 *            the depth of the folder below the root of the history tree
+	 * @param start
+	 *            the start time stamp, inclusive
+	 * @param end
+	 *            the end time stamp, inclusive
+	 * @return <code>false</code> if the folder does not contain refactorings
+	 *         within the time range, <code>true</code> otherwise
+	 */
+	private static boolean intersectsTimeRange(final IFileStore store, final int depth, final long start, final long end) {
+		if (depth > 2 || start <= 0 && end == Long.MAX_VALUE)
+			return true;
+		final int year;
+		final int month;
+		try {
+			if (depth == 1) {
+				year= Integer.parseInt(store.getName());
+				month= -1;
+			} else {
+				year= Integer.parseInt(store.getParent().getName());
+				month= Integer.parseInt(store.getName()) - 1;
+				if (month < Calendar.JANUARY || month > Calendar.DECEMBER)
+					return true;
+			}
+		} catch (NumberFormatException exception) {
+			return true;
+		}
+		final Calendar calendar= Calendar.getInstance(TimeZone.getTimeZone("GMT+00:00")); //$NON-NLS-1$
+		calendar.clear();
+		calendar.set(year, month < 0 ? Calendar.JANUARY : month, 1);
+		final long lower= calendar.getTimeInMillis();
+		calendar.add(month < 0 ? Calendar.YEAR : Calendar.MONTH, 1);
+		final long upper= calendar.getTimeInMillis();
+		return lower <= end && upper > start;
+	}
+
 	/**
 	 * Reads refactoring descriptor proxies from the specified input stream.
 	 * <p>
@@ -259,6 +557,29 @@ public final class RefactoringHistoryManager {
 	 *             if an input/output error occurs
 	 */
 	public static RefactoringDescriptorProxy[] readRefactoringDescriptorProxies(final InputStream stream, final String project, final long start, final long end) throws IOException {
+		return readRefactoringDescriptorProxies(stream, project, start, end, null);
+	}
+
+	/**
+	 * Reads refactoring descriptor proxies from the specified input stream.
+	 *
+	 * @param stream
+	 *            the input stream where to read from
+	 * @param project
+	 *            the name of the project, or <code>null</code> for the
+	 *            workspace
+	 * @param start
+	 *            the start time stamp, inclusive
+	 * @param end
+	 *            the end time stamp, inclusive
+	 * @param bounds
+	 *            an array of length two to update with the smallest and the
+	 *            largest time stamp read, or <code>null</code>
+	 * @return An array of refactoring descriptor proxies
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	private static RefactoringDescriptorProxy[] readRefactoringDescriptorProxies(final InputStream stream, final String project, final long start, final long end, final long[] bounds) throws IOException {
 		final List<DefaultRefactoringDescriptorProxy> list= new ArrayList<>();
 		final BufferedReader reader= new BufferedReader(new InputStreamReader(stream, IRefactoringSerializationConstants.OUTPUT_ENCODING));
 		while (reader.ready()) {
@@ -268,6 +589,10 @@ public final class RefactoringHistoryManager {
 				if (index > 0) {
 					try {
 						final long stamp= Long.parseLong(line.substring(0, index));
+						if (bounds != null) {
+							bounds[0]= Math.min(bounds[0], stamp);
+							bounds[1]= Math.max(bounds[1], stamp);
+						}
 						if (stamp >= start && stamp <= end)
 							list.add(new DefaultRefactoringDescriptorProxy(unescapeString(line.substring(index + 1)), project, stamp));
 					} catch (NumberFormatException exception) {
@@ -499,6 +824,9 @@ public final class RefactoringHistoryManager {
 	 */
 	private static void writeIndexEntry(final IFileStore file, final RefactoringDescriptorProxy[] proxies, final int flags, final IProgressMonitor monitor, final String task) throws CoreException, IOException {
 		OutputStream output= null;
+		synchronized (fgSummaries) {
+			fgSummaries.remove(file);
+		}
 		try {
 			monitor.beginTask(task, 2);
 			file.getParent().mkdir(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
@@ -772,9 +1100,10 @@ public final class RefactoringHistoryManager {
 	 */
 	void addRefactoringDescriptor(final RefactoringDescriptor descriptor, final boolean sort, final IProgressMonitor monitor) throws CoreException {
 		try {
-			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_updating_history, 18);
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_updating_history, 20);
 			final long stamp= descriptor.getTimeStamp();
 			if (stamp >= 0) {
+				final RefactoringHistoryIndex previous= getIndex(new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
 				final IPath path= stampToPath(stamp);
 				final IFileStore folder= fHistoryStore.getFileStore(path);
 				final IFileStore history= folder.getChild(RefactoringHistoryService.NAME_HISTORY_FILE);
@@ -842,6 +1171,68 @@ public final class RefactoringHistoryManager {
 						throw createCoreException(exception);
 					}
 				}
+				updateIndex(previous != null ? previous.add(proxies) : null, Collections.singleton(path.append(RefactoringHistoryService.NAME_INDEX_FILE).toString()), new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Returns the refactoring history index of the managed history before it
+	 * is modified.
+	 *
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return the up to date index, or <code>null</code> if the index is
+	 *         disabled or does not exist
+	 */
+	private RefactoringHistoryIndex getIndex(final IProgressMonitor monitor) {
+		try {
+			if (isIndexEnabled())
+				return readIndex(fHistoryStore, monitor);
+		} catch (CoreException exception) {
+			RefactoringCorePlugin.log(exception);
+		} finally {
+			monitor.done();
+		}
+		return null;
+	}
+
+	/**
+	 * Replaces the refactoring history index of the managed history after it
+	 * has been modified.
+	 * <p>
+	 * If there is no updated index, an existing index is deleted, since it does
+	 * not reflect the modification. It is created again when the history is
+	 * read the next time. Nothing is done if the index is disabled, since an
+	 * index left behind is brought up to date by the stamps of the modified
+	 * weeks once it is enabled again.
+	 * </p>
+	 *
+	 * @param index
+	 *            the updated index, or <code>null</code>
+	 * @param files
+	 *            the paths of the modified index files, relative to the
+	 *            history store
+	 * @param monitor
+	 *            the progress monitor to use
+	 */
+	private void updateIndex(final RefactoringHistoryIndex index, final Collection<String> files, final IProgressMonitor monitor) {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_updating_history, 2);
+			if (!isIndexEnabled())
+				return;
+			if (index != null && index.size() > 0 && fHistoryStore.fetchInfo().exists())
+				RefactoringHistoryIndex.write(fHistoryStore, index.refresh(fHistoryStore, files, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)), new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			else
+				RefactoringHistoryIndex.delete(fHistoryStore, monitor);
+		} catch (CoreException exception) {
+			RefactoringCorePlugin.log(exception);
+			try {
+				RefactoringHistoryIndex.delete(fHistoryStore, null);
+			} catch (CoreException e) {
+				// Do nothing
 			}
 		} finally {
 			monitor.done();
@@ -906,6 +1297,32 @@ public final class RefactoringHistoryManager {
 		}
 	}
 
+	/**
+	 * Reads the refactoring descriptor proxies of the specified history store.
+	 *
+	 * @param store
+	 *            the history store to read
+	 * @param project
+	 *            the name of the project, or <code>null</code> for the
+	 *            workspace
+	 * @param collection
+	 *            the collection of proxies to fill in
+	 * @param start
+	 *            the start time stamp, inclusive
+	 * @param end
+	 *            the end time stamp, inclusive
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs
+	 */
+	private static void readHistoryStore(final IFileStore store, final String project, final Collection<RefactoringDescriptorProxy> collection, final long start, final long end, final IProgressMonitor monitor) throws CoreException {
+		if (isIndexEnabled())
+			readIndexedRefactoringDescriptorProxies(store, project, collection, start, end, monitor, RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+		else
+			readRefactoringDescriptorProxies(store, project, collection, start, end, monitor, RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+	}
+
 	/**
 	 * Reads the refactoring history from disk.
 	 *
@@ -923,10 +1340,10 @@ public final class RefactoringHistoryManager {
 			final Set<RefactoringDescriptorProxy> set= new HashSet<>();
 			try {
 				if (fHistoryStore.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
-					readRefactoringDescriptorProxies(fHistoryStore, fProjectName, set, start, end, new SubProgressMonitor(monitor, 80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+					readHistoryStore(fHistoryStore, fProjectName, set, start, end, new SubProgressMonitor(monitor, 80));
 				final IFileStore store= EFS.getLocalFileSystem().getStore(RefactoringCorePlugin.getDefault().getStateLocation()).getChild(RefactoringHistoryService.NAME_HISTORY_FOLDER).getChild(RefactoringHistoryService.NAME_WORKSPACE_PROJECT);
 				if (store.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
-					readRefactoringDescriptorProxies(store, null, set, start, end, new SubProgressMonitor(monitor, 80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+					readHistoryStore(store, null, set, start, end, new SubProgressMonitor(monitor, 80));
 			} catch (CoreException exception) {
 				RefactoringCorePlugin.log(exception);
 			}
@@ -1039,7 +1456,8 @@ public final class RefactoringHistoryManager {
 	void removeRefactoringDescriptors(final RefactoringDescriptorProxy[] proxies, final IProgressMonitor monitor, final String task) throws CoreException {
 		try {
 			final Map<IPath, Collection<RefactoringDescriptorProxy>> paths= new HashMap<>();
-			monitor.beginTask(task, proxies.length + 300);
+			monitor.beginTask(task, proxies.length + 320);
+			final RefactoringHistoryIndex previous= getIndex(new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
 			for (RefactoringDescriptorProxy proxy : proxies) {
 				final IPath path= stampToPath(proxy.getTimeStamp());
 				Collection<RefactoringDescriptorProxy> collection= paths.get(path);
@@ -1060,6 +1478,10 @@ public final class RefactoringHistoryManager {
 			} finally {
 				subMonitor.done();
 			}
+			final Collection<String> files= new ArrayList<>(paths.size());
+			for (IPath path : paths.keySet())
+				files.add(path.append(RefactoringHistoryService.NAME_INDEX_FILE).toString());
+			updateIndex(previous != null ? previous.remove(proxies) : null, files, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
 		} finally {
 			monitor.done();
 		}